@@ -13,8 +13,10 @@ package org.eclipse.che.api.agent.server.impl;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import org.eclipse.che.api.agent.server.AgentRegistry;
@@ -65,6 +67,39 @@ public class AgentSorter {
     return sorted;
   }
 
+  /**
+   * Sort agents respecting dependencies between them and group them into levels. Agents of the same
+   * level do not depend on each other and depend only on agents of the previous levels, so they may
+   * be launched concurrently once the previous levels are launched.
+   *
+   * @see #sort(List)
+   * @param agentKeys list of agents to sort
+   * @return levels of agents in proper order, each level contains at least one agent
+   * @throws AgentException if circular dependency found or agent creation failed or other
+   *     unexpected error
+   */
+  public List<List<AgentKey>> sortByLevels(@Nullable List<String> agentKeys)
+      throws AgentException {
+    List<List<AgentKey>> levels = new ArrayList<>();
+    Map<String, Integer> agentLevels = new HashMap<>();
+
+    for (AgentKey agentKey : sort(agentKeys)) {
+      // dependencies of the agent are sorted before it, so their levels are already known
+      int level = 0;
+      for (String dependency : agentRegistry.getAgent(agentKey).getDependencies()) {
+        level = Math.max(level, agentLevels.get(AgentKeyImpl.parse(dependency).getId()) + 1);
+      }
+      agentLevels.put(agentKey.getId(), level);
+
+      if (level == levels.size()) {
+        levels.add(new ArrayList<>());
+      }
+      levels.get(level).add(agentKey);
+    }
+
+    return levels;
+  }
+
   private void doSort(AgentKey agentKey, List<AgentKey> sorted, Set<String> pending)
       throws AgentException {
     String agentId = agentKey.getId();
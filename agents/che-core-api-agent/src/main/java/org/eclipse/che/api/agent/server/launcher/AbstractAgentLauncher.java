@@ -38,7 +38,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Launch agent script asynchronously over target instance and wait when it run. The policy of
- * checking if agent is run might be different for agents.
+ * checking if agent is run might be different for agents. Agents of the same machine may be
+ * launched concurrently, their scripts install packages one at a time, see {@link
+ * PackageManagerLock}.
  *
  * @see Agent#getScript()
  * @see AgentLaunchingChecker
@@ -82,8 +84,11 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
             agentLogger.writeLine(line);
           }
         };
+    PackageManagerLock packageManagerLock = null;
     try {
-      final InstanceProcess process = start(machine, agent, lineConsumer);
+      packageManagerLock = PackageManagerLock.acquire(machine);
+      final InstanceProcess process =
+          start(machine, agent, packageManagerLock.consumer(lineConsumer));
       LOG.debug(
           "Waiting for agent {} is launched. Workspace ID:{}",
           agent.getId(),
@@ -93,9 +98,12 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
       while (System.currentTimeMillis() - pingStartTimestamp < agentMaxStartTimeMs) {
         if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
           return;
-        } else {
-          Thread.sleep(agentPingDelayMs);
         }
+        if (packageManagerLock.isHeld() && !process.isAlive()) {
+          // the script failed before it installed the packages
+          packageManagerLock.release();
+        }
+        Thread.sleep(agentPingDelayMs);
       }
       LOG.error(
           format(
@@ -117,6 +125,9 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
       Thread.currentThread().interrupt();
       throw new ServerException(format("Launching agent %s is interrupted", agent.getName()));
     } finally {
+      if (packageManagerLock != null) {
+        packageManagerLock.release();
+      }
       try {
         lineConsumer.close();
       } catch (IOException ignored) {
@@ -30,7 +30,8 @@ import org.eclipse.che.api.machine.server.spi.InstanceProcess;
  * Launches agent and waits while it is finished.
  *
  * <p>This agents is suited only for those types of agents that install software and finish working
- * without launching any processes at the end.
+ * without launching any processes at the end. Agents of the same machine install packages one at a
+ * time, see {@link PackageManagerLock}.
  *
  * @author Anatolii Bazko
  */
@@ -54,14 +55,22 @@ public class DefaultAgentLauncher implements AgentLauncher {
           }
         };
 
+    PackageManagerLock packageManagerLock = null;
     try {
-      process.start(lineConsumer);
+      packageManagerLock = PackageManagerLock.acquire(machine);
+      process.start(packageManagerLock.consumer(lineConsumer));
     } catch (ConflictException e) {
       try {
         machine.getLogger().writeLine(format("[ERROR] %s", e.getMessage()));
       } catch (IOException ignored) {
       }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ServerException(format("Launching agent %s is interrupted", agent.getName()));
     } finally {
+      if (packageManagerLock != null) {
+        packageManagerLock.release();
+      }
       try {
         lineConsumer.close();
       } catch (IOException ignored) {
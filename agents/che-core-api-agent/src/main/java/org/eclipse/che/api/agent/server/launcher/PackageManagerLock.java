@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.agent.server.launcher;
+
+import com.google.common.util.concurrent.Striped;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.machine.server.spi.Instance;
+
+/**
+ * Lets agents which are launched in the same machine concurrently use its package manager one at a
+ * time, as apt-get, yum, dnf, zypper and apk fail or wait when another instance of them holds the
+ * lock of the package database.
+ *
+ * <p>An agent acquires the lock before its script is run. The script prints {@link
+ * #PACKAGES_INSTALLED} after it installed the packages, and the lock is released once the line is
+ * consumed, so the rest of the script, e.g. downloading and starting the agent, overlaps with the
+ * scripts of the other agents. If the script does not print the line, the lock is released when
+ * the agent is launched.
+ *
+ * @see #consumer(LineConsumer)
+ */
+public class PackageManagerLock {
+
+  /** Line which an agent script prints when it does not use the package manager anymore. */
+  public static final String PACKAGES_INSTALLED = "[AGENT] Packages are installed";
+
+  // machines rarely share a stripe, and then they just don't install packages concurrently
+  private static final Striped<Semaphore> LOCKS = Striped.lazyWeakSemaphore(1024, 1);
+
+  /**
+   * Waits until no other agent of the machine uses its package manager and acquires the lock.
+   *
+   * @param machine machine the agent is launched in
+   * @throws InterruptedException if the thread is interrupted while waiting for the lock
+   */
+  public static PackageManagerLock acquire(Instance machine) throws InterruptedException {
+    final Semaphore semaphore = LOCKS.get(machine.getId());
+    semaphore.acquire();
+    return new PackageManagerLock(semaphore);
+  }
+
+  private final Semaphore semaphore;
+  private final AtomicBoolean held;
+
+  private PackageManagerLock(Semaphore semaphore) {
+    this.semaphore = semaphore;
+    this.held = new AtomicBoolean(true);
+  }
+
+  /** Releases the lock, the subsequent calls do nothing. */
+  public void release() {
+    if (held.compareAndSet(true, false)) {
+      semaphore.release();
+    }
+  }
+
+  /** Returns true if the lock is not released yet. */
+  public boolean isHeld() {
+    return held.get();
+  }
+
+  /**
+   * Returns the consumer of the agent output which releases the lock when it consumes the {@link
+   * #PACKAGES_INSTALLED} line and passes all the other lines to the given consumer.
+   */
+  public LineConsumer consumer(LineConsumer delegate) {
+    return new LineConsumer() {
+      @Override
+      public void writeLine(String line) throws IOException {
+        // output lines of a machine process may be prefixed, e.g. with '[STDOUT] '
+        if (line != null && line.endsWith(PACKAGES_INSTALLED)) {
+          release();
+        } else {
+          delegate.writeLine(line);
+        }
+      }
+
+      @Override
+      public void close() throws IOException {
+        delegate.close();
+      }
+    };
+  }
+}
@@ -10,7 +10,10 @@
  */
 package org.eclipse.che.api.agent.server.launcher;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.atLeast;
@@ -25,10 +28,13 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
 import org.eclipse.che.api.agent.server.exception.AgentStartException;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ServerException;
@@ -38,6 +44,7 @@ import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceNode;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.stubbing.Answer;
 import org.mockito.testng.MockitoTestNGListener;
@@ -67,6 +74,7 @@ public class AbstractAgentLauncherTest {
             nullable(Agent.class), nullable(InstanceProcess.class), nullable(Instance.class)))
         .thenReturn(true);
     when(machine.getNode()).thenReturn(mock(InstanceNode.class));
+    when(machine.getId()).thenReturn("machineId");
   }
 
   @Test
@@ -189,6 +197,86 @@ public class AbstractAgentLauncherTest {
     }
   }
 
+  @Test
+  public void shouldNotCheckMoreFrequentThanAgentCheckDelayWhenAgentWritesOutput()
+      throws Exception {
+    // given
+    launcher = spy(new TestAgentLauncher(1000, 50, agentChecker));
+    when(machine.getLogger()).thenReturn(LineConsumer.DEV_NULL);
+    ArgumentCaptor<LineConsumer> agentOutput = ArgumentCaptor.forClass(LineConsumer.class);
+    doReturn(process)
+        .when(launcher)
+        .start(nullable(Instance.class), nullable(Agent.class), agentOutput.capture());
+    // agent writes its output on each check of its state, record time of each check
+    ArrayList<Long> checkTimestamps = new ArrayList<>(3);
+    Answer<Boolean> writeOutputAndReturnFalse =
+        invocationOnMock -> {
+          checkTimestamps.add(System.currentTimeMillis());
+          for (int i = 0; i < 10; i++) {
+            agentOutput.getValue().writeLine("installing packages");
+          }
+          return false;
+        };
+    when(agentChecker.isLaunched(any(Agent.class), any(InstanceProcess.class), any(Instance.class)))
+        .thenAnswer(writeOutputAndReturnFalse)
+        .thenAnswer(writeOutputAndReturnFalse)
+        .thenAnswer(
+            invocationOnMock -> {
+              checkTimestamps.add(System.currentTimeMillis());
+              return true;
+            });
+
+    // when
+    launcher.launch(machine, agent);
+
+    // then
+    assertEquals(checkTimestamps.size(), 3);
+    for (int i = 1; i < checkTimestamps.size(); i++) {
+      assertTrue(checkTimestamps.get(i) - checkTimestamps.get(i - 1) >= 50);
+    }
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldLetOtherAgentsOfMachineUsePackageManagerWhenAgentInstalledPackages()
+      throws Exception {
+    // given
+    LineConsumer machineLogger = mock(LineConsumer.class);
+    when(machine.getLogger()).thenReturn(machineLogger);
+    when(process.isAlive()).thenReturn(true);
+    ArgumentCaptor<LineConsumer> agentOutput = ArgumentCaptor.forClass(LineConsumer.class);
+    doReturn(process)
+        .when(launcher)
+        .start(nullable(Instance.class), nullable(Agent.class), agentOutput.capture());
+    CountDownLatch otherAgentInstallsPackages = new CountDownLatch(1);
+    when(agentChecker.isLaunched(any(Agent.class), any(InstanceProcess.class), any(Instance.class)))
+        .thenAnswer(
+            invocationOnMock -> {
+              Thread otherAgent =
+                  new Thread(
+                      () -> {
+                        try {
+                          PackageManagerLock.acquire(machine).release();
+                          otherAgentInstallsPackages.countDown();
+                        } catch (InterruptedException ignored) {
+                        }
+                      });
+              otherAgent.setDaemon(true);
+              otherAgent.start();
+              assertFalse(otherAgentInstallsPackages.await(100, MILLISECONDS));
+
+              agentOutput.getValue().writeLine("[STDOUT] " + PackageManagerLock.PACKAGES_INSTALLED);
+
+              assertTrue(otherAgentInstallsPackages.await(5, SECONDS));
+              return true;
+            });
+
+    // when
+    launcher.launch(machine, agent);
+
+    // then
+    verify(machineLogger, never()).writeLine(anyString());
+  }
+
   @Test(
     expectedExceptions = ServerException.class,
     expectedExceptionsMessageRegExp = "agent launcher test exception"
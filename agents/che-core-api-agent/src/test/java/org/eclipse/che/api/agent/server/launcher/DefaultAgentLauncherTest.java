@@ -47,6 +47,7 @@ public class DefaultAgentLauncherTest {
     when(machine.createProcess(any(), any())).thenReturn(instanceProcess);
     when(machine.getLogger()).thenReturn(lineConsumer);
     when(agent.getScript()).thenReturn("script1");
+    when(machine.getId()).thenReturn("machineId");
   }
 
   @Test
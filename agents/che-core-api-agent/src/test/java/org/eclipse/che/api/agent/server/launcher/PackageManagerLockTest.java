@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.agent.server.launcher;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.machine.server.spi.Instance;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class PackageManagerLockTest {
+  @Mock private Instance machine;
+  @Mock private Instance otherMachine;
+  @Mock private LineConsumer agentOutput;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(machine.getId()).thenReturn("machine");
+    when(otherMachine.getId()).thenReturn("otherMachine");
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldWaitUntilOtherAgentOfMachineInstalledPackages() throws Exception {
+    // given
+    PackageManagerLock lock = PackageManagerLock.acquire(machine);
+    LineConsumer consumer = lock.consumer(agentOutput);
+    CountDownLatch acquired = new CountDownLatch(1);
+    acquireAndRelease(machine, acquired);
+
+    // when
+    consumer.writeLine("[STDOUT] installing packages");
+
+    // then
+    assertFalse(acquired.await(100, MILLISECONDS));
+    assertTrue(lock.isHeld());
+
+    // when
+    consumer.writeLine("[STDOUT] " + PackageManagerLock.PACKAGES_INSTALLED);
+    consumer.writeLine("[STDOUT] starting agent");
+
+    // then
+    assertTrue(acquired.await(5, SECONDS));
+    assertFalse(lock.isHeld());
+    verify(agentOutput).writeLine("[STDOUT] installing packages");
+    verify(agentOutput).writeLine("[STDOUT] starting agent");
+    verifyNoMoreInteractions(agentOutput);
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldNotWaitForAgentsOfOtherMachines() throws Exception {
+    // given
+    PackageManagerLock lock = PackageManagerLock.acquire(machine);
+    CountDownLatch acquired = new CountDownLatch(1);
+
+    try {
+      // when
+      acquireAndRelease(otherMachine, acquired);
+
+      // then
+      assertTrue(acquired.await(5, SECONDS));
+    } finally {
+      lock.release();
+    }
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldReleaseLockOnlyOnce() throws Exception {
+    // given
+    PackageManagerLock lock = PackageManagerLock.acquire(machine);
+    lock.release();
+    PackageManagerLock otherLock = PackageManagerLock.acquire(machine);
+    CountDownLatch acquired = new CountDownLatch(1);
+
+    try {
+      // when
+      lock.release();
+      lock.consumer(agentOutput).writeLine(PackageManagerLock.PACKAGES_INSTALLED);
+      acquireAndRelease(machine, acquired);
+
+      // then
+      assertFalse(acquired.await(100, MILLISECONDS));
+    } finally {
+      otherLock.release();
+    }
+    assertTrue(acquired.await(5, SECONDS));
+  }
+
+  private static void acquireAndRelease(Instance machine, CountDownLatch acquired) {
+    Thread thread =
+        new Thread(
+            () -> {
+              try {
+                PackageManagerLock.acquire(machine).release();
+                acquired.countDown();
+              } catch (InterruptedException ignored) {
+              }
+            });
+    thread.setDaemon(true);
+    thread.start();
+  }
+}
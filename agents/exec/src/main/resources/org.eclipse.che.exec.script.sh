@@ -137,6 +137,9 @@ else
     exit 1
 fi
 
+# other agents of the machine may use the package manager from now on
+echo "[AGENT] Packages are installed"
+
 command -v pidof >/dev/null 2>&1 && {
     pidof exec-agent >/dev/null 2>&1 && exit
 } || {
@@ -120,6 +120,9 @@ else
     exit 1
 fi
 
+# other agents of the machine may use the package manager from now on
+echo "[AGENT] Packages are installed"
+
 
 ######################
 ### Install PHP LS ###
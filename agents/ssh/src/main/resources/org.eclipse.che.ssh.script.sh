@@ -138,6 +138,9 @@ else
     ${SUDO} sed 's@session\s*required\s*pam_loginuid.so@session optional pam_loginuid.so@g' -i /etc/pam.d/sshd
 fi
 
+# other agents of the machine may use the package manager from now on
+echo "[AGENT] Packages are installed"
+
 command -v pidof >/dev/null 2>&1 && {
     pidof sshd >/dev/null 2>&1 && exit
 } || {
@@ -113,3 +113,6 @@ else
     >&2 cat /etc/os-release
     exit 1
 fi
+
+# other agents of the machine may use the package manager from now on
+echo "[AGENT] Packages are installed"
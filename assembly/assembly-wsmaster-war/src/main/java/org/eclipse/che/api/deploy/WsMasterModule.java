@@ -15,6 +15,7 @@ import static org.eclipse.che.inject.Matchers.names;
 import static org.eclipse.che.plugin.docker.machine.WsAgentLogDirSetterEnvVariableProvider.LOGS_DIR_SETTER_VARIABLE;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.TypeLiteral;
 import com.google.inject.multibindings.MapBinder;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Names;
@@ -43,10 +44,16 @@ import org.eclipse.che.api.machine.server.jpa.MachineJpaModule;
 import org.eclipse.che.api.machine.server.recipe.RecipeLoader;
 import org.eclipse.che.api.machine.server.recipe.RecipeService;
 import org.eclipse.che.api.machine.shared.Constants;
+import org.eclipse.che.api.user.server.jpa.PreferenceEntityCache;
+import org.eclipse.che.api.user.server.jpa.UserEntityCache;
 import org.eclipse.che.api.workspace.server.WorkspaceConfigMessageBodyAdapter;
 import org.eclipse.che.api.workspace.server.WorkspaceMessageBodyAdapter;
+import org.eclipse.che.api.workspace.server.jpa.StackEntityCache;
+import org.eclipse.che.api.workspace.server.jpa.WorkspaceEntityCache;
 import org.eclipse.che.api.workspace.server.stack.StackLoader;
 import org.eclipse.che.api.workspace.server.stack.StackMessageBodyAdapter;
+import org.eclipse.che.core.db.cache.EntityCache;
+import org.eclipse.che.core.db.cache.EntityCacheStatsLogger;
 import org.eclipse.che.core.db.schema.SchemaInitializer;
 import org.eclipse.che.inject.DynaModule;
 import org.eclipse.che.plugin.github.factory.resolver.GithubFactoryParametersResolver;
@@ -72,6 +79,15 @@ public class WsMasterModule extends AbstractModule {
     bind(PlaceholderReplacer.class)
         .toProvider(org.eclipse.che.core.db.schema.impl.flyway.PlaceholderReplacerProvider.class);
 
+    // db entity caches
+    Multibinder<EntityCache<?, ?>> entityCaches =
+        Multibinder.newSetBinder(binder(), new TypeLiteral<EntityCache<?, ?>>() {});
+    entityCaches.addBinding().to(WorkspaceEntityCache.class);
+    entityCaches.addBinding().to(StackEntityCache.class);
+    entityCaches.addBinding().to(UserEntityCache.class);
+    entityCaches.addBinding().to(PreferenceEntityCache.class);
+    bind(EntityCacheStatsLogger.class).asEagerSingleton();
+
     // factory
     bind(FactoryAcceptValidator.class)
         .to(org.eclipse.che.api.factory.server.impl.FactoryAcceptValidatorImpl.class);
@@ -10,9 +10,13 @@
  */
 package org.eclipse.che.api.core.jsonrpc.commons;
 
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.BroadcastConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.transmission.EndpointIdConfigurator;
 
 /** Simple factory that provides facilities to manually build JSON RPC requests */
 public interface RequestTransmitter {
   EndpointIdConfigurator newRequest();
+
+  /** Notification that is marshalled once and sent to several endpoints */
+  BroadcastConfigurator newBroadcast();
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.commons.transmission;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.Collection;
+import javax.inject.Inject;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.slf4j.Logger;
+
+/**
+ * Configurator of a notification that is to be broadcast to several endpoints. Unlike sending
+ * the same notification to each endpoint separately, the notification is marshalled only once and
+ * the same message is transmitted to all endpoints. Params types that are supported: {@link
+ * String}, {@link Boolean}, {@link Double}, {@link Void} and DTO.
+ */
+public class BroadcastConfigurator {
+  private static final Logger LOGGER = getLogger(BroadcastConfigurator.class);
+
+  private final JsonRpcMarshaller marshaller;
+  private final WebSocketMessageTransmitter transmitter;
+
+  private Collection<String> endpointIds;
+  private String method;
+  private JsonRpcParams params;
+
+  @Inject
+  BroadcastConfigurator(JsonRpcMarshaller marshaller, WebSocketMessageTransmitter transmitter) {
+    this.marshaller = marshaller;
+    this.transmitter = transmitter;
+  }
+
+  public BroadcastConfigurator endpointIds(Collection<String> ids) {
+    checkNotNull(ids, "Endpoint IDs must not be null");
+
+    LOGGER.debug("Configuring outgoing broadcast endpoint IDs: " + ids);
+
+    this.endpointIds = ids;
+    return this;
+  }
+
+  public BroadcastConfigurator methodName(String name) {
+    checkNotNull(name, "Method name must not be null");
+    checkArgument(!name.isEmpty(), "Method name must not be empty");
+
+    LOGGER.debug("Configuring outgoing broadcast method name: " + name);
+
+    this.method = name;
+    return this;
+  }
+
+  public BroadcastConfigurator paramsAsDto(Object pValue) {
+    checkNotNull(pValue, "Params value must not be null");
+
+    this.params = new JsonRpcParams(pValue);
+    return this;
+  }
+
+  public BroadcastConfigurator paramsAsString(String pValue) {
+    checkNotNull(pValue, "Params value must not be null");
+
+    this.params = new JsonRpcParams(pValue);
+    return this;
+  }
+
+  public BroadcastConfigurator paramsAsDouble(Double pValue) {
+    checkNotNull(pValue, "Params value must not be null");
+
+    this.params = new JsonRpcParams(pValue);
+    return this;
+  }
+
+  public BroadcastConfigurator paramsAsBoolean(Boolean pValue) {
+    checkNotNull(pValue, "Params value must not be null");
+
+    this.params = new JsonRpcParams(pValue);
+    return this;
+  }
+
+  public BroadcastConfigurator noParams() {
+    this.params = null;
+    return this;
+  }
+
+  /**
+   * Marshals the notification and transmits it to every configured endpoint. Nothing is marshalled
+   * if there are no endpoints to send the notification to.
+   */
+  public void send() {
+    checkState(endpointIds != null, "Endpoint IDs must be configured");
+    checkState(method != null, "Method name must be configured");
+
+    if (endpointIds.isEmpty()) {
+      return;
+    }
+
+    LOGGER.debug("Broadcasting notification: endpoint IDs: " + endpointIds + ", method: " + method);
+
+    String message = marshaller.marshall(new JsonRpcRequest(null, method, params));
+    for (String endpointId : endpointIds) {
+      transmitter.transmit(endpointId, message);
+    }
+  }
+}
@@ -10,16 +10,14 @@
  */
 package org.eclipse.che.api.core.jsonrpc.impl;
 
-import static org.eclipse.che.api.core.jsonrpc.commons.JsonRpcUtils.cast;
-
 import com.google.gson.Gson;
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonNull;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
 import com.google.inject.Inject;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.List;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
@@ -28,146 +26,176 @@ import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResult;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
 
+/**
+ * Marshals JSON RPC requests and responses by streaming them directly to a {@link JsonWriter}.
+ * DTOs are written by their type adapters in place, so neither an intermediate JSON string nor a
+ * {@link JsonElement} tree is built for them.
+ *
+ * <p>Values are written by the type adapters rather than by {@link Gson#toJson(Object,
+ * java.lang.reflect.Type, JsonWriter)}, which would apply the settings of the Gson to the writer.
+ * So characters such as '&lt;' or '=' are not escaped, null members of DTOs are skipped and null
+ * members of {@link JsonElement}s are kept, as it was done when messages were built as JSON trees.
+ */
 public class GsonJsonRpcMarshaller implements JsonRpcMarshaller {
-  private final JsonParser jsonParser;
   private final Gson gson;
 
   @Inject
-  public GsonJsonRpcMarshaller(JsonParser jsonParser, Gson gson) {
-    this.jsonParser = jsonParser;
+  public GsonJsonRpcMarshaller(Gson gson) {
     this.gson = gson;
   }
 
   @Override
   public String marshall(JsonRpcResponse response) {
-    JsonElement jsonId = getId(response);
-    JsonElement jsonResult = getResult(response);
-    JsonElement jsonError = getError(response);
-
-    return getResponse(jsonId, jsonResult, jsonError).toString();
+    StringWriter out = new StringWriter();
+    try (JsonWriter writer = newJsonWriter(out)) {
+      writer.beginObject();
+      writer.name("jsonrpc").value("2.0");
+      if (response.hasId()) {
+        writer.name("id").value(response.getId());
+      }
+
+      if (response.hasResult()) {
+        writer.name("result");
+        writeResult(writer, response.getResult());
+      } else {
+        writer.name("error");
+        writeError(writer, response);
+      }
+      writer.endObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toString();
   }
 
   @Override
   public String marshall(JsonRpcRequest request) {
-    JsonElement method = getMethod(request);
-    JsonElement id = getId(request);
-    JsonElement params = getParams(request);
-
-    return getRequest(method, id, params).toString();
-  }
-
-  private JsonObject getRequest(
-      JsonElement jsonMethod, JsonElement jsonId, JsonElement jsonParams) {
-    JsonObject jsonRequest = new JsonObject();
-    jsonRequest.addProperty("jsonrpc", "2.0");
-    jsonRequest.add("method", jsonMethod);
-
-    if (jsonId != null) {
-      jsonRequest.add("id", jsonId);
+    StringWriter out = new StringWriter();
+    try (JsonWriter writer = newJsonWriter(out)) {
+      writer.beginObject();
+      writer.name("jsonrpc").value("2.0");
+      writer.name("method").value(request.getMethod());
+      if (request.hasId()) {
+        writer.name("id").value(request.getId());
+      }
+
+      if (request.hasParams()) {
+        writer.name("params");
+        writeParams(writer, request.getParams());
+      }
+      writer.endObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
-
-    if (jsonParams != null) {
-      jsonRequest.add("params", jsonParams);
-    }
-    return jsonRequest;
+    return out.toString();
   }
 
-  private JsonElement getParams(JsonRpcRequest request) {
-    if (!request.hasParams()) {
-      return null;
-    }
-
-    JsonRpcParams params = request.getParams();
-    return params.isSingle() ? getElement(params.getOne()) : getElements(params.getMany());
+  private JsonWriter newJsonWriter(StringWriter out) {
+    JsonWriter writer = new JsonWriter(out);
+    writer.setLenient(true);
+    return writer;
   }
 
-  private JsonElement getId(JsonRpcRequest request) {
-    return request.hasId() ? new JsonPrimitive(request.getId()) : null;
-  }
-
-  private JsonPrimitive getMethod(JsonRpcRequest request) {
-    return new JsonPrimitive(request.getMethod());
-  }
-
-  private JsonObject getResponse(
-      JsonElement jsonId, JsonElement jsonResult, JsonElement jsonError) {
-    JsonObject jsonResponse = new JsonObject();
-    jsonResponse.addProperty("jsonrpc", "2.0");
-    if (jsonId != null) {
-      jsonResponse.add("id", jsonId);
+  private void writeParams(JsonWriter writer, JsonRpcParams params) throws IOException {
+    if (params.isSingle()) {
+      writeSingle(writer, params.getOne());
+    } else {
+      writeMany(writer, params.getMany());
     }
+  }
 
-    if (jsonResult != null) {
-      jsonResponse.add("result", jsonResult);
+  private void writeResult(JsonWriter writer, JsonRpcResult result) throws IOException {
+    if (result.isSingle()) {
+      writeSingle(writer, result.getOne());
     } else {
-      jsonResponse.add("error", jsonError);
+      writeMany(writer, result.getMany());
     }
-    return jsonResponse;
   }
 
-  private JsonObject getError(JsonRpcResponse response) {
+  private void writeError(JsonWriter writer, JsonRpcResponse response) throws IOException {
     if (!response.hasError()) {
-      return null;
+      writer.nullValue();
+      return;
     }
 
-    JsonObject jsonError = new JsonObject();
     JsonRpcError error = response.getError();
-    jsonError.add("code", new JsonPrimitive(error.getCode()));
-    jsonError.add("message", new JsonPrimitive(error.getMessage()));
-    return jsonError;
+    writer.beginObject();
+    writer.name("code").value(error.getCode());
+    writer.name("message").value(error.getMessage());
+    writer.endObject();
   }
 
-  private JsonElement getResult(JsonRpcResponse response) {
-    if (!response.hasResult()) {
-      return null;
+  private void writeMany(JsonWriter writer, List<?> values) throws IOException {
+    writer.beginArray();
+    for (Object value : values) {
+      writeValue(writer, value);
     }
-
-    JsonRpcResult result = response.getResult();
-    return result.isSingle() ? getElement(result.getOne()) : getElements(result.getMany());
+    writer.endArray();
   }
 
-  private JsonElement getId(JsonRpcResponse response) {
-    return response.hasId() ? new JsonPrimitive(response.getId()) : null;
-  }
-
-  private JsonElement getElements(List<?> params) {
-    JsonArray elements = new JsonArray();
-    params.forEach(param -> elements.add(getJsonElement(param)));
-    return elements;
-  }
+  /**
+   * Single value is written as is if it is represented by a JSON object, otherwise it is wrapped
+   * into an array.
+   */
+  private void writeSingle(JsonWriter writer, Object value) throws IOException {
+    if (value instanceof JsonSerializable) {
+      writeDto(writer, value);
+      return;
+    }
 
-  private JsonElement getElement(Object param) {
-    JsonElement jsonElement = getJsonElement(param);
-    if (jsonElement.isJsonObject()) {
-      return jsonElement;
+    if (value != null
+        && !(value instanceof String)
+        && !(value instanceof Boolean)
+        && !(value instanceof Double)) {
+      JsonElement element = toJsonElement(value);
+      if (element.isJsonObject()) {
+        writeElement(writer, element);
+        return;
+      }
+      value = element;
     }
 
-    JsonArray array = new JsonArray();
-    array.add(jsonElement);
-    return array;
+    writer.beginArray();
+    writeValue(writer, value);
+    writer.endArray();
   }
 
-  private JsonElement getJsonElement(Object param) {
-    if (param == null) {
-      return JsonNull.INSTANCE;
-    }
-    if (param instanceof JsonElement) {
-      return cast(param);
-    }
-    if (param instanceof String) {
-      return new JsonPrimitive((String) param);
-    }
-    if (param instanceof Boolean) {
-      return new JsonPrimitive((Boolean) param);
-    }
-    if (param instanceof Double) {
-      return new JsonPrimitive((Double) param);
+  private void writeValue(JsonWriter writer, Object value) throws IOException {
+    if (value == null) {
+      writer.nullValue();
+    } else if (value instanceof String) {
+      writer.value((String) value);
+    } else if (value instanceof Boolean) {
+      writer.value((Boolean) value);
+    } else if (value instanceof Double) {
+      writer.value((Double) value);
+    } else if (value instanceof JsonSerializable) {
+      writeDto(writer, value);
+    } else {
+      writeElement(writer, toJsonElement(value));
     }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void writeDto(JsonWriter writer, Object dto) throws IOException {
+    TypeAdapter<Object> adapter =
+        (TypeAdapter<Object>) DtoFactory.getInstance().getGson().getAdapter(dto.getClass());
+    boolean serializeNulls = writer.getSerializeNulls();
+    writer.setSerializeNulls(false);
     try {
-      return jsonParser.parse(DtoFactory.getInstance().toJson(param));
-    } catch (IllegalArgumentException e) {
-      return gson.toJsonTree(param);
+      adapter.write(writer, dto);
+    } finally {
+      writer.setSerializeNulls(serializeNulls);
     }
   }
+
+  private void writeElement(JsonWriter writer, JsonElement element) throws IOException {
+    gson.getAdapter(JsonElement.class).write(writer, element);
+  }
+
+  private JsonElement toJsonElement(Object value) {
+    return value instanceof JsonElement ? (JsonElement) value : gson.toJsonTree(value);
+  }
 }
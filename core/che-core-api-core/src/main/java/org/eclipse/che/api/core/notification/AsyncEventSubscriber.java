@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Subscriber that delivers events to its delegate asynchronously, so a slow subscriber doesn't
+ * stall the thread that publishes events. Events are put to one of bounded mailboxes of the
+ * subscriber chosen by the partition key of the event, mailboxes are drained by a shared executor.
+ * Events with the same key (e.g. the same workspace id) are always delivered in the order they were
+ * published, while events with different keys may be delivered concurrently. If there is no
+ * partition key function all the events are delivered in the order they were published.
+ *
+ * <p>When a mailbox is full the publisher helps to drain it, which slows the publisher down to the
+ * rate the subscriber is able to handle events with. If the publisher is the subscriber itself,
+ * i.e. the thread which drains the full mailbox, the event is delivered right away, before the
+ * events which are waiting in the mailbox.
+ *
+ * @see EventService#subscribeAsync(EventSubscriber, Class, Function)
+ */
+public class AsyncEventSubscriber<T> implements EventSubscriber<T> {
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncEventSubscriber.class);
+
+  private static final int DRAIN_BATCH_SIZE = 64;
+
+  private final EventSubscriber<T> delegate;
+  private final Function<? super T, ?> partitionKey;
+  private final Executor executor;
+  private final Mailbox[] mailboxes;
+
+  private final AtomicLong receivedEvents = new AtomicLong();
+  private final AtomicLong deliveredEvents = new AtomicLong();
+  private final AtomicLong failedEvents = new AtomicLong();
+  private final AtomicLong throttledPublishes = new AtomicLong();
+
+  @SuppressWarnings("unchecked")
+  AsyncEventSubscriber(
+      EventSubscriber<T> delegate,
+      @Nullable Function<? super T, ?> partitionKey,
+      int partitions,
+      int mailboxCapacity,
+      Executor executor) {
+    this.delegate = delegate;
+    this.partitionKey = partitionKey;
+    this.executor = executor;
+    this.mailboxes = new AsyncEventSubscriber.Mailbox[partitionKey == null ? 1 : partitions];
+    for (int i = 0; i < mailboxes.length; i++) {
+      mailboxes[i] = new Mailbox(mailboxCapacity);
+    }
+  }
+
+  @Override
+  public void onEvent(T event) {
+    Object key = partitionKey == null ? null : partitionKey.apply(event);
+    int partition = key == null ? 0 : (key.hashCode() & Integer.MAX_VALUE) % mailboxes.length;
+    receivedEvents.incrementAndGet();
+    mailboxes[partition].offer(event);
+  }
+
+  /** Returns the subscriber events are delivered to. */
+  public EventSubscriber<T> getDelegate() {
+    return delegate;
+  }
+
+  /** Returns the number of events that are waiting to be delivered. */
+  public int getPendingEvents() {
+    int pending = 0;
+    for (Mailbox mailbox : mailboxes) {
+      pending += mailbox.queue.size();
+    }
+    return pending;
+  }
+
+  /** Returns the number of published events the subscriber received. */
+  public long getReceivedEvents() {
+    return receivedEvents.get();
+  }
+
+  /** Returns the number of events the subscriber handled successfully. */
+  public long getDeliveredEvents() {
+    return deliveredEvents.get();
+  }
+
+  /** Returns the number of events the subscriber failed to handle. */
+  public long getFailedEvents() {
+    return failedEvents.get();
+  }
+
+  /** Returns how many times publishers were slowed down because a mailbox was full. */
+  public long getThrottledPublishes() {
+    return throttledPublishes.get();
+  }
+
+  @Override
+  public String toString() {
+    return "AsyncEventSubscriber{delegate=" + delegate + '}';
+  }
+
+  private void deliver(T event) {
+    try {
+      delegate.onEvent(event);
+      deliveredEvents.incrementAndGet();
+    } catch (RuntimeException e) {
+      failedEvents.incrementAndGet();
+      LOG.error(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Bounded queue of events that is drained by at most one thread at a time, which guarantees the
+   * order of delivery.
+   */
+  private class Mailbox implements Runnable {
+    private final BlockingQueue<T> queue;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile Thread drainer;
+
+    private Mailbox(int capacity) {
+      this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    private void offer(T event) {
+      if (!queue.offer(event)) {
+        throttledPublishes.incrementAndGet();
+        if (drainer == Thread.currentThread()) {
+          // nobody else can drain the mailbox while the delegate publishes
+          deliver(event);
+          return;
+        }
+        do {
+          if (draining.compareAndSet(false, true)) {
+            drain();
+          } else {
+            LockSupport.parkNanos(100_000);
+          }
+        } while (!queue.offer(event));
+      }
+      schedule();
+    }
+
+    private void schedule() {
+      if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+        try {
+          executor.execute(this);
+        } catch (RejectedExecutionException e) {
+          draining.set(false);
+          LOG.error("Unable to deliver events to {}, executor rejected the task", delegate);
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      drain();
+      // events might be added while the drain was finishing
+      schedule();
+    }
+
+    private void drain() {
+      drainer = Thread.currentThread();
+      try {
+        T event;
+        for (int i = 0; i < DRAIN_BATCH_SIZE && (event = queue.poll()) != null; i++) {
+          deliver(event);
+        }
+      } finally {
+        drainer = null;
+        draining.set(false);
+      }
+    }
+  }
+}
@@ -10,19 +10,29 @@
  */
 package org.eclipse.che.api.core.notification;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.Pair;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,50 +50,36 @@ import org.slf4j.LoggerFactory;
  *     bus.publish(new MyEvent());
  * </pre>
  *
+ * <p>By default subscribers are called synchronously on the thread that publishes an event.
+ * Subscribers that may be slow (e.g. write to a database or send messages over network) should be
+ * subscribed with {@link #subscribeAsync(EventSubscriber, Class, Function)}, then events are
+ * delivered to them asynchronously and the publisher isn't blocked by them.
+ *
  * @author andrew00x
  */
 @Singleton
 public class EventService {
   private static final Logger LOG = LoggerFactory.getLogger(EventService.class);
 
-  private static final int CACHE_NUM = 1 << 2;
-  private static final int CACHE_MASK = CACHE_NUM - 1;
-  private static final int SEG_SIZE = 32;
+  private static final EventSubscriber[] NO_SUBSCRIBERS = new EventSubscriber[0];
+
+  private static final int ASYNC_PARTITIONS = 16;
+  private static final int ASYNC_MAILBOX_CAPACITY = 1024;
 
-  private final LoadingCache<Class<?>, Set<Class<?>>>[] typeCache;
   private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+  private final Map<Pair<EventSubscriber<?>, Class<?>>, AsyncEventSubscriber<?>> asyncSubscribers;
+  private final Map<Class<?>, Dispatch> dispatchByEventClass;
+
+  /** Incremented each time subscriptions are changed, invalidates all the built dispatches. */
+  private final AtomicInteger generation;
+
+  private volatile ExecutorService asyncExecutor;
 
-  @SuppressWarnings("unchecked")
   public EventService() {
     subscribersByEventType = new ConcurrentHashMap<>();
-    typeCache = new LoadingCache[CACHE_NUM];
-    for (int i = 0; i < CACHE_NUM; i++) {
-      typeCache[i] =
-          CacheBuilder.newBuilder()
-              .concurrencyLevel(SEG_SIZE)
-              .build(
-                  new CacheLoader<Class<?>, Set<Class<?>>>() {
-                    @Override
-                    public Set<Class<?>> load(Class<?> eventClass) {
-                      LinkedList<Class<?>> parents = new LinkedList<>();
-                      Set<Class<?>> classes = new HashSet<>();
-                      parents.add(eventClass);
-                      while (!parents.isEmpty()) {
-                        Class<?> clazz = parents.pop();
-                        classes.add(clazz);
-                        Class<?> parent = clazz.getSuperclass();
-                        if (parent != null) {
-                          parents.add(parent);
-                        }
-                        Class<?>[] interfaces = clazz.getInterfaces();
-                        if (interfaces.length > 0) {
-                          Collections.addAll(parents, interfaces);
-                        }
-                      }
-                      return classes;
-                    }
-                  });
-    }
+    asyncSubscribers = new ConcurrentHashMap<>();
+    dispatchByEventClass = new ConcurrentHashMap<>();
+    generation = new AtomicInteger();
   }
 
   /**
@@ -97,23 +93,63 @@ public class EventService {
     if (event == null) {
       throw new IllegalArgumentException("Null event.");
     }
-    final Class<?> eventClass = event.getClass();
-    for (Class<?> clazz : typeCache[eventClass.hashCode() & CACHE_MASK].getUnchecked(eventClass)) {
-      final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
-      if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
-        for (EventSubscriber eventSubscriber : eventSubscribers) {
-          try {
-            LOG.debug("Publish event {} for {}", event, eventSubscriber);
-            eventSubscriber.onEvent(event);
-          } catch (RuntimeException e) {
-            LOG.error(e.getMessage(), e);
-          }
+    final EventSubscriber[] eventSubscribers = getDispatch(event.getClass());
+    if (eventSubscribers.length == 0) {
+      return event;
+    }
+    final boolean debug = LOG.isDebugEnabled();
+    for (EventSubscriber eventSubscriber : eventSubscribers) {
+      try {
+        if (debug) {
+          LOG.debug("Publish event {} for {}", event, eventSubscriber);
         }
+        eventSubscriber.onEvent(event);
+      } catch (RuntimeException e) {
+        LOG.error(e.getMessage(), e);
       }
     }
     return event;
   }
 
+  /**
+   * Returns subscribers of the given event class and all its supertypes. The result is built once
+   * and reused until subscriptions are changed.
+   */
+  private EventSubscriber[] getDispatch(Class<?> eventClass) {
+    // read generation before subscribers, so dispatch that is built from stale subscribers
+    // is marked as stale and rebuilt on the next publish
+    final int currentGeneration = generation.get();
+    Dispatch dispatch = dispatchByEventClass.get(eventClass);
+    if (dispatch == null || dispatch.generation != currentGeneration) {
+      dispatch = new Dispatch(currentGeneration, collectSubscribers(eventClass));
+      dispatchByEventClass.put(eventClass, dispatch);
+    }
+    return dispatch.subscribers;
+  }
+
+  private EventSubscriber[] collectSubscribers(Class<?> eventClass) {
+    final List<EventSubscriber> result = new ArrayList<>();
+    final Set<Class<?>> visited = new HashSet<>();
+    final LinkedList<Class<?>> parents = new LinkedList<>();
+    parents.add(eventClass);
+    while (!parents.isEmpty()) {
+      Class<?> clazz = parents.pop();
+      if (!visited.add(clazz)) {
+        continue;
+      }
+      final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
+      if (eventSubscribers != null) {
+        result.addAll(eventSubscribers);
+      }
+      Class<?> parent = clazz.getSuperclass();
+      if (parent != null) {
+        parents.add(parent);
+      }
+      Collections.addAll(parents, clazz.getInterfaces());
+    }
+    return result.isEmpty() ? NO_SUBSCRIBERS : result.toArray(new EventSubscriber[result.size()]);
+  }
+
   /**
    * Subscribe event listener. The event to subscribe to is inferred by checking the generic type
    * arguments of the given subscriber.
@@ -136,6 +172,41 @@ public class EventService {
     doSubscribe(subscriber, eventType);
   }
 
+  /**
+   * Subscribe to an event in asynchronous mode. Published events are put to bounded mailboxes of
+   * the subscriber and delivered on a shared pool of threads, so the publisher doesn't wait for the
+   * subscriber to handle the event. Events that have equal partition keys are delivered in the
+   * order they were published, if the partition key function is not specified all the events are
+   * delivered in the order they were published. Subscriber can be unsubscribed the same way as
+   * synchronous one. The same subscriber may be subscribed to several event types, subscribing it
+   * again to the same event type replaces the previous subscription.
+   *
+   * @param subscriber the subscriber to call when an event is published
+   * @param eventType the event to subscribe to
+   * @param partitionKey function that returns key of an event which defines the order of delivery,
+   *     e.g. workspace id
+   * @return async subscriber registered in this service, it provides delivery statistics
+   */
+  public <T> AsyncEventSubscriber<T> subscribeAsync(
+      EventSubscriber<T> subscriber,
+      Class<T> eventType,
+      @Nullable Function<? super T, ?> partitionKey) {
+    AsyncEventSubscriber<T> asyncSubscriber =
+        new AsyncEventSubscriber<>(
+            subscriber,
+            partitionKey,
+            ASYNC_PARTITIONS,
+            ASYNC_MAILBOX_CAPACITY,
+            getAsyncExecutor());
+    AsyncEventSubscriber<?> previous =
+        asyncSubscribers.put(Pair.of(subscriber, eventType), asyncSubscriber);
+    if (previous != null) {
+      removeSubscriber(previous, eventType);
+    }
+    doSubscribe(asyncSubscriber, eventType);
+    return asyncSubscriber;
+  }
+
   private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
     Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
     if (entries == null) {
@@ -145,7 +216,9 @@ public class EventService {
         entries = newEntries;
       }
     }
-    entries.add(subscriber);
+    if (entries.add(subscriber)) {
+      generation.incrementAndGet();
+    }
   }
 
   /**
@@ -163,6 +236,12 @@ public class EventService {
   }
 
   private void doUnsubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
+    final AsyncEventSubscriber<?> asyncSubscriber =
+        asyncSubscribers.remove(Pair.of(subscriber, eventType));
+    removeSubscriber(asyncSubscriber != null ? asyncSubscriber : subscriber, eventType);
+  }
+
+  private void removeSubscriber(EventSubscriber<?> subscriber, Class<?> eventType) {
     final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
     if (entries != null && !entries.isEmpty()) {
       boolean changed = entries.remove(subscriber);
@@ -170,10 +249,38 @@ public class EventService {
         if (entries.isEmpty()) {
           subscribersByEventType.remove(eventType);
         }
+        generation.incrementAndGet();
       }
     }
   }
 
+  @PreDestroy
+  void stop() {
+    if (asyncExecutor != null) {
+      asyncExecutor.shutdown();
+    }
+  }
+
+  private ExecutorService getAsyncExecutor() {
+    ExecutorService executor = asyncExecutor;
+    if (executor == null) {
+      synchronized (this) {
+        executor = asyncExecutor;
+        if (executor == null) {
+          ThreadFactory factory =
+              new ThreadFactoryBuilder()
+                  .setNameFormat("EventServiceAsyncDelivery-%d")
+                  .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                  .setDaemon(true)
+                  .build();
+          int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+          asyncExecutor = executor = Executors.newFixedThreadPool(threads, factory);
+        }
+      }
+    }
+    return executor;
+  }
+
   private Class<?> getEventType(EventSubscriber<?> subscriber) {
     Class<?> eventType = null;
     Class<?> clazz = subscriber.getClass();
@@ -200,4 +307,15 @@ public class EventService {
     }
     return eventType;
   }
+
+  /** Flattened subscribers of a concrete event class. */
+  private static class Dispatch {
+    final int generation;
+    final EventSubscriber[] subscribers;
+
+    Dispatch(int generation, EventSubscriber[] subscribers) {
+      this.generation = generation;
+      this.subscribers = subscribers;
+    }
+  }
 }
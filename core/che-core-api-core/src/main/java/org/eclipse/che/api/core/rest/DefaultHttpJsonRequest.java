@@ -202,14 +202,22 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
     final HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
     conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
     conn.setReadTimeout(timeout > 0 ? timeout : 60000);
+    boolean responseReceived = false;
     try {
       conn.setRequestMethod(method);
       // drop a hint for server side that we want to receive application/json
       conn.addRequestProperty(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
-      if (!isNullOrEmpty(authorizationHeaderValue)) {
-        conn.setRequestProperty(HttpHeaders.AUTHORIZATION, authorizationHeaderValue);
-      } else if (authToken != null) {
-        conn.setRequestProperty(HttpHeaders.AUTHORIZATION, authToken);
+      final String authorization =
+          !isNullOrEmpty(authorizationHeaderValue) ? authorizationHeaderValue : authToken;
+      if (authorization != null) {
+        conn.setRequestProperty(HttpHeaders.AUTHORIZATION, authorization);
+      }
+      final HttpJsonResponseCache cache =
+          HttpMethod.GET.equals(method) ? getResponseCache() : null;
+      final HttpJsonResponseCache.CachedResponse cached =
+          cache != null ? cache.get(url, authorization) : null;
+      if (cached != null) {
+        conn.setRequestProperty(HttpHeaders.IF_NONE_MATCH, cached.eTag);
       }
       if (body != null) {
         conn.addRequestProperty(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
@@ -221,12 +229,14 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
           conn.setRequestProperty("X-HTTP-Method-Override", HttpMethod.DELETE);
         }
 
-        try (OutputStream output = conn.getOutputStream()) {
-          output.write(DtoFactory.getInstance().toJson(body).getBytes());
-        }
+        writeBody(conn, body);
       }
 
       final int responseCode = conn.getResponseCode();
+      responseReceived = true;
+      if (cached != null && responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+        return new DefaultHttpJsonResponse(cached.body, cached.responseCode);
+      }
       if ((responseCode / 100) != 2) {
         InputStream in = conn.getErrorStream();
         if (in == null) {
@@ -273,14 +283,56 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         throw new IOException(conn.getResponseMessage());
       }
 
+      final String responseBody;
       try (Reader reader = new InputStreamReader(conn.getInputStream())) {
-        return new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode);
+        responseBody = CharStreams.toString(reader);
       }
+      if (cache != null) {
+        final String eTag = conn.getHeaderField(HttpHeaders.ETAG);
+        if (eTag != null) {
+          cache.put(url, authorization, eTag, responseBody, responseCode);
+        } else if (cached != null) {
+          cache.invalidate(url, authorization);
+        }
+      }
+      return new DefaultHttpJsonResponse(responseBody, responseCode);
     } finally {
-      conn.disconnect();
+      releaseConnection(conn, responseReceived);
     }
   }
 
+  /**
+   * Returns the cache of GET responses used for conditional requests, by default responses are not
+   * cached.
+   */
+  protected HttpJsonResponseCache getResponseCache() {
+    return null;
+  }
+
+  /**
+   * Writes request body to the connection.
+   *
+   * @param conn connection to write body to
+   * @param body request body, must be instance of {@link JsonSerializable}
+   * @throws IOException when any i/o error occurs
+   */
+  protected void writeBody(HttpURLConnection conn, Object body) throws IOException {
+    try (OutputStream output = conn.getOutputStream()) {
+      output.write(DtoFactory.getInstance().toJson(body).getBytes());
+    }
+  }
+
+  /**
+   * Releases the connection after the request is done, by default the connection is closed.
+   *
+   * @param conn connection to release
+   * @param responseReceived true if the response status was received, false if the request failed
+   *     before that
+   */
+  protected void releaseConnection(HttpURLConnection conn, boolean responseReceived) {
+    conn.disconnect();
+  }
+
   @Override
   public String toString() {
     return "DefaultHttpJsonRequest{"
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Objects;
+
+/**
+ * Keeps bodies of GET responses which have {@code ETag} header, so the same requests can be sent
+ * as conditional ones with {@code If-None-Match} header and the cached body is used when the
+ * server responds with {@code 304 Not Modified}.
+ *
+ * <p>Responses are cached per url and authorization, so users don't share cached responses. The
+ * number of cached responses and the size of a single cached body are limited.
+ */
+public class HttpJsonResponseCache {
+
+  private static final int DEFAULT_MAX_ENTRIES = 256;
+  private static final int MAX_BODY_LENGTH = 1024 * 1024;
+
+  private final Cache<Key, CachedResponse> cache;
+
+  public HttpJsonResponseCache() {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  public HttpJsonResponseCache(int maxEntries) {
+    this.cache = CacheBuilder.newBuilder().maximumSize(maxEntries).build();
+  }
+
+  /** Returns cached response for the given url and authorization or null if there is no such. */
+  CachedResponse get(String url, String authorization) {
+    return cache.getIfPresent(new Key(url, authorization));
+  }
+
+  /** Caches the response, responses with too long bodies are not cached. */
+  void put(String url, String authorization, String eTag, String body, int responseCode) {
+    final Key key = new Key(url, authorization);
+    if (body.length() > MAX_BODY_LENGTH) {
+      cache.invalidate(key);
+    } else {
+      cache.put(key, new CachedResponse(eTag, body, responseCode));
+    }
+  }
+
+  /** Removes cached response for the given url and authorization. */
+  void invalidate(String url, String authorization) {
+    cache.invalidate(new Key(url, authorization));
+  }
+
+  /** Returns the number of cached responses. */
+  public long size() {
+    return cache.size();
+  }
+
+  static class CachedResponse {
+    final String eTag;
+    final String body;
+    final int responseCode;
+
+    CachedResponse(String eTag, String body, int responseCode) {
+      this.eTag = eTag;
+      this.body = body;
+      this.responseCode = responseCode;
+    }
+  }
+
+  private static class Key {
+    final String url;
+    final String authorization;
+
+    Key(String url, String authorization) {
+      this.url = url;
+      this.authorization = authorization;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key that = (Key) obj;
+      return url.equals(that.url) && Objects.equals(authorization, that.authorization);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * url.hashCode() + Objects.hashCode(authorization);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe histogram of request latencies with fixed buckets. Each bucket counts latencies
+ * that are less than or equal to its bound and greater than the bound of the previous bucket, the
+ * last bucket counts all the latencies that are greater than the biggest bound.
+ */
+public class LatencyHistogram {
+
+  private static final long[] BUCKET_BOUNDS_MILLIS = {
+    1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 30_000, 60_000
+  };
+
+  private final LongAdder[] counts;
+  private final LongAdder totalMillis;
+
+  public LatencyHistogram() {
+    counts = new LongAdder[BUCKET_BOUNDS_MILLIS.length + 1];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = new LongAdder();
+    }
+    totalMillis = new LongAdder();
+  }
+
+  /** Records a single request latency. */
+  public void record(long latencyMillis) {
+    int bucket = 0;
+    while (bucket < BUCKET_BOUNDS_MILLIS.length && latencyMillis > BUCKET_BOUNDS_MILLIS[bucket]) {
+      bucket++;
+    }
+    counts[bucket].increment();
+    totalMillis.add(latencyMillis);
+  }
+
+  /** Returns upper bounds of the buckets in milliseconds, the last bucket has no bound. */
+  public long[] getBucketBounds() {
+    return BUCKET_BOUNDS_MILLIS.clone();
+  }
+
+  /** Returns counts of latencies per bucket, the array is one element longer than the bounds. */
+  public long[] getCounts() {
+    final long[] result = new long[counts.length];
+    for (int i = 0; i < counts.length; i++) {
+      result[i] = counts[i].sum();
+    }
+    return result;
+  }
+
+  /** Returns the number of recorded latencies. */
+  public long getCount() {
+    long count = 0;
+    for (LongAdder adder : counts) {
+      count += adder.sum();
+    }
+    return count;
+  }
+
+  /** Returns the mean latency in milliseconds or 0 if nothing was recorded. */
+  public double getMean() {
+    final long count = getCount();
+    return count == 0 ? 0 : (double) totalMillis.sum() / count;
+  }
+
+  /**
+   * Returns the bound of the bucket the given percentile falls into, {@code Long.MAX_VALUE} if it
+   * is bigger than the biggest bound, or 0 if nothing was recorded.
+   *
+   * @param percentile percentile in range (0, 100]
+   */
+  public long getPercentile(double percentile) {
+    if (percentile <= 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be in range (0, 100]");
+    }
+    final long[] snapshot = getCounts();
+    long count = 0;
+    for (long bucketCount : snapshot) {
+      count += bucketCount;
+    }
+    if (count == 0) {
+      return 0;
+    }
+    final long rank = (long) Math.ceil(count * percentile / 100);
+    long seen = 0;
+    for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return BUCKET_BOUNDS_MILLIS[i];
+      }
+    }
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public String toString() {
+    return "LatencyHistogram{"
+        + "count="
+        + getCount()
+        + ", mean="
+        + getMean()
+        + ", p50="
+        + getPercentile(50)
+        + ", p99="
+        + getPercentile(99)
+        + '}';
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.List;
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.commons.lang.Pair;
+import org.eclipse.che.dto.server.JsonSerializable;
+
+/**
+ * Implementation of {@link HttpJsonRequest} which reuses connections.
+ *
+ * <p>Connections are not closed after the response is read, so the JDK keeps them alive and
+ * reuses them for the following requests to the same host. Request bodies are written directly to
+ * the connection in chunks instead of being serialized to a string first. The number of concurrent
+ * requests to a single host is limited by the factory which created the request. Bodies of GET
+ * responses that have {@code ETag} are cached by the factory, following requests for them are
+ * conditional and the cached body is used if the server responds with {@code 304 Not Modified}.
+ *
+ * @see PooledHttpJsonRequestFactory
+ */
+public class PooledHttpJsonRequest extends DefaultHttpJsonRequest {
+
+  private final PooledHttpJsonRequestFactory factory;
+
+  protected PooledHttpJsonRequest(String url, PooledHttpJsonRequestFactory factory) {
+    super(url);
+    this.factory = requireNonNull(factory, "Required non-null factory");
+  }
+
+  protected PooledHttpJsonRequest(Link link, PooledHttpJsonRequestFactory factory) {
+    super(link);
+    this.factory = requireNonNull(factory, "Required non-null factory");
+  }
+
+  @Override
+  protected DefaultHttpJsonResponse doRequest(
+      int timeout,
+      String url,
+      String method,
+      Object body,
+      List<Pair<String, ?>> parameters,
+      String authorizationHeaderValue)
+      throws IOException, ServerException, ForbiddenException, NotFoundException,
+          UnauthorizedException, ConflictException, BadRequestException {
+    final String host = new URL(url).getAuthority();
+    factory.acquire(host, timeout > 0 ? timeout : 60000);
+    final long start = System.nanoTime();
+    try {
+      return super.doRequest(timeout, url, method, body, parameters, authorizationHeaderValue);
+    } finally {
+      factory.release(host, (System.nanoTime() - start) / 1_000_000);
+    }
+  }
+
+  @Override
+  protected HttpJsonResponseCache getResponseCache() {
+    return factory.getResponseCache();
+  }
+
+  @Override
+  protected void writeBody(HttpURLConnection conn, Object body) throws IOException {
+    if (!(body instanceof JsonSerializable)) {
+      throw new IllegalArgumentException("JsonSerializable instance required. ");
+    }
+    conn.setChunkedStreamingMode(0);
+    try (Writer writer = new OutputStreamWriter(conn.getOutputStream(), UTF_8)) {
+      ((JsonSerializable) body).toJson(writer);
+    }
+  }
+
+  @Override
+  protected void releaseConnection(HttpURLConnection conn, boolean responseReceived) {
+    if (!responseReceived) {
+      conn.disconnect();
+      return;
+    }
+    // closing the response stream returns the connection to the JDK keep-alive cache,
+    // if the stream wasn't read till the end the JDK drains it or closes the connection
+    try {
+      InputStream in = conn.getErrorStream();
+      if (in == null) {
+        in = conn.getInputStream();
+      }
+      in.close();
+    } catch (IOException e) {
+      conn.disconnect();
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.Collections.unmodifiableMap;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.validation.constraints.NotNull;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+
+/**
+ * Implementation of {@link HttpJsonRequestFactory} which creates {@link PooledHttpJsonRequest}
+ * instances. Unlike {@link DefaultHttpJsonRequestFactory} connections are kept alive and reused
+ * for subsequent requests to the same host, request bodies are streamed and the number of
+ * concurrent requests per host is limited. Latencies of the requests are collected per host. GET
+ * responses that have {@code ETag} are revalidated with conditional requests, see {@link
+ * HttpJsonResponseCache}.
+ *
+ * <p>The factory is not used by default, it can be enabled with the binding:
+ *
+ * <pre>
+ *     bind(HttpJsonRequestFactory.class).to(PooledHttpJsonRequestFactory.class);
+ * </pre>
+ *
+ * <p>The number of idle connections kept per host is controlled by the JDK {@code
+ * http.maxConnections} system property.
+ */
+@Singleton
+public class PooledHttpJsonRequestFactory implements HttpJsonRequestFactory {
+
+  private static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = 20;
+
+  private final int maxConnectionsPerHost;
+  private final Map<String, Semaphore> permitsByHost;
+  private final Map<String, LatencyHistogram> latencyByHost;
+  private final HttpJsonResponseCache responseCache;
+
+  @Inject
+  public PooledHttpJsonRequestFactory() {
+    this(DEFAULT_MAX_CONNECTIONS_PER_HOST);
+  }
+
+  public PooledHttpJsonRequestFactory(int maxConnectionsPerHost) {
+    if (maxConnectionsPerHost <= 0) {
+      throw new IllegalArgumentException("Max connections per host must be positive");
+    }
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+    this.permitsByHost = new ConcurrentHashMap<>();
+    this.latencyByHost = new ConcurrentHashMap<>();
+    this.responseCache = new HttpJsonResponseCache();
+  }
+
+  @Override
+  public HttpJsonRequest fromUrl(@NotNull String url) {
+    return new PooledHttpJsonRequest(url, this);
+  }
+
+  @Override
+  public HttpJsonRequest fromLink(@NotNull Link link) {
+    return new PooledHttpJsonRequest(link, this);
+  }
+
+  /** Returns latency histograms of the requests made by this factory, mapped by host and port. */
+  public Map<String, LatencyHistogram> getLatencyHistograms() {
+    return unmodifiableMap(latencyByHost);
+  }
+
+  /** Returns the cache of GET responses which is shared by requests created by this factory. */
+  public HttpJsonResponseCache getResponseCache() {
+    return responseCache;
+  }
+
+  /**
+   * Acquires a permit to make a request to the given host.
+   *
+   * @throws IOException when a permit is not acquired in the given time
+   */
+  void acquire(String host, long timeoutMillis) throws IOException {
+    final Semaphore permits =
+        permitsByHost.computeIfAbsent(host, h -> new Semaphore(maxConnectionsPerHost, true));
+    try {
+      if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        throw new IOException(
+            String.format(
+                "Timed out waiting for a connection to %s, %d requests are in progress",
+                host, maxConnectionsPerHost));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for a connection to " + host, e);
+    }
+  }
+
+  /** Releases a permit acquired by {@link #acquire(String, long)} and records request latency. */
+  void release(String host, long latencyMillis) {
+    latencyByHost.computeIfAbsent(host, h -> new LatencyHistogram()).record(latencyMillis);
+    permitsByHost.get(host).release();
+  }
+}
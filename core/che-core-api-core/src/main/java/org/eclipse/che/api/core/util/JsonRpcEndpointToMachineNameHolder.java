@@ -12,7 +12,7 @@ package org.eclipse.che.api.core.util;
 
 import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static java.util.Collections.emptySet;
-import static java.util.stream.Collectors.toSet;
+import static java.util.Collections.unmodifiableSet;
 
 import java.util.Map;
 import java.util.Set;
@@ -23,7 +23,7 @@ import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 
 @Singleton
 public class JsonRpcEndpointToMachineNameHolder {
-  private final Map<String, Set<String>> endpointIds = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> topicEndpointIds = new ConcurrentHashMap<>();
 
   @Inject
   private void configureSubscribeHandler(RequestHandlerConfigurator configurator) {
@@ -34,8 +34,13 @@ public class JsonRpcEndpointToMachineNameHolder {
         .noResult()
         .withBiConsumer(
             (endpointId, workspaceIdPlusMachineName) -> {
-              endpointIds.putIfAbsent(endpointId, newConcurrentHashSet());
-              endpointIds.get(endpointId).add(workspaceIdPlusMachineName);
+              topicEndpointIds.compute(
+                  workspaceIdPlusMachineName,
+                  (k, endpointIds) -> {
+                    Set<String> ids = endpointIds == null ? newConcurrentHashSet() : endpointIds;
+                    ids.add(endpointId);
+                    return ids;
+                  });
             });
   }
 
@@ -48,17 +53,16 @@ public class JsonRpcEndpointToMachineNameHolder {
         .noResult()
         .withBiConsumer(
             (endpointId, workspaceIdPlusMachineName) -> {
-              endpointIds.getOrDefault(endpointId, emptySet()).remove(workspaceIdPlusMachineName);
-              endpointIds.entrySet().removeIf(entry -> entry.getValue().isEmpty());
+              topicEndpointIds.computeIfPresent(
+                  workspaceIdPlusMachineName,
+                  (k, endpointIds) -> {
+                    endpointIds.remove(endpointId);
+                    return endpointIds.isEmpty() ? null : endpointIds;
+                  });
             });
   }
 
   public Set<String> getEndpointIdsByWorkspaceIdPlusMachineName(String workspaceIdPlusMachineName) {
-    return endpointIds
-        .entrySet()
-        .stream()
-        .filter(it -> it.getValue().contains(workspaceIdPlusMachineName))
-        .map(Map.Entry::getKey)
-        .collect(toSet());
+    return unmodifiableSet(topicEndpointIds.getOrDefault(workspaceIdPlusMachineName, emptySet()));
   }
 }
@@ -13,6 +13,7 @@ package org.eclipse.che.api.core.util;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.io.IOException;
+import java.util.Set;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.slf4j.Logger;
 
@@ -34,17 +35,18 @@ public class JsonRpcMessageConsumer<T> implements MessageConsumer<T> {
 
   @Override
   public void consume(T message) throws IOException {
+    Set<String> endpointIds = jsonRpcEndpointIdProvider.get();
+    if (endpointIds.isEmpty()) {
+      return;
+    }
+
     try {
-      jsonRpcEndpointIdProvider
-          .get()
-          .forEach(
-              it ->
-                  transmitter
-                      .newRequest()
-                      .endpointId(it)
-                      .methodName(method)
-                      .paramsAsDto(message)
-                      .sendAndSkipResult());
+      transmitter
+          .newBroadcast()
+          .endpointIds(endpointIds)
+          .methodName(method)
+          .paramsAsDto(message)
+          .send();
     } catch (IllegalStateException e) {
       LOG.error("Error trying send line {}", message);
     }
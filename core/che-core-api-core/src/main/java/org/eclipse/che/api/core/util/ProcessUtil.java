@@ -16,7 +16,6 @@ import com.google.common.base.Joiner;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import org.slf4j.Logger;
@@ -97,19 +96,12 @@ public final class ProcessUtil {
 
     Process process = pb.start();
 
-    CompletableFuture.runAsync(
-        () -> {
-          try {
-            // consume logs until process ends
-            process(process, outputConsumer);
-          } catch (IOException e) {
-            LOG.error(
-                format(
-                    "Failed to complete reading of the process '%s' output due to occurred error",
-                    Joiner.on(" ").join(commandLine)),
-                e);
-          }
-        });
+    final String readErrorMessage =
+        format(
+            "Failed to complete reading of the process '%s' output due to occurred error",
+            Joiner.on(" ").join(commandLine));
+    // consume logs until process ends without holding a thread per process
+    new StreamPump().start(process, outputConsumer, e -> LOG.error(readErrorMessage, e));
 
     if (!process.waitFor(timeout, timeUnit)) {
       try {
@@ -10,32 +10,74 @@
  */
 package org.eclipse.che.api.core.util;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import org.eclipse.che.commons.lang.execution.StreamPoller;
 
-/** @author andrew00x */
-public final class StreamPump implements Runnable {
+/**
+ * Pumps output of the process to the line consumer.
+ *
+ * <p>Pump does not hold a thread while the process is running: it reads only the bytes which are
+ * already available on the threads shared by all the pumps, see {@link StreamPoller}, and the
+ * line consumer, which may block, is called outside of those threads. The stream is not polled
+ * again until the read bytes are consumed, and it is polled less often while it stays idle. When
+ * the process exits the rest of its output is read until the end of the stream.
+ *
+ * @author andrew00x
+ */
+public final class StreamPump {
+
+  private static final int READ_BUFFER_SIZE = 8192;
+  private static final long POLL_DELAY_WHEN_ACTIVE_MILLIS = 1;
+  private static final long MAX_POLL_DELAY_WHEN_IDLE_MILLIS = 200;
+
+  private static final ThreadLocal<byte[]> READ_BUFFER =
+      ThreadLocal.withInitial(() -> new byte[READ_BUFFER_SIZE]);
 
-  private BufferedReader bufferedReader;
+  private Process process;
+  private InputStream inputStream;
   private LineConsumer lineConsumer;
+  private Consumer<Exception> errorHandler;
 
-  private Exception exception;
+  // accessed only by the pumping task which is never run concurrently with itself
+  private byte[] line = new byte[256];
+  private int lineLength;
+  private boolean skipLineFeed;
+  private long idlePollDelay;
+
+  private volatile boolean stopped;
+  private volatile Exception exception;
   private boolean done;
 
   public synchronized void start(Process process, LineConsumer lineConsumer) {
+    start(process, lineConsumer, e -> {});
+  }
+
+  /**
+   * Starts pumping the process output.
+   *
+   * @param process process to pump output of
+   * @param lineConsumer consumer of the output lines
+   * @param errorHandler called with the error of reading or consuming the output, unless the pump
+   *     is stopped
+   */
+  public synchronized void start(
+      Process process, LineConsumer lineConsumer, Consumer<Exception> errorHandler) {
+    this.process = process;
     this.lineConsumer = lineConsumer;
-    bufferedReader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-    final Thread t = new Thread(this, "StreamPump");
-    t.setDaemon(true);
-    t.start();
+    this.errorHandler = errorHandler;
+    inputStream = process.getInputStream();
+    idlePollDelay = POLL_DELAY_WHEN_ACTIVE_MILLIS;
+    StreamPoller.schedule(this::poll, 0);
   }
 
   public synchronized void stop() {
-    // Not clear do we need close original stream, but since it was wrapped by BufferedReader close
-    // it anyway.
+    stopped = true;
     try {
-      bufferedReader.close();
+      inputStream.close();
     } catch (IOException ignored) {
     }
   }
@@ -58,20 +100,115 @@ public final class StreamPump implements Runnable {
     return exception;
   }
 
-  @Override
-  public void run() {
-    String line;
+  /**
+   * Reads available bytes without blocking and passes them to the consumer outside of the polling
+   * thread, or reschedules itself if there are no bytes while the process is alive.
+   */
+  private void poll() {
+    if (stopped) {
+      finish();
+      return;
+    }
+    final byte[] buffer = READ_BUFFER.get();
     try {
-      while ((line = bufferedReader.readLine()) != null) {
-        lineConsumer.writeLine(line);
+      final int available = inputStream.available();
+      if (available > 0) {
+        final int count = inputStream.read(buffer, 0, Math.min(available, buffer.length));
+        if (count >= 0) {
+          final byte[] bytes = Arrays.copyOf(buffer, count);
+          StreamPoller.executeBlocking(() -> pump(bytes));
+          return;
+        }
+      } else if (process.isAlive()) {
+        StreamPoller.schedule(this::poll, idlePollDelay);
+        idlePollDelay = Math.min(idlePollDelay * 2, MAX_POLL_DELAY_WHEN_IDLE_MILLIS);
+        return;
       }
     } catch (IOException e) {
-      exception = e;
-    } finally {
-      synchronized (this) {
-        done = true;
-        notifyAll();
+      fail(e);
+      return;
+    }
+    // the rest of the output is read in a separate thread as the stream may still be open
+    StreamPoller.executeBlocking(this::pumpToEnd);
+  }
+
+  private void pump(byte[] bytes) {
+    try {
+      consume(bytes, bytes.length);
+    } catch (Exception e) {
+      fail(e);
+      return;
+    } catch (Error e) {
+      finish();
+      throw e;
+    }
+    idlePollDelay = POLL_DELAY_WHEN_ACTIVE_MILLIS;
+    StreamPoller.schedule(this::poll, POLL_DELAY_WHEN_ACTIVE_MILLIS);
+  }
+
+  private void pumpToEnd() {
+    final byte[] buffer = READ_BUFFER.get();
+    try {
+      int count;
+      while (!stopped && (count = inputStream.read(buffer)) != -1) {
+        consume(buffer, count);
       }
+      consumeLastLine();
+    } catch (Exception e) {
+      fail(e);
+      return;
+    } catch (Error e) {
+      finish();
+      throw e;
+    }
+    finish();
+  }
+
+  /** Splits bytes into lines the same way as {@link java.io.BufferedReader#readLine()} does. */
+  private void consume(byte[] buffer, int count) throws IOException {
+    for (int i = 0; i < count; i++) {
+      final byte b = buffer[i];
+      if (b == '\n' && skipLineFeed) {
+        skipLineFeed = false;
+      } else if (b == '\n' || b == '\r') {
+        skipLineFeed = b == '\r';
+        writeLine();
+      } else {
+        skipLineFeed = false;
+        if (lineLength == line.length) {
+          line = Arrays.copyOf(line, line.length * 2);
+        }
+        line[lineLength++] = b;
+      }
+    }
+  }
+
+  private void consumeLastLine() throws IOException {
+    if (lineLength > 0) {
+      writeLine();
+    }
+  }
+
+  private void writeLine() throws IOException {
+    final String text = new String(line, 0, lineLength, Charset.defaultCharset());
+    lineLength = 0;
+    lineConsumer.writeLine(text);
+  }
+
+  private void fail(Exception e) {
+    if (!stopped) {
+      exception = e;
+      errorHandler.accept(e);
+    }
+    finish();
+  }
+
+  private synchronized void finish() {
+    try {
+      inputStream.close();
+    } catch (IOException ignored) {
     }
+    done = true;
+    notifyAll();
   }
 }
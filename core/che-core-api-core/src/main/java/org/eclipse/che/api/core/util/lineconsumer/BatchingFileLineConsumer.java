@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Consumes logs and writes them into file in batches. This implementation is thread safe.
+ *
+ * <p>Unlike {@link ConcurrentFileLineConsumer} lines are not written to the file one by one, they
+ * are put into a lock-free queue and written with a single flush either periodically or as soon as
+ * enough of them is queued. If lines are queued faster than they are written, the thread which
+ * writes a line flushes the queue itself. When the file becomes bigger than the limit it is
+ * renamed by adding {@code .1} suffix, replacing the previously rotated file, and the new file is
+ * started. If the file can't be renamed, lines keep being appended to it.
+ */
+public class BatchingFileLineConsumer implements LineConsumer {
+  private static final Logger LOG = LoggerFactory.getLogger(BatchingFileLineConsumer.class);
+
+  private static final long DEFAULT_FLUSH_PERIOD_MILLIS = 300;
+  private static final int DEFAULT_BATCH_SIZE = 8 * 1024;
+  private static final long DEFAULT_MAX_FILE_SIZE = 10 * 1024 * 1024;
+  private static final int MAX_PENDING_LINES = 10_000;
+
+  private static final ScheduledExecutorService FLUSHER =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("BatchingFileLineConsumerFlusher")
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setDaemon(true)
+              .build());
+
+  private final File file;
+  private final File rotatedFile;
+  private final int batchSize;
+  private final long maxFileSize;
+  private final Queue<String> pending;
+  private final AtomicInteger pendingLines;
+  private final AtomicInteger pendingChars;
+  private final AtomicBoolean flushRequested;
+  private final ScheduledFuture<?> flushTask;
+
+  /** Guarded by this, null if the consumer is closed or the file failed to be reopened. */
+  private Writer writer;
+  /** Guarded by this. */
+  private long fileSize;
+
+  private volatile boolean isOpen;
+
+  public BatchingFileLineConsumer(File file) throws IOException {
+    this(file, DEFAULT_FLUSH_PERIOD_MILLIS, DEFAULT_BATCH_SIZE, DEFAULT_MAX_FILE_SIZE);
+  }
+
+  /**
+   * Creates consumer with specific thresholds.
+   *
+   * @param file file to write lines to
+   * @param flushPeriodMillis how often queued lines are written to the file
+   * @param batchSize number of queued characters which causes lines to be written to the file
+   *     before the flush period ends
+   * @param maxFileSize number of characters written to the file after which it is rotated
+   */
+  public BatchingFileLineConsumer(
+      File file, long flushPeriodMillis, int batchSize, long maxFileSize) throws IOException {
+    this.file = file;
+    this.rotatedFile = new File(file.getPath() + ".1");
+    this.batchSize = batchSize;
+    this.maxFileSize = maxFileSize;
+    this.pending = new ConcurrentLinkedQueue<>();
+    this.pendingLines = new AtomicInteger();
+    this.pendingChars = new AtomicInteger();
+    this.flushRequested = new AtomicBoolean();
+    this.writer = Files.newBufferedWriter(file.toPath(), Charset.defaultCharset());
+    this.isOpen = true;
+    this.flushTask =
+        FLUSHER.scheduleWithFixedDelay(
+            this::flushQuietly, flushPeriodMillis, flushPeriodMillis, MILLISECONDS);
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  public boolean isOpen() {
+    return isOpen;
+  }
+
+  @Override
+  public void writeLine(String line) throws IOException {
+    if (!isOpen) {
+      return;
+    }
+    final String toWrite = line == null ? "" : line;
+    pending.offer(toWrite);
+    final int lines = pendingLines.incrementAndGet();
+    final int chars = pendingChars.addAndGet(toWrite.length() + 1);
+    if (lines >= MAX_PENDING_LINES) {
+      flush();
+    } else if (chars >= batchSize && flushRequested.compareAndSet(false, true)) {
+      FLUSHER.execute(this::flushQuietly);
+    }
+  }
+
+  /**
+   * Writes all the queued lines to the file.
+   *
+   * @throws IOException when any i/o error occurs
+   */
+  public synchronized void flush() throws IOException {
+    flushRequested.set(false);
+    if (writer == null) {
+      if (!isOpen) {
+        return;
+      }
+      reopen();
+    }
+    boolean written = false;
+    String line;
+    while ((line = pending.poll()) != null) {
+      pendingLines.decrementAndGet();
+      pendingChars.addAndGet(-(line.length() + 1));
+      writer.write(line);
+      writer.write('\n');
+      written = true;
+      fileSize += line.length() + 1;
+      if (fileSize >= maxFileSize) {
+        rotate();
+      }
+    }
+    if (written) {
+      writer.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (isOpen) {
+      isOpen = false;
+      flushTask.cancel(false);
+      synchronized (this) {
+        try {
+          flush();
+        } finally {
+          if (writer != null) {
+            writer.close();
+            writer = null;
+          }
+        }
+      }
+    }
+  }
+
+  private void rotate() throws IOException {
+    final Writer rotated = writer;
+    writer = null;
+    fileSize = 0;
+    try {
+      rotated.close();
+      Files.move(file.toPath(), rotatedFile.toPath(), REPLACE_EXISTING);
+    } finally {
+      // if the file is not moved new lines are appended to it
+      reopen();
+    }
+  }
+
+  /** Opens the file for appending, if it fails drops the queued lines, so they don't pile up. */
+  private void reopen() throws IOException {
+    try {
+      writer = Files.newBufferedWriter(file.toPath(), Charset.defaultCharset(), CREATE, APPEND);
+    } catch (IOException e) {
+      int dropped = 0;
+      String line;
+      while ((line = pending.poll()) != null) {
+        pendingLines.decrementAndGet();
+        pendingChars.addAndGet(-(line.length() + 1));
+        dropped++;
+      }
+      LOG.warn("Failed to reopen the file '{}', {} queued lines are dropped", file, dropped);
+      throw e;
+    }
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (IOException e) {
+      LOG.error(String.format("Failed to write logs to the file '%s'", file), e);
+    }
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Line consumer that keeps consumed lines for a short time and passes them to the delegate in
+ * bursts, dropping the lines which would be overwritten in a console anyway, so the delegate which
+ * sends each line as a separate message (e.g. over a websocket) sends much less messages for a
+ * progress output. Each line is still passed as a separate line. This implementation is thread
+ * safe.
+ *
+ * <p>Consumed lines are kept until the latency budget is spent, then they are passed to the
+ * delegate by a shared pool thread, so a delegate may block. Each consumer uses at most one pool
+ * thread at a time, the lines consumed while it passes the lines to a slow delegate are passed by
+ * the same thread afterwards. If too many lines are pending, the thread which consumes them passes
+ * them itself.
+ *
+ * <p>Progress updates are collapsed: only the text after the last carriage return of a line is
+ * kept, except for the trailing one which tells a console to overwrite the line with the next one.
+ * A pending line which ends with a carriage return is replaced by the next line.
+ */
+public class CoalescingLineConsumer implements LineConsumer {
+  private static final Logger LOG = LoggerFactory.getLogger(CoalescingLineConsumer.class);
+
+  private static final long DEFAULT_LATENCY_MILLIS = 100;
+  private static final int DEFAULT_MAX_PENDING_LINES = 1000;
+
+  private static final ScheduledExecutorService SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("CoalescingLineConsumerScheduler")
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setDaemon(true)
+              .build());
+
+  private static final ExecutorService SENDERS =
+      Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder()
+              .setNameFormat("CoalescingLineConsumer-%d")
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setDaemon(true)
+              .build());
+
+  private final LineConsumer delegate;
+  private final long latencyMillis;
+  private final int maxPendingLines;
+  private final Object sendLock;
+
+  /** Guarded by this. */
+  private final Deque<String> pending;
+  /** Guarded by this. */
+  private boolean draining;
+  /** Guarded by this. */
+  private ScheduledFuture<?> scheduledFlush;
+  /** Guarded by this. */
+  private boolean closed;
+
+  public CoalescingLineConsumer(LineConsumer delegate) {
+    this(delegate, DEFAULT_LATENCY_MILLIS, DEFAULT_MAX_PENDING_LINES);
+  }
+
+  /**
+   * Creates consumer with specific limits.
+   *
+   * @param delegate consumer to pass lines to
+   * @param latencyMillis maximum time a line is kept before it is passed to the delegate
+   * @param maxPendingLines number of pending lines which makes the consuming thread pass them
+   */
+  public CoalescingLineConsumer(LineConsumer delegate, long latencyMillis, int maxPendingLines) {
+    if (maxPendingLines <= 0) {
+      throw new IllegalArgumentException("Maximum number of pending lines must be positive");
+    }
+    this.delegate = delegate;
+    this.latencyMillis = latencyMillis;
+    this.maxPendingLines = maxPendingLines;
+    this.sendLock = new Object();
+    this.pending = new ArrayDeque<>();
+  }
+
+  @Override
+  public void writeLine(String line) throws IOException {
+    final boolean overflow;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      append(collapseCarriageReturns(line == null ? "" : line));
+      overflow = pending.size() >= maxPendingLines;
+      if (!overflow && scheduledFlush == null) {
+        scheduledFlush = SCHEDULER.schedule(this::onScheduledFlush, latencyMillis, MILLISECONDS);
+      }
+    }
+    if (overflow) {
+      send();
+    }
+  }
+
+  /**
+   * Passes all the pending lines to the delegate.
+   *
+   * @throws IOException when delegate fails to consume lines
+   */
+  public void flush() throws IOException {
+    send();
+  }
+
+  /** Passes the pending lines to the delegate and closes it. */
+  @Override
+  public void close() throws IOException {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      if (scheduledFlush != null) {
+        scheduledFlush.cancel(false);
+        scheduledFlush = null;
+      }
+    }
+    try {
+      send();
+    } finally {
+      delegate.close();
+    }
+  }
+
+  private void append(String line) {
+    final String last = pending.peekLast();
+    if (last != null && last.endsWith("\r")) {
+      pending.pollLast();
+    }
+    pending.offer(line);
+  }
+
+  /** Called by the scheduler thread, which must not be blocked by the delegate. */
+  private void onScheduledFlush() {
+    synchronized (this) {
+      scheduledFlush = null;
+      if (draining) {
+        // lines are passed by the running drain
+        return;
+      }
+      draining = true;
+    }
+    SENDERS.execute(this::drain);
+  }
+
+  private void drain() {
+    try {
+      send();
+    } catch (IOException e) {
+      LOG.error("An error occurred while passing lines to the consumer " + delegate, e);
+    } finally {
+      synchronized (this) {
+        draining = false;
+        // lines consumed after the drain took the last one
+        if (!closed && !pending.isEmpty() && scheduledFlush == null) {
+          scheduledFlush = SCHEDULER.schedule(this::onScheduledFlush, latencyMillis, MILLISECONDS);
+        }
+      }
+    }
+  }
+
+  /** Passes all the pending lines to the delegate keeping their order. */
+  private void send() throws IOException {
+    synchronized (sendLock) {
+      String line;
+      while ((line = takeLine()) != null) {
+        delegate.writeLine(line);
+      }
+    }
+  }
+
+  private synchronized String takeLine() {
+    return pending.poll();
+  }
+
+  /**
+   * Keeps the text after the last carriage return, i.e. the one visible in a terminal, and the
+   * trailing carriage return if there is one.
+   */
+  private static String collapseCarriageReturns(String line) {
+    int end = line.length();
+    while (end > 0 && line.charAt(end - 1) == '\r') {
+      end--;
+    }
+    final int start = line.lastIndexOf('\r', end - 1) + 1;
+    if (start == 0 && end >= line.length() - 1) {
+      return line;
+    }
+    return line.substring(start, Math.min(end + 1, line.length()));
+  }
+}
@@ -14,11 +14,14 @@ import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableMap;
 import static org.eclipse.che.api.core.websocket.impl.WebsocketIdService.randomClientId;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.websocket.CloseReason;
+import javax.websocket.CloseReason.CloseCodes;
 import javax.websocket.OnClose;
 import javax.websocket.OnError;
 import javax.websocket.OnMessage;
@@ -41,6 +44,8 @@ public abstract class BasicWebSocketEndpoint {
   private final WebSocketMessageReceiver receiver;
   private final WebsocketIdService identificationService;
   private final Map<Session, StringBuffer> sessionMessagesBuffer = new ConcurrentHashMap<>();
+  private final Map<Session, ByteArrayOutputStream> sessionFramesBuffer =
+      new ConcurrentHashMap<>();
 
   public BasicWebSocketEndpoint(
       WebSocketSessionRegistry registry,
@@ -62,6 +67,9 @@ public abstract class BasicWebSocketEndpoint {
     LOG.debug("Endpoint: {}", combinedEndpointId);
 
     session.setMaxIdleTimeout(0);
+    String framing =
+        getQueryParamsMap(session.getQueryString()).get(MessageFraming.FRAMING_QUERY_PARAMETER);
+    MessageFraming.setFraming(session, framing);
 
     registry.add(combinedEndpointId, session);
     reSender.resend(combinedEndpointId);
@@ -81,6 +89,38 @@ public abstract class BasicWebSocketEndpoint {
     }
   }
 
+  @OnMessage
+  public void onMessage(byte[] framePart, boolean last, Session session) {
+    if (!MessageFraming.isDeflate(session)) {
+      close(session, CloseCodes.CANNOT_ACCEPT, "Binary messages are not negotiated");
+      return;
+    }
+    ByteArrayOutputStream buffer =
+        sessionFramesBuffer.computeIfAbsent(session, k -> new ByteArrayOutputStream());
+    if (buffer.size() + framePart.length > MessageFraming.MAX_MESSAGE_BYTES) {
+      sessionFramesBuffer.remove(session);
+      close(session, CloseCodes.TOO_BIG, "Binary message is too big");
+      return;
+    }
+    buffer.write(framePart, 0, framePart.length);
+    if (last) {
+      String message;
+      try {
+        message = MessageFraming.inflate(buffer.toByteArray());
+      } catch (MessageFraming.MessageTooBigException e) {
+        sessionFramesBuffer.remove(session);
+        close(session, CloseCodes.TOO_BIG, "Inflated message is too big");
+        return;
+      } catch (IOException e) {
+        LOG.error("Can't decode binary web socket message", e);
+        return;
+      } finally {
+        buffer.reset();
+      }
+      onMessage(message, session);
+    }
+  }
+
   public void onMessage(String message, Session session) {
     Optional<String> endpointIdOptional = registry.get(session);
 
@@ -114,6 +154,7 @@ public abstract class BasicWebSocketEndpoint {
 
       registry.remove(combinedEndpointId);
       sessionMessagesBuffer.remove(session);
+      sessionFramesBuffer.remove(session);
     } else {
       LOG.warn("Closing unidentified session");
     }
@@ -139,6 +180,15 @@ public abstract class BasicWebSocketEndpoint {
 
   protected abstract String getEndpointId();
 
+  private void close(Session session, CloseCodes code, String reason) {
+    LOG.warn("Closing web socket session {}: {}", session.getId(), reason);
+    try {
+      session.close(new CloseReason(code, reason));
+    } catch (IOException e) {
+      LOG.error("Can't close web socket session", e);
+    }
+  }
+
   private String getOrGenerateCombinedEndpointId(Session session) {
     Map<String, String> queryParamsMap = getQueryParamsMap(session.getQueryString());
     String clientId = queryParamsMap.getOrDefault("clientId", randomClientId());
@@ -12,7 +12,6 @@ package org.eclipse.che.api.core.websocket.impl;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
-import java.io.IOException;
 import java.util.Optional;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -23,7 +22,8 @@ import org.slf4j.Logger;
 /**
  * Transmits messages over WEB SOCKET to a specific endpoint or broadcasts them. If WEB SOCKET
  * session is not opened adds messages to re-sender to try to send them when session will be opened
- * again.
+ * again. If there are still messages pending for the endpoint, new messages are queued after them to
+ * keep the order in which they are delivered, see {@link MessagesReSender#send}.
  *
  * @author Dmitry Kuleshov
  */
@@ -42,7 +42,7 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
   }
 
   @Override
-  public synchronized void transmit(String endpointId, String message) {
+  public void transmit(String endpointId, String message) {
     final Optional<Session> sessionOptional = registry.get(endpointId);
 
     if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
@@ -52,11 +52,7 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
     } else {
       LOG.debug("Session registered and open, sending message");
 
-      try {
-        sessionOptional.get().getBasicRemote().sendText(message);
-      } catch (IOException e) {
-        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-      }
+      reSender.send(endpointId, sessionOptional.get(), message);
     }
   }
 }
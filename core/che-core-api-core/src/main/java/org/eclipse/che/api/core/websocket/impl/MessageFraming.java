@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import javax.websocket.Session;
+
+/**
+ * Defines how text messages are framed for a specific WEB SOCKET session. By default messages are
+ * sent as plain text frames. A client can opt in for compact framing by adding {@code
+ * framing=deflate} query parameter to the connection URL, in that case messages that are longer
+ * than {@link #DEFLATE_THRESHOLD} characters are sent as binary frames that contain deflated UTF-8
+ * bytes of the message, shorter messages are still sent as plain text frames. Binary frames
+ * received from such client are considered to be deflated the same way, binary frames from other
+ * clients are not accepted. Neither a received binary frame nor the message inflated from it may be
+ * larger than {@link #MAX_MESSAGE_BYTES}.
+ *
+ * <p>Framing is transparent for the upper layers, they always deal with plain text messages.
+ */
+class MessageFraming {
+  static final String FRAMING_QUERY_PARAMETER = "framing";
+  static final String DEFLATE_FRAMING = "deflate";
+
+  static final int DEFLATE_THRESHOLD = 1024;
+  static final int MAX_MESSAGE_BYTES = 16 * 1024 * 1024;
+
+  private static final String FRAMING_PROPERTY = "che.websocket.framing";
+
+  private MessageFraming() {}
+
+  /** Remembers framing requested by a client for the session, unknown values are ignored. */
+  static void setFraming(Session session, String framing) {
+    if (DEFLATE_FRAMING.equals(framing)) {
+      session.getUserProperties().put(FRAMING_PROPERTY, DEFLATE_FRAMING);
+    }
+  }
+
+  /** Checks whether the client of the session opted in for deflate framing. */
+  static boolean isDeflate(Session session) {
+    return DEFLATE_FRAMING.equals(session.getUserProperties().get(FRAMING_PROPERTY));
+  }
+
+  /** Sends a message using framing negotiated for the session. */
+  static void send(Session session, String message) throws IOException {
+    if (isDeflate(session) && message.length() > DEFLATE_THRESHOLD) {
+      session.getBasicRemote().sendBinary(deflate(message));
+    } else {
+      session.getBasicRemote().sendText(message);
+    }
+  }
+
+  static ByteBuffer deflate(String message) {
+    byte[] input = message.getBytes(UTF_8);
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(input);
+      deflater.finish();
+
+      ByteArrayOutputStream output = new ByteArrayOutputStream(input.length / 4 + 16);
+      byte[] buffer = new byte[8192];
+      while (!deflater.finished()) {
+        int count = deflater.deflate(buffer);
+        output.write(buffer, 0, count);
+      }
+      return ByteBuffer.wrap(output.toByteArray());
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * Inflates the binary frame.
+   *
+   * @throws MessageTooBigException if the inflated message is larger than {@link
+   *     #MAX_MESSAGE_BYTES}
+   * @throws IOException if the frame is not deflated
+   */
+  static String inflate(byte[] frame) throws IOException {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(frame);
+
+      ByteArrayOutputStream output =
+          new ByteArrayOutputStream(Math.min(frame.length * 4, MAX_MESSAGE_BYTES));
+      byte[] buffer = new byte[8192];
+      while (!inflater.finished()) {
+        int count = inflater.inflate(buffer);
+        if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IOException("Binary frame is truncated or is not deflated");
+        }
+        if (output.size() + count > MAX_MESSAGE_BYTES) {
+          throw new MessageTooBigException(
+              "Inflated message exceeds " + MAX_MESSAGE_BYTES + " bytes");
+        }
+        output.write(buffer, 0, count);
+      }
+      return new String(output.toByteArray(), UTF_8);
+    } catch (DataFormatException e) {
+      throw new IOException("Binary frame is not deflated", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /** Thrown when a received message exceeds {@link #MAX_MESSAGE_BYTES}. */
+  static class MessageTooBigException extends IOException {
+    MessageTooBigException(String message) {
+      super(message);
+    }
+  }
+}
@@ -10,32 +10,49 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
-import com.google.common.collect.EvictingQueue;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.websocket.Session;
 import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.slf4j.Logger;
 
 /**
  * Instance is responsible for re-sending messages that were not sent during the period when WEB
  * SOCKET session was closed. If session is closed during re-send process it stops and left messages
  * will be re-sent as WEB SOCKET session becomes open again.
  *
+ * <p>Pending messages are kept per endpoint in the order they were added, each one is assigned a
+ * sequence number that is unique within its endpoint. The buffer of each endpoint is bounded by the
+ * total size of its messages in bytes rather than by their count, so a handful of large messages
+ * (e.g. file contents) can't exhaust memory while many small ones (e.g. process output lines) are
+ * not evicted too early. When the bound is exceeded the oldest messages are evicted first.
+ *
+ * <p>Messages of an endpoint are sent by a single thread at a time, the one which finds no other
+ * thread sending them, while other threads just add their messages to the tail of the pending ones
+ * and return. No lock is held while a message is written to the socket, so a slow session delays
+ * only the thread which sends its messages.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
+  private static final Logger LOG = getLogger(MessagesReSender.class);
 
-  private static final int MAX_MESSAGES = 100;
+  private static final long MAX_PENDING_BYTES = 1024 * 1024;
+  private static final long STALE_MESSAGE_TIMEOUT_MILLIS = 60_000;
 
   private final WebSocketSessionRegistry registry;
 
-  private final Map<String, Queue<DelayedMessage>> delayedMessageRegistry =
-      new ConcurrentHashMap<>();
+  private final Map<String, PendingMessages> delayedMessageRegistry = new ConcurrentHashMap<>();
 
   @Inject
   public MessagesReSender(WebSocketSessionRegistry registry) {
@@ -46,59 +63,257 @@ public class MessagesReSender {
   void cleanStaleMessages() {
     long currentTimeMillis = System.currentTimeMillis();
 
-    delayedMessageRegistry
-        .values()
-        .forEach(it -> it.removeIf(m -> currentTimeMillis - m.timeMillis > 60_000));
+    delayedMessageRegistry.forEach(
+        (endpointId, pending) -> {
+          synchronized (pending) {
+            pending.removeOlderThan(currentTimeMillis - STALE_MESSAGE_TIMEOUT_MILLIS);
+          }
+        });
 
-    delayedMessageRegistry.values().removeIf(Queue::isEmpty);
+    delayedMessageRegistry.keySet().forEach(this::removeIfEmpty);
   }
 
+  /**
+   * Adds a message to the tail of the pending messages of the specified endpoint.
+   *
+   * @param endpointId endpoint identifier
+   * @param message plain text message
+   */
   public void add(String endpointId, String message) {
+    delayedMessageRegistry.compute(
+        endpointId,
+        (k, pending) -> {
+          if (pending == null) {
+            pending = new PendingMessages();
+          }
+          synchronized (pending) {
+            pending.offer(endpointId, message, false);
+          }
+          return pending;
+        });
+  }
+
+  /**
+   * Sends a message to the open session of the specified endpoint after the messages which are
+   * pending for that endpoint. If another thread is sending the messages of the endpoint at the
+   * moment, the message is added to the tail of the pending messages for that thread to send it.
+   * Unlike {@link #add(String, String)} a message larger than the pending messages limit is not
+   * dropped, as the session is open to send it.
+   *
+   * @param endpointId endpoint identifier
+   * @param session open session of the endpoint
+   * @param message plain text message
+   */
+  public void send(String endpointId, Session session, String message) {
+    final boolean[] sending = new boolean[1];
+    final DelayedMessage[] direct = new DelayedMessage[1];
+    final PendingMessages pending =
+        delayedMessageRegistry.compute(
+            endpointId,
+            (k, p) -> {
+              if (p == null) {
+                p = new PendingMessages();
+              }
+              synchronized (p) {
+                if (!p.sending) {
+                  p.sending = sending[0] = true;
+                }
+                if (sending[0] && p.isEmpty()) {
+                  direct[0] = p.next(message);
+                } else {
+                  p.offer(endpointId, message, true);
+                }
+              }
+              return p;
+            });
 
-    delayedMessageRegistry
-        .computeIfAbsent(endpointId, k -> EvictingQueue.create(MAX_MESSAGES))
-        .offer(new DelayedMessage(message));
+    if (sending[0]) {
+      if (direct[0] == null || send(endpointId, session, pending, direct[0])) {
+        sendPending(endpointId, session, pending);
+      }
+      removeIfEmpty(endpointId);
+    }
   }
 
-  public void resend(String endpointId) {
-    Queue<DelayedMessage> delayedMessages = delayedMessageRegistry.remove(endpointId);
+  /**
+   * Checks if there are messages for the specified endpoint that are still waiting to be sent. New
+   * messages for such endpoint must be added to the tail of the pending messages rather than be
+   * sent directly, otherwise they would overtake the pending ones.
+   *
+   * @param endpointId endpoint identifier
+   * @return true if there are pending messages, false otherwise
+   */
+  public boolean hasPending(String endpointId) {
+    PendingMessages pending = delayedMessageRegistry.get(endpointId);
+    if (pending == null) {
+      return false;
+    }
+
+    synchronized (pending) {
+      return !pending.isEmpty();
+    }
+  }
 
-    if (delayedMessages == null || delayedMessages.isEmpty()) {
+  /**
+   * Sends pending messages of the specified endpoint in the order of their sequence numbers. If
+   * session is not registered or gets closed in the middle of the process, the messages that are
+   * left are kept to be re-sent later.
+   *
+   * @param endpointId endpoint identifier
+   */
+  public void resend(String endpointId) {
+    PendingMessages pending = delayedMessageRegistry.get(endpointId);
+    if (pending == null) {
       return;
     }
 
     Optional<Session> sessionOptional = registry.get(endpointId);
-
     if (!sessionOptional.isPresent()) {
       return;
     }
 
-    Queue<DelayedMessage> backingQueue = EvictingQueue.create(delayedMessages.size());
-    while (!delayedMessages.isEmpty()) {
-      backingQueue.offer(delayedMessages.poll());
+    synchronized (pending) {
+      if (pending.sending) {
+        // messages are being sent by another thread
+        return;
+      }
+      pending.sending = true;
+    }
+
+    sendPending(endpointId, sessionOptional.get(), pending);
+    removeIfEmpty(endpointId);
+  }
+
+  /** Sends pending messages until there are none or session is closed, must own the sending. */
+  private void sendPending(String endpointId, Session session, PendingMessages pending) {
+    while (true) {
+      DelayedMessage delayedMessage;
+      synchronized (pending) {
+        delayedMessage = session.isOpen() ? pending.poll() : null;
+        if (delayedMessage == null) {
+          pending.sending = false;
+          return;
+        }
+      }
+      if (!send(endpointId, session, pending, delayedMessage)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Sends the message without holding any lock, if sending fails puts the message back to the head
+   * of the pending messages to be re-sent later and gives up the sending.
+   */
+  private boolean send(
+      String endpointId, Session session, PendingMessages pending, DelayedMessage delayedMessage) {
+    try {
+      MessageFraming.send(session, delayedMessage.message);
+      return true;
+    } catch (IOException | RuntimeException e) {
+      // e.g. IllegalStateException when the session is closed while the message is written
+      LOG.error(
+          "Error while trying to send a message #{} to endpoint {}",
+          delayedMessage.sequence,
+          endpointId,
+          e);
+      synchronized (pending) {
+        pending.offerFirst(delayedMessage);
+        pending.sending = false;
+      }
+      return false;
+    }
+  }
+
+  private void removeIfEmpty(String endpointId) {
+    delayedMessageRegistry.computeIfPresent(
+        endpointId,
+        (k, pending) -> {
+          synchronized (pending) {
+            return pending.isEmpty() && !pending.sending ? null : pending;
+          }
+        });
+  }
+
+  /** Messages of a single endpoint waiting to be sent, not thread safe. */
+  private static class PendingMessages {
+    private final Deque<DelayedMessage> messages = new ArrayDeque<>();
+
+    private long sequence;
+    private long bytes;
+    /** Whether a thread is sending the messages. */
+    private boolean sending;
+
+    private DelayedMessage next(String message) {
+      return new DelayedMessage(++sequence, message);
+    }
+
+    /**
+     * Adds the message to the tail evicting the oldest messages if the limit is exceeded. A message
+     * larger than the limit is dropped, unless the session is open to send it, then it is not
+     * counted against the limit.
+     */
+    private void offer(String endpointId, String message, boolean sessionOpen) {
+      DelayedMessage delayedMessage = next(message);
+      if (delayedMessage.bytes > MAX_PENDING_BYTES) {
+        if (!sessionOpen) {
+          LOG.warn(
+              "Message #{} to endpoint {} exceeds pending messages limit and is dropped",
+              delayedMessage.sequence,
+              endpointId);
+          return;
+        }
+        delayedMessage.bytes = 0;
+      }
+
+      messages.offer(delayedMessage);
+      bytes += delayedMessage.bytes;
+
+      while (bytes > MAX_PENDING_BYTES) {
+        DelayedMessage evicted = poll();
+        LOG.debug(
+            "Pending messages limit exceeded, evicting message #{} to endpoint {}",
+            evicted.sequence,
+            endpointId);
+      }
     }
 
-    Session session = sessionOptional.get();
-    for (DelayedMessage delayedMessage : backingQueue) {
-      if (session.isOpen()) {
-        session.getAsyncRemote().sendText(delayedMessage.message);
-      } else {
-        delayedMessages.add(delayedMessage);
+    private void offerFirst(DelayedMessage delayedMessage) {
+      messages.offerFirst(delayedMessage);
+      bytes += delayedMessage.bytes;
+    }
+
+    private DelayedMessage poll() {
+      DelayedMessage delayedMessage = messages.poll();
+      if (delayedMessage != null) {
+        bytes -= delayedMessage.bytes;
       }
+      return delayedMessage;
     }
 
-    if (!delayedMessages.isEmpty()) {
-      delayedMessageRegistry.put(endpointId, delayedMessages);
+    private void removeOlderThan(long timeMillis) {
+      while (!messages.isEmpty() && messages.peek().timeMillis < timeMillis) {
+        poll();
+      }
+    }
+
+    private boolean isEmpty() {
+      return messages.isEmpty();
     }
   }
 
   private static class DelayedMessage {
 
+    private final long sequence;
     private final long timeMillis;
     private final String message;
 
-    private DelayedMessage(String message) {
+    private long bytes;
+
+    private DelayedMessage(long sequence, String message) {
+      this.sequence = sequence;
       this.message = message;
+      this.bytes = message.getBytes(UTF_8).length;
       this.timeMillis = System.currentTimeMillis();
     }
   }
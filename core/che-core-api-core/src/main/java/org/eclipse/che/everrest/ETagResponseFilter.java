@@ -11,6 +11,7 @@
 package org.eclipse.che.everrest;
 
 import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.JSON_SERIALIZABLE;
+import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.MAP;
 import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.STRING;
 import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.UNKNOWN;
 
@@ -20,12 +21,15 @@ import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
 import java.nio.charset.Charset;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import org.eclipse.che.dto.server.JsonSerializable;
+import org.eclipse.che.dto.server.JsonStringMapImpl;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.Filter;
 import org.everrest.core.GenericContainerResponse;
@@ -44,6 +48,7 @@ public class ETagResponseFilter implements ResponseFilter {
   public enum EntityType {
     JSON_SERIALIZABLE,
     STRING,
+    MAP,
     UNKNOWN
   }
 
@@ -148,12 +153,16 @@ public class ETagResponseFilter implements ResponseFilter {
    * @param entity the object to analyze
    * @return the JSON string or null if it's an unknown type
    */
+  @SuppressWarnings("unchecked")
   protected String getJson(Object entity, EntityType entityType) {
     switch (entityType) {
       case JSON_SERIALIZABLE:
         return ((JsonSerializable) entity).toJson();
       case STRING:
         return (String) entity;
+      case MAP:
+        // sort entries, so equal maps have equal hashes regardless of their order
+        return new JsonStringMapImpl<>(new TreeMap<>((Map<String, ?>) entity)).toJson();
       default:
         return null;
     }
@@ -174,6 +183,10 @@ public class ETagResponseFilter implements ResponseFilter {
       return STRING;
     }
 
+    if (Map.class.isAssignableFrom(entity.getClass())) {
+      return MAP;
+    }
+
     return UNKNOWN;
   }
 }
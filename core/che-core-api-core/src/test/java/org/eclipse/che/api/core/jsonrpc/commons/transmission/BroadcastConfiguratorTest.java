@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.commons.transmission;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcMarshaller;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link BroadcastConfigurator} */
+@Listeners(MockitoTestNGListener.class)
+public class BroadcastConfiguratorTest {
+  private static final String METHOD = "method";
+  private static final String MESSAGE = "message";
+
+  @Mock private JsonRpcMarshaller marshaller;
+  @Mock private WebSocketMessageTransmitter transmitter;
+  @InjectMocks private BroadcastConfigurator configurator;
+
+  @Test
+  public void shouldMarshallOnceAndTransmitToEveryEndpoint() {
+    when(marshaller.marshall(any(JsonRpcRequest.class))).thenReturn(MESSAGE);
+
+    configurator
+        .endpointIds(asList("1", "2", "3"))
+        .methodName(METHOD)
+        .paramsAsString("line")
+        .send();
+
+    verify(marshaller).marshall(any(JsonRpcRequest.class));
+    verify(transmitter).transmit("1", MESSAGE);
+    verify(transmitter).transmit("2", MESSAGE);
+    verify(transmitter).transmit("3", MESSAGE);
+  }
+
+  @Test
+  public void shouldNotMarshallIfThereAreNoEndpoints() {
+    configurator.endpointIds(emptySet()).methodName(METHOD).paramsAsString("line").send();
+
+    verify(marshaller, never()).marshall(any(JsonRpcRequest.class));
+    verify(transmitter, never()).transmit(anyString(), anyString());
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void shouldFailIfMethodIsNotConfigured() {
+    configurator.endpointIds(asList("1", "2")).noParams().send();
+  }
+}
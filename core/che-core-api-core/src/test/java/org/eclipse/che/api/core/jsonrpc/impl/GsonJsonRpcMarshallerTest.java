@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.testng.Assert.assertEquals;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcParams;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcRequest;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResponse;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcResult;
+import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link GsonJsonRpcMarshaller} */
+public class GsonJsonRpcMarshallerTest {
+  private GsonJsonRpcMarshaller marshaller;
+
+  @BeforeMethod
+  public void setUp() {
+    marshaller = new GsonJsonRpcMarshaller(new Gson());
+  }
+
+  @Test
+  public void shouldMarshallNotificationWithoutParams() {
+    String json = marshaller.marshall(new JsonRpcRequest(null, "method", null));
+
+    assertEquals(json, "{\"jsonrpc\":\"2.0\",\"method\":\"method\"}");
+  }
+
+  @Test
+  public void shouldWrapSinglePrimitiveParamsIntoArray() {
+    String json =
+        marshaller.marshall(new JsonRpcRequest("1", "method", new JsonRpcParams("a \"line\"")));
+
+    assertEquals(
+        json,
+        "{\"jsonrpc\":\"2.0\",\"method\":\"method\",\"id\":\"1\",\"params\":[\"a \\\"line\\\"\"]}");
+  }
+
+  @Test
+  public void shouldMarshallListOfParams() {
+    String json =
+        marshaller.marshall(
+            new JsonRpcRequest(null, "method", new JsonRpcParams(asList(1.0, true, null))));
+
+    assertEquals(json, "{\"jsonrpc\":\"2.0\",\"method\":\"method\",\"params\":[1.0,true,null]}");
+  }
+
+  @Test
+  public void shouldWriteJsonObjectParamsAsIs() {
+    JsonObject object = new JsonObject();
+    object.addProperty("name", "value");
+
+    String json =
+        marshaller.marshall(new JsonRpcRequest(null, "method", new JsonRpcParams(object)));
+
+    assertEquals(
+        json, "{\"jsonrpc\":\"2.0\",\"method\":\"method\",\"params\":{\"name\":\"value\"}}");
+  }
+
+  @Test
+  public void shouldMarshallResponseWithResult() {
+    String json = marshaller.marshall(new JsonRpcResponse("1", new JsonRpcResult("result"), null));
+
+    assertEquals(json, "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":[\"result\"]}");
+  }
+
+  @Test
+  public void shouldMarshallResponseWithError() {
+    String json =
+        marshaller.marshall(new JsonRpcResponse("1", null, new JsonRpcError(-32601, "Not found")));
+
+    assertEquals(
+        json,
+        "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"error\":{\"code\":-32601,\"message\":\"Not found\"}}");
+  }
+
+  @Test
+  public void shouldNotEscapeHtmlCharactersOfDto() {
+    ServiceError error = newDto(ServiceError.class).withMessage("<a href='x'>&</a> a=b");
+
+    String json =
+        marshaller.marshall(new JsonRpcRequest(null, "method", new JsonRpcParams(error)));
+
+    assertEquals(
+        json,
+        "{\"jsonrpc\":\"2.0\",\"method\":\"method\","
+            + "\"params\":{\"message\":\"<a href='x'>&</a> a=b\"}}");
+  }
+
+  @Test
+  public void shouldNotEscapeHtmlCharactersOfDtosInResult() {
+    ServiceError error = newDto(ServiceError.class).withMessage("<b>=&");
+
+    String json =
+        marshaller.marshall(
+            new JsonRpcResponse("1", new JsonRpcResult(asList(error, "<i>")), null));
+
+    assertEquals(
+        json,
+        "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":[{\"message\":\"<b>=&\"},\"<i>\"]}");
+  }
+
+  @Test
+  public void shouldSkipNullMembersOfDto() {
+    String json =
+        marshaller.marshall(
+            new JsonRpcRequest(null, "method", new JsonRpcParams(newDto(ServiceError.class))));
+
+    assertEquals(json, "{\"jsonrpc\":\"2.0\",\"method\":\"method\",\"params\":{}}");
+  }
+
+  @Test
+  public void shouldKeepNullMembersAndNotEscapeHtmlCharactersOfJsonObject() {
+    JsonObject object = new JsonObject();
+    object.addProperty("name", "<b>=&");
+    object.add("empty", JsonNull.INSTANCE);
+
+    String json =
+        marshaller.marshall(new JsonRpcRequest(null, "method", new JsonRpcParams(object)));
+
+    assertEquals(
+        json,
+        "{\"jsonrpc\":\"2.0\",\"method\":\"method\","
+            + "\"params\":{\"name\":\"<b>=&\",\"empty\":null}}");
+  }
+}
@@ -10,9 +10,21 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -159,6 +171,23 @@ public class EventServiceTest {
     Assert.assertEquals(events.size(), 0);
   }
 
+  @Test
+  public void shouldDeliverEventToSubscribersAddedAndRemovedAfterPublishing() {
+    final List<String> events = new ArrayList<>();
+    EventSubscriber<Event> l1 = event -> events.add("1:" + event);
+    EventSubscriber<ExtEvent> l2 = event -> events.add("2:" + event);
+    bus.subscribe(l1, Event.class);
+    bus.publish(new ExtEvent());
+
+    bus.subscribe(l2, ExtEvent.class);
+    bus.publish(new ExtEvent());
+
+    bus.unsubscribe(l1, Event.class);
+    bus.publish(new ExtEvent());
+
+    Assert.assertEquals(events, asList("1:ext_event", "2:ext_event", "1:ext_event", "2:ext_event"));
+  }
+
   @Test(expectedExceptions = IllegalArgumentException.class)
   public void shouldNotDetermineTheTypeOfEventOnSubscribe() {
     bus.subscribe(new CustomEventSubscriber<>());
@@ -192,6 +221,165 @@ public class EventServiceTest {
     bus.unsubscribe(sb, CustomEventImpl.class);
   }
 
+  @Test
+  public void shouldDeliverEventsAsynchronouslyPreservingOrderPerKey() throws Exception {
+    final Map<String, List<Integer>> received = new ConcurrentHashMap<>();
+    final CountDownLatch latch = new CountDownLatch(1000);
+    AsyncEventSubscriber<KeyedEvent> subscriber =
+        bus.subscribeAsync(
+            event -> {
+              received
+                  .computeIfAbsent(event.key, k -> Collections.synchronizedList(new ArrayList<>()))
+                  .add(event.sequence);
+              latch.countDown();
+            },
+            KeyedEvent.class,
+            event -> event.key);
+
+    for (int i = 0; i < 1000; i++) {
+      bus.publish(new KeyedEvent("key" + i % 10, i));
+    }
+
+    Assert.assertTrue(latch.await(10, SECONDS));
+    awaitDelivered(subscriber, 1000);
+    Assert.assertEquals(received.size(), 10);
+    for (List<Integer> sequences : received.values()) {
+      List<Integer> sorted = new ArrayList<>(sequences);
+      Collections.sort(sorted);
+      Assert.assertEquals(sequences, sorted);
+    }
+    Assert.assertEquals(subscriber.getReceivedEvents(), 1000);
+    Assert.assertEquals(subscriber.getPendingEvents(), 0);
+  }
+
+  @Test
+  public void shouldNotCountFailedEventsAsDelivered() throws Exception {
+    AsyncEventSubscriber<KeyedEvent> subscriber =
+        bus.subscribeAsync(
+            event -> {
+              if (event.sequence % 2 == 0) {
+                throw new IllegalStateException("failed");
+              }
+            },
+            KeyedEvent.class,
+            null);
+
+    for (int i = 0; i < 10; i++) {
+      bus.publish(new KeyedEvent("key", i));
+    }
+
+    awaitDelivered(subscriber, 5);
+    Assert.assertEquals(subscriber.getFailedEvents(), 5);
+  }
+
+  @Test
+  public void shouldNotBlockPublisherBySlowAsyncSubscriber() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch delivered = new CountDownLatch(1);
+    bus.subscribeAsync(
+        event -> {
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          delivered.countDown();
+        },
+        KeyedEvent.class,
+        null);
+
+    bus.publish(new KeyedEvent("key", 0));
+
+    Assert.assertEquals(delivered.getCount(), 1);
+    release.countDown();
+    Assert.assertTrue(delivered.await(10, SECONDS));
+  }
+
+  @Test
+  public void shouldUnsubscribeAsyncSubscriber() throws Exception {
+    EventSubscriber<KeyedEvent> subscriber = event -> {};
+    AsyncEventSubscriber<KeyedEvent> asyncSubscriber =
+        bus.subscribeAsync(subscriber, KeyedEvent.class, null);
+
+    bus.unsubscribe(subscriber, KeyedEvent.class);
+    bus.publish(new KeyedEvent("key", 0));
+
+    // events are put to mailboxes by the publishing thread
+    Assert.assertEquals(asyncSubscriber.getReceivedEvents(), 0);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldUnsubscribeAsyncSubscriberOnlyFromTheGivenEventType() throws Exception {
+    final CountDownLatch delivered = new CountDownLatch(1);
+    EventSubscriber<Object> subscriber = event -> delivered.countDown();
+    AsyncEventSubscriber<Object> keyedSubscriber =
+        bus.subscribeAsync(subscriber, (Class) KeyedEvent.class, null);
+    AsyncEventSubscriber<Object> stringSubscriber =
+        bus.subscribeAsync(subscriber, (Class) String.class, null);
+
+    bus.unsubscribe(subscriber, (Class) String.class);
+    bus.publish("event");
+    bus.publish(new KeyedEvent("key", 0));
+
+    Assert.assertTrue(delivered.await(10, SECONDS));
+    Assert.assertEquals(keyedSubscriber.getReceivedEvents(), 1);
+    Assert.assertEquals(stringSubscriber.getReceivedEvents(), 0);
+  }
+
+  @Test
+  public void shouldDeliverEventsWhichSubscriberPublishesToItselfWhenMailboxIsFull()
+      throws Exception {
+    final List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+    final AtomicReference<AsyncEventSubscriber<KeyedEvent>> self = new AtomicReference<>();
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      AsyncEventSubscriber<KeyedEvent> subscriber =
+          new AsyncEventSubscriber<>(
+              event -> {
+                received.add(event.sequence);
+                if (event.sequence == 0) {
+                  for (int i = 1; i <= 3; i++) {
+                    self.get().onEvent(new KeyedEvent("key", i));
+                  }
+                }
+              },
+              null,
+              1,
+              1,
+              executor);
+      self.set(subscriber);
+
+      subscriber.onEvent(new KeyedEvent("key", 0));
+
+      awaitDelivered(subscriber, 4);
+      Assert.assertEquals(new HashSet<>(received), new HashSet<>(asList(0, 1, 2, 3)));
+      Assert.assertEquals(subscriber.getPendingEvents(), 0);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Waits until the subscriber handles the given number of events, fails after 10 seconds. */
+  private static void awaitDelivered(AsyncEventSubscriber<?> subscriber, long events) {
+    long deadline = System.nanoTime() + SECONDS.toNanos(10);
+    while (subscriber.getDeliveredEvents() < events) {
+      Assert.assertTrue(System.nanoTime() < deadline, "Events are not delivered in time");
+      LockSupport.parkNanos(1_000_000);
+    }
+    Assert.assertEquals(subscriber.getDeliveredEvents(), events);
+  }
+
+  static class KeyedEvent {
+    final String key;
+    final int sequence;
+
+    KeyedEvent(String key, int sequence) {
+      this.key = key;
+      this.sequence = sequence;
+    }
+  }
+
   static class CustomEventSubscriber<T extends CustomEvent> implements EventSubscriber<T> {
     final List<String> events = new ArrayList<>();
 
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.core.util.LinksHelper;
+import org.eclipse.che.everrest.ETagResponseFilter;
+import org.everrest.assured.EverrestJetty;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.ITestContext;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests of {@link PooledHttpJsonRequest} and {@link PooledHttpJsonRequestFactory}. */
+@Listeners({MockitoTestNGListener.class, EverrestJetty.class})
+public class PooledHttpJsonRequestTest {
+
+  @SuppressWarnings("unused") // used by EverrestJetty
+  private static final ApiExceptionMapper EXCEPTION_MAPPER = new ApiExceptionMapper();
+
+  @SuppressWarnings("unused") // used by EverrestJetty
+  private static final ETagResponseFilter ETAG_FILTER = new ETagResponseFilter();
+
+  @SuppressWarnings("unused") // used by EverrestJetty
+  private static final TestService TEST_SERVICE = new TestService();
+
+  private PooledHttpJsonRequestFactory factory;
+
+  @BeforeMethod
+  public void setUp() {
+    factory = new PooledHttpJsonRequestFactory(2);
+  }
+
+  @Test
+  public void shouldStreamJsonObjectBody(ITestContext ctx) throws Exception {
+    final Link link = LinksHelper.createLink("GET", "localhost:8080/application-json", "rel");
+
+    final List<Link> links =
+        factory
+            .fromUrl(getUrl(ctx) + "/application-json")
+            .usePostMethod()
+            .setBody(singletonList(link))
+            .request()
+            .asList(Link.class);
+
+    assertEquals(links, singletonList(link));
+  }
+
+  @Test
+  public void shouldReadJsonObjectBodyAsString(ITestContext ctx) throws Exception {
+    final HttpJsonResponse response =
+        factory.fromUrl(getUrl(ctx) + "/application-json").useGetMethod().request();
+
+    assertEquals(response.asString(), TestService.JSON_OBJECT);
+  }
+
+  @Test
+  public void shouldBeAbleToMakeRequestsAfterErrorResponses(ITestContext ctx) throws Exception {
+    for (int i = 0; i < 5; i++) {
+      try {
+        factory.fromUrl(getUrl(ctx) + "/404/response-code-test").useGetMethod().request();
+      } catch (NotFoundException ignored) {
+      }
+    }
+
+    final HttpJsonResponse response =
+        factory.fromUrl(getUrl(ctx) + "/application-json").useGetMethod().request();
+
+    assertEquals(response.asString(), TestService.JSON_OBJECT);
+  }
+
+  @Test
+  public void shouldUseCachedBodyWhenResponseIsNotModified(ITestContext ctx) throws Exception {
+    final String url = getUrl(ctx) + "/application-json";
+    factory.fromUrl(url).useGetMethod().request();
+    assertEquals(factory.getResponseCache().size(), 1);
+
+    final HttpJsonResponse response = factory.fromUrl(url).useGetMethod().request();
+
+    assertEquals(response.getResponseCode(), 200);
+    assertEquals(response.asString(), TestService.JSON_OBJECT);
+  }
+
+  @Test
+  public void shouldNotShareCachedResponsesBetweenAuthorizations(ITestContext ctx)
+      throws Exception {
+    final String url = getUrl(ctx) + "/application-json";
+    factory.fromUrl(url).useGetMethod().setAuthorizationHeader("token1").request();
+    factory.fromUrl(url).useGetMethod().setAuthorizationHeader("token2").request();
+
+    assertEquals(factory.getResponseCache().size(), 2);
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void shouldThrowIOExceptionIfServerReturnsTypeDifferentFromApplicationJson(
+      ITestContext ctx) throws Exception {
+    factory.fromUrl(getUrl(ctx) + "/text-plain").useGetMethod().request();
+  }
+
+  @Test
+  public void shouldRecordLatenciesPerHost(ITestContext ctx) throws Exception {
+    factory.fromUrl(getUrl(ctx) + "/application-json").useGetMethod().request();
+    factory.fromUrl(getUrl(ctx) + "/no-content").useDeleteMethod().request();
+
+    final LatencyHistogram histogram = factory.getLatencyHistograms().get(getHost(ctx));
+    assertEquals(histogram.getCount(), 2);
+    assertTrue(histogram.getPercentile(100) > 0);
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void shouldFailWhenConnectionLimitPerHostIsReached(ITestContext ctx) throws Exception {
+    factory.acquire(getHost(ctx), 0);
+    factory.acquire(getHost(ctx), 0);
+
+    factory.fromUrl(getUrl(ctx) + "/application-json").useGetMethod().setTimeout(100).request();
+  }
+
+  private String getHost(ITestContext ctx) {
+    return "localhost:" + ctx.getAttribute(EverrestJetty.JETTY_PORT);
+  }
+
+  private String getUrl(ITestContext ctx) {
+    return "http://" + getHost(ctx) + "/rest/test";
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.util;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+/** Tests of {@link StreamPump}. */
+public class StreamPumpTest {
+
+  @Test
+  public void shouldPumpProcessOutputLineByLine() throws Exception {
+    final ListLineConsumer consumer = new ListLineConsumer();
+    final StreamPump pump = new StreamPump();
+
+    pump.start(exec("printf 'line 1\\nline 2\\r\\nline 3\\rline 4'"), consumer);
+    pump.await();
+
+    assertTrue(pump.isDone());
+    assertFalse(pump.hasError());
+    assertEquals(consumer.getLines(), asList("line 1", "line 2", "line 3", "line 4"));
+  }
+
+  @Test
+  public void shouldPumpOutputWrittenWhileProcessIsRunning() throws Exception {
+    final ListLineConsumer consumer = new ListLineConsumer();
+    final StreamPump pump = new StreamPump();
+
+    pump.start(exec("echo first; sleep 0.3; echo second"), consumer);
+    pump.await();
+
+    assertEquals(consumer.getLines(), asList("first", "second"));
+  }
+
+  @Test
+  public void shouldPumpOutputOfManyProcessesConcurrently() throws Exception {
+    final List<StreamPump> pumps = new ArrayList<>();
+    final List<ListLineConsumer> consumers = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      final ListLineConsumer consumer = new ListLineConsumer();
+      final StreamPump pump = new StreamPump();
+      pump.start(exec("for i in $(seq 1 1000); do echo " + i + ":$i; done"), consumer);
+      pumps.add(pump);
+      consumers.add(consumer);
+    }
+
+    for (int i = 0; i < pumps.size(); i++) {
+      pumps.get(i).await();
+      final List<String> lines = consumers.get(i).getLines();
+      assertEquals(lines.size(), 1000);
+      for (int j = 0; j < 1000; j++) {
+        assertEquals(lines.get(j), i + ":" + (j + 1));
+      }
+    }
+  }
+
+  @Test
+  public void shouldStopPumping() throws Exception {
+    final Process process = exec("sleep 10");
+    final StreamPump pump = new StreamPump();
+    pump.start(process, new ListLineConsumer());
+
+    pump.stop();
+    pump.await();
+
+    assertTrue(pump.isDone());
+    assertFalse(pump.hasError());
+    process.destroy();
+    process.waitFor(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void shouldFinishPumpingWhenConsumerFails() throws Exception {
+    final StreamPump pump = new StreamPump();
+
+    pump.start(
+        exec("echo first; echo second"),
+        new ListLineConsumer() {
+          @Override
+          public void writeLine(String line) {
+            throw new IllegalStateException("failed");
+          }
+        });
+    pump.await();
+
+    assertTrue(pump.isDone());
+    assertTrue(pump.getException() instanceof IllegalStateException);
+  }
+
+  @Test
+  public void shouldPassErrorToHandlerWhenConsumerFails() throws Exception {
+    final List<Exception> errors = new ArrayList<>();
+    final StreamPump pump = new StreamPump();
+
+    pump.start(
+        exec("echo line"),
+        new ListLineConsumer() {
+          @Override
+          public void writeLine(String line) {
+            throw new IllegalStateException("failed");
+          }
+        },
+        errors::add);
+    pump.await();
+
+    assertEquals(errors, singletonList(pump.getException()));
+  }
+
+  @Test
+  public void shouldPumpOutputWhileOtherConsumersBlock() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<StreamPump> blockedPumps = new ArrayList<>();
+    try {
+      // more blocked consumers than polling threads
+      for (int i = 0; i < 4; i++) {
+        final StreamPump blockedPump = new StreamPump();
+        blockedPump.start(
+            exec("echo blocked"),
+            new ListLineConsumer() {
+              @Override
+              public void writeLine(String line) {
+                try {
+                  release.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+              }
+            });
+        blockedPumps.add(blockedPump);
+      }
+      final ListLineConsumer consumer = new ListLineConsumer();
+      final StreamPump pump = new StreamPump();
+
+      pump.start(exec("sleep 0.2; echo line"), consumer);
+      pump.await();
+
+      assertEquals(consumer.getLines(), singletonList("line"));
+    } finally {
+      release.countDown();
+    }
+    for (StreamPump blockedPump : blockedPumps) {
+      blockedPump.await();
+    }
+  }
+
+  private static Process exec(String command) throws Exception {
+    return new ProcessBuilder("sh", "-c", command).redirectErrorStream(true).start();
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests of {@link BatchingFileLineConsumer}. */
+public class BatchingFileLineConsumerTest {
+  private static final long NEVER = TimeUnit.HOURS.toMillis(1);
+
+  private File dir;
+  private File file;
+  private BatchingFileLineConsumer consumer;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    dir = Files.createTempDirectory("logs").toFile();
+    file = new File(dir, "machineId.logs");
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    if (consumer != null) {
+      consumer.close();
+    }
+    IoUtil.deleteRecursive(dir);
+  }
+
+  @Test
+  public void shouldNotWriteLinesUntilFlush() throws Exception {
+    consumer = new BatchingFileLineConsumer(file, NEVER, 1024, 1024);
+
+    consumer.writeLine("line 1");
+    consumer.writeLine("line 2");
+
+    assertEquals(readLines(file), emptyList());
+
+    consumer.flush();
+
+    assertEquals(readLines(file), asList("line 1", "line 2"));
+  }
+
+  @Test
+  public void shouldWriteQueuedLinesOnClose() throws Exception {
+    consumer = new BatchingFileLineConsumer(file, NEVER, 1024, 1024);
+    consumer.writeLine("line 1");
+    consumer.writeLine(null);
+
+    consumer.close();
+
+    assertFalse(consumer.isOpen());
+    assertEquals(readLines(file), asList("line 1", ""));
+  }
+
+  @Test
+  public void shouldNotWriteLinesAfterClose() throws Exception {
+    consumer = new BatchingFileLineConsumer(file, NEVER, 1024, 1024);
+    consumer.close();
+
+    consumer.writeLine("line 1");
+    consumer.flush();
+
+    assertEquals(readLines(file), emptyList());
+  }
+
+  @Test
+  public void shouldWriteLinesPeriodically() throws Exception {
+    consumer = new BatchingFileLineConsumer(file, 10, 1024, 1024);
+
+    consumer.writeLine("line 1");
+
+    assertTrue(waitForLines(file, 1));
+  }
+
+  @Test
+  public void shouldWriteLinesWhenBatchSizeIsReached() throws Exception {
+    consumer = new BatchingFileLineConsumer(file, NEVER, 10, 1024);
+
+    consumer.writeLine("line 1");
+    consumer.writeLine("line 2");
+
+    assertTrue(waitForLines(file, 2));
+  }
+
+  @Test
+  public void shouldRotateFileWhenMaxSizeIsReached() throws Exception {
+    consumer = new BatchingFileLineConsumer(file, NEVER, 1024, 14);
+
+    consumer.writeLine("line 1");
+    consumer.writeLine("line 2");
+    consumer.writeLine("line 3");
+    consumer.flush();
+
+    assertEquals(readLines(new File(dir, "machineId.logs.1")), asList("line 1", "line 2"));
+    assertEquals(readLines(file), asList("line 3"));
+  }
+
+  @Test
+  public void shouldKeepWritingLinesToFileWhichFailedToBeRotated() throws Exception {
+    // file can't be moved in place of non-empty directory
+    File rotatedFile = new File(dir, "machineId.logs.1");
+    assertTrue(new File(rotatedFile, "child").mkdirs());
+    consumer = new BatchingFileLineConsumer(file, NEVER, 1024, 14);
+
+    consumer.writeLine("line 1");
+    consumer.writeLine("line 2");
+    consumer.writeLine("line 3");
+    try {
+      consumer.flush();
+      fail("Rotation is expected to fail");
+    } catch (IOException expected) {
+    }
+    IoUtil.deleteRecursive(rotatedFile);
+    consumer.writeLine("line 4");
+    consumer.flush();
+
+    assertEquals(readLines(rotatedFile), asList("line 1", "line 2", "line 3", "line 4"));
+    assertEquals(readLines(file), emptyList());
+  }
+
+  @Test
+  public void shouldWriteLinesFromDifferentThreads() throws Exception {
+    consumer = new BatchingFileLineConsumer(file, 5, 64, 1024 * 1024);
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int t = 0; t < 4; t++) {
+      final int thread = t;
+      executor.execute(
+          () -> {
+            for (int i = 0; i < 1000; i++) {
+              try {
+                consumer.writeLine(thread + ":" + i);
+              } catch (Exception ignored) {
+              }
+            }
+          });
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+    consumer.close();
+
+    final List<String> lines = readLines(file);
+    assertEquals(lines.size(), 4000);
+    for (int t = 0; t < 4; t++) {
+      final List<String> threadLines = new ArrayList<>();
+      for (String line : lines) {
+        if (line.startsWith(t + ":")) {
+          threadLines.add(line);
+        }
+      }
+      for (int i = 0; i < 1000; i++) {
+        assertEquals(threadLines.get(i), t + ":" + i);
+      }
+    }
+  }
+
+  private static List<String> readLines(File file) throws Exception {
+    return Files.readAllLines(file.toPath(), Charset.defaultCharset());
+  }
+
+  private static boolean waitForLines(File file, int count) throws Exception {
+    final long deadline = System.currentTimeMillis() + 5_000;
+    while (System.currentTimeMillis() < deadline) {
+      if (readLines(file).size() == count) {
+        return true;
+      }
+      Thread.sleep(10);
+    }
+    return false;
+  }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.util.lineconsumer;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests of {@link CoalescingLineConsumer}. */
+public class CoalescingLineConsumerTest {
+  private static final long NEVER = TimeUnit.HOURS.toMillis(1);
+
+  private RecordingLineConsumer delegate;
+
+  @BeforeMethod
+  public void setUp() {
+    delegate = new RecordingLineConsumer();
+  }
+
+  @Test
+  public void shouldPassPendingLinesOneByOneOnFlush() throws Exception {
+    final CoalescingLineConsumer consumer = new CoalescingLineConsumer(delegate, NEVER, 100);
+
+    consumer.writeLine("line 1");
+    consumer.writeLine("line 2");
+    consumer.writeLine(null);
+    assertEquals(delegate.getLines(), emptyList());
+
+    consumer.flush();
+
+    assertEquals(delegate.getLines(), asList("line 1", "line 2", ""));
+  }
+
+  @Test
+  public void shouldPassPendingLinesAndCloseDelegateOnClose() throws Exception {
+    final CoalescingLineConsumer consumer = new CoalescingLineConsumer(delegate, NEVER, 100);
+    consumer.writeLine("line 1");
+
+    consumer.close();
+    consumer.writeLine("line 2");
+
+    assertEquals(delegate.getLines(), singletonList("line 1"));
+    assertTrue(delegate.closed);
+  }
+
+  @Test
+  public void shouldPassLinesWhenLatencyBudgetIsSpent() throws Exception {
+    final CoalescingLineConsumer consumer = new CoalescingLineConsumer(delegate, 10, 100);
+
+    consumer.writeLine("line 1");
+    consumer.writeLine("line 2");
+
+    assertTrue(delegate.waitForLines(2));
+    assertEquals(delegate.getLines(), asList("line 1", "line 2"));
+  }
+
+  @Test
+  public void shouldNotBlockOtherConsumersWhenDelegateBlocks() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final LineConsumer blocking =
+        new RecordingLineConsumer() {
+          @Override
+          public void writeLine(String line) {
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        };
+    try {
+      new CoalescingLineConsumer(blocking, 0, 100).writeLine("blocked");
+      final CoalescingLineConsumer consumer = new CoalescingLineConsumer(delegate, 10, 100);
+
+      consumer.writeLine("line 1");
+
+      assertTrue(delegate.waitForLines(1));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  public void shouldPassLinesByConsumingThreadWhenTooManyLinesArePending() throws Exception {
+    final CoalescingLineConsumer consumer = new CoalescingLineConsumer(delegate, NEVER, 3);
+
+    for (int i = 0; i < 7; i++) {
+      consumer.writeLine("line " + i);
+    }
+
+    assertEquals(
+        delegate.getLines(), asList("line 0", "line 1", "line 2", "line 3", "line 4", "line 5"));
+  }
+
+  @Test
+  public void shouldKeepTextAfterLastCarriageReturnAndTrailingCarriageReturn() throws Exception {
+    final CoalescingLineConsumer consumer = new CoalescingLineConsumer(delegate, NEVER, 100);
+
+    consumer.writeLine("Downloading 1\rDownloading 2\rDownloaded\r");
+    consumer.flush();
+    consumer.writeLine("Unpacking 1\rUnpacked");
+    consumer.flush();
+
+    assertEquals(delegate.getLines(), asList("Downloaded\r", "Unpacked"));
+  }
+
+  @Test
+  public void shouldReplacePendingLineWhichEndsWithCarriageReturn() throws Exception {
+    final CoalescingLineConsumer consumer = new CoalescingLineConsumer(delegate, NEVER, 100);
+
+    consumer.writeLine("Downloading 1\r");
+    consumer.writeLine("Downloading 2\r");
+    consumer.writeLine("Downloaded");
+    consumer.flush();
+
+    assertEquals(delegate.getLines(), singletonList("Downloaded"));
+  }
+
+  @Test
+  public void shouldPassAllNewlineTerminatedProgressLines() throws Exception {
+    final CoalescingLineConsumer consumer = new CoalescingLineConsumer(delegate, NEVER, 100);
+
+    consumer.writeLine("Tests run: 10 (50%)");
+    consumer.writeLine("Tests run: 20 (100%)");
+    consumer.writeLine("Coverage: 45%");
+    consumer.writeLine("Coverage: 47%");
+    consumer.flush();
+
+    assertEquals(
+        delegate.getLines(),
+        asList("Tests run: 10 (50%)", "Tests run: 20 (100%)", "Coverage: 45%", "Coverage: 47%"));
+  }
+
+  @Test
+  public void shouldUseSingleThreadToPassLinesToSlowDelegate() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final RecordingLineConsumer blocking =
+        new RecordingLineConsumer() {
+          @Override
+          public void writeLine(String line) {
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            super.writeLine(line);
+          }
+        };
+    final CoalescingLineConsumer consumer = new CoalescingLineConsumer(blocking, 1, 100);
+    try {
+      for (int i = 0; i < 5; i++) {
+        consumer.writeLine("line " + i);
+        Thread.sleep(20);
+      }
+
+      assertEquals(countBlockedSenders(), 0);
+    } finally {
+      release.countDown();
+    }
+    assertTrue(blocking.waitForLines(5));
+    assertEquals(blocking.getLines(), asList("line 0", "line 1", "line 2", "line 3", "line 4"));
+  }
+
+  private static long countBlockedSenders() {
+    return Thread.getAllStackTraces()
+        .keySet()
+        .stream()
+        .filter(t -> t.getName().startsWith("CoalescingLineConsumer-"))
+        .filter(t -> t.getState() == Thread.State.BLOCKED)
+        .count();
+  }
+
+  private static class RecordingLineConsumer implements LineConsumer {
+    final List<String> lines = new ArrayList<>();
+    volatile boolean closed;
+
+    @Override
+    public synchronized void writeLine(String line) {
+      lines.add(line);
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+    synchronized List<String> getLines() {
+      return new ArrayList<>(lines);
+    }
+
+    boolean waitForLines(int count) throws InterruptedException {
+      final long deadline = System.currentTimeMillis() + 5_000;
+      while (System.currentTimeMillis() < deadline) {
+        if (getLines().size() >= count) {
+          return true;
+        }
+        Thread.sleep(5);
+      }
+      return false;
+    }
+  }
+}
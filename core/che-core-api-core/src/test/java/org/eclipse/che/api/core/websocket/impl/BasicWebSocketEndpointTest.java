@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.websocket.CloseReason;
+import javax.websocket.CloseReason.CloseCodes;
+import javax.websocket.Session;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageReceiver;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link BasicWebSocketEndpoint} */
+@Listeners(MockitoTestNGListener.class)
+public class BasicWebSocketEndpointTest {
+  private static final String ENDPOINT_ID = "id";
+
+  @Mock private WebSocketSessionRegistry registry;
+  @Mock private MessagesReSender reSender;
+  @Mock private WebSocketMessageReceiver receiver;
+  @Mock private WebsocketIdService identificationService;
+  @Mock private Session session;
+
+  private Map<String, Object> userProperties;
+  private BasicWebSocketEndpoint endpoint;
+
+  @BeforeMethod
+  public void setUp() {
+    userProperties = new HashMap<>();
+    when(session.getUserProperties()).thenReturn(userProperties);
+    when(registry.get(session)).thenReturn(Optional.of(ENDPOINT_ID));
+    endpoint =
+        new BasicWebSocketEndpoint(registry, reSender, receiver, identificationService) {
+          @Override
+          protected String getEndpointId() {
+            return "endpoint";
+          }
+        };
+  }
+
+  @Test
+  public void shouldReceiveInflatedBinaryMessage() throws Exception {
+    MessageFraming.setFraming(session, MessageFraming.DEFLATE_FRAMING);
+
+    endpoint.onMessage(frame("message"), true, session);
+
+    verify(receiver).receive(ENDPOINT_ID, "message");
+  }
+
+  @Test
+  public void shouldCloseSessionWhichSendsBinaryMessagesWithoutNegotiatingThem() throws Exception {
+    endpoint.onMessage(frame("message"), true, session);
+
+    verify(receiver, never()).receive(anyString(), anyString());
+    assertEquals(closeCode(), CloseCodes.CANNOT_ACCEPT);
+  }
+
+  @Test
+  public void shouldCloseSessionIfBufferedBinaryMessageExceedsLimit() throws Exception {
+    MessageFraming.setFraming(session, MessageFraming.DEFLATE_FRAMING);
+    byte[] part = new byte[MessageFraming.MAX_MESSAGE_BYTES / 2 + 1];
+
+    endpoint.onMessage(part, false, session);
+    endpoint.onMessage(part, false, session);
+
+    verify(receiver, never()).receive(anyString(), anyString());
+    assertEquals(closeCode(), CloseCodes.TOO_BIG);
+  }
+
+  private CloseReason.CloseCode closeCode() throws Exception {
+    ArgumentCaptor<CloseReason> captor = ArgumentCaptor.forClass(CloseReason.class);
+    verify(session).close(captor.capture());
+    return captor.getValue().getCloseCode();
+  }
+
+  private static byte[] frame(String message) {
+    ByteBuffer deflated = MessageFraming.deflate(message);
+    byte[] frame = new byte[deflated.remaining()];
+    deflated.get(frame);
+    return frame;
+  }
+}
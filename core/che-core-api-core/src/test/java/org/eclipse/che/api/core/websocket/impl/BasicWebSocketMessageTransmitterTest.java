@@ -11,6 +11,7 @@
 package org.eclipse.che.api.core.websocket.impl;
 
 import static java.util.Collections.emptySet;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
@@ -55,11 +56,10 @@ public class BasicWebSocketMessageTransmitterTest {
   }
 
   @Test
-  public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() throws IOException {
+  public void shouldSendMessageIfSessionIsOpenAndEndpointIsSet() throws IOException {
     transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-    verify(session).getBasicRemote();
-    verify(remote).sendText(MESSAGE);
+    verify(reSender).send(ENDPOINT_ID, session, MESSAGE);
     verify(reSender, never()).add(eq(ENDPOINT_ID), anyString());
   }
 
@@ -72,5 +72,6 @@ public class BasicWebSocketMessageTransmitterTest {
     verify(session, never()).getBasicRemote();
     verify(remote, never()).sendText(MESSAGE);
     verify(reSender).add(ENDPOINT_ID, MESSAGE);
+    verify(reSender, never()).send(anyString(), any(Session.class), anyString());
   }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.base.Strings;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link MessageFraming} */
+@Listeners(MockitoTestNGListener.class)
+public class MessageFramingTest {
+  private static final String LONG_MESSAGE =
+      "{\"jsonrpc\":\"2.0\",\"method\":\"output\",\"params\":\""
+          + Strings.repeat("[INFO] Building jar ", 200)
+          + "\"}";
+
+  @Mock private Session session;
+  @Mock private RemoteEndpoint.Basic remote;
+
+  private Map<String, Object> userProperties;
+
+  @BeforeMethod
+  public void setUp() {
+    userProperties = new HashMap<>();
+    when(session.getUserProperties()).thenReturn(userProperties);
+    when(session.getBasicRemote()).thenReturn(remote);
+  }
+
+  @Test
+  public void shouldSendTextIfFramingIsNotNegotiated() throws Exception {
+    MessageFraming.send(session, LONG_MESSAGE);
+
+    verify(remote).sendText(LONG_MESSAGE);
+    verify(remote, never()).sendBinary(any());
+  }
+
+  @Test
+  public void shouldIgnoreUnknownFraming() throws Exception {
+    MessageFraming.setFraming(session, "cbor");
+
+    MessageFraming.send(session, LONG_MESSAGE);
+
+    verify(remote).sendText(LONG_MESSAGE);
+  }
+
+  @Test
+  public void shouldSendShortMessagesAsTextEvenIfDeflateIsNegotiated() throws Exception {
+    MessageFraming.setFraming(session, MessageFraming.DEFLATE_FRAMING);
+
+    MessageFraming.send(session, "short");
+
+    verify(remote).sendText("short");
+    verify(remote, never()).sendBinary(any());
+  }
+
+  @Test
+  public void shouldSendDeflatedBinaryIfDeflateIsNegotiated() throws Exception {
+    MessageFraming.setFraming(session, MessageFraming.DEFLATE_FRAMING);
+
+    MessageFraming.send(session, LONG_MESSAGE);
+
+    ArgumentCaptor<ByteBuffer> captor = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(remote).sendBinary(captor.capture());
+    byte[] frame = new byte[captor.getValue().remaining()];
+    captor.getValue().get(frame);
+    assertTrue(frame.length < LONG_MESSAGE.length());
+    assertEquals(MessageFraming.inflate(frame), LONG_MESSAGE);
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void shouldFailToInflateNotDeflatedFrame() throws Exception {
+    MessageFraming.inflate("not deflated".getBytes());
+  }
+
+  @Test(expectedExceptions = MessageFraming.MessageTooBigException.class)
+  public void shouldFailToInflateFrameLargerThanLimit() throws Exception {
+    ByteBuffer bomb =
+        MessageFraming.deflate(Strings.repeat("0", MessageFraming.MAX_MESSAGE_BYTES + 1));
+    byte[] frame = new byte[bomb.remaining()];
+    bomb.get(frame);
+
+    MessageFraming.inflate(frame);
+  }
+}
@@ -11,14 +11,26 @@
 package org.eclipse.che.api.core.websocket.impl;
 
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
+import com.google.common.base.Strings;
+import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -40,12 +52,12 @@ public class MessagesReSenderTest {
   @InjectMocks private MessagesReSender reSender;
 
   @Mock private Session session;
-  @Mock private RemoteEndpoint.Async endpoint;
+  @Mock private RemoteEndpoint.Basic endpoint;
 
   @BeforeMethod
-  public void beforeMethod() {
+  public void beforeMethod() throws Exception {
     when(sessionRegistry.get(anyString())).thenReturn(Optional.of(session));
-    when(session.getAsyncRemote()).thenReturn(endpoint);
+    when(session.getBasicRemote()).thenReturn(endpoint);
     when(session.isOpen()).thenReturn(true);
   }
 
@@ -55,7 +67,7 @@ public class MessagesReSenderTest {
   }
 
   @Test
-  public void shouldStopIfSessionIsNotRegistered() {
+  public void shouldStopIfSessionIsNotRegistered() throws Exception {
     when(sessionRegistry.get(anyString())).thenReturn(Optional.empty());
 
     reSender.add(ENDPOINT_ID, MESSAGE);
@@ -63,40 +75,40 @@ public class MessagesReSenderTest {
     reSender.resend(ENDPOINT_ID);
 
     verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session, never()).getAsyncRemote();
+    verify(session, never()).getBasicRemote();
     verify(endpoint, never()).sendText(MESSAGE);
   }
 
   @Test
-  public void shouldKeepMessagesIfSessionIsClosed() {
+  public void shouldKeepMessagesIfSessionIsClosed() throws Exception {
     reSender.add(ENDPOINT_ID, MESSAGE);
 
     when(session.isOpen()).thenReturn(false);
     reSender.resend(ENDPOINT_ID);
 
-    verify(session, never()).getAsyncRemote();
+    verify(session, never()).getBasicRemote();
     verify(endpoint, never()).sendText(MESSAGE);
 
     when(session.isOpen()).thenReturn(true);
     reSender.resend(ENDPOINT_ID);
 
-    verify(session).getAsyncRemote();
+    verify(session).getBasicRemote();
     verify(endpoint).sendText(MESSAGE);
   }
 
   @Test
-  public void shouldProperlyAddForSingleEndpoint() {
+  public void shouldProperlyAddForSingleEndpoint() throws Exception {
     reSender.add(ENDPOINT_ID, MESSAGE);
 
     reSender.resend(ENDPOINT_ID);
 
     verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
+    verify(session).getBasicRemote();
     verify(endpoint).sendText(MESSAGE);
   }
 
   @Test
-  public void shouldProperlyAddForSeveralEndpoints() {
+  public void shouldProperlyAddForSeveralEndpoints() throws Exception {
     reSender.add(ENDPOINT_ID, MESSAGE);
     reSender.add("1", MESSAGE);
 
@@ -105,27 +117,27 @@ public class MessagesReSenderTest {
 
     verify(sessionRegistry).get(ENDPOINT_ID);
     verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
+    verify(session, times(2)).getBasicRemote();
     verify(endpoint, times(2)).sendText(MESSAGE);
   }
 
   @Test
-  public void shouldClearOnExtractionForSingleEndpoint() {
+  public void shouldClearOnExtractionForSingleEndpoint() throws Exception {
     reSender.add(ENDPOINT_ID, MESSAGE);
 
     reSender.resend(ENDPOINT_ID);
     verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
+    verify(session).getBasicRemote();
     verify(endpoint).sendText(MESSAGE);
 
     reSender.resend(ENDPOINT_ID);
     verify(sessionRegistry).get(ENDPOINT_ID);
-    verify(session).getAsyncRemote();
+    verify(session).getBasicRemote();
     verify(endpoint).sendText(MESSAGE);
   }
 
   @Test
-  public void shouldClearOnExtractionForSeveralEndpoint() {
+  public void shouldClearOnExtractionForSeveralEndpoint() throws Exception {
     reSender.add(ENDPOINT_ID, MESSAGE);
     reSender.add("1", MESSAGE);
 
@@ -134,7 +146,7 @@ public class MessagesReSenderTest {
 
     verify(sessionRegistry).get(ENDPOINT_ID);
     verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
+    verify(session, times(2)).getBasicRemote();
     verify(endpoint, times(2)).sendText(MESSAGE);
 
     reSender.resend(ENDPOINT_ID);
@@ -142,7 +154,155 @@ public class MessagesReSenderTest {
 
     verify(sessionRegistry).get(ENDPOINT_ID);
     verify(sessionRegistry).get("1");
-    verify(session, times(2)).getAsyncRemote();
+    verify(session, times(2)).getBasicRemote();
     verify(endpoint, times(2)).sendText(MESSAGE);
   }
+
+  @Test
+  public void shouldKeepMessagesIfSessionIsNotRegistered() throws Exception {
+    when(sessionRegistry.get(anyString())).thenReturn(Optional.empty());
+    reSender.add(ENDPOINT_ID, MESSAGE);
+
+    reSender.resend(ENDPOINT_ID);
+
+    verify(endpoint, never()).sendText(MESSAGE);
+    assertTrue(reSender.hasPending(ENDPOINT_ID));
+
+    when(sessionRegistry.get(anyString())).thenReturn(Optional.of(session));
+    reSender.resend(ENDPOINT_ID);
+
+    verify(endpoint).sendText(MESSAGE);
+    assertFalse(reSender.hasPending(ENDPOINT_ID));
+  }
+
+  @Test
+  public void shouldResendMessagesInOrderOfAdding() throws Exception {
+    reSender.add(ENDPOINT_ID, "1");
+    reSender.add(ENDPOINT_ID, "2");
+    reSender.add(ENDPOINT_ID, "3");
+
+    reSender.resend(ENDPOINT_ID);
+
+    InOrder inOrder = inOrder(endpoint);
+    inOrder.verify(endpoint).sendText("1");
+    inOrder.verify(endpoint).sendText("2");
+    inOrder.verify(endpoint).sendText("3");
+  }
+
+  @Test
+  public void shouldEvictOldestMessagesWhenBytesLimitIsExceeded() throws Exception {
+    String large = Strings.repeat("a", 400 * 1024);
+    reSender.add(ENDPOINT_ID, "first" + large);
+    reSender.add(ENDPOINT_ID, "second" + large);
+    reSender.add(ENDPOINT_ID, "third" + large);
+
+    reSender.resend(ENDPOINT_ID);
+
+    verify(endpoint, never()).sendText("first" + large);
+    verify(endpoint).sendText("second" + large);
+    verify(endpoint).sendText("third" + large);
+  }
+
+  @Test
+  public void shouldKeepManySmallMessages() throws Exception {
+    for (int i = 0; i < 1000; i++) {
+      reSender.add(ENDPOINT_ID, MESSAGE);
+    }
+
+    reSender.resend(ENDPOINT_ID);
+
+    verify(endpoint, times(1000)).sendText(MESSAGE);
+  }
+
+  @Test
+  public void shouldSendMessageDirectlyIfThereAreNoPendingMessages() throws Exception {
+    reSender.send(ENDPOINT_ID, session, MESSAGE);
+
+    verify(endpoint).sendText(MESSAGE);
+    assertFalse(reSender.hasPending(ENDPOINT_ID));
+  }
+
+  @Test
+  public void shouldSendMessageAfterPendingMessages() throws Exception {
+    reSender.add(ENDPOINT_ID, "1");
+    reSender.add(ENDPOINT_ID, "2");
+
+    reSender.send(ENDPOINT_ID, session, "3");
+
+    InOrder inOrder = inOrder(endpoint);
+    inOrder.verify(endpoint).sendText("1");
+    inOrder.verify(endpoint).sendText("2");
+    inOrder.verify(endpoint).sendText("3");
+    assertFalse(reSender.hasPending(ENDPOINT_ID));
+  }
+
+  @Test
+  public void shouldSendMessageLargerThanLimitIfSessionIsOpen() throws Exception {
+    String large = Strings.repeat("a", 2 * 1024 * 1024);
+    reSender.add(ENDPOINT_ID, MESSAGE);
+
+    reSender.send(ENDPOINT_ID, session, large);
+
+    InOrder inOrder = inOrder(endpoint);
+    inOrder.verify(endpoint).sendText(MESSAGE);
+    inOrder.verify(endpoint).sendText(large);
+  }
+
+  @Test
+  public void shouldKeepMessageToResendIfSendingFailed() throws Exception {
+    doThrow(new IOException("closed")).doNothing().when(endpoint).sendText(MESSAGE);
+
+    reSender.send(ENDPOINT_ID, session, MESSAGE);
+    assertTrue(reSender.hasPending(ENDPOINT_ID));
+
+    reSender.resend(ENDPOINT_ID);
+    verify(endpoint, times(2)).sendText(MESSAGE);
+    assertFalse(reSender.hasPending(ENDPOINT_ID));
+  }
+
+  @Test
+  public void shouldKeepMessageToResendIfSendingFailedWithRuntimeException() throws Exception {
+    doThrow(new IllegalStateException("closed")).doNothing().when(endpoint).sendText(MESSAGE);
+
+    reSender.send(ENDPOINT_ID, session, MESSAGE);
+    assertTrue(reSender.hasPending(ENDPOINT_ID));
+
+    reSender.send(ENDPOINT_ID, session, "next");
+    verify(endpoint, times(2)).sendText(MESSAGE);
+    verify(endpoint).sendText("next");
+    assertFalse(reSender.hasPending(ENDPOINT_ID));
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldQueueMessagesWithoutWaitingForSlowSession() throws Exception {
+    CountDownLatch sendingStarted = new CountDownLatch(1);
+    CountDownLatch releaseSending = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              sendingStarted.countDown();
+              releaseSending.await();
+              return null;
+            })
+        .when(endpoint)
+        .sendText("1");
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> slowSend = executor.submit(() -> reSender.send(ENDPOINT_ID, session, "1"));
+      sendingStarted.await();
+
+      // returns at once, the message is sent by the thread which is sending already
+      reSender.send(ENDPOINT_ID, session, "2");
+      verify(endpoint, never()).sendText("2");
+
+      releaseSending.countDown();
+      slowSend.get();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    InOrder inOrder = inOrder(endpoint);
+    inOrder.verify(endpoint).sendText("1");
+    inOrder.verify(endpoint).sendText("2");
+    assertFalse(reSender.hasPending(ENDPOINT_ID));
+  }
 }
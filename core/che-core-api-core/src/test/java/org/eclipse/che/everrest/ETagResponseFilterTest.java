@@ -76,6 +76,16 @@ public class ETagResponseFilterTest {
       return "hello";
     }
 
+    @GET
+    @Path("/map")
+    @Produces(APPLICATION_JSON)
+    public Map<String, String> getPreferences() {
+      Map<String, String> preferences = new HashMap<>();
+      preferences.put("b", "2");
+      preferences.put("a", "1");
+      return preferences;
+    }
+
     @GET
     @Path("/modify")
     @Produces(APPLICATION_JSON)
@@ -211,4 +221,36 @@ public class ETagResponseFilterTest {
     // check null body
     Assert.assertNull(response.getEntity());
   }
+
+  /** Check if ETag is generated for a map and it doesn't depend on the order of entries */
+  @Test
+  public void filterMapEntityTest() throws Exception {
+
+    final ContainerResponse response =
+        resourceLauncher.service(
+            HttpMethod.GET, SERVICE_PATH + "/map", BASE_URI, null, null, null);
+    assertEquals(response.getStatus(), OK.getStatusCode());
+    // Check etag
+    List<Object> headerTags = response.getHttpHeaders().get("ETag");
+    Assert.assertNotNull(headerTags);
+    Assert.assertEquals(headerTags.size(), 1);
+    Assert.assertEquals(headerTags.get(0), new EntityTag("8018d630c38e45a64531824279891103"));
+  }
+
+  /** Check if ETag sent with header is redirecting to NOT_MODIFIED for a map */
+  @Test
+  public void filterMapEntityTestWithEtag() throws Exception {
+
+    Map<String, List<String>> headers = new HashMap<>();
+    headers.put(
+        "If-None-Match",
+        Collections.singletonList(new EntityTag("8018d630c38e45a64531824279891103").toString()));
+
+    final ContainerResponse response =
+        resourceLauncher.service(
+            HttpMethod.GET, SERVICE_PATH + "/map", BASE_URI, headers, null, null);
+    assertEquals(response.getStatus(), NOT_MODIFIED.getStatusCode());
+    // check null body
+    Assert.assertNull(response.getEntity());
+  }
 }
@@ -588,8 +588,8 @@ public class DtoImplServerTemplate extends DtoImpl {
           .append(" ")
           .append(fieldNameOut)
           .append(" = new ")
-          .append(getImplName(type, true))
-          .append("();\n");
+          .append(getImplName(type, true));
+      appendInitialCapacity(rawClass, fieldNameIn, builder);
       emitDeepCopyCollections(expandedTypes, depth, builder, fieldNameIn, fieldNameOut, i);
       builder
           .append(i)
@@ -683,8 +683,8 @@ public class DtoImplServerTemplate extends DtoImpl {
           .append(" ")
           .append(childVarOut)
           .append(" = new ")
-          .append(getImplName(expandedTypes.get(depth + 1), true))
-          .append("();\n");
+          .append(getImplName(expandedTypes.get(depth + 1), true));
+      appendInitialCapacity(childRawType, childVarIn, builder);
       emitDeepCopyCollections(
           expandedTypes, depth + 1, builder, childVarIn, childVarOut, i + "    ");
       builder.append(i).append("      ").append(varOut);
@@ -713,6 +713,18 @@ public class DtoImplServerTemplate extends DtoImpl {
     builder.append(i).append("  }\n");
   }
 
+  /**
+   * Appends constructor arguments of a collection copy so it is created with enough capacity to
+   * hold all the elements of the origin collection without resizing.
+   */
+  private void appendInitialCapacity(Class<?> rawClass, String origin, StringBuilder builder) {
+    if (isList(rawClass)) {
+      builder.append("(").append(origin).append(".size());\n");
+    } else {
+      builder.append("((int) (").append(origin).append(".size() / .75f) + 1);\n");
+    }
+  }
+
   private void emitCheckNullAndCopyDto(Class<?> dto, String fieldName, StringBuilder builder) {
     String implName = dto.getSimpleName() + "Impl";
     builder
@@ -12,6 +12,7 @@ package org.eclipse.che.dto.server;
 
 import static java.lang.String.format;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -142,6 +143,8 @@ public final class DtoFactory {
 
       if (dtoInterface != null) {
         provider = getDtoProvider(dtoInterface);
+        // remember resolved provider to avoid reflection for next copies of this class
+        dtoImpl2Providers.put(implClass, provider);
       }
     }
 
@@ -403,7 +406,10 @@ public final class DtoFactory {
    * @see DtoProvider
    */
   public void registerProvider(Class<?> dtoInterface, DtoProvider<?> provider) {
-    dtoInterface2Providers.put(dtoInterface, provider);
+    final DtoProvider<?> replaced = dtoInterface2Providers.put(dtoInterface, provider);
+    if (replaced != null && replaced != provider) {
+      dtoImpl2Providers.values().removeIf(cached -> cached == replaced);
+    }
     dtoImpl2Providers.put(provider.getImplClass(), provider);
   }
 
@@ -415,11 +421,17 @@ public final class DtoFactory {
   public DtoProvider<?> unregisterProvider(Class<?> dtoInterface) {
     final DtoProvider<?> dtoProvider = dtoInterface2Providers.remove(dtoInterface);
     if (dtoProvider != null) {
-      dtoImpl2Providers.remove(dtoProvider.getImplClass());
+      dtoImpl2Providers.values().removeIf(provider -> provider == dtoProvider);
     }
     return dtoProvider;
   }
 
+  /** Returns the provider which is remembered for the implementation class of DTO or null. */
+  @VisibleForTesting
+  DtoProvider<?> getImplProvider(Class<?> dtoImpl) {
+    return dtoImpl2Providers.get(dtoImpl);
+  }
+
   /**
    * Test weather or not this DtoFactory has any DtoProvider which can provide implementation of DTO
    * interface.
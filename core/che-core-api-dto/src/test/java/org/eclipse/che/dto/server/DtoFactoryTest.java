@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.dto.server;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import com.google.gson.JsonElement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.che.dto.definitions.ComplicatedDto;
+import org.eclipse.che.dto.definitions.ComplicatedDto.SimpleEnum;
+import org.eclipse.che.dto.definitions.SimpleDto;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link DtoFactory}
+ *
+ * @see org.eclipse.che.dto.ServerDtoTest
+ */
+public class DtoFactoryTest {
+  private static final DtoFactory dtoFactory = DtoFactory.getInstance();
+
+  @Test
+  public void shouldRememberProviderResolvedForImplClass() throws Exception {
+    final DtoProvider<?> provider = getProvider();
+    assertNull(dtoFactory.getImplProvider(OtherSimpleDtoImpl.class));
+
+    SimpleDto copy = dtoFactory.clone(new OtherSimpleDtoImpl().withName("name").withId(1));
+
+    assertEquals(copy.getClass(), provider.getImplClass());
+    assertEquals(copy.getName(), "name");
+    assertEquals(copy.getId(), 1);
+    assertSame(dtoFactory.getImplProvider(OtherSimpleDtoImpl.class), provider);
+  }
+
+  @Test
+  public void shouldForgetAllImplClassesOfUnregisteredProvider() throws Exception {
+    dtoFactory.clone(new OtherSimpleDtoImpl());
+    final DtoProvider<?> provider = dtoFactory.unregisterProvider(SimpleDto.class);
+    assertNotNull(provider);
+
+    try {
+      assertNull(dtoFactory.getImplProvider(provider.getImplClass()));
+      assertNull(dtoFactory.getImplProvider(OtherSimpleDtoImpl.class));
+    } finally {
+      dtoFactory.registerProvider(SimpleDto.class, provider);
+    }
+  }
+
+  @Test
+  public void shouldCloneWithProviderWhichReplacedResolvedProvider() throws Exception {
+    dtoFactory.clone(new OtherSimpleDtoImpl());
+    @SuppressWarnings("unchecked")
+    final DtoProvider<SimpleDto> provider = (DtoProvider<SimpleDto>) getProvider();
+    final CountingProvider countingProvider = new CountingProvider(provider);
+    dtoFactory.registerProvider(SimpleDto.class, countingProvider);
+
+    try {
+      dtoFactory.clone(new OtherSimpleDtoImpl());
+
+      assertEquals(countingProvider.clones.get(), 1);
+      assertSame(dtoFactory.getImplProvider(OtherSimpleDtoImpl.class), countingProvider);
+    } finally {
+      dtoFactory.registerProvider(SimpleDto.class, provider);
+    }
+  }
+
+  @Test
+  public void shouldDeepCopyListsAndMaps() throws Exception {
+    final List<String> strings = new ArrayList<>(asList("a", "b"));
+    final Map<String, SimpleDto> map = new HashMap<>();
+    map.put("first", dtoFactory.createDto(SimpleDto.class).withName("first"));
+    final List<SimpleDto> simpleDtos = new ArrayList<>();
+    simpleDtos.add(dtoFactory.createDto(SimpleDto.class).withName("listed"));
+    final List<List<SimpleEnum>> arrayOfArrayOfEnum = new ArrayList<>();
+    arrayOfArrayOfEnum.add(new ArrayList<>(asList(SimpleEnum.ONE, SimpleEnum.TWO)));
+    final ComplicatedDto origin =
+        dtoFactory
+            .createDto(ComplicatedDto.class)
+            .withStrings(strings)
+            .withMap(map)
+            .withSimpleDtos(simpleDtos)
+            .withArrayOfArrayOfEnum(arrayOfArrayOfEnum);
+
+    final ComplicatedDto copy = dtoFactory.clone(origin);
+    assertEquals(copy, origin);
+
+    origin.getStrings().add("c");
+    origin.getMap().put("second", dtoFactory.createDto(SimpleDto.class));
+    origin.getMap().get("first").setDefault("changed");
+    origin.getSimpleDtos().get(0).setDefault("changed");
+    origin.getArrayOfArrayOfEnum().get(0).add(SimpleEnum.THREE);
+
+    assertEquals(copy.getStrings(), asList("a", "b"));
+    assertEquals(copy.getMap().size(), 1);
+    assertNull(copy.getMap().get("first").getDefault());
+    assertNull(copy.getSimpleDtos().get(0).getDefault());
+    assertEquals(copy.getArrayOfArrayOfEnum().get(0), asList(SimpleEnum.ONE, SimpleEnum.TWO));
+  }
+
+  private static DtoProvider<?> getProvider() {
+    return dtoFactory.getImplProvider(dtoFactory.createDto(SimpleDto.class).getClass());
+  }
+
+  /** Implementation of DTO interface which is not registered in the factory. */
+  private static class OtherSimpleDtoImpl implements SimpleDto {
+    private int id;
+    private String name;
+    private String defaultValue;
+
+    @Override
+    public int getId() {
+      return id;
+    }
+
+    @Override
+    public SimpleDto withId(int id) {
+      this.id = id;
+      return this;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public SimpleDto withName(String name) {
+      this.name = name;
+      return this;
+    }
+
+    @Override
+    public String getDefault() {
+      return defaultValue;
+    }
+
+    @Override
+    public void setDefault(String s) {
+      this.defaultValue = s;
+    }
+
+    @Override
+    public SimpleDto withDefault(String s) {
+      this.defaultValue = s;
+      return this;
+    }
+  }
+
+  private static class CountingProvider implements DtoProvider<SimpleDto> {
+    private final DtoProvider<SimpleDto> delegate;
+    private final AtomicInteger clones = new AtomicInteger();
+
+    private CountingProvider(DtoProvider<SimpleDto> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Class<? extends SimpleDto> getImplClass() {
+      return delegate.getImplClass();
+    }
+
+    @Override
+    public SimpleDto fromJson(String json) {
+      return delegate.fromJson(json);
+    }
+
+    @Override
+    public SimpleDto fromJson(JsonElement json) {
+      return delegate.fromJson(json);
+    }
+
+    @Override
+    public SimpleDto newInstance() {
+      return delegate.newInstance();
+    }
+
+    @Override
+    public SimpleDto clone(SimpleDto origin) {
+      clones.incrementAndGet();
+      return delegate.clone(origin);
+    }
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.model.workspace;
+
+/**
+ * Defines a lightweight view of the {@link Workspace} which is used for listing workspaces, it
+ * doesn't include the configuration and the runtime of the workspace.
+ */
+public interface WorkspaceSummary {
+
+  /** Returns the identifier of the workspace. */
+  String getId();
+
+  /** Returns the name of the workspace, which is the name of its configuration. */
+  String getName();
+
+  /** Returns the namespace of the workspace. */
+  String getNamespace();
+
+  /** Returns the status of the workspace, see {@link Workspace#getStatus()}. */
+  WorkspaceStatus getStatus();
+
+  /**
+   * Returns the time of the last update of the workspace in milliseconds, or the time of its
+   * creation if it was never updated, or 0 if neither is known.
+   */
+  long getUpdated();
+}
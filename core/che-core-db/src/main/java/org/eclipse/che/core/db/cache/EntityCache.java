@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.cache;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.inject.persist.Transactional;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.persistence.EntityManager;
+
+/**
+ * Bounded cache of entities read by DAO, which is kept in front of the database to serve the most
+ * frequent reads by id.
+ *
+ * <p>DAO must invalidate the entry of an entity each time the entity is changed or removed, both
+ * before and after the change is committed. To not put the value read before the change into the
+ * cache after it was invalidated, values are put with the stamp taken before they are read from
+ * the database:
+ *
+ * <pre>{@code
+ * Entity entity = cache.get(id);
+ * if (entity == null) {
+ *   long stamp = cache.stamp();
+ *   entity = readFromDatabase(id);
+ *   cache.put(id, entity, stamp);
+ * }
+ * }</pre>
+ *
+ * <p>Cached values are shared between callers, so they must be copied before they are returned to
+ * the DAO clients. Entries expire after the configured time since they were put, which bounds the
+ * staleness of entities changed bypassing this cache, e.g. by another server instance. Values read
+ * inside an enclosing transaction are not put, as that transaction may have changed them and may
+ * be rolled back.
+ *
+ * @param <K> the type of entity key
+ * @param <V> the type of cached entity
+ */
+public class EntityCache<K, V> {
+
+  public static final long DEFAULT_MAX_SIZE = 1000;
+  public static final long DEFAULT_EXPIRE_AFTER_WRITE_SEC = 60;
+
+  private final String name;
+
+  private volatile Cache<K, V> cache;
+  private volatile Provider<EntityManager> managerProvider;
+
+  /** Guarded by this. */
+  private long invalidations;
+
+  public EntityCache(String name) {
+    this(name, DEFAULT_MAX_SIZE, DEFAULT_EXPIRE_AFTER_WRITE_SEC);
+  }
+
+  public EntityCache(String name, long maxSize, long expireAfterWriteSec) {
+    this.name = name;
+    this.cache = build(maxSize, expireAfterWriteSec);
+  }
+
+  /**
+   * Replaces the cache bounds with the configured ones, the cache is disabled when the max size is
+   * 0. Called once by the injector, if the configuration is missing default bounds are used.
+   */
+  @com.google.inject.Inject(optional = true)
+  public void configure(
+      @Named("db.cache.max_size") long maxSize,
+      @Named("db.cache.expire_after_write_sec") long expireAfterWriteSec) {
+    cache = build(maxSize, expireAfterWriteSec);
+  }
+
+  /**
+   * Lets the cache detect the values read inside an enclosing transaction. Called once by the
+   * injector, if JPA is not configured all the values are put.
+   */
+  @com.google.inject.Inject(optional = true)
+  public void setManagerProvider(Provider<EntityManager> managerProvider) {
+    this.managerProvider = managerProvider;
+  }
+
+  /** Returns the cached value or null if there is no value for the given key. */
+  public V get(K key) {
+    return cache.getIfPresent(key);
+  }
+
+  /** Returns the stamp to put the value which is about to be read from the database. */
+  public synchronized long stamp() {
+    return invalidations;
+  }
+
+  /**
+   * Puts the value into the cache unless any entry is invalidated since the given stamp was taken,
+   * or the value is read inside a transaction which is not finished yet.
+   */
+  public void put(K key, V value, long stamp) {
+    if (isInTransaction()) {
+      return;
+    }
+    synchronized (this) {
+      if (stamp == invalidations) {
+        cache.put(key, value);
+      }
+    }
+  }
+
+  /** Removes the entry of the given key. */
+  public synchronized void invalidate(K key) {
+    invalidations++;
+    cache.invalidate(key);
+  }
+
+  /** Removes all the entries. */
+  public synchronized void invalidateAll() {
+    invalidations++;
+    cache.invalidateAll();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /** Returns the number of cached entries. */
+  public long size() {
+    return cache.size();
+  }
+
+  /** Returns the statistics of hits, misses and evictions. */
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  @Override
+  public String toString() {
+    return "EntityCache{name='" + name + "', size=" + size() + ", stats=" + getStats() + '}';
+  }
+
+  /** Returns the entity manager used by the transactional methods called by the current thread. */
+  @Transactional
+  protected EntityManager getTransactionalManager() {
+    return managerProvider.get();
+  }
+
+  private boolean isInTransaction() {
+    if (managerProvider == null) {
+      return false;
+    }
+    // the unit of work begun for the call above is ended closing its entity manager, unless the
+    // work is of an enclosing @Transactional method, which is still in the transaction
+    final EntityManager manager = getTransactionalManager();
+    return manager.isOpen() && manager.getTransaction().isActive();
+  }
+
+  private static <K, V> Cache<K, V> build(long maxSize, long expireAfterWriteSec) {
+    return CacheBuilder.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(expireAfterWriteSec, SECONDS)
+        .recordStats()
+        .build();
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.cache;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import com.google.common.cache.CacheStats;
+import java.util.Set;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.schedule.ScheduleRate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Periodically logs the size, hits, misses and evictions of the entity caches, so their bounds may
+ * be tuned by the actual load. Caches are registered with a multibinder of {@link EntityCache}.
+ */
+@Singleton
+public class EntityCacheStatsLogger {
+
+  private static final Logger LOG = LoggerFactory.getLogger(EntityCacheStatsLogger.class);
+
+  private final Set<EntityCache<?, ?>> caches;
+
+  @Inject
+  public EntityCacheStatsLogger(Set<EntityCache<?, ?>> caches) {
+    this.caches = caches;
+  }
+
+  @ScheduleRate(
+    initialDelay = 10,
+    periodParameterName = "db.cache.stats_log_period_min",
+    unit = MINUTES
+  )
+  public void logStats() {
+    for (EntityCache<?, ?> cache : caches) {
+      final CacheStats stats = cache.getStats();
+      LOG.info(
+          "Entity cache '{}': size {}, hits {}, misses {}, hit rate {}, evictions {}",
+          cache.getName(),
+          cache.size(),
+          stats.hitCount(),
+          stats.missCount(),
+          String.format("%.2f", stats.hitRate()),
+          stats.evictionCount());
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.db.cache;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link EntityCache}. */
+public class EntityCacheTest {
+
+  private EntityCache<String, String> cache;
+
+  @BeforeMethod
+  public void setUp() {
+    cache = new EntityCache<>("test");
+  }
+
+  @Test
+  public void shouldReturnCachedValue() {
+    cache.put("id", "value", cache.stamp());
+
+    assertEquals(cache.get("id"), "value");
+    assertEquals(cache.size(), 1);
+  }
+
+  @Test
+  public void shouldInvalidateEntry() {
+    cache.put("id1", "value1", cache.stamp());
+    cache.put("id2", "value2", cache.stamp());
+
+    cache.invalidate("id1");
+
+    assertNull(cache.get("id1"));
+    assertEquals(cache.get("id2"), "value2");
+  }
+
+  @Test
+  public void shouldNotPutValueReadBeforeInvalidation() {
+    final long stamp = cache.stamp();
+    cache.invalidate("id");
+
+    cache.put("id", "stale", stamp);
+
+    assertNull(cache.get("id"));
+  }
+
+  @Test
+  public void shouldNotCacheValuesWhenMaxSizeIsZero() {
+    cache.configure(0, 60);
+
+    cache.put("id", "value", cache.stamp());
+
+    assertNull(cache.get("id"));
+  }
+
+  @Test
+  public void shouldRecordHitsAndMisses() {
+    cache.get("id");
+    cache.put("id", "value", cache.stamp());
+    cache.get("id");
+    cache.get("id");
+
+    assertEquals(cache.getStats().hitCount(), 2);
+    assertEquals(cache.getStats().missCount(), 1);
+  }
+}
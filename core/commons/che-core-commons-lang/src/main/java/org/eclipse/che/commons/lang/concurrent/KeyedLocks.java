@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.lang.concurrent;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read/write locks which are created per key, so unlike {@link StripedLocks} different keys never
+ * share the same lock. The lock of a key exists only while it is held or awaited by any thread and
+ * it is removed once the last holder unlocks it, so the number of locks does not grow with the
+ * number of keys ever used. Examples of usage:
+ *
+ * <pre>{@code
+ * KeyedLocks locks = new KeyedLocks("workspaces");
+ * try (Unlocker u = locks.writeLock(myKey)) {
+ *     syncedObject.write();
+ * }
+ *
+ * try (Unlocker u = locks.readLock(myKey)) {
+ *     syncedObject.read();
+ * }
+ *
+ * try (Unlocker u = locks.writeAllLock()) {
+ *     for (ObjectToSync objectToSync : allObjectsToSync) {
+ *         objectToSync.write();
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Each acquisition of a key lock also acquires the read lock shared by all the keys, so {@link
+ * #writeAllLock()} is a single write lock instead of locking every key. Time spent waiting for
+ * locks is collected per instance and is available with {@link #getStats()}, a key lock and the
+ * shared lock acquired with it are counted as a single acquisition.
+ */
+public class KeyedLocks {
+  private static final long NOT_WAITED = -1;
+
+  private final String domain;
+  private final boolean fair;
+  private final ReadWriteLock allLock;
+  private final ConcurrentMap<String, KeyLock> keyLocks;
+  private final Stats stats;
+
+  /**
+   * Creates non fair locks.
+   *
+   * @param domain name of the locked domain, e.g. {@code workspaces}, used in statistics
+   */
+  public KeyedLocks(String domain) {
+    this(domain, false);
+  }
+
+  /**
+   * Creates locks.
+   *
+   * @param domain name of the locked domain, e.g. {@code workspaces}, used in statistics
+   * @param fair whether locks are granted in the order they are requested, see {@link
+   *     ReentrantReadWriteLock#ReentrantReadWriteLock(boolean)}
+   */
+  public KeyedLocks(String domain, boolean fair) {
+    this.domain = domain;
+    this.fair = fair;
+    this.allLock = new ReentrantReadWriteLock(fair);
+    this.keyLocks = new ConcurrentHashMap<>();
+    this.stats = new Stats(domain);
+  }
+
+  /** Acquire read lock for provided key. */
+  public Unlocker readLock(String key) {
+    return lock(key, false);
+  }
+
+  /** Acquire write lock for provided key. */
+  public Unlocker writeLock(String key) {
+    return lock(key, true);
+  }
+
+  /** Acquire write lock for all possible keys. */
+  public Unlocker writeAllLock() {
+    final Lock lock = allLock.writeLock();
+    stats.acquired(acquire(lock));
+    return lock::unlock;
+  }
+
+  /** Returns statistics of waiting for locks. */
+  public Stats getStats() {
+    return stats;
+  }
+
+  /** Returns the number of keys which locks are currently held or awaited. */
+  public int getLockedKeysCount() {
+    return keyLocks.size();
+  }
+
+  private Unlocker lock(String key, boolean write) {
+    final Lock sharedLock = allLock.readLock();
+    final long sharedLockWaitNanos = acquire(sharedLock);
+    final KeyLock keyLock =
+        keyLocks.compute(key, (k, l) -> l == null ? new KeyLock(fair) : l.ref());
+    final Lock lock = write ? keyLock.writeLock() : keyLock.readLock();
+    final long lockWaitNanos;
+    try {
+      lockWaitNanos = acquire(lock);
+    } catch (RuntimeException | Error x) {
+      release(key);
+      sharedLock.unlock();
+      throw x;
+    }
+    if (sharedLockWaitNanos == NOT_WAITED && lockWaitNanos == NOT_WAITED) {
+      stats.acquired(NOT_WAITED);
+    } else {
+      stats.acquired(Math.max(sharedLockWaitNanos, 0) + Math.max(lockWaitNanos, 0));
+    }
+    return () -> {
+      lock.unlock();
+      release(key);
+      sharedLock.unlock();
+    };
+  }
+
+  private void release(String key) {
+    keyLocks.computeIfPresent(key, (k, l) -> l.unref() ? null : l);
+  }
+
+  /** Acquires the lock, returns the time spent waiting for it or {@link #NOT_WAITED}. */
+  private long acquire(Lock lock) {
+    if (tryAcquire(lock)) {
+      return NOT_WAITED;
+    }
+    final long start = System.nanoTime();
+    lock.lock();
+    return System.nanoTime() - start;
+  }
+
+  private boolean tryAcquire(Lock lock) {
+    if (!fair) {
+      return lock.tryLock();
+    }
+    // unlike tryLock() respects fairness
+    try {
+      return lock.tryLock(0, NANOSECONDS);
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "KeyedLocks{domain='" + domain + "', fair=" + fair + '}';
+  }
+
+  /** Lock of a single key with the number of threads which hold or await it. */
+  private static class KeyLock extends ReentrantReadWriteLock {
+    // guarded by the map entry of the key
+    private int refs = 1;
+
+    private KeyLock(boolean fair) {
+      super(fair);
+    }
+
+    private KeyLock ref() {
+      refs++;
+      return this;
+    }
+
+    /** Returns true if there are no more threads which hold or await this lock. */
+    private boolean unref() {
+      return --refs == 0;
+    }
+  }
+
+  /** Statistics of waiting for locks of a single domain. */
+  public static class Stats {
+    private final String domain;
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contendedAcquisitions = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private Stats(String domain) {
+      this.domain = domain;
+    }
+
+    public String getDomain() {
+      return domain;
+    }
+
+    /** Returns the number of acquired locks. */
+    public long getAcquisitions() {
+      return acquisitions.sum();
+    }
+
+    /** Returns the number of locks which were not acquired immediately. */
+    public long getContendedAcquisitions() {
+      return contendedAcquisitions.sum();
+    }
+
+    /** Returns the total time spent waiting for locks. */
+    public long getWaitNanos() {
+      return waitNanos.sum();
+    }
+
+    /** Returns the longest time spent waiting for a lock. */
+    public long getMaxWaitNanos() {
+      return maxWaitNanos.get();
+    }
+
+    private void acquired(long nanos) {
+      acquisitions.increment();
+      if (nanos != NOT_WAITED) {
+        contendedAcquisitions.increment();
+        waitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "Stats{domain='"
+          + domain
+          + "', acquisitions="
+          + getAcquisitions()
+          + ", contendedAcquisitions="
+          + getContendedAcquisitions()
+          + ", waitMillis="
+          + NANOSECONDS.toMillis(getWaitNanos())
+          + ", maxWaitMillis="
+          + NANOSECONDS.toMillis(getMaxWaitNanos())
+          + '}';
+    }
+  }
+}
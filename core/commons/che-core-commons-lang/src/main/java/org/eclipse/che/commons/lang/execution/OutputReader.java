@@ -12,13 +12,18 @@ package org.eclipse.che.commons.lang.execution;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Asynchronously non blocking read process output. Class use external executor to run read thread
+ * Asynchronously non blocking read process output. Reading is done by the poll task which is run
+ * on threads shared by all the readers, see {@link StreamPoller}, so a reader does not hold a
+ * thread while the process is idle. The text consumer, which may block, is called outside of those
+ * threads and the reader is not polled again until the read text is consumed.
  *
  * @author Evgen Vidolob
  */
@@ -28,27 +33,27 @@ public class OutputReader {
   private static final int SLEEP_WHEN_WAS_ACTIVE = 1;
   private static final int SLEEP_WHEN_IDLE = 5;
 
-  private final Executor executor;
   private final Consumer<String> textConsumer;
   private final Reader reader;
 
   private final char[] buffer = new char[8192];
   private final StringBuilder lineBuilder = new StringBuilder();
 
-  private Future<?> readingFuture;
+  private final CompletableFuture<Void> readingFuture = new CompletableFuture<>();
 
+  private boolean isStarted;
   private volatile boolean isStopped;
 
-  public OutputReader(Reader reader, Executor executor, Consumer<String> textConsumer) {
-    this.executor = executor;
+  public OutputReader(Reader reader, Consumer<String> textConsumer) {
     this.textConsumer = textConsumer;
     this.reader = reader;
   }
 
-  /** Start reading thread */
-  public void start() {
-    if (readingFuture == null) {
-      readingFuture = executor.execute(() -> doStart());
+  /** Start reading */
+  public synchronized void start() {
+    if (!isStarted) {
+      isStarted = true;
+      StreamPoller.schedule(this::poll, 0);
     }
   }
 
@@ -64,24 +69,39 @@ public class OutputReader {
     }
   }
 
-  private void doStart() {
+  private void poll() {
     try {
-      while (true) {
-        boolean active = readIfAvailable();
-        if (isStopped) {
-          break;
-        }
-
-        try {
-          Thread.sleep(getTimeToSleep(active));
-        } catch (InterruptedException ignored) {
-        }
+      final List<String> lines = readIfAvailable();
+      if (!lines.isEmpty()) {
+        StreamPoller.executeBlocking(() -> consume(lines));
+        return;
+      }
+      if (!isStopped) {
+        StreamPoller.schedule(this::poll, SLEEP_WHEN_IDLE);
+        return;
+      }
+    } catch (Exception e) {
+      LOG.error(e.getMessage(), e);
+    }
+    finish();
+  }
+
+  private void consume(List<String> lines) {
+    try {
+      lines.forEach(textConsumer);
+      if (!isStopped) {
+        StreamPoller.schedule(this::poll, SLEEP_WHEN_WAS_ACTIVE);
+        return;
       }
     } catch (Exception e) {
       LOG.error(e.getMessage(), e);
-    } finally {
-      close();
     }
+    finish();
+  }
+
+  private void finish() {
+    close();
+    readingFuture.complete(null);
   }
 
   private void close() {
@@ -92,35 +112,30 @@ public class OutputReader {
     }
   }
 
-  private int getTimeToSleep(boolean active) {
-    return active ? SLEEP_WHEN_WAS_ACTIVE : SLEEP_WHEN_IDLE;
-  }
-
-  private boolean readIfAvailable() throws IOException {
-    boolean read = false;
+  private List<String> readIfAvailable() throws IOException {
+    final List<String> lines = new ArrayList<>();
     int charCount;
-    while (reader.ready() && (charCount = reader.read(buffer)) > 1) {
-      read = true;
-      processRead(lineBuilder, buffer, charCount);
+    while (reader.ready() && (charCount = reader.read(buffer)) > 0) {
+      processRead(lines, buffer, charCount);
     }
 
     if (lineBuilder.length() > 0) {
-      consumeLine(lineBuilder);
+      consumeLine(lines);
     }
-    return read;
+    return lines;
   }
 
-  private void consumeLine(StringBuilder lineBuilder) {
-    textConsumer.accept(lineBuilder.toString());
+  private void consumeLine(List<String> lines) {
+    lines.add(lineBuilder.toString());
     lineBuilder.setLength(0);
   }
 
-  private void processRead(StringBuilder lineBuilder, char[] buffer, int charCount) {
+  private void processRead(List<String> lines, char[] buffer, int charCount) {
     for (int i = 0; i < charCount; i++) {
       char c = buffer[i];
       lineBuilder.append(c);
       if (c == '\n') {
-        consumeLine(lineBuilder);
+        consumeLine(lines);
       }
     }
   }
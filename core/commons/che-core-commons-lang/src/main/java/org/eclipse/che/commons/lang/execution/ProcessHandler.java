@@ -161,7 +161,6 @@ public class ProcessHandler implements Executor {
   private OutputReader createStdErrReader() {
     return new OutputReader(
         new InputStreamReader(process.getErrorStream()),
-        this,
         (s -> notifyOnText(s, ProcessOutputType.STDERR)));
   }
 
@@ -176,7 +175,6 @@ public class ProcessHandler implements Executor {
   private OutputReader createStdOutReader() {
     return new OutputReader(
         new InputStreamReader(process.getInputStream()),
-        this,
         (s -> {
           notifyOnText(s, ProcessOutputType.STDOUT);
         }));
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.lang.execution;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+
+/**
+ * Threads shared by all the readers of native process output.
+ *
+ * <p>Pipes of a {@link Process} are not selectable channels, so instead of blocking a thread per
+ * stream each reader schedules a task which reads only the data that is already available and then
+ * reschedules itself. This way a couple of threads pump output of any number of processes. The
+ * only reads which may block, e.g. reading the rest of the output after the process has exited,
+ * must be run with {@link #executeBlocking(Runnable)} to not stall the other readers.
+ */
+public final class StreamPoller {
+
+  private static final int POLLING_THREADS = 2;
+
+  private static final ScheduledExecutorService POLLER =
+      Executors.newScheduledThreadPool(
+          POLLING_THREADS,
+          new ThreadFactoryBuilder()
+              .setNameFormat("StreamPoller-%d")
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setDaemon(true)
+              .build());
+
+  private static final ExecutorService BLOCKING_EXECUTOR =
+      Executors.newCachedThreadPool(
+          new ThreadFactoryBuilder()
+              .setNameFormat("StreamPollerBlockingRead-%d")
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setDaemon(true)
+              .build());
+
+  /**
+   * Schedules the poll task. The task must not block.
+   *
+   * @param task task which reads available data
+   * @param delayMillis delay before the task is run
+   */
+  public static ScheduledFuture<?> schedule(Runnable task, long delayMillis) {
+    return POLLER.schedule(task, delayMillis, MILLISECONDS);
+  }
+
+  /**
+   * Runs the task which may block, outside of the polling threads.
+   *
+   * @param task task which reads data until the end of the stream
+   */
+  public static void executeBlocking(Runnable task) {
+    BLOCKING_EXECUTOR.execute(task);
+  }
+
+  private StreamPoller() {}
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.lang.concurrent;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/** Tests of {@link KeyedLocks}. */
+public class KeyedLocksTest {
+
+  private ExecutorService executor;
+
+  @BeforeMethod
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @DataProvider
+  public static Object[][] fairness() {
+    return new Object[][] {{false}, {true}};
+  }
+
+  @Test(dataProvider = "fairness")
+  public void shouldNotBlockDifferentKeys(boolean fair) throws Exception {
+    final KeyedLocks locks = new KeyedLocks("test", fair);
+
+    try (Unlocker u = locks.writeLock("key1")) {
+      final Future<?> future = executor.submit(() -> locks.writeLock("key2").unlock());
+
+      future.get(5, SECONDS);
+    }
+  }
+
+  @Test(dataProvider = "fairness")
+  public void shouldBlockSameKeyUntilItIsUnlocked(boolean fair) throws Exception {
+    final KeyedLocks locks = new KeyedLocks("test", fair);
+    final Unlocker unlocker = locks.writeLock("key");
+
+    final Future<?> future = executor.submit(() -> locks.readLock("key").unlock());
+
+    assertTrue(isBlocked(future));
+    unlocker.unlock();
+    future.get(5, SECONDS);
+    assertEquals(locks.getStats().getContendedAcquisitions(), 1);
+    assertTrue(locks.getStats().getWaitNanos() > 0);
+  }
+
+  @Test
+  public void shouldNotBlockReadersOfSameKey() throws Exception {
+    final KeyedLocks locks = new KeyedLocks("test");
+
+    try (Unlocker u = locks.readLock("key")) {
+      executor.submit(() -> locks.readLock("key").unlock()).get(5, SECONDS);
+    }
+  }
+
+  @Test
+  public void shouldBlockAllKeysWhenAllLocksAreAcquired() throws Exception {
+    final KeyedLocks locks = new KeyedLocks("test");
+    final Unlocker unlocker = locks.writeAllLock();
+
+    final Future<?> future = executor.submit(() -> locks.readLock("key").unlock());
+
+    assertTrue(isBlocked(future));
+    unlocker.unlock();
+    future.get(5, SECONDS);
+  }
+
+  @Test
+  public void shouldCountKeyLockWhichWaitsForAllLocksAsSingleContendedAcquisition()
+      throws Exception {
+    final KeyedLocks locks = new KeyedLocks("test");
+    final Unlocker unlocker = locks.writeAllLock();
+
+    final Future<?> future = executor.submit(() -> locks.writeLock("key").unlock());
+
+    assertTrue(isBlocked(future));
+    unlocker.unlock();
+    future.get(5, SECONDS);
+    assertEquals(locks.getStats().getAcquisitions(), 2);
+    assertEquals(locks.getStats().getContendedAcquisitions(), 1);
+    assertTrue(locks.getStats().getWaitNanos() > 0);
+  }
+
+  @Test
+  public void shouldWaitForKeyLocksBeforeAcquiringAllLocks() throws Exception {
+    final KeyedLocks locks = new KeyedLocks("test");
+    final Unlocker unlocker = locks.writeLock("key");
+
+    final Future<?> future = executor.submit(() -> locks.writeAllLock().unlock());
+
+    assertTrue(isBlocked(future));
+    unlocker.unlock();
+    future.get(5, SECONDS);
+  }
+
+  @Test
+  public void shouldRemoveKeyLockWhenItIsNotUsed() throws Exception {
+    final KeyedLocks locks = new KeyedLocks("test");
+    final Unlocker unlocker = locks.writeLock("key");
+    final CountDownLatch waiting = new CountDownLatch(1);
+    final Future<?> future =
+        executor.submit(
+            () -> {
+              waiting.countDown();
+              locks.writeLock("key").unlock();
+            });
+    waiting.await();
+    assertTrue(isBlocked(future));
+
+    unlocker.unlock();
+    future.get(5, SECONDS);
+
+    assertEquals(locks.getLockedKeysCount(), 0);
+  }
+
+  @Test
+  public void shouldBeReentrant() throws Exception {
+    final KeyedLocks locks = new KeyedLocks("test");
+
+    try (Unlocker u1 = locks.writeLock("key");
+        Unlocker u2 = locks.writeLock("key");
+        Unlocker u3 = locks.readLock("key")) {
+      assertEquals(locks.getLockedKeysCount(), 1);
+    }
+
+    assertEquals(locks.getLockedKeysCount(), 0);
+    assertEquals(locks.getStats().getAcquisitions(), 3);
+    assertEquals(locks.getStats().getContendedAcquisitions(), 0);
+  }
+
+  @Test
+  public void shouldGuardStateOfEachKey() throws Exception {
+    final KeyedLocks locks = new KeyedLocks("test");
+    final int[] counters = new int[4];
+    final Runnable incrementer =
+        () -> {
+          for (int i = 0; i < 10_000; i++) {
+            final int key = i % counters.length;
+            try (Unlocker u = locks.writeLock("key" + key)) {
+              counters[key]++;
+            }
+          }
+        };
+    final Future<?> f1 = executor.submit(incrementer);
+    final Future<?> f2 = executor.submit(incrementer);
+
+    f1.get(10, SECONDS);
+    f2.get(10, SECONDS);
+
+    for (int counter : counters) {
+      assertEquals(counter, 5_000);
+    }
+    assertEquals(locks.getLockedKeysCount(), 0);
+  }
+
+  private static boolean isBlocked(Future<?> future) throws Exception {
+    try {
+      future.get(200, MILLISECONDS);
+      return false;
+    } catch (TimeoutException x) {
+      return true;
+    }
+  }
+}
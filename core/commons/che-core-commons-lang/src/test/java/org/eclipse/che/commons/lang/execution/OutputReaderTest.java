@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.lang.execution;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.testng.annotations.Test;
+
+/** Tests of {@link OutputReader}. */
+public class OutputReaderTest {
+
+  @Test
+  public void shouldPassReadTextLineByLine() throws Exception {
+    final List<String> lines = new ArrayList<>();
+    final OutputReader reader = new OutputReader(new StringReader("line 1\nline 2"), lines::add);
+
+    reader.start();
+    reader.stop();
+    reader.waitFor();
+
+    assertEquals(lines, asList("line 1\n", "line 2"));
+  }
+
+  @Test
+  public void shouldReadOutputWhileOtherConsumersBlock() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<OutputReader> blockedReaders = new ArrayList<>();
+    try {
+      // more blocked consumers than polling threads
+      for (int i = 0; i < 4; i++) {
+        final OutputReader blockedReader =
+            new OutputReader(
+                new StringReader("blocked\n"),
+                text -> {
+                  try {
+                    release.await();
+                  } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                  }
+                });
+        blockedReader.start();
+        blockedReader.stop();
+        blockedReaders.add(blockedReader);
+      }
+      final List<String> lines = new ArrayList<>();
+      final OutputReader reader = new OutputReader(new StringReader("line\n"), lines::add);
+
+      reader.start();
+      reader.stop();
+      reader.waitFor();
+
+      assertEquals(lines, singletonList("line\n"));
+    } finally {
+      release.countDown();
+    }
+    for (OutputReader blockedReader : blockedReaders) {
+      blockedReader.waitFor();
+    }
+  }
+}
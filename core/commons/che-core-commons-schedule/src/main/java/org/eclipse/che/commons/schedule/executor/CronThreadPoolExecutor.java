@@ -10,30 +10,42 @@
  */
 package org.eclipse.che.commons.schedule.executor;
 
-import java.util.ArrayList;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
 import java.util.Date;
 import java.util.List;
-import java.util.concurrent.CancellationException;
-import java.util.concurrent.CountDownLatch;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Scheduled thread-pool executor implementation that leverages a CronExpression to calculate future
  * execution times for scheduled tasks.
+ *
+ * <p>Cron tasks do not occupy pool threads while waiting for their execution time, their timers are
+ * kept in the {@link TimingWheel}, so the number of cron tasks is not limited by the pool size.
+ * Cron tasks are cancelled when the executor is shut down.
  */
 public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor
     implements CronExecutorService {
 
   private static final Logger LOG = LoggerFactory.getLogger(CronThreadPoolExecutor.class);
 
-  private final List<CountDownLatch> cronJobWatchDogs;
+  private static final long CRON_TICK_MILLIS = 100;
+  private static final int CRON_TICKS_PER_WHEEL = 512;
+
+  private final TimingWheel cronTimers;
+  private final Set<CronJob> cronJobs = ConcurrentHashMap.newKeySet();
 
   /**
    * Constructs a new CronThreadPoolExecutor.
@@ -42,7 +54,8 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor
    */
   public CronThreadPoolExecutor(int corePoolSize) {
     super(corePoolSize);
-    this.cronJobWatchDogs = new ArrayList<>();
+    this.cronTimers =
+        new TimingWheel(CRON_TICK_MILLIS, TimeUnit.MILLISECONDS, CRON_TICKS_PER_WHEEL, this);
     this.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
   }
 
@@ -54,7 +67,8 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor
    */
   public CronThreadPoolExecutor(int corePoolSize, ThreadFactory threadFactory) {
     super(corePoolSize, threadFactory);
-    this.cronJobWatchDogs = new ArrayList<>();
+    this.cronTimers =
+        new TimingWheel(CRON_TICK_MILLIS, TimeUnit.MILLISECONDS, CRON_TICKS_PER_WHEEL, this);
     this.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
   }
 
@@ -66,7 +80,8 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor
    */
   public CronThreadPoolExecutor(int corePoolSize, RejectedExecutionHandler handler) {
     super(corePoolSize, handler);
-    this.cronJobWatchDogs = new ArrayList<>();
+    this.cronTimers =
+        new TimingWheel(CRON_TICK_MILLIS, TimeUnit.MILLISECONDS, CRON_TICKS_PER_WHEEL, this);
     this.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
   }
 
@@ -80,7 +95,29 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor
   public CronThreadPoolExecutor(
       int corePoolSize, ThreadFactory threadFactory, RejectedExecutionHandler handler) {
     super(corePoolSize, threadFactory, handler);
-    this.cronJobWatchDogs = new ArrayList<>();
+    this.cronTimers =
+        new TimingWheel(CRON_TICK_MILLIS, TimeUnit.MILLISECONDS, CRON_TICKS_PER_WHEEL, this);
+  }
+
+  /**
+   * Constructs a new CronThreadPoolExecutor which cron timers read the time from the given clock
+   * and are advanced only by {@link TimingWheel#advance()}.
+   *
+   * @param corePoolSize the pool size
+   * @param clock the clock of the cron timers
+   */
+  @VisibleForTesting
+  CronThreadPoolExecutor(int corePoolSize, Ticker clock) {
+    super(corePoolSize);
+    this.cronTimers =
+        new TimingWheel(
+            CRON_TICK_MILLIS, TimeUnit.MILLISECONDS, CRON_TICKS_PER_WHEEL, this, clock, false);
+    this.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+  }
+
+  @VisibleForTesting
+  TimingWheel getCronTimers() {
+    return cronTimers;
   }
 
   @Override
@@ -88,46 +125,19 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor
     if (task == null) {
       throw new NullPointerException();
     }
-    setCorePoolSize(getCorePoolSize() + 1);
-    Runnable scheduleTask =
-        new Runnable() {
-          @Override
-          public void run() {
-            CountDownLatch countDownLatch = new CountDownLatch(1);
-            cronJobWatchDogs.add(countDownLatch);
-            Date now = new Date();
-            Date time = expression.getNextValidTimeAfter(now);
-            try {
-              while (time != null) {
-                CronThreadPoolExecutor.this.schedule(
-                    task, time.getTime() - now.getTime(), TimeUnit.MILLISECONDS);
-                while (now.before(time)) {
-                  LOG.debug("Cron watch dog wait {} ", time.getTime() - now.getTime());
-                  if (countDownLatch.await(time.getTime() - now.getTime(), TimeUnit.MILLISECONDS)) {
-                    LOG.debug("Stopping cron watch dog.");
-                    return;
-                  }
-                  now = new Date();
-                }
-                time = expression.getNextValidTimeAfter(now);
-              }
-            } catch (InterruptedException e) {
-              Thread.currentThread().interrupt();
-            } catch (RejectedExecutionException | CancellationException e) {
-              LOG.error(e.getMessage(), e);
-            }
-          }
-        };
-    return this.submit(scheduleTask);
+    if (isShutdown()) {
+      throw new RejectedExecutionException("Executor is shut down");
+    }
+    CronJob job = new CronJob(task, expression);
+    cronJobs.add(job);
+    job.completion.whenComplete((result, error) -> cronJobs.remove(job));
+    job.scheduleNextAfter(new Date());
+    return job;
   }
 
   @Override
   public void shutdown() {
-
-    for (CountDownLatch cronJobWatchDog : cronJobWatchDogs) {
-      cronJobWatchDog.countDown();
-    }
-    cronJobWatchDogs.clear();
+    cancelCronJobs();
     super.shutdown();
     LOG.debug(
         "Active {} Pool {}, CEPTAS {} ,  EEDTAS {} , Task count {} , queue size {}",
@@ -141,10 +151,7 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor
 
   @Override
   public List<Runnable> shutdownNow() {
-    for (CountDownLatch cronJobWatchDog : cronJobWatchDogs) {
-      cronJobWatchDog.countDown();
-    }
-    cronJobWatchDogs.clear();
+    cancelCronJobs();
     LOG.debug(
         "Active {} Pool {}, CEPTAS {} ,  EEDTAS {} , Task count {} , queue size {}",
         getActiveCount(),
@@ -155,4 +162,104 @@ public class CronThreadPoolExecutor extends ScheduledThreadPoolExecutor
         getQueue().size());
     return super.shutdownNow();
   }
+
+  /** Stops the cron timers and cancels the jobs, so their futures don't wait forever. */
+  private void cancelCronJobs() {
+    cronTimers.stop();
+    for (CronJob job : cronJobs) {
+      job.cancel(false);
+    }
+  }
+
+  /**
+   * Task scheduled by the cron expression. Each execution registers the timer of the next one
+   * before running the task, so the schedule does not drift with the task duration. The job is done
+   * when the expression has no more valid times or when it is cancelled.
+   */
+  private class CronJob implements Runnable, Future<Object> {
+    private final Runnable task;
+    private final CronExpression expression;
+    private final CompletableFuture<Object> completion;
+
+    private volatile Date time;
+    private volatile TimingWheel.Timeout timeout;
+
+    private CronJob(Runnable task, CronExpression expression) {
+      this.task = task;
+      this.expression = expression;
+      this.completion = new CompletableFuture<>();
+    }
+
+    @Override
+    public void run() {
+      scheduleNextAfter(time);
+      try {
+        task.run();
+      } catch (RuntimeException x) {
+        LOG.error(x.getMessage(), x);
+      }
+    }
+
+    private void scheduleNextAfter(Date after) {
+      if (completion.isDone()) {
+        return;
+      }
+      Date next = expression.getNextValidTimeAfter(after);
+      if (next == null) {
+        completion.complete(null);
+        return;
+      }
+      time = next;
+      try {
+        timeout =
+            cronTimers.schedule(
+                this, next.getTime() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException x) {
+        LOG.debug("Cron job {} is not rescheduled as executor is shut down", task);
+        completion.cancel(false);
+        return;
+      }
+      if (completion.isCancelled()) {
+        timeout.cancel();
+      }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      if (!completion.cancel(false)) {
+        return false;
+      }
+      TimingWheel.Timeout current = timeout;
+      if (current != null) {
+        current.cancel();
+      }
+      return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return completion.isCancelled();
+    }
+
+    @Override
+    public boolean isDone() {
+      return completion.isDone();
+    }
+
+    @Override
+    public Object get() throws InterruptedException, ExecutionException {
+      return completion.get();
+    }
+
+    @Override
+    public Object get(long timeout, TimeUnit unit)
+        throws InterruptedException, ExecutionException, TimeoutException {
+      return completion.get(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+      return "CronJob{task=" + task + ", expression=" + expression.getCronExpression() + '}';
+    }
+  }
 }
@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.schedule.executor;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed timing wheel which holds large number of timers with constant time of scheduling and
+ * cancelling a timer.
+ *
+ * <p>Timers are put into one of the buckets of the wheel by their deadline, a single thread
+ * advances the wheel by one bucket per tick and passes expired timers to the executor. A timer
+ * which deadline is further than a whole rotation of the wheel stays in its bucket for the number
+ * of rotations. So the precision of timers is limited by the tick duration, and the tasks must be
+ * run by the executor as the ticking thread never runs them itself.
+ */
+public class TimingWheel {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TimingWheel.class);
+
+  private static final int MAX_TIMEOUTS_TRANSFERRED_PER_TICK = 100_000;
+
+  private final long tickNanos;
+  private final Bucket[] wheel;
+  private final int mask;
+  private final Executor executor;
+  private final Queue<Timeout> newTimeouts;
+  private final Queue<Timeout> cancelledTimeouts;
+  private final AtomicLong pendingTimeouts;
+  private final Ticker clock;
+  private final long startNanos;
+  private final Thread ticker;
+
+  private volatile boolean stopped;
+
+  /** Ticker thread only. */
+  private long tick;
+
+  /**
+   * Creates and starts the timing wheel.
+   *
+   * @param tickDuration duration between ticks
+   * @param unit unit of the tick duration
+   * @param ticksPerWheel number of buckets in the wheel, it is rounded up to the power of two
+   * @param executor executor which runs the tasks of the expired timers
+   */
+  public TimingWheel(long tickDuration, TimeUnit unit, int ticksPerWheel, Executor executor) {
+    this(tickDuration, unit, ticksPerWheel, executor, Ticker.systemTicker(), true);
+  }
+
+  /**
+   * Creates the timing wheel which reads the time from the given clock, if the ticker thread is
+   * not started the wheel is advanced only by {@link #advance()}.
+   */
+  @VisibleForTesting
+  TimingWheel(
+      long tickDuration,
+      TimeUnit unit,
+      int ticksPerWheel,
+      Executor executor,
+      Ticker clock,
+      boolean startTicker) {
+    if (tickDuration <= 0 || ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+      throw new IllegalArgumentException(
+          "Tick duration must be positive and ticks per wheel must be in range (0, 2^30]");
+    }
+    this.tickNanos = unit.toNanos(tickDuration);
+    int size = 1;
+    while (size < ticksPerWheel) {
+      size <<= 1;
+    }
+    this.wheel = new Bucket[size];
+    this.mask = wheel.length - 1;
+    for (int i = 0; i < wheel.length; i++) {
+      wheel[i] = new Bucket();
+    }
+    this.executor = executor;
+    this.newTimeouts = new ConcurrentLinkedQueue<>();
+    this.cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    this.pendingTimeouts = new AtomicLong();
+    this.clock = clock;
+    this.startNanos = clock.read();
+    if (startTicker) {
+      this.ticker = new Thread(this::run, "TimingWheel");
+      ticker.setDaemon(true);
+      ticker.start();
+    } else {
+      this.ticker = null;
+    }
+  }
+
+  /**
+   * Schedules the task to be passed to the executor after the given delay.
+   *
+   * @param task task to run
+   * @param delay delay before the task is run
+   * @param unit unit of the delay
+   * @return the timer which may be used to cancel the task
+   * @throws RejectedExecutionException when the wheel is stopped
+   */
+  public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+    if (task == null) {
+      throw new NullPointerException();
+    }
+    if (stopped) {
+      throw new RejectedExecutionException("Timing wheel is stopped");
+    }
+    final Timeout timeout =
+        new Timeout(task, clock.read() - startNanos + Math.max(0, unit.toNanos(delay)));
+    pendingTimeouts.incrementAndGet();
+    newTimeouts.add(timeout);
+    return timeout;
+  }
+
+  /** Returns the number of timers which are neither expired nor cancelled. */
+  public long getPendingTimeouts() {
+    return pendingTimeouts.get();
+  }
+
+  /** Stops the wheel, pending timers will never expire. */
+  public void stop() {
+    stopped = true;
+    if (ticker != null) {
+      ticker.interrupt();
+    }
+  }
+
+  private void run() {
+    while (!stopped) {
+      final long sleepNanos = tickNanos * (tick + 1) - (clock.read() - startNanos);
+      if (sleepNanos > 0) {
+        try {
+          TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        } catch (InterruptedException x) {
+          // stop is checked by the loop
+        }
+      } else {
+        advance();
+      }
+    }
+  }
+
+  /**
+   * Expires the timers of all the ticks which ended by the current time. Must be called only by
+   * the ticker thread, or by tests if the ticker thread is not started.
+   */
+  @VisibleForTesting
+  void advance() {
+    final long now = clock.read() - startNanos;
+    long deadline;
+    while (!stopped && (deadline = tickNanos * (tick + 1)) <= now) {
+      removeCancelled();
+      transferNewTimeouts();
+      wheel[(int) (tick & mask)].expire(deadline);
+      tick++;
+    }
+  }
+
+  private void transferNewTimeouts() {
+    for (int i = 0; i < MAX_TIMEOUTS_TRANSFERRED_PER_TICK; i++) {
+      final Timeout timeout = newTimeouts.poll();
+      if (timeout == null) {
+        break;
+      }
+      if (timeout.state.get() != Timeout.INIT) {
+        continue;
+      }
+      final long deadlineTick = timeout.deadline / tickNanos;
+      timeout.remainingRounds = (deadlineTick - tick) / wheel.length;
+      // timers which deadline has already passed expire on the current tick
+      wheel[(int) (Math.max(deadlineTick, tick) & mask)].add(timeout);
+    }
+  }
+
+  private void removeCancelled() {
+    Timeout timeout;
+    while ((timeout = cancelledTimeouts.poll()) != null) {
+      if (timeout.bucket != null) {
+        timeout.bucket.remove(timeout);
+      }
+    }
+  }
+
+  /** Timer of a single task. */
+  public final class Timeout {
+    private static final int INIT = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final Runnable task;
+    private final long deadline;
+    private final AtomicInteger state;
+
+    // accessed only by the ticker thread
+    private long remainingRounds;
+    private Bucket bucket;
+    private Timeout prev;
+    private Timeout next;
+
+    private Timeout(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+      this.state = new AtomicInteger(INIT);
+    }
+
+    /**
+     * Cancels the timer, so its task will never be run.
+     *
+     * @return true if the timer is cancelled, false if it was already expired or cancelled
+     */
+    public boolean cancel() {
+      if (!state.compareAndSet(INIT, CANCELLED)) {
+        return false;
+      }
+      pendingTimeouts.decrementAndGet();
+      cancelledTimeouts.add(this);
+      return true;
+    }
+
+    public boolean isCancelled() {
+      return state.get() == CANCELLED;
+    }
+
+    public boolean isExpired() {
+      return state.get() == EXPIRED;
+    }
+
+    private void expire() {
+      if (!state.compareAndSet(INIT, EXPIRED)) {
+        return;
+      }
+      pendingTimeouts.decrementAndGet();
+      try {
+        executor.execute(task);
+      } catch (RejectedExecutionException x) {
+        LOG.warn("Task {} of the expired timer is rejected by executor", task);
+      }
+    }
+  }
+
+  /** Doubly linked list of timers, accessed only by the ticker thread. */
+  private static final class Bucket {
+    private Timeout head;
+    private Timeout tail;
+
+    private void add(Timeout timeout) {
+      timeout.bucket = this;
+      if (head == null) {
+        head = tail = timeout;
+      } else {
+        tail.next = timeout;
+        timeout.prev = tail;
+        tail = timeout;
+      }
+    }
+
+    private void expire(long deadline) {
+      Timeout timeout = head;
+      while (timeout != null) {
+        final Timeout next = timeout.next;
+        if (timeout.isCancelled()) {
+          remove(timeout);
+        } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+          remove(timeout);
+          timeout.expire();
+        } else {
+          timeout.remainingRounds--;
+        }
+        timeout = next;
+      }
+    }
+
+    private void remove(Timeout timeout) {
+      if (timeout.bucket != this) {
+        return;
+      }
+      if (timeout.prev != null) {
+        timeout.prev.next = timeout.next;
+      } else {
+        head = timeout.next;
+      }
+      if (timeout.next != null) {
+        timeout.next.prev = timeout.prev;
+      } else {
+        tail = timeout.prev;
+      }
+      timeout.prev = timeout.next = null;
+      timeout.bucket = null;
+    }
+  }
+}
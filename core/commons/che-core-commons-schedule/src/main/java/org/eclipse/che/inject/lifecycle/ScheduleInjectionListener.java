@@ -62,30 +62,22 @@ public class ScheduleInjectionListener<T> extends LifecycleModule implements Inj
     }
   }
 
+  /**
+   * Returns the value of the numeric configuration parameter. Zero is a valid value, as methods
+   * with non-positive delay or period are not scheduled, which disables them.
+   */
   private long getValue(String configurationKey) {
     String stringValue = getValue(String.class, configurationKey);
     if (stringValue != null) {
-      long result = Long.parseLong(stringValue);
-      if (result == 0) {
-        throw new RuntimeException("Invalid value 0 for parameter " + configurationKey);
-      }
-      return result;
+      return Long.parseLong(stringValue);
     }
     Long longValue = getValue(Long.class, configurationKey);
     if (longValue != null) {
-      long result = longValue.longValue();
-      if (result == 0) {
-        throw new RuntimeException("Invalid value 0 for parameter " + configurationKey);
-      }
-      return result;
+      return longValue;
     }
     Integer intValue = getValue(Integer.class, configurationKey);
     if (intValue != null) {
-      long result = intValue.longValue();
-      if (result == 0) {
-        throw new RuntimeException("Invalid value 0 for parameter " + configurationKey);
-      }
-      return result;
+      return intValue.longValue();
     }
     throw new RuntimeException("Parameter " + configurationKey + " is not configured");
   }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.schedule.executor;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests of {@link CronThreadPoolExecutor}. */
+public class CronThreadPoolExecutorTest {
+  // an execution of the expression which fires every second is at most 2 seconds ahead,
+  // as the fake clock may fire the previous one ahead of its time
+  private static final String EVERY_SECOND = "* * * * * ?";
+  private static final long TO_NEXT_SECOND_MILLIS = 2100;
+
+  private FakeClock clock;
+  private CronThreadPoolExecutor executor;
+
+  @BeforeMethod
+  public void setUp() {
+    clock = new FakeClock();
+    executor = new CronThreadPoolExecutor(1, clock);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldRunTaskByCronExpression() throws Exception {
+    final Semaphore runs = new Semaphore(0);
+
+    final Future<?> future = executor.schedule(runs::release, new CronExpression(EVERY_SECOND));
+    advanceToNextSecond();
+    assertTrue(runs.tryAcquire(5, SECONDS));
+    advanceToNextSecond();
+    assertTrue(runs.tryAcquire(5, SECONDS));
+
+    assertTrue(future.cancel(false));
+    assertTrue(future.isCancelled());
+  }
+
+  @Test
+  public void shouldNotOccupyPoolThreadsByScheduledCronTasks() throws Exception {
+    final int jobsCount = 100;
+    final CountDownLatch latch = new CountDownLatch(jobsCount);
+    final List<Future<?>> futures = new ArrayList<>();
+
+    for (int i = 0; i < jobsCount; i++) {
+      futures.add(executor.schedule(latch::countDown, new CronExpression(EVERY_SECOND)));
+    }
+    advanceToNextSecond();
+
+    assertTrue(latch.await(5, SECONDS));
+    assertEquals(executor.getCorePoolSize(), 1);
+    for (Future<?> future : futures) {
+      future.cancel(false);
+    }
+  }
+
+  @Test
+  public void shouldNotRunCancelledTask() throws Exception {
+    final AtomicInteger runs = new AtomicInteger();
+    final Future<?> future =
+        executor.schedule(runs::incrementAndGet, new CronExpression(EVERY_SECOND));
+
+    future.cancel(false);
+    advanceToNextSecond();
+    executor.shutdown();
+
+    assertTrue(executor.awaitTermination(5, SECONDS));
+    assertEquals(runs.get(), 0);
+    assertTrue(future.isDone());
+    assertEquals(executor.getCronTimers().getPendingTimeouts(), 0);
+  }
+
+  @Test(expectedExceptions = CancellationException.class)
+  public void shouldCancelCronTasksOnShutdown() throws Exception {
+    final Future<?> future = executor.schedule(() -> {}, new CronExpression(EVERY_SECOND));
+
+    executor.shutdown();
+
+    assertTrue(future.isCancelled());
+    future.get(5, SECONDS);
+  }
+
+  private void advanceToNextSecond() {
+    clock.advance(TO_NEXT_SECOND_MILLIS, MILLISECONDS);
+    executor.getCronTimers().advance();
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.schedule.executor;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests of {@link TimingWheel}. */
+public class TimingWheelTest {
+
+  private FakeClock clock;
+  private TimingWheel wheel;
+
+  @BeforeMethod
+  public void setUp() {
+    clock = new FakeClock();
+    // wheel of 8 ticks per 10ms rotates every 80ms, tasks are run by the advancing thread
+    wheel = new TimingWheel(10, MILLISECONDS, 8, Runnable::run, clock, false);
+  }
+
+  @Test
+  public void shouldRunTaskAfterDelay() throws Exception {
+    final AtomicInteger runs = new AtomicInteger();
+
+    final TimingWheel.Timeout timeout = wheel.schedule(runs::incrementAndGet, 50, MILLISECONDS);
+    advance(40);
+
+    assertEquals(runs.get(), 0);
+    assertEquals(wheel.getPendingTimeouts(), 1);
+
+    advance(20);
+
+    assertEquals(runs.get(), 1);
+    assertTrue(timeout.isExpired());
+    assertEquals(wheel.getPendingTimeouts(), 0);
+  }
+
+  @Test
+  public void shouldRunTaskWhichDelayIsLongerThanWheelRotation() throws Exception {
+    final AtomicInteger runs = new AtomicInteger();
+
+    wheel.schedule(runs::incrementAndGet, 250, MILLISECONDS);
+    advance(240);
+
+    assertEquals(runs.get(), 0);
+
+    advance(20);
+
+    assertEquals(runs.get(), 1);
+  }
+
+  @Test
+  public void shouldRunTaskWhichDeadlineHasPassedOnNextTick() throws Exception {
+    final AtomicInteger runs = new AtomicInteger();
+    advance(100);
+
+    wheel.schedule(runs::incrementAndGet, 0, MILLISECONDS);
+    advance(10);
+
+    assertEquals(runs.get(), 1);
+  }
+
+  @Test
+  public void shouldNotRunCancelledTask() throws Exception {
+    final AtomicInteger runs = new AtomicInteger();
+
+    final TimingWheel.Timeout timeout = wheel.schedule(runs::incrementAndGet, 30, MILLISECONDS);
+
+    assertTrue(timeout.cancel());
+    assertFalse(timeout.cancel());
+    advance(100);
+    assertEquals(runs.get(), 0);
+    assertTrue(timeout.isCancelled());
+    assertEquals(wheel.getPendingTimeouts(), 0);
+  }
+
+  @Test
+  public void shouldRunManyTasks() throws Exception {
+    final int count = 100_000;
+    final AtomicInteger runs = new AtomicInteger();
+
+    for (int i = 0; i < count; i++) {
+      wheel.schedule(runs::incrementAndGet, i % 200, MILLISECONDS);
+    }
+    advance(210);
+
+    assertEquals(runs.get(), count);
+    assertEquals(wheel.getPendingTimeouts(), 0);
+  }
+
+  @Test(expectedExceptions = RejectedExecutionException.class)
+  public void shouldRejectTasksWhenStopped() throws Exception {
+    wheel.stop();
+
+    wheel.schedule(() -> {}, 10, MILLISECONDS);
+  }
+
+  @Test
+  public void shouldRunTasksByTickerThread() throws Exception {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    final TimingWheel tickingWheel = new TimingWheel(10, MILLISECONDS, 8, executor);
+    try {
+      final CountDownLatch latch = new CountDownLatch(1);
+
+      tickingWheel.schedule(latch::countDown, 50, MILLISECONDS);
+
+      assertTrue(latch.await(5, SECONDS));
+    } finally {
+      tickingWheel.stop();
+      executor.shutdownNow();
+    }
+  }
+
+  private void advance(long millis) {
+    clock.advance(millis, MILLISECONDS);
+    wheel.advance();
+  }
+}
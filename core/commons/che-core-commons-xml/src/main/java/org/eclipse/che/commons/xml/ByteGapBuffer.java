@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.xml;
+
+import static java.lang.System.arraycopy;
+
+import java.util.Arrays;
+
+/**
+ * Bytes of the {@link XMLTree} source which may be edited in place.
+ *
+ * <p>Buffer keeps unused space (gap) at the position of the last edit, so consecutive edits close
+ * to each other move only the bytes between them instead of copying the whole source as it is done
+ * by {@link XMLTreeUtil#insertInto(byte[], int, String)}.
+ */
+final class ByteGapBuffer {
+
+  private static final int MIN_GAP_SIZE = 256;
+
+  private byte[] buffer;
+  private int gapStart;
+  private int gapEnd;
+
+  /** Creates buffer which owns given bytes. */
+  ByteGapBuffer(byte[] content) {
+    buffer = content;
+    gapStart = gapEnd = content.length;
+  }
+
+  int length() {
+    return buffer.length - (gapEnd - gapStart);
+  }
+
+  byte byteAt(int idx) {
+    if (idx < 0 || idx >= length()) {
+      throw new IndexOutOfBoundsException("Index: " + idx + ", length: " + length());
+    }
+    return buffer[idx < gapStart ? idx : idx + gapEnd - gapStart];
+  }
+
+  /**
+   * Replaces bytes in range [from, to) with the content.
+   *
+   * @param from index of the first replaced byte
+   * @param to index after the last replaced byte, equal to {@code from} for insertion
+   * @param content new bytes
+   */
+  void replace(int from, int to, byte[] content) {
+    if (from < 0 || to < from || to > length()) {
+      throw new IndexOutOfBoundsException(
+          "Range: [" + from + ", " + to + "), length: " + length());
+    }
+    moveGap(from);
+    gapEnd += to - from;
+    ensureGap(content.length);
+    arraycopy(content, 0, buffer, gapStart, content.length);
+    gapStart += content.length;
+  }
+
+  /** Returns index of the last occurrence of the character not after given index or -1. */
+  int lastIndexOf(char c, int fromIdx) {
+    for (int i = Math.min(fromIdx, length() - 1); i >= 0; i--) {
+      if (byteAt(i) == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Same as {@link XMLTreeUtil#indexOf(byte[], byte[], int)}. */
+  int indexOf(byte[] target, int fromIdx) {
+    final int to = length() - target.length + 1;
+    for (int i = fromIdx; i < to; i++) {
+      int j = 0;
+      while (j < target.length && byteAt(i + j) == target[j]) {
+        j++;
+      }
+      if (j == target.length) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  byte[] toByteArray() {
+    final byte[] result = Arrays.copyOf(buffer, length());
+    arraycopy(buffer, gapEnd, result, gapStart, buffer.length - gapEnd);
+    return result;
+  }
+
+  private void moveGap(int pos) {
+    if (pos < gapStart) {
+      final int count = gapStart - pos;
+      arraycopy(buffer, pos, buffer, gapEnd - count, count);
+      gapStart -= count;
+      gapEnd -= count;
+    } else if (pos > gapStart) {
+      final int count = pos - gapStart;
+      arraycopy(buffer, gapEnd, buffer, gapStart, count);
+      gapStart += count;
+      gapEnd += count;
+    }
+  }
+
+  private void ensureGap(int required) {
+    if (gapEnd - gapStart >= required) {
+      return;
+    }
+    final int length = length();
+    final int gapSize = Math.max(required, Math.max(MIN_GAP_SIZE, length >> 3));
+    final byte[] newBuffer = new byte[length + gapSize];
+    final int tail = buffer.length - gapEnd;
+    arraycopy(buffer, 0, newBuffer, 0, gapStart);
+    arraycopy(buffer, gapEnd, newBuffer, newBuffer.length - tail, tail);
+    buffer = newBuffer;
+    gapEnd = newBuffer.length - tail;
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.xml;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.eclipse.che.commons.xml.XMLTree.Segment;
+
+/**
+ * Segments of the {@link XMLTree} elements ordered by their left bounds.
+ *
+ * <p>Index is a treap (randomized binary search tree) which nodes are the segments themselves.
+ * Segments which are to the right of some position are shifted by splitting the tree at that
+ * position and adding the offset to the root of the right part only. The offset is pushed down to
+ * the children when the path is visited next time, so shifting takes O(log n) instead of updating
+ * each segment of the document. Actual bounds of a segment are its stored bounds plus the offsets
+ * which are not yet pushed down from its ancestors, see {@link Segment#left()}.
+ */
+final class SegmentIndex {
+
+  private Segment root;
+  private int size;
+
+  /** Starts tracking of the segment, does nothing if the segment is already tracked. */
+  void add(Segment segment) {
+    if (segment.index == this) {
+      return;
+    }
+    if (segment.index != null) {
+      throw new IllegalStateException("Segment is tracked by another index");
+    }
+    final Segment[] parts = split(root, segment.left());
+    segment.index = this;
+    segment.priority = ThreadLocalRandom.current().nextInt();
+    root = merge(merge(parts[0], segment), parts[1]);
+    root.parent = null;
+    size++;
+  }
+
+  /** Stops tracking of the segment, its actual bounds are kept. */
+  void remove(Segment segment) {
+    if (segment.index != this) {
+      return;
+    }
+    final int left = segment.left();
+    final int right = segment.right();
+    pushDown(segment);
+    final Segment replacement = merge(segment.lesser, segment.greater);
+    final Segment parent = segment.parent;
+    if (replacement != null) {
+      replacement.parent = parent;
+    }
+    if (parent == null) {
+      root = replacement;
+    } else if (parent.lesser == segment) {
+      parent.lesser = replacement;
+    } else {
+      parent.greater = replacement;
+    }
+    segment.index = null;
+    segment.parent = segment.lesser = segment.greater = null;
+    segment.storedLeft = left;
+    segment.storedRight = right;
+    size--;
+  }
+
+  boolean contains(Segment segment) {
+    return segment.index == this;
+  }
+
+  /**
+   * Shifts all the tracked segments which left bound is greater than given position.
+   *
+   * @param fromIdx position, segments which left bound is not greater than it are not shifted
+   * @param offset offset to shift on, it can be negative
+   */
+  void shift(int fromIdx, int offset) {
+    if (offset == 0 || root == null) {
+      return;
+    }
+    final Segment[] parts = split(root, fromIdx);
+    if (parts[1] != null) {
+      apply(parts[1], offset);
+    }
+    root = merge(parts[0], parts[1]);
+    root.parent = null;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Splits the subtree into the subtree of segments which left bound is not greater than given
+   * position and the subtree of the rest segments. The node must not have unapplied offsets of the
+   * ancestors.
+   */
+  private static Segment[] split(Segment node, int position) {
+    if (node == null) {
+      return new Segment[2];
+    }
+    pushDown(node);
+    final Segment[] parts;
+    if (node.storedLeft <= position) {
+      parts = split(node.greater, position);
+      node.greater = parts[0];
+      setParent(parts[0], node);
+      parts[0] = node;
+    } else {
+      parts = split(node.lesser, position);
+      node.lesser = parts[1];
+      setParent(parts[1], node);
+      parts[1] = node;
+    }
+    node.parent = null;
+    return parts;
+  }
+
+  /** Merges two subtrees, all the segments of the lesser one must be to the left of the greater. */
+  private static Segment merge(Segment lesser, Segment greater) {
+    if (lesser == null) {
+      return greater;
+    }
+    if (greater == null) {
+      return lesser;
+    }
+    if (lesser.priority > greater.priority) {
+      pushDown(lesser);
+      lesser.greater = merge(lesser.greater, greater);
+      lesser.greater.parent = lesser;
+      return lesser;
+    }
+    pushDown(greater);
+    greater.lesser = merge(lesser, greater.lesser);
+    greater.lesser.parent = greater;
+    return greater;
+  }
+
+  private static void setParent(Segment node, Segment parent) {
+    if (node != null) {
+      node.parent = parent;
+    }
+  }
+
+  /** Shifts the node and remembers to shift its children. */
+  private static void apply(Segment node, int offset) {
+    node.storedLeft += offset;
+    node.storedRight += offset;
+    node.pendingShift += offset;
+  }
+
+  private static void pushDown(Segment node) {
+    if (node.pendingShift != 0) {
+      if (node.lesser != null) {
+        apply(node.lesser, node.pendingShift);
+      }
+      if (node.greater != null) {
+        apply(node.greater, node.pendingShift);
+      }
+      node.pendingShift = 0;
+    }
+  }
+}
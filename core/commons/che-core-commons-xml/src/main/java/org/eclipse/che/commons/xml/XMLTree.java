@@ -12,6 +12,7 @@ package org.eclipse.che.commons.xml;
 
 import static com.google.common.collect.Maps.newHashMapWithExpectedSize;
 import static com.google.common.io.ByteStreams.toByteArray;
+import static java.lang.Character.isWhitespace;
 import static java.nio.file.Files.readAllBytes;
 import static java.util.Objects.requireNonNull;
 import static javax.xml.XMLConstants.FEATURE_SECURE_PROCESSING;
@@ -32,10 +33,6 @@ import static org.eclipse.che.commons.xml.XMLTreeUtil.UTF_8;
 import static org.eclipse.che.commons.xml.XMLTreeUtil.asElement;
 import static org.eclipse.che.commons.xml.XMLTreeUtil.asElements;
 import static org.eclipse.che.commons.xml.XMLTreeUtil.closeTagLength;
-import static org.eclipse.che.commons.xml.XMLTreeUtil.indexOf;
-import static org.eclipse.che.commons.xml.XMLTreeUtil.indexOfAttributeName;
-import static org.eclipse.che.commons.xml.XMLTreeUtil.insertBetween;
-import static org.eclipse.che.commons.xml.XMLTreeUtil.insertInto;
 import static org.eclipse.che.commons.xml.XMLTreeUtil.lastIndexOf;
 import static org.eclipse.che.commons.xml.XMLTreeUtil.level;
 import static org.eclipse.che.commons.xml.XMLTreeUtil.openTagLength;
@@ -55,6 +52,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -65,7 +63,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
-import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import javax.xml.xpath.XPathFactoryConfigurationException;
@@ -82,9 +80,10 @@ import org.w3c.dom.NodeList;
  * main idea is simple: know XML elements positions! If we know elements positions and source bytes
  * we can easily manipulate content as we want. So each time when client updates tree, tree rewrites
  * source bytes with new information, indexes new elements, updates delegated document, shifts
- * needed existed elements positions. As you may see there are a lot of data manipulations when
- * update is going, so <b>you should not use this tool for parsing huge xml documents or for often
- * complex updates.</b>
+ * needed existed elements positions. Source bytes are kept in a gap buffer so the edits which are
+ * close to each other don't copy the whole content, and positions are kept in {@link SegmentIndex}
+ * which shifts all the positions after the edit in logarithmic time. Still the tree keeps both the
+ * source bytes and the delegated document, so it takes a few times more memory than the source.
  *
  * <p>XPath is embedded to XMLTree so each query to tree is xpath query. You will be able to
  * select/update content provided with XMLTree elements or attributes without working with xpath
@@ -154,6 +153,16 @@ public final class XMLTree {
   private static final String ROOT_TEMPLATE =
       "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<%s>\n</%s>";
   private static final int EXPECTED_NAMESPACES_SIZE = 2;
+  private static final int XPATH_CACHE_SIZE = 256;
+  private static final ThreadLocal<Map<String, XPathExpression>> XPATH_CACHE =
+      ThreadLocal.withInitial(
+          () ->
+              new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                  return size() > XPATH_CACHE_SIZE;
+                }
+              });
 
   /** Factories configuration. */
   static {
@@ -184,21 +193,22 @@ public final class XMLTree {
 
   private Document document;
   private Map<String, String> namespaces;
-  private List<Element> elements;
-  private byte[] xml;
+  private SegmentIndex segments;
+  private ByteGapBuffer xml;
 
   private XMLTree(byte[] xml) {
     if (xml.length == 0) {
       throw new XMLTreeException("Source content is empty");
     }
-    elements = new LinkedList<>();
+    segments = new SegmentIndex();
     namespaces = newHashMapWithExpectedSize(EXPECTED_NAMESPACES_SIZE);
-    this.xml = normalizeLineEndings(xml);
+    final byte[] source = normalizeLineEndings(xml);
     // reason: parser is going to replace all '\r\n' sequences with single '\n'
     // which will affect elements position in source xml and produce incorrect XMLTree behaviour
     // it comes from spec http://www.w3.org/TR/2004/REC-xml11-20040204/
-    document = parseQuietly(this.xml);
-    constructTreeQuietly();
+    document = parseQuietly(source);
+    constructTreeQuietly(source);
+    this.xml = new ByteGapBuffer(source);
   }
 
   /**
@@ -333,9 +343,9 @@ public final class XMLTree {
   public byte[] getBytes() {
     final String separator = System.getProperty("line.separator");
     if (!"\n".equals(separator)) {
-      return replaceAll(xml, "\n".getBytes(), separator.getBytes());
+      return replaceAll(xml.toByteArray(), "\n".getBytes(), separator.getBytes());
     }
-    return Arrays.copyOf(xml, xml.length);
+    return xml.toByteArray();
   }
 
   /** Writes copy of source bytes to output stream. Doesn't close the stream */
@@ -359,14 +369,27 @@ public final class XMLTree {
    */
   @SuppressWarnings("unchecked")
   private Object evaluateXPath(String expression, QName returnType) {
-    final XPath xpath = XPATH_FACTORY.newXPath();
     try {
-      return xpath.evaluate(expression, document, returnType);
+      return compileXPath(expression).evaluate(document, returnType);
     } catch (XPathExpressionException xpathEx) {
       throw XMLTreeException.wrap(xpathEx);
     }
   }
 
+  /**
+   * Returns compiled expression from the cache of the current thread, compiled expressions are not
+   * thread safe so they can't be shared between threads.
+   */
+  private static XPathExpression compileXPath(String expression) throws XPathExpressionException {
+    final Map<String, XPathExpression> cache = XPATH_CACHE.get();
+    XPathExpression compiled = cache.get(expression);
+    if (compiled == null) {
+      compiled = XPATH_FACTORY.newXPath().compile(expression);
+      cache.put(expression, compiled);
+    }
+    return compiled;
+  }
+
   /**
    * Parses document using {@link DocumentBuilder} Rethrows all exceptions as {@link
    * XMLTreeException}
@@ -400,8 +423,8 @@ public final class XMLTree {
    * fetch position of elements and text. Each created element associated with related {@link Node}
    * and vise-versa.
    */
-  private void constructTree() throws XMLStreamException {
-    final XMLStreamReader reader = newXMLStreamReader();
+  private void constructTree(byte[] xml) throws XMLStreamException {
+    final XMLStreamReader reader = newXMLStreamReader(xml);
     final LinkedList<Element> stack = new LinkedList<>();
     // before element open tag index
     int beforeStart = rootStart(xml) - 1;
@@ -413,7 +436,9 @@ public final class XMLTree {
       switch (reader.next()) {
         case START_ELEMENT:
           final Element newElement = new Element(this);
-          newElement.start = new Segment(beforeStart + 1, elementRight(beforeStart + 1, reader));
+          newElement.start =
+              new Segment(beforeStart + 1, elementRight(xml, beforeStart + 1, reader));
+          segments.add(newElement.start);
           // if new node is not xml root - set up relationships
           if (!stack.isEmpty()) {
             node = deepNext(node, true);
@@ -423,16 +448,16 @@ public final class XMLTree {
 
           newElement.delegate = safeCast(node);
           // let next event know about its start
-          beforeStart = newElement.start.right;
+          beforeStart = newElement.start.right();
           // if element has declared namespaces register it
           putNamespaces(reader);
           stack.push(newElement);
           break;
         case END_ELEMENT:
           final Element element = stack.pop();
-          element.end = new Segment(beforeStart + 1, elementRight(beforeStart + 1, reader));
-          elements.add(element);
-          beforeStart = element.end.right;
+          element.end = new Segment(beforeStart + 1, elementRight(xml, beforeStart + 1, reader));
+          segments.add(element.end);
+          beforeStart = element.end.right();
           break;
         case CHARACTERS:
           // characters event may be invoked 2 or more times
@@ -451,7 +476,9 @@ public final class XMLTree {
           final int left = beforeStart + 1;
           final int right = left + textLength(nextNode) - 1;
 
-          current.text.add(new Segment(left, right));
+          final Segment text = new Segment(left, right);
+          current.text.add(text);
+          segments.add(text);
           beforeStart = right;
           node = skipTextNodes(nextNode);
           break;
@@ -532,7 +559,7 @@ public final class XMLTree {
    * Searches for the element start right bound index. TODO respect element attributes text content
    * while checking '<'
    */
-  private int elementRight(int left, XMLStreamReader reader) {
+  private int elementRight(byte[] xml, int left, XMLStreamReader reader) {
     int rightIdx = lastIndexOf(xml, '>', reader.getLocation().getCharacterOffset());
     int leftIdx = lastIndexOf(xml, '<', rightIdx);
     while (leftIdx > left) {
@@ -556,12 +583,12 @@ public final class XMLTree {
   }
 
   /**
-   * Same as {@link #constructTree()}, only difference that it wraps {@link XMLStreamException} to
-   * {@link XMLTreeException}
+   * Same as {@link #constructTree(byte[])}, only difference that it wraps {@link
+   * XMLStreamException} to {@link XMLTreeException}
    */
-  private void constructTreeQuietly() {
+  private void constructTreeQuietly(byte[] xml) {
     try {
-      constructTree();
+      constructTree(xml);
     } catch (XMLStreamException xmlEx) {
       throw XMLTreeException.wrap(xmlEx);
     }
@@ -578,7 +605,7 @@ public final class XMLTree {
   }
 
   /** Creates new stream reader instance */
-  private XMLStreamReader newXMLStreamReader() {
+  private XMLStreamReader newXMLStreamReader(byte[] xml) {
     try {
       return XML_INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(xml), "UTF-8");
     } catch (Exception xmlEx) {
@@ -597,7 +624,11 @@ public final class XMLTree {
     if (target.text == null) {
       target.text = new LinkedList<>();
       // updateSegmentContent will set up right bound
-      target.text.add(new Segment(target.start.right + 1, target.start.right));
+      final Segment text = new Segment(target.start.right() + 1, target.start.right());
+      target.text.add(text);
+      if (segments.contains(target.start)) {
+        segments.add(text);
+      }
     }
     final Iterator<Segment> segIt = target.text.iterator();
     final Segment first = segIt.next();
@@ -605,6 +636,7 @@ public final class XMLTree {
     while (segIt.hasNext()) {
       final Segment removal = segIt.next();
       segIt.remove();
+      segments.remove(removal);
       removeSegment(removal);
     }
     updateSegmentContent(first, target.getText());
@@ -618,12 +650,10 @@ public final class XMLTree {
   /** Adds new element to the end of children list with given parent. */
   void appendChild(NewElement newElement, Element relatedToNew, Element parent) {
     final int level = level(parent) + 1;
-    final int lengthBefore = xml.length;
-    final int insertHere = lastIndexOf(xml, '>', parent.end.left) + 1;
+    final int insertHere = xml.lastIndexOf('>', parent.end.left()) + 1;
     // inserting new element bytes to tree bytes
-    xml = insertInto(xml, insertHere, '\n' + tabulate(newElement.asString(), level));
-    // shift existing segments which are after parent start
-    shiftSegments(insertHere, xml.length - lengthBefore);
+    // and shifting existing segments which are after parent start
+    insert(insertHere, '\n' + tabulate(newElement.asString(), level), insertHere);
     // create and set up start, end, text segments to created element
     applySegments(newElement, relatedToNew, insertHere - 1, level);
     // let tree know about added element
@@ -633,14 +663,13 @@ public final class XMLTree {
   /** Inserts element after referenced one */
   void insertAfter(NewElement newElement, Element relatedToNew, Element refElement) {
     final int level = level(refElement);
-    final int lengthBefore = xml.length;
+    final int refRight = refElement.end.right();
     // inserting new element bytes to tree bytes
-    xml = insertInto(xml, refElement.end.right + 1, '\n' + tabulate(newElement.asString(), level));
-    // shift existing segments which are after parent start
-    shiftSegments(refElement.end.right, xml.length - lengthBefore);
+    // and shifting existing segments which are after referenced element
+    insert(refRight + 1, '\n' + tabulate(newElement.asString(), level), refRight);
     // create and set up start, end, text segments to created element
     // +1 because of \n
-    applySegments(newElement, relatedToNew, refElement.end.right, level);
+    applySegments(newElement, relatedToNew, refRight, level);
     // let tree know about inserted element
     registerElement(relatedToNew);
   }
@@ -652,13 +681,12 @@ public final class XMLTree {
    */
   void insertAfterParent(NewElement newElement, Element relatedToNew, Element parent) {
     final int level = level(parent) + 1;
-    final int lengthBefore = xml.length;
+    final int parentStartRight = parent.start.right();
     // inserting after parent
-    xml = insertInto(xml, parent.start.right + 1, '\n' + tabulate(newElement.asString(), level));
-    // shift existing segments which are after parent start
-    shiftSegments(parent.start.right, xml.length - lengthBefore);
+    // and shifting existing segments which are after parent start
+    insert(parentStartRight + 1, '\n' + tabulate(newElement.asString(), level), parentStartRight);
     // create and set up start, end, text segments to created element
-    applySegments(newElement, relatedToNew, parent.start.right, level);
+    applySegments(newElement, relatedToNew, parentStartRight, level);
     // let tree know about inserted element
     registerElement(relatedToNew);
   }
@@ -687,39 +715,34 @@ public final class XMLTree {
    * because it will produce not pretty formatting for good and pretty formatted before document.
    */
   void removeElement(Element element) {
-    final int leftBound = lastIndexOf(xml, '>', element.start.left) + 1;
-    final int lengthBefore = xml.length;
+    final int leftBound = xml.lastIndexOf('>', element.start.left()) + 1;
     // if text segment before removal element
     // exists it should go to hell with removal
-    if (leftBound != element.start.left - 1) {
+    if (leftBound != element.start.left()) {
       removeSegmentFromElement(element.getParent(), leftBound);
     }
     // replacing content with nothing
-    xml = insertBetween(xml, leftBound, element.end.right, "");
-    // shift all elements which are right from removed element
-    shiftSegments(element.end.right, xml.length - lengthBefore);
+    // and shifting all elements which are right from removed element
+    final int endRight = element.end.right();
+    replace(leftBound, endRight, "", endRight);
     // let tree know that element is not a family member
     unregisterElement(element);
   }
 
   /** Inserts new attribute value content to tree bytes */
   void insertAttribute(NewAttribute attribute, Element owner) {
-    final int len = xml.length;
     // inserting new attribute content
-    xml = insertInto(xml, owner.start.right, ' ' + attribute.asString());
-    // shift all elements which are right from removed element
-    shiftSegments(owner.start.left - 1, xml.length - len);
+    // and shifting all elements which are right from owner left
+    insert(owner.start.right(), ' ' + attribute.asString(), owner.start.left() - 1);
   }
 
   /** Removes element bytes from tree */
   void removeAttribute(Attribute attribute) {
     final Element element = attribute.getElement();
-    final int lengthBefore = xml.length;
     final Segment segment = attributeSegment(attribute);
     // replacing attribute segment with nothing
-    xml = insertBetween(xml, segment.left - 1, segment.right, "");
-    // shift all elements which are left from owner left
-    shiftSegments(element.start.left, xml.length - lengthBefore);
+    // and shifting all elements which are right from owner left
+    replace(segment.left() - 1, segment.right(), "", element.start.left());
   }
 
   // TODO should it be public?
@@ -733,43 +756,37 @@ public final class XMLTree {
     return uri == null ? XML_NS_URI : uri;
   }
 
-  /**
-   * Shift given segment on offset if it is righter then idx
-   *
-   * @param segment segment to shift
-   * @param leftBound left bound
-   * @param offset offset to shift on, it can be negative
-   */
-  private void shiftSegment(Segment segment, int leftBound, int offset) {
-    if (segment.left > leftBound) {
-      segment.left += offset;
-      segment.right += offset;
-    }
-  }
-
   /** Removes segment which left bound equal to {@param left} from element */
   private void removeSegmentFromElement(Element element, int left) {
     for (Iterator<Segment> segIt = element.text.iterator(); segIt.hasNext(); ) {
-      if (segIt.next().left == left) {
+      final Segment segment = segIt.next();
+      if (segment.left() == left) {
         segIt.remove();
+        segments.remove(segment);
         break;
       }
     }
   }
 
-  /** Iterates all existed elements and shifts their segments if needed */
-  private void shiftSegments(int fromIdx, int offset) {
-    for (Element element : elements) {
-      if (element.end.left > fromIdx) {
-        shiftSegment(element.start, fromIdx, offset);
-        shiftSegment(element.end, fromIdx, offset);
-        if (element.text != null) {
-          for (Segment textSegment : element.text) {
-            shiftSegment(textSegment, fromIdx, offset);
-          }
-        }
-      }
-    }
+  /**
+   * Inserts content bytes at given position and shifts tracked segments which are righter then
+   * {@code shiftFromIdx} on content length
+   */
+  private void insert(int pos, String content, int shiftFromIdx) {
+    final byte[] bytes = content.getBytes(UTF_8);
+    xml.replace(pos, pos, bytes);
+    segments.shift(shiftFromIdx, bytes.length);
+  }
+
+  /**
+   * Replaces bytes between left and right bounds, both inclusive, with content and shifts tracked
+   * segments which are righter then {@code shiftFromIdx} on offset equal to difference between new
+   * and old source bytes length
+   */
+  private void replace(int left, int right, String content, int shiftFromIdx) {
+    final byte[] bytes = content.getBytes(UTF_8);
+    xml.replace(left, right + 1, bytes);
+    segments.shift(shiftFromIdx, bytes.length - (right - left + 1));
   }
 
   /**
@@ -777,9 +794,7 @@ public final class XMLTree {
    * segment length
    */
   private void removeSegment(Segment segment) {
-    final int lengthBefore = xml.length;
-    xml = insertBetween(xml, segment.left, segment.right, "");
-    shiftSegments(segment.left, xml.length - lengthBefore);
+    replace(segment.left(), segment.right(), "", segment.left());
   }
 
   /**
@@ -787,15 +802,20 @@ public final class XMLTree {
    * to difference between new and old source bytes length
    */
   private void updateSegmentContent(Segment segment, String content) {
-    final int lengthBefore = xml.length;
-    xml = insertBetween(xml, segment.left, segment.right, content);
-    shiftSegments(segment.left, xml.length - lengthBefore);
-    segment.right = segment.left + content.length() - 1;
+    final int left = segment.left();
+    replace(left, segment.right(), content, left);
+    segment.setRight(left + content.length() - 1);
   }
 
   /** Adds element and it children to tree */
   private void registerElement(Element element) {
-    elements.add(element);
+    segments.add(element.start);
+    segments.add(element.end);
+    if (element.text != null) {
+      for (Segment text : element.text) {
+        segments.add(text);
+      }
+    }
     for (Element child : element.getChildren()) {
       registerElement(child);
     }
@@ -803,7 +823,13 @@ public final class XMLTree {
 
   /** Removes element and children from tree */
   private void unregisterElement(Element element) {
-    elements.remove(element);
+    segments.remove(element.start);
+    segments.remove(element.end);
+    if (element.text != null) {
+      for (Segment text : element.text) {
+        segments.remove(text);
+      }
+    }
     for (Element child : element.getChildren()) {
       unregisterElement(child);
     }
@@ -817,8 +843,8 @@ public final class XMLTree {
     final byte[] value = attribute.getValue().getBytes();
 
     final int attrLeft =
-        indexOfAttributeName(xml, name, owner.start.left + owner.getName().length());
-    final int valueLeft = indexOf(xml, value, attrLeft + name.length);
+        indexOfAttributeName(name, owner.start.left() + owner.getName().length());
+    final int valueLeft = xml.indexOf(value, attrLeft + name.length);
 
     return new Segment(attrLeft, valueLeft + value.length);
   }
@@ -831,12 +857,25 @@ public final class XMLTree {
     final byte[] value = oldValue.getBytes();
 
     final int attrLeft =
-        indexOfAttributeName(xml, name, owner.start.left + owner.getName().length());
-    final int valueLeft = indexOf(xml, value, attrLeft + name.length);
+        indexOfAttributeName(name, owner.start.left() + owner.getName().length());
+    final int valueLeft = xml.indexOf(value, attrLeft + name.length);
 
     return new Segment(valueLeft, valueLeft + value.length - 1);
   }
 
+  /** Same as {@link XMLTreeUtil#indexOfAttributeName(byte[], byte[], int)} for tree bytes. */
+  private int indexOfAttributeName(byte[] name, int fromIdx) {
+    int idx = xml.indexOf(name, fromIdx);
+    while (idx != -1) {
+      final int next = idx + name.length;
+      if (next == xml.length() || isWhitespace(xml.byteAt(next)) || xml.byteAt(next) == '=') {
+        return idx;
+      }
+      idx = xml.indexOf(name, idx + 1);
+    }
+    return -1;
+  }
+
   /** Creates segments for newly created element and related children */
   private int applySegments(
       NewElement newElement, Element relatedToNew, int prevElementCloseRight, int level) {
@@ -862,7 +901,11 @@ public final class XMLTree {
     if (parent.text == null) {
       parent.text = new LinkedList<>();
     }
-    parent.text.add(new Segment(prevElementCloseRight + 1, beforeOpenLeft));
+    final Segment beforeText = new Segment(prevElementCloseRight + 1, beforeOpenLeft);
+    parent.text.add(beforeText);
+    if (segments.contains(parent.start)) {
+      segments.add(beforeText);
+    }
 
     // pos of open tag right '>'
     final int openRight = beforeOpenLeft + openTagLength(newElement);
@@ -902,7 +945,7 @@ public final class XMLTree {
     relatedToNew.text.add(new Segment(childRight + 1, beforeCloseLeft));
     relatedToNew.end =
         new Segment(beforeCloseLeft + 1, beforeCloseLeft + closeTagLength(newElement));
-    return relatedToNew.end.right;
+    return relatedToNew.end.right();
   }
 
   private byte[] normalizeLineEndings(byte[] src) {
@@ -916,14 +959,49 @@ public final class XMLTree {
     return replaceAll(src, "\r".getBytes(), "\n".getBytes());
   }
 
-  /** Describes element, attribute or text position in the source array of bytes. */
+  /**
+   * Describes element, attribute or text position in the source array of bytes.
+   *
+   * <p>Segments of the tree elements are tracked by {@link SegmentIndex} which shifts them lazily,
+   * so the bounds must be accessed with {@link #left()} and {@link #right()} only.
+   */
   static class Segment {
-    int left;
-    int right;
+    // bounds without the offsets which are not yet pushed down by the index
+    int storedLeft;
+    int storedRight;
+
+    // treap node, maintained by the index
+    SegmentIndex index;
+    Segment parent;
+    Segment lesser;
+    Segment greater;
+    int priority;
+    int pendingShift;
 
     Segment(int left, int right) {
-      this.left = left;
-      this.right = right;
+      this.storedLeft = left;
+      this.storedRight = right;
+    }
+
+    int left() {
+      return storedLeft + ancestorsShift();
+    }
+
+    int right() {
+      return storedRight + ancestorsShift();
+    }
+
+    void setRight(int right) {
+      storedRight = right - ancestorsShift();
+    }
+
+    /** Returns sum of the offsets which are not yet pushed down from the ancestors to this node */
+    private int ancestorsShift() {
+      int shift = 0;
+      for (Segment node = parent; node != null; node = node.parent) {
+        shift += node.pendingShift;
+      }
+      return shift;
     }
 
     @Override
@@ -935,17 +1013,17 @@ public final class XMLTree {
         return false;
       }
       final Segment other = (Segment) obj;
-      return other.left == left && other.right == right;
+      return other.left() == left() && other.right() == right();
     }
 
     @Override
     public int hashCode() {
-      return 31 * left ^ 31 * right;
+      return 31 * left() ^ 31 * right();
     }
 
     @Override
     public String toString() {
-      return "left: " + left + ", right: " + right;
+      return "left: " + left() + ", right: " + right();
     }
   }
 
@@ -1901,6 +1901,42 @@ public class XMLTreeTest {
         tree.toString(), "<parent \r\n\r\n\r\n attr1=\"v\"><child>new text</child></parent>");
   }
 
+  @Test
+  public void shouldApplyManyUpdatesToLargeDocument() {
+    final int count = 2000;
+    final StringBuilder source = new StringBuilder("<project>\n    <dependencies>\n");
+    final StringBuilder expected = new StringBuilder("<project>\n    <dependencies>\n");
+    for (int i = 0; i < count; i++) {
+      source.append("        <dependency><artifactId>a").append(i).append("</artifactId>");
+      source.append("</dependency>\n");
+      if (i % 3 != 2) {
+        expected.append("        <dependency><artifactId>");
+        expected.append(i % 3 == 0 ? "updated-" + i : "a" + i).append("</artifactId>");
+        expected.append(i % 3 == 0 ? "\n            <scope>test</scope>" : "");
+        expected.append("</dependency>\n");
+      }
+    }
+    source.append("    </dependencies>\n</project>");
+    expected.append("    </dependencies>\n</project>");
+    final XMLTree tree = XMLTree.from(source.toString());
+
+    final List<Element> dependencies = tree.getElements("/project/dependencies/dependency");
+    for (int i = 0; i < count; i++) {
+      final Element dependency = dependencies.get(i);
+      if (i % 3 == 0) {
+        dependency.getSingleChild("artifactId").setText("updated-" + i);
+        dependency.appendChild(NewElement.createElement("scope", "test"));
+      } else if (i % 3 == 2) {
+        dependency.remove();
+      }
+    }
+
+    assertEquals(tree.toString(), expected.toString());
+    assertEquals(tree.getElements("/project/dependencies/dependency/scope").size(), 667);
+    assertEquals(
+        tree.getSingleText("/project/dependencies/dependency[last()]/artifactId"), "a1999");
+  }
+
   @Test(dataProvider = "custom-xml-files")
   public void shouldBeAbleToCreateTreeFromCustomXML(File xml) throws IOException {
     // should be able to parse file
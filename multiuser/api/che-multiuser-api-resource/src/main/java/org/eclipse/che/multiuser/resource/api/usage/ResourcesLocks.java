@@ -19,7 +19,7 @@ import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.KeyedLocks;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.multiuser.resource.api.ResourceLockKeyProvider;
 
@@ -29,7 +29,7 @@ import org.eclipse.che.multiuser.resource.api.ResourceLockKeyProvider;
  * <p>Resources will be locked not by account id but by key which will be provided by {@link
  * ResourceLockKeyProvider} for specified account's type
  *
- * <p>It based on {@link StripedLocks} so it can be used in try-with-resources construction.
+ * <p>It based on {@link KeyedLocks} so it can be used in try-with-resources construction.
  *
  * <pre>
  * try (Unlocker u = resourceLocks.lock("account123")) {
@@ -43,13 +43,13 @@ public class ResourcesLocks {
 
   private final AccountManager accountManager;
   private final Map<String, ResourceLockKeyProvider> accountTypeToLockProvider;
-  private final StripedLocks stripedLocks;
+  private final KeyedLocks locks;
 
   @Inject
   public ResourcesLocks(
       Set<ResourceLockKeyProvider> resourceLockKeyProviders, AccountManager accountManager) {
     this.accountManager = accountManager;
-    this.stripedLocks = new StripedLocks(16);
+    this.locks = new KeyedLocks("resources");
     this.accountTypeToLockProvider =
         resourceLockKeyProviders
             .stream()
@@ -78,7 +78,7 @@ public class ResourcesLocks {
       lockKey = resourceLockKeyProvider.getLockKey(accountId);
     }
 
-    return stripedLocks.writeLock(lockKey);
+    return locks.writeLock(lockKey);
   }
 
   public Unlocker lock(String... accountIds) throws NotFoundException, ServerException {
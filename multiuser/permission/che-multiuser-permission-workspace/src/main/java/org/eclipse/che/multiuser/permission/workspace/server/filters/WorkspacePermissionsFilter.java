@@ -83,6 +83,7 @@ public class WorkspacePermissionsFilter extends CheMethodInvokerFilter {
     switch (methodName) {
       case "getSettings":
       case "getWorkspaces":
+      case "getWorkspaceSummaries":
         // methods accessible to every user
         return;
 
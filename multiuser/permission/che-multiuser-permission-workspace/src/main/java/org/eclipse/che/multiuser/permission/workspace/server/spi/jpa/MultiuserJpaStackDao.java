@@ -28,6 +28,7 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.event.BeforeStackRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.StackPersistedEvent;
+import org.eclipse.che.api.workspace.server.jpa.StackEntityCache;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.spi.StackDao;
@@ -46,6 +47,8 @@ public class MultiuserJpaStackDao implements StackDao {
 
   @Inject private EventService eventService;
 
+  @Inject private StackEntityCache cache;
+
   private static final String findByPermissionsQuery =
       " SELECT stack FROM StackPermissions perm "
           + "        LEFT JOIN perm.stack stack  "
@@ -75,14 +78,16 @@ public class MultiuserJpaStackDao implements StackDao {
   }
 
   @Override
-  @Transactional
   public StackImpl getById(String id) throws NotFoundException, ServerException {
     requireNonNull(id, "Required non-null id");
+    final StackImpl cached = cache.get(id);
+    if (cached != null) {
+      return new StackImpl(cached);
+    }
+    final long stamp = cache.stamp();
     try {
-      final StackImpl stack = managerProvider.get().find(StackImpl.class, id);
-      if (stack == null) {
-        throw new NotFoundException(format("Stack with id '%s' doesn't exist", id));
-      }
+      final StackImpl stack = doGetById(id);
+      cache.put(id, stack, stamp);
       return new StackImpl(stack);
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
@@ -92,10 +97,13 @@ public class MultiuserJpaStackDao implements StackDao {
   @Override
   public void remove(String id) throws ServerException {
     requireNonNull(id, "Required non-null id");
+    cache.invalidate(id);
     try {
       doRemove(id);
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
+    } finally {
+      cache.invalidate(id);
     }
   }
 
@@ -103,12 +111,15 @@ public class MultiuserJpaStackDao implements StackDao {
   public StackImpl update(StackImpl update)
       throws NotFoundException, ServerException, ConflictException {
     requireNonNull(update, "Required non-null update");
+    cache.invalidate(update.getId());
     try {
       return new StackImpl(doUpdate(update));
     } catch (DuplicateKeyException x) {
       throw new ConflictException(format("Stack with name '%s' already exists", update.getName()));
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
+    } finally {
+      cache.invalidate(update.getId());
     }
   }
 
@@ -142,6 +153,15 @@ public class MultiuserJpaStackDao implements StackDao {
     }
   }
 
+  @Transactional
+  protected StackImpl doGetById(String id) throws NotFoundException {
+    final StackImpl stack = managerProvider.get().find(StackImpl.class, id);
+    if (stack == null) {
+      throw new NotFoundException(format("Stack with id '%s' doesn't exist", id));
+    }
+    return new StackImpl(stack);
+  }
+
   @Transactional(rollbackOn = {RuntimeException.class, ApiException.class})
   protected void doCreate(StackImpl stack) throws ConflictException, ServerException {
     if (stack.getWorkspaceConfig() != null) {
@@ -19,9 +19,12 @@ import java.util.Arrays;
 import java.util.List;
 import javax.persistence.EntityManager;
 import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceFilter;
 import org.eclipse.che.commons.test.db.H2TestHelper;
 import org.eclipse.che.multiuser.permission.workspace.server.model.impl.WorkerImpl;
 import org.eclipse.che.multiuser.permission.workspace.server.spi.jpa.MultiuserJpaWorkspaceDao;
@@ -132,4 +135,15 @@ public class MultiuserJpaWorkspaceDaoTest {
     assertTrue(results.contains(workspaces[0]));
     assertTrue(results.contains(workspaces[1]));
   }
+
+  @Test
+  public void shouldGetSummariesOfWorkspacesWhichUserCanRead() throws Exception {
+    final Page<WorkspaceSummaryImpl> page =
+        dao.getSummaries(users[0].getId(), new WorkspaceFilter(), 30, 0);
+
+    assertEquals(
+        page.getItems(WorkspaceSummaryImpl::getId),
+        Arrays.asList(workspaces[0].getId(), workspaces[1].getId()));
+    assertEquals(page.getTotalItemsCount(), 2);
+  }
 }
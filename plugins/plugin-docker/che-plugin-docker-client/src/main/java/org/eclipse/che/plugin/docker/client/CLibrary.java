@@ -66,8 +66,25 @@ public interface CLibrary extends Library {
 
   int eventfd_read(int fd, LongByReference val);
 
+  int eventfd_write(int fd, long val);
+
   int open(String path, int mode);
 
   int O_RDONLY = 0x00;
   int O_WRONLY = 0x01;
+
+  // Defined in 'sys/epoll.h', see http://man7.org/linux/man-pages/man7/epoll.7.html
+  int EPOLL_CTL_ADD = 1;
+  int EPOLL_CTL_DEL = 2;
+  int EPOLLIN = 0x001;
+
+  int epoll_create1(int flags);
+
+  /** The event is the 'struct epoll_event' laid out in the native order of the platform. */
+  int epoll_ctl(int epfd, int op, int fd, byte[] event);
+
+  /** The events is the array of 'struct epoll_event' laid out in the native order. */
+  int epoll_wait(int epfd, byte[] events, int maxevents, int timeout);
+
+  int EINTR = 4; // Defined in 'errno.h'
 }
@@ -12,18 +12,22 @@ package org.eclipse.che.plugin.docker.client;
 
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.jna.Native;
+import com.sun.jna.Platform;
 import com.sun.jna.ptr.LongByReference;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import javax.inject.Inject;
 import org.eclipse.che.api.core.util.SystemInfo;
 import org.eclipse.che.commons.lang.Size;
@@ -32,7 +36,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Docker container OOM detector based on cgroup usage
+ * Docker container OOM detector based on cgroup usage.
+ *
+ * <p>OOM notifications of all the containers are received by a single thread which waits for the
+ * eventfd of any container to become readable with epoll. The thread is started on the first
+ * detection start and it performs all the registrations and unregistrations of the file
+ * descriptors, so that a descriptor is never closed while its event is being handled.
  *
  * @author Alexander Garagatyi
  */
@@ -42,7 +51,8 @@ public class CgroupOOMDetector implements DockerOOMDetector {
   private final Map<String, OOMDetector> oomDetectors;
   private final URI dockerDaemonUri;
   private final DockerConnector dockerConnector;
-  private final ExecutorService executor;
+
+  private EventSelector selector;
 
   @Inject
   public CgroupOOMDetector(
@@ -54,13 +64,6 @@ public class CgroupOOMDetector implements DockerOOMDetector {
     this.dockerDaemonUri = dockerDaemonUri;
     this.dockerConnector = dockerConnectorProvider.get();
     this.oomDetectors = new ConcurrentHashMap<>();
-    this.executor =
-        Executors.newCachedThreadPool(
-            new ThreadFactoryBuilder()
-                .setNameFormat("CgroupOOMDetector-%d")
-                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
-                .setDaemon(true)
-                .build());
   }
 
   @Override
@@ -91,6 +94,13 @@ public class CgroupOOMDetector implements DockerOOMDetector {
     }
   }
 
+  private synchronized EventSelector getSelector() {
+    if (selector == null) {
+      selector = new EventSelector();
+    }
+    return selector;
+  }
+
   private boolean needStartOOMDetector(String container) {
     if (!oomDetectors.containsKey(container)) {
       if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
@@ -167,12 +177,145 @@ public class CgroupOOMDetector implements DockerOOMDetector {
     }
   }
 
+  /**
+   * Waits for the OOM events of all the registered detectors with epoll and handles them.
+   *
+   * <p>The eventfd of each detector is added to the epoll instance along with the wakeup eventfd,
+   * which is written to wake the thread up when there are new tasks for it, such as registration
+   * or unregistration of a detector.
+   */
+  private class EventSelector implements Runnable {
+    private static final int MAX_EVENTS = 64;
+
+    private final CLibrary cLib;
+    private final Queue<Runnable> tasks;
+    private final Map<Integer, OOMDetector> registered;
+    private final int eventSize;
+    private final int dataOffset;
+    private final int epfd;
+    private final int wakeupfd;
+
+    EventSelector() {
+      cLib = getCLibrary();
+      tasks = new ConcurrentLinkedQueue<>();
+      registered = new HashMap<>();
+      // 'struct epoll_event' is packed on x86-64 only
+      if ("x86-64".equals(Platform.ARCH)) {
+        eventSize = 12;
+        dataOffset = 4;
+      } else {
+        eventSize = 16;
+        dataOffset = 8;
+      }
+      if ((epfd = cLib.epoll_create1(0)) == -1) {
+        throw new IllegalStateException("Unable create an epoll instance");
+      }
+      if ((wakeupfd = cLib.eventfd(0, 0)) == -1 || !add(wakeupfd)) {
+        throw new IllegalStateException("Unable create a file descriptor for wakeup");
+      }
+      final Thread thread = new Thread(this, "CgroupOOMDetector");
+      thread.setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance());
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    /** Runs the task in the selector thread. */
+    void execute(Runnable task) {
+      tasks.add(task);
+      if (cLib.eventfd_write(wakeupfd, 1) == -1) {
+        LOG.error("Unable wake up OOM events selector");
+      }
+    }
+
+    void register(OOMDetector detector) {
+      execute(
+          () -> {
+            if (detector.stopped) {
+              return;
+            }
+            if (detector.open() && add(detector.efd)) {
+              registered.put(detector.efd, detector);
+            } else {
+              detector.close();
+              if (!detector.stopped) {
+                stopDetection(detector.container);
+              }
+            }
+          });
+    }
+
+    void unregister(OOMDetector detector) {
+      execute(
+          () -> {
+            if (registered.remove(detector.efd, detector)) {
+              remove(detector.efd);
+              detector.close();
+            }
+          });
+    }
+
+    @Override
+    public void run() {
+      final byte[] events = new byte[MAX_EVENTS * eventSize];
+      final ByteBuffer buffer = ByteBuffer.wrap(events).order(ByteOrder.nativeOrder());
+      final LongByReference eventHolder = new LongByReference();
+      while (true) {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+          task.run();
+        }
+        final int ready = cLib.epoll_wait(epfd, events, MAX_EVENTS, -1);
+        if (ready == -1) {
+          if (Native.getLastError() != CLibrary.EINTR) {
+            LOG.error("Waiting for OOM events failed, OOM detection is stopped");
+            return;
+          }
+          continue;
+        }
+        for (int i = 0; i < ready; i++) {
+          final int fd = buffer.getInt(i * eventSize + dataOffset);
+          if (fd == wakeupfd) {
+            cLib.eventfd_read(wakeupfd, eventHolder);
+          } else {
+            final OOMDetector detector = registered.remove(fd);
+            if (detector != null) {
+              remove(fd);
+              try {
+                cLib.eventfd_read(fd, eventHolder);
+                detector.onEvent();
+              } finally {
+                detector.close();
+              }
+            }
+          }
+        }
+      }
+    }
+
+    private boolean add(int fd) {
+      final byte[] event = new byte[eventSize];
+      ByteBuffer.wrap(event)
+          .order(ByteOrder.nativeOrder())
+          .putInt(0, CLibrary.EPOLLIN)
+          .putInt(dataOffset, fd);
+      if (cLib.epoll_ctl(epfd, CLibrary.EPOLL_CTL_ADD, fd, event) == -1) {
+        LOG.error("Unable add file descriptor for event notification to epoll instance");
+        return false;
+      }
+      return true;
+    }
+
+    private void remove(int fd) {
+      cLib.epoll_ctl(epfd, CLibrary.EPOLL_CTL_DEL, fd, new byte[eventSize]);
+    }
+  }
+
   /**
    * Detects OOM with cgroup notification mechanism.
    *
    * <p>https://access.redhat.com/documentation/en-US/Red_Hat_Enterprise_Linux/6/html/Resource_Management_Guide/sec-Using_the_Notification_API.html
    */
-  private class OOMDetector implements Runnable {
+  private class OOMDetector {
     private final String container;
     private final MessageProcessor<LogMessage> containerLogProcessor;
     private final long memory;
@@ -182,6 +325,10 @@ public class CgroupOOMDetector implements DockerOOMDetector {
     private volatile boolean stopped = false;
     private boolean started = false;
 
+    // accessed only by the selector thread
+    private int efd = -1;
+    private int oomfd = -1;
+
     OOMDetector(String container, MessageProcessor<LogMessage> containerLogProcessor, long memory) {
       this.container = container;
       this.containerLogProcessor = containerLogProcessor;
@@ -195,67 +342,69 @@ public class CgroupOOMDetector implements DockerOOMDetector {
       }
     }
 
-    @Override
-    public void run() {
+    /** Subscribes the eventfd to the OOM events of the container cgroup. */
+    boolean open() {
       final String cf = containerCgroup + "cgroup.event_control";
       final String oomf = containerCgroup + "memory.oom_control";
-      int efd = -1;
-      int oomfd = -1;
+      if ((efd = cLib.eventfd(0, 1)) == -1) {
+        LOG.error("Unable create a file descriptor for event notification");
+        return false;
+      }
+      int cfd;
+      if ((cfd = cLib.open(cf, CLibrary.O_WRONLY)) == -1) {
+        LOG.error("Unable open event control file '{}' for write", cf);
+        return false;
+      }
+      if ((oomfd = cLib.open(oomf, CLibrary.O_RDONLY)) == -1) {
+        LOG.error("Unable open OOM event file '{}' for read", oomf);
+        return false;
+      }
+      final byte[] data = String.format("%d %d", efd, oomfd).getBytes();
+      if (cLib.write(cfd, data, data.length) != data.length) {
+        LOG.error("Unable write event control data to file '{}'", cf);
+        return false;
+      }
+      if (cLib.close(cfd) == -1) {
+        LOG.error("Error closing of event control file '{}'", cf);
+        return false;
+      }
+      return true;
+    }
+
+    /** Handles the event received on the eventfd, the detection is finished after it. */
+    void onEvent() {
+      if (stopped) {
+        return;
+      }
       try {
-        if ((efd = cLib.eventfd(0, 1)) == -1) {
-          LOG.error("Unable create a file descriptor for event notification");
-          return;
-        }
-        int cfd;
-        if ((cfd = cLib.open(cf, CLibrary.O_WRONLY)) == -1) {
-          LOG.error("Unable open event control file '{}' for write", cf);
-          return;
-        }
-        if ((oomfd = cLib.open(oomf, CLibrary.O_RDONLY)) == -1) {
-          LOG.error("Unable open OOM event file '{}' for read", oomf);
-          return;
-        }
-        final byte[] data = String.format("%d %d", efd, oomfd).getBytes();
-        if (cLib.write(cfd, data, data.length) != data.length) {
-          LOG.error("Unable write event control data to file '{}'", cf);
-          return;
-        }
-        if (cLib.close(cfd) == -1) {
-          LOG.error("Error closing of event control file '{}'", cf);
-          return;
-        }
-        final LongByReference eventHolder = new LongByReference();
-        if (cLib.eventfd_read(efd, eventHolder) == 0) {
-          if (stopped) {
-            return;
-          }
-          LOG.warn("OOM event received for container '{}'", container);
-          if (readCgroupValue("memory.failcnt") > 0) {
-            try {
-              containerLogProcessor.process(
-                  new LogMessage(
-                      LogMessage.Type.DOCKER,
-                      "[ERROR] The processes in this machine need more RAM. This machine started with "
-                          + Size.toHumanSize(memory)));
-              containerLogProcessor.process(
-                  new LogMessage(
-                      LogMessage.Type.DOCKER,
-                      "[ERROR] Create a new machine configuration that allocates additional RAM or increase"
-                          + " the workspace RAM limit in the user dashboard."));
-            } catch (/*IOException*/ Exception e) {
-              LOG.warn(e.getMessage(), e);
-            }
+        LOG.warn("OOM event received for container '{}'", container);
+        if (readCgroupValue("memory.failcnt") > 0) {
+          try {
+            containerLogProcessor.process(
+                new LogMessage(
+                    LogMessage.Type.DOCKER,
+                    "[ERROR] The processes in this machine need more RAM. This machine started with "
+                        + Size.toHumanSize(memory)));
+            containerLogProcessor.process(
+                new LogMessage(
+                    LogMessage.Type.DOCKER,
+                    "[ERROR] Create a new machine configuration that allocates additional RAM or increase"
+                        + " the workspace RAM limit in the user dashboard."));
+          } catch (/*IOException*/ Exception e) {
+            LOG.warn(e.getMessage(), e);
           }
         }
       } finally {
-        if (!stopped) {
-          stopDetection(container);
-        }
-        close(oomfd);
-        close(efd);
+        stopDetection(container);
       }
     }
 
+    void close() {
+      close(oomfd);
+      close(efd);
+      oomfd = efd = -1;
+    }
+
     private void close(int fd) {
       if (fd != -1) {
         cLib.close(fd);
@@ -278,12 +427,20 @@ public class CgroupOOMDetector implements DockerOOMDetector {
     synchronized void start() {
       if (!started) {
         started = true;
-        executor.execute(this);
+        try {
+          getSelector().register(this);
+        } catch (IllegalStateException e) {
+          LOG.error(e.getMessage(), e);
+          oomDetectors.remove(container, this);
+        }
       }
     }
 
-    void stop() {
+    synchronized void stop() {
       stopped = true;
+      if (started) {
+        getSelector().unregister(this);
+      }
     }
   }
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client;
+
+import static java.util.Arrays.asList;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.Filters;
+import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Receives docker events through a single events stream and dispatches them to the subscribers of
+ * the event statuses, e.g. 'die' or 'oom'. Events which have no status, such as network events,
+ * are dispatched by their action.
+ *
+ * <p>The stream is opened on the first subscription and is filtered by the subscribed statuses.
+ * When the stream is closed it is opened again since the time of the last received event, so that
+ * no event is missed while it is reopened, and the events of that time which are received again
+ * are not dispatched twice. If the stream can't be opened, the attempts are delayed increasingly up
+ * to {@value #MAX_RECONNECT_DELAY_MS} ms. When a subscription adds statuses the stream is not
+ * filtered by, a new stream is opened in the same way and the previous one is closed when it
+ * receives its next event. Subscribers receive the events which happened since they subscribed.
+ */
+@Singleton
+public class DockerEventsDispatcher {
+  private static final Logger LOG = LoggerFactory.getLogger(DockerEventsDispatcher.class);
+
+  private static final long MIN_RECONNECT_DELAY_MS = 500;
+  private static final long MAX_RECONNECT_DELAY_MS = 30_000;
+
+  private final DockerConnector docker;
+  private final List<Subscription> subscriptions;
+
+  // the thread of the current stream, threads of the previous streams exit on their next event
+  private Thread thread;
+  // statuses the current stream is filtered by, null until the stream is opened
+  private Set<String> streamStatuses;
+  private long lastEventTime;
+  private final Set<String> lastTimeEvents;
+
+  @Inject
+  public DockerEventsDispatcher(DockerConnectorProvider dockerConnectorProvider) {
+    this.docker = dockerConnectorProvider.get();
+    this.subscriptions = new CopyOnWriteArrayList<>();
+    this.lastTimeEvents = new HashSet<>();
+  }
+
+  /**
+   * Subscribes the processor to the events of the given statuses, the events are processed in the
+   * order they are received by a single thread, so the processor must not block.
+   */
+  public void subscribe(MessageProcessor<Event> processor, String... statuses) {
+    subscriptions.add(new Subscription(processor, new HashSet<>(asList(statuses)), now()));
+    start();
+  }
+
+  /** Unsubscribes the processor from all the events it is subscribed to. */
+  public void unsubscribe(MessageProcessor<Event> processor) {
+    subscriptions.removeIf(subscription -> subscription.processor == processor);
+  }
+
+  @PreDestroy
+  synchronized void stop() {
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  private synchronized void start() {
+    if (thread == null) {
+      lastEventTime = now();
+      startThread();
+    } else if (streamStatuses != null && !streamStatuses.containsAll(getSubscribedStatuses())) {
+      startThread();
+    }
+  }
+
+  private synchronized void startThread() {
+    streamStatuses = null;
+    thread = new Thread(this::receiveEvents, "DockerEventsDispatcher");
+    thread.setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance());
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private void receiveEvents() {
+    long reconnectDelay = MIN_RECONNECT_DELAY_MS;
+    GetEventsParams params;
+    while ((params = openStream()) != null) {
+      final long connected = System.currentTimeMillis();
+      try {
+        docker.getEvents(params, this::process);
+      } catch (StreamClosedException e) {
+        return;
+      } catch (IOException e) {
+        // usually connection timeout
+        LOG.debug(e.getLocalizedMessage(), e);
+      }
+      if (System.currentTimeMillis() - connected > MAX_RECONNECT_DELAY_MS) {
+        // the stream was open for a while, so docker is available
+        reconnectDelay = MIN_RECONNECT_DELAY_MS;
+        continue;
+      }
+      try {
+        Thread.sleep(reconnectDelay);
+      } catch (InterruptedException e) {
+        return;
+      }
+      reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY_MS);
+    }
+  }
+
+  /** Returns parameters of the stream to open or null if the thread of the stream must exit. */
+  private synchronized GetEventsParams openStream() {
+    if (!isCurrentStream()) {
+      return null;
+    }
+    streamStatuses = getSubscribedStatuses();
+    return GetEventsParams.create()
+        .withSinceSecond(lastEventTime)
+        .withFilters(new Filters().withFilter("event", streamStatuses.toArray(new String[0])));
+  }
+
+  private synchronized void process(Event event) {
+    if (!isCurrentStream()) {
+      // stops pumping the events of the previous stream and closes it
+      throw new StreamClosedException();
+    }
+    dispatch(event);
+  }
+
+  private boolean isCurrentStream() {
+    return Thread.currentThread() == thread && !thread.isInterrupted();
+  }
+
+  private Set<String> getSubscribedStatuses() {
+    final Set<String> statuses = new HashSet<>();
+    for (Subscription subscription : subscriptions) {
+      statuses.addAll(subscription.statuses);
+    }
+    return statuses;
+  }
+
+  @VisibleForTesting
+  synchronized void dispatch(Event event) {
+    // events of the last time are received again when the stream is reopened
+    final String status = event.getStatus() != null ? event.getStatus() : event.getAction();
+    final String key = status + ' ' + event.getId() + ' ' + event.getTimeNano();
+    if (event.getTime() > lastEventTime) {
+      lastEventTime = event.getTime();
+      lastTimeEvents.clear();
+    }
+    if (event.getTime() == lastEventTime && !lastTimeEvents.add(key)) {
+      return;
+    }
+    for (Subscription subscription : subscriptions) {
+      if (subscription.statuses.contains(status) && event.getTime() >= subscription.sinceTime) {
+        try {
+          subscription.processor.process(event);
+        } catch (RuntimeException e) {
+          LOG.error("Failed to process docker event " + event, e);
+        }
+      }
+    }
+  }
+
+  private static long now() {
+    return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+  }
+
+  private static class Subscription {
+    final MessageProcessor<Event> processor;
+    final Set<String> statuses;
+    final long sinceTime;
+
+    Subscription(MessageProcessor<Event> processor, Set<String> statuses, long sinceTime) {
+      this.processor = processor;
+      this.statuses = statuses;
+      this.sinceTime = sinceTime;
+    }
+  }
+
+  private static class StreamClosedException extends RuntimeException {}
+}
@@ -58,6 +58,11 @@ public class ChunkedInputStream extends InputStream {
     return doRead(b, 0, len);
   }
 
+  /** Returns true if the last chunk is read. */
+  synchronized boolean isEof() {
+    return eof;
+  }
+
   @Override
   public synchronized int available() {
     return (chunkSize - chunkPos);
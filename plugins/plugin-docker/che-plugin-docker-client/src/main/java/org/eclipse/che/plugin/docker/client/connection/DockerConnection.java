@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.plugin.docker.client.connection;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteStreams;
 import java.io.Closeable;
 import java.io.IOException;
@@ -17,6 +18,11 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.eclipse.che.api.core.rest.LatencyHistogram;
 import org.eclipse.che.commons.lang.Pair;
 
 /**
@@ -25,6 +31,42 @@ import org.eclipse.che.commons.lang.Pair;
  * @author Mykola Morhun
  */
 public abstract class DockerConnection implements Closeable {
+  private static final Pattern API_VERSION_PREFIX = Pattern.compile("^/v\\d+\\.\\d+");
+
+  // last segments of the API paths which are actions rather than names of resources
+  private static final Set<String> ACTIONS =
+      ImmutableSet.of(
+          "archive",
+          "attach",
+          "changes",
+          "connect",
+          "create",
+          "disconnect",
+          "exec",
+          "export",
+          "get",
+          "history",
+          "json",
+          "kill",
+          "load",
+          "logs",
+          "pause",
+          "prune",
+          "push",
+          "rename",
+          "resize",
+          "restart",
+          "search",
+          "start",
+          "stats",
+          "stop",
+          "tag",
+          "top",
+          "unpause",
+          "update",
+          "wait");
+
+  private Map<String, LatencyHistogram> latencies;
   private String method;
   private String path;
   private Entity<?> entity;
@@ -87,8 +129,55 @@ public abstract class DockerConnection implements Closeable {
     return this;
   }
 
+  /**
+   * Sends the request and records the time till its response headers are received into the
+   * latency histogram of the requested endpoint, if the histograms are set. The time of reading
+   * the response body is not recorded, as the body of streaming endpoints is read for long.
+   */
   public DockerResponse request() throws IOException {
-    return request(method, path, query.toString(), headers, entity);
+    final long startNanos = System.nanoTime();
+    final DockerResponse response = request(method, path, query.toString(), headers, entity);
+    if (latencies != null) {
+      response.getStatus();
+      final long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+      latencies
+          .computeIfAbsent(endpoint(method, path), e -> new LatencyHistogram())
+          .record(latencyMillis);
+    }
+    return response;
+  }
+
+  /** Sets the histograms to record the latencies of the requests by their endpoints. */
+  DockerConnection latencies(Map<String, LatencyHistogram> latencies) {
+    this.latencies = latencies;
+    return this;
+  }
+
+  /**
+   * Returns the endpoint of the request, e.g. 'GET /containers/{id}/json' for the request of
+   * '/v1.20/containers/c2d1e3f/json' path. API version and names of resources are omitted to not
+   * have an endpoint per resource.
+   */
+  static String endpoint(String method, String path) {
+    final String[] segments =
+        API_VERSION_PREFIX.matcher(path == null ? "" : path).replaceFirst("").split("/");
+    final StringBuilder endpoint = new StringBuilder(method).append(' ');
+    // the path starts with '/' so the first segment is empty
+    if (segments.length > 1) {
+      endpoint.append('/').append(segments[1]);
+    }
+    if (segments.length > 2) {
+      final String last = segments[segments.length - 1];
+      if (segments.length == 3 && ACTIONS.contains(last)) {
+        endpoint.append('/').append(last);
+      } else {
+        endpoint.append("/{id}");
+        if (segments.length > 3 && ACTIONS.contains(last)) {
+          endpoint.append('/').append(last);
+        }
+      }
+    }
+    return endpoint.toString();
   }
 
   protected abstract DockerResponse request(
@@ -12,22 +12,33 @@ package org.eclipse.che.plugin.docker.client.connection;
 
 import com.google.inject.Inject;
 import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.rest.LatencyHistogram;
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
 /**
  * Factory for connections to docker API.
  *
- * <p>Detects connection implementation by checking docker daemon URI.
+ * <p>Detects connection implementation by checking docker daemon URI. Connections to docker unix
+ * socket are kept alive and reused by the following requests, the number of idle connections kept
+ * per socket is configured with {@value #CONNECTION_POOL_SIZE_PROPERTY}, 0 disables the reuse.
+ * Latencies of the requests made through the connections are recorded per docker API endpoint.
  *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
   public static final String CONNECTION_TIMEOUT_MS_PROPERTY =
       "che.docker.tcp_connection_timeout_ms";
   public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY =
       "che.docker.tcp_connection_read_timeout_ms";
+  public static final String CONNECTION_POOL_SIZE_PROPERTY = "che.docker.connection_pool_size";
 
   @Inject(optional = true)
   @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -37,19 +48,47 @@ public class DockerConnectionFactory {
   @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
   private int connectionReadTimeoutMs = 60000;
 
+  @Inject(optional = true)
+  @Named(CONNECTION_POOL_SIZE_PROPERTY)
+  private int connectionPoolSize = 10;
+
   private final DockerCertificates dockerCertificates;
+  private final ConcurrentMap<String, UnixSocketConnectionPool> pools;
+  private final ConcurrentMap<String, LatencyHistogram> latencies;
 
   @Inject
   public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
     this.dockerCertificates = connectorConfiguration.getDockerCertificates();
+    this.pools = new ConcurrentHashMap<>();
+    this.latencies = new ConcurrentHashMap<>();
   }
 
   public DockerConnection openConnection(URI dockerDaemonUri) {
+    final DockerConnection connection;
     if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-      return new UnixSocketConnection(dockerDaemonUri.getPath());
+      final String socketPath = dockerDaemonUri.getPath();
+      connection =
+          connectionPoolSize > 0
+              ? new UnixSocketConnection(socketPath, getPool(socketPath))
+              : new UnixSocketConnection(socketPath);
     } else {
-      return new TcpConnection(
-          dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
+      connection =
+          new TcpConnection(
+              dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
     }
+    return connection.latencies(latencies);
+  }
+
+  /**
+   * Returns latency histograms of the requests made through the connections of this factory,
+   * mapped by docker API endpoint, e.g. 'GET /containers/{id}/json'.
+   */
+  public Map<String, LatencyHistogram> getLatencyHistograms() {
+    return Collections.unmodifiableMap(latencies);
+  }
+
+  private UnixSocketConnectionPool getPool(String socketPath) {
+    return pools.computeIfAbsent(
+        socketPath, path -> new UnixSocketConnectionPool(path, connectionPoolSize));
   }
 }
@@ -57,11 +57,32 @@ public class LimitedInputStream extends InputStream {
     return doRead(b, 0, len);
   }
 
+  /**
+   * Reads the rest of the stream if it is not bigger than the given number of bytes.
+   *
+   * @return true if the stream is read till its end
+   */
+  boolean skipRemaining(int maxBytes) throws IOException {
+    if (limit - pos > maxBytes) {
+      return false;
+    }
+    final byte[] buf = new byte[Math.min(limit - pos, 8192)];
+    while (pos < limit) {
+      if (doRead(buf, 0, buf.length) == -1) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private int doRead(byte[] b, int off, int len) throws IOException {
     if (pos >= limit) {
       return -1;
     }
     int n = input.read(b, 0, Math.min(len - off, limit - pos));
+    if (n == -1) {
+      return -1;
+    }
     pos += n;
     return n;
   }
@@ -10,71 +10,107 @@
  */
 package org.eclipse.che.plugin.docker.client.connection;
 
-import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
 import com.google.common.base.Strings;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.net.ConnectException;
 import java.util.List;
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.plugin.docker.client.CLibrary;
 
 /**
+ * Connection to docker unix socket.
+ *
+ * <p>When the connection is created with a pool, the request is sent over an idle keep-alive
+ * connection of the pool if there is one, and the connection is returned to the pool on close if
+ * its response is read completely. Requests with a stream entity are always sent over a new
+ * connection, as they can't be resent if the idle connection turns out to be closed by docker.
+ * Other requests are resent over a new connection only if docker hasn't received them: writing the
+ * request to the idle connection fails, or the connection is closed before any byte of response.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
   private final String dockerSocketPath;
+  private final UnixSocketConnectionPool pool;
 
   private int fd = -1;
+  private UnixSocketDockerResponse response;
 
   public UnixSocketConnection(String dockerSocketPath) {
+    this(dockerSocketPath, null);
+  }
+
+  UnixSocketConnection(String dockerSocketPath, UnixSocketConnectionPool pool) {
     this.dockerSocketPath = dockerSocketPath;
+    this.pool = pool;
   }
 
   @Override
   protected DockerResponse request(
       String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
       throws IOException {
-    fd = connect();
-    final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
-    writeHttpHeaders(output, method, path, query, headers);
-    if (entity != null) {
-      entity.writeTo(output);
+    if (pool != null && !(entity instanceof StreamEntity)) {
+      fd = pool.acquire();
+      if (fd != -1) {
+        try {
+          response = send(method, path, query, headers, entity);
+          // reads the status line to find out whether the idle connection is still open
+          response.getStatus();
+          return response;
+        } catch (EOFException e) {
+          // docker closed the idle connection without responding to the request
+          closeConnection();
+        } catch (IOException e) {
+          final boolean sent = response != null;
+          closeConnection();
+          if (sent) {
+            // docker might have received the request, resending it may repeat its effect
+            throw e;
+          }
+        }
+      }
+      fd = pool.connect();
+    } else {
+      fd = UnixSocketConnectionPool.connect(dockerSocketPath);
     }
-    return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+    return response = send(method, path, query, headers, entity);
   }
 
   @Override
   public void close() {
     if (fd != -1) {
-      getCLibrary().close(fd);
+      if (pool != null && response != null && response.isReusable()) {
+        pool.release(fd);
+      } else {
+        getCLibrary().close(fd);
+      }
+      fd = -1;
     }
   }
 
-  private int connect() throws IOException {
-    final CLibrary cLib = getCLibrary();
-    int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
-    if (fd == -1) {
-      throw new ConnectException(
-          String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
-    }
-    final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
-    int c = cLib.connect(fd, sockAddr, sockAddr.size());
-    if (c == -1) {
-      throw new ConnectException(
-          String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+  private void closeConnection() {
+    getCLibrary().close(fd);
+    fd = -1;
+    response = null;
+  }
+
+  private UnixSocketDockerResponse send(
+      String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
+      throws IOException {
+    final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
+    writeHttpHeaders(output, method, path, query, headers);
+    if (entity != null) {
+      entity.writeTo(output);
     }
-    return fd;
+    return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
   }
 
   private void writeHttpHeaders(
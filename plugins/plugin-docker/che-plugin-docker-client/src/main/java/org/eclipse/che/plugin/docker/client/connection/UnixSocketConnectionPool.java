@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.plugin.docker.client.CLibrary;
+
+/**
+ * Pool of idle keep-alive connections to docker unix socket.
+ *
+ * <p>A connection is returned to the pool only after its response is read completely, so the next
+ * request sent to it gets its own response. The most recently used connection is reused first,
+ * connections idle for longer than the idle timeout and connections which don't fit into the pool
+ * are closed.
+ */
+class UnixSocketConnectionPool {
+  private static final long IDLE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+  private final String dockerSocketPath;
+  private final int maxIdle;
+  private final Deque<IdleConnection> idle;
+
+  UnixSocketConnectionPool(String dockerSocketPath, int maxIdle) {
+    this.dockerSocketPath = dockerSocketPath;
+    this.maxIdle = maxIdle;
+    this.idle = new ArrayDeque<>(maxIdle);
+  }
+
+  /** Returns the file descriptor of an idle connection or -1 if there is no idle connection. */
+  int acquire() {
+    final long now = System.nanoTime();
+    IdleConnection connection;
+    while ((connection = pollIdle()) != null) {
+      if (now - connection.idleSinceNanos < IDLE_TIMEOUT_NANOS) {
+        return connection.fd;
+      }
+      getCLibrary().close(connection.fd);
+    }
+    return -1;
+  }
+
+  /** Returns the connection to the pool or closes it if the pool is full. */
+  void release(int fd) {
+    synchronized (idle) {
+      if (idle.size() < maxIdle) {
+        idle.push(new IdleConnection(fd, System.nanoTime()));
+        return;
+      }
+    }
+    getCLibrary().close(fd);
+  }
+
+  /** Opens a new connection to docker unix socket. */
+  int connect() throws IOException {
+    return connect(dockerSocketPath);
+  }
+
+  /** Returns the number of idle connections. */
+  int size() {
+    synchronized (idle) {
+      return idle.size();
+    }
+  }
+
+  static int connect(String dockerSocketPath) throws IOException {
+    final CLibrary cLib = getCLibrary();
+    int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+    if (fd == -1) {
+      throw new ConnectException(
+          String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+    }
+    final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
+    int c = cLib.connect(fd, sockAddr, sockAddr.size());
+    if (c == -1) {
+      cLib.close(fd);
+      throw new ConnectException(
+          String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+    }
+    return fd;
+  }
+
+  private IdleConnection pollIdle() {
+    synchronized (idle) {
+      return idle.poll();
+    }
+  }
+
+  private static class IdleConnection {
+    final int fd;
+    final long idleSinceNanos;
+
+    IdleConnection(int fd, long idleSinceNanos) {
+      this.fd = fd;
+      this.idleSinceNanos = idleSinceNanos;
+    }
+  }
+}
@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.plugin.docker.client.connection;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -17,6 +18,9 @@ import java.util.List;
 
 /** @author andrew00x */
 public class UnixSocketDockerResponse implements DockerResponse {
+  /** Max size of unread body which is skipped to reuse the connection. */
+  private static final int MAX_SKIPPED_BODY_SIZE = 8192;
+
   private static final InputStream EMPTY =
       new InputStream() {
         @Override
@@ -123,6 +127,9 @@ public class UnixSocketDockerResponse implements DockerResponse {
       }
       lineBuf.append((char) c);
     }
+    if (lineBuf.length() == 0) {
+      throw new EOFException("Connection is closed by docker API without response");
+    }
     if (!lineBuf.toString().startsWith("HTTP/1.")) {
       throw new IOException("Invalid status line of HTTP response from docker API");
     }
@@ -142,6 +149,11 @@ public class UnixSocketDockerResponse implements DockerResponse {
       }
     }
     this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+    final int status = getStatus();
+    // responses with these statuses have no body
+    if (status == 204 || status == 304) {
+      return data = EMPTY;
+    }
     final int contentLength = getContentLength();
     if (contentLength == 0) {
       return data = EMPTY;
@@ -154,4 +166,28 @@ public class UnixSocketDockerResponse implements DockerResponse {
             ? new ChunkedInputStream(rawData)
             : rawData;
   }
+
+  /**
+   * Returns true if the response is read completely, so the connection it is read from may be
+   * used for the next request. Small unread body of known size is skipped.
+   */
+  synchronized boolean isReusable() {
+    if (headersFields == null) {
+      return false;
+    }
+    try {
+      if ("close".equalsIgnoreCase(getHeader("Connection"))) {
+        return false;
+      }
+      if (data == EMPTY) {
+        return true;
+      }
+      if (data instanceof LimitedInputStream) {
+        return ((LimitedInputStream) data).skipRemaining(MAX_SKIPPED_BODY_SIZE);
+      }
+      return data instanceof ChunkedInputStream && ((ChunkedInputStream) data).isEof();
+    } catch (IOException e) {
+      return false;
+    }
+  }
 }
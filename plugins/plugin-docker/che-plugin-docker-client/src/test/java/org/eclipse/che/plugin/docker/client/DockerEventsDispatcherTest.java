@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client;
+
+import static java.util.Arrays.asList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.util.HashSet;
+import java.util.List;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link DockerEventsDispatcher}. */
+@Listeners(MockitoTestNGListener.class)
+public class DockerEventsDispatcherTest {
+  private static final long TIME = System.currentTimeMillis() / 1000 + 60;
+
+  @Mock private DockerConnectorProvider dockerConnectorProvider;
+  @Mock private DockerConnector docker;
+  @Mock private MessageProcessor<Event> dieProcessor;
+  @Mock private MessageProcessor<Event> oomProcessor;
+  @Mock private MessageProcessor<Event> startProcessor;
+
+  private DockerEventsDispatcher dispatcher;
+
+  @BeforeMethod
+  public void setUp() {
+    when(dockerConnectorProvider.get()).thenReturn(docker);
+    dispatcher = new DockerEventsDispatcher(dockerConnectorProvider);
+    dispatcher.subscribe(dieProcessor, "die");
+    dispatcher.subscribe(oomProcessor, "oom", "die");
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    dispatcher.stop();
+  }
+
+  @Test
+  public void shouldDispatchEventsToSubscribersOfTheirStatus() {
+    Event die = event("die", "container1", TIME);
+    Event oom = event("oom", "container1", TIME);
+
+    dispatcher.dispatch(oom);
+    dispatcher.dispatch(die);
+
+    verify(dieProcessor).process(die);
+    verify(dieProcessor, never()).process(oom);
+    verify(oomProcessor).process(oom);
+    verify(oomProcessor).process(die);
+  }
+
+  @Test
+  public void shouldNotDispatchEventsReceivedAgainAfterReconnection() {
+    Event die = event("die", "container1", TIME);
+    Event other = event("die", "container2", TIME);
+
+    dispatcher.dispatch(die);
+    dispatcher.dispatch(other);
+    dispatcher.dispatch(event("die", "container1", TIME));
+
+    verify(dieProcessor, times(1)).process(die);
+    verify(dieProcessor, times(1)).process(other);
+  }
+
+  @Test
+  public void shouldDispatchEventToOtherSubscribersIfSubscriberFails() {
+    Event die = event("die", "container1", TIME);
+    doThrow(new RuntimeException("failed")).when(dieProcessor).process(any(Event.class));
+
+    dispatcher.dispatch(die);
+
+    verify(oomProcessor).process(die);
+  }
+
+  @Test
+  public void shouldNotDispatchEventsToUnsubscribedProcessor() {
+    dispatcher.unsubscribe(dieProcessor);
+
+    dispatcher.dispatch(event("die", "container1", TIME));
+
+    verify(dieProcessor, never()).process(any(Event.class));
+  }
+
+  @Test
+  public void shouldNotDispatchEventsHappenedBeforeSubscription() {
+    dispatcher.dispatch(event("die", "container1", System.currentTimeMillis() / 1000 - 60));
+
+    verify(dieProcessor, never()).process(any(Event.class));
+  }
+
+  @Test
+  public void shouldFilterEventsStreamBySubscribedStatuses() throws Exception {
+    ArgumentCaptor<GetEventsParams> captor = ArgumentCaptor.forClass(GetEventsParams.class);
+
+    verify(docker, timeout(2000).atLeastOnce()).getEvents(captor.capture(), any());
+
+    List<GetEventsParams> streams = captor.getAllValues();
+    assertEquals(
+        new HashSet<>(streams.get(streams.size() - 1).getFilters().getFilter("event")),
+        new HashSet<>(asList("die", "oom")));
+  }
+
+  @Test
+  public void shouldReopenEventsStreamSinceLastEventWhenSubscribedToNewStatuses()
+      throws Exception {
+    verify(docker, timeout(2000).atLeastOnce()).getEvents(any(), any());
+    dispatcher.dispatch(event("die", "container1", TIME));
+
+    dispatcher.subscribe(startProcessor, "start");
+
+    verify(docker, timeout(2000).atLeastOnce())
+        .getEvents(
+            argThat(
+                params ->
+                    params.getSinceSecond() == TIME
+                        && params.getFilters().getFilter("event").contains("start")),
+            any());
+  }
+
+  private static Event event(String status, String id, long time) {
+    return new Event().withStatus(status).withId(id).withTime(time).withTimeNano(time * 1000);
+  }
+}
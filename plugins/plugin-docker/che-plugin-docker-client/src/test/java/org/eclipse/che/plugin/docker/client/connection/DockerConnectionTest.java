@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.che.api.core.rest.LatencyHistogram;
+import org.eclipse.che.commons.lang.Pair;
+import org.testng.annotations.Test;
+
+/** Tests {@link DockerConnection}. */
+public class DockerConnectionTest {
+
+  @Test
+  public void shouldOmitApiVersionAndResourceNamesInEndpoint() {
+    assertEquals(
+        DockerConnection.endpoint("GET", "/v1.20/containers/json"), "GET /containers/json");
+    assertEquals(
+        DockerConnection.endpoint("GET", "/v1.20/containers/c2d1e3f/json"),
+        "GET /containers/{id}/json");
+    assertEquals(
+        DockerConnection.endpoint("DELETE", "/v1.20/containers/c2d1e3f"),
+        "DELETE /containers/{id}");
+    assertEquals(
+        DockerConnection.endpoint("POST", "/v1.20/images/eclipse/ubuntu_jdk8/tag"),
+        "POST /images/{id}/tag");
+    assertEquals(
+        DockerConnection.endpoint("DELETE", "/v1.20/images/eclipse/ubuntu_jdk8"),
+        "DELETE /images/{id}");
+    assertEquals(DockerConnection.endpoint("GET", "/_ping"), "GET /_ping");
+  }
+
+  @Test
+  public void shouldRecordLatencyWhenResponseHeadersAreReceived() throws Exception {
+    Map<String, LatencyHistogram> latencies = new HashMap<>();
+    DockerConnection connection =
+        new DockerConnection() {
+          @Override
+          protected DockerResponse request(
+              String method,
+              String path,
+              String query,
+              List<Pair<String, ?>> headers,
+              Entity<?> entity) {
+            // the body of the stream is not read by the request
+            return new UnixSocketDockerResponse(
+                new ByteArrayInputStream(
+                    "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n".getBytes(UTF_8)));
+          }
+
+          @Override
+          public void close() {}
+        };
+
+    connection.latencies(latencies).method("GET").path("/v1.20/events").request();
+
+    assertEquals(latencies.get("GET /events").getCount(), 1);
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import org.testng.annotations.Test;
+
+/** Tests {@link UnixSocketDockerResponse}. */
+public class UnixSocketDockerResponseTest {
+
+  @Test
+  public void responseIsReusableWhenItsBodyIsRead() throws Exception {
+    UnixSocketDockerResponse response =
+        response("HTTP/1.1 200 OK\r\nContent-Length: 4\r\n\r\nbody");
+
+    assertEquals(new String(ByteStreams.toByteArray(response.getInputStream()), UTF_8), "body");
+    assertTrue(response.isReusable());
+  }
+
+  @Test
+  public void responseIsReusableWhenItsLastChunkIsRead() throws Exception {
+    UnixSocketDockerResponse response =
+        response("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n4\r\nbody\r\n0\r\n\r\n");
+
+    assertEquals(new String(ByteStreams.toByteArray(response.getInputStream()), UTF_8), "body");
+    assertTrue(response.isReusable());
+  }
+
+  @Test
+  public void responseIsReusableWhenItsSmallBodyIsNotRead() throws Exception {
+    UnixSocketDockerResponse response =
+        response("HTTP/1.1 404 Not Found\r\nContent-Length: 9\r\n\r\nnot found");
+
+    assertEquals(response.getStatus(), 404);
+    assertTrue(response.isReusable());
+  }
+
+  @Test
+  public void responseWithoutBodyIsReusable() throws Exception {
+    UnixSocketDockerResponse response = response("HTTP/1.1 204 No Content\r\n\r\n");
+
+    assertEquals(response.getInputStream().read(), -1);
+    assertTrue(response.isReusable());
+  }
+
+  @Test
+  public void responseIsNotReusableWhenItsStreamIsNotReadTillTheEnd() throws Exception {
+    UnixSocketDockerResponse response =
+        response("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n4\r\nbody\r\n");
+
+    assertEquals(response.getStatus(), 200);
+    assertFalse(response.isReusable());
+  }
+
+  @Test
+  public void responseIsNotReusableWhenConnectionIsClosedByDocker() throws Exception {
+    UnixSocketDockerResponse response =
+        response("HTTP/1.1 200 OK\r\nConnection: close\r\nContent-Length: 0\r\n\r\n");
+
+    assertEquals(response.getStatus(), 200);
+    assertFalse(response.isReusable());
+  }
+
+  @Test
+  public void responseIsNotReusableWhenItIsNotRead() throws Exception {
+    assertFalse(response("HTTP/1.1 200 OK\r\nContent-Length: 0\r\n\r\n").isReusable());
+  }
+
+  @Test(expectedExceptions = EOFException.class)
+  public void shouldThrowEofExceptionWhenConnectionIsClosedWithoutResponse() throws Exception {
+    response("").getStatus();
+  }
+
+  @Test
+  public void shouldNotThrowEofExceptionWhenConnectionIsClosedInsideResponse() throws Exception {
+    try {
+      response("HTTP/1.1 200 OK\r\nContent-Len").getStatus();
+      fail("IOException expected");
+    } catch (EOFException e) {
+      fail("Response is partially received");
+    } catch (IOException expected) {
+    }
+  }
+
+  private static UnixSocketDockerResponse response(String raw) {
+    InputStream input = new ByteArrayInputStream(raw.getBytes(UTF_8));
+    return new UnixSocketDockerResponse(input);
+  }
+}
@@ -41,6 +41,7 @@ public class AuthMachineProviderImpl extends MachineProviderImpl {
   public AuthMachineProviderImpl(
       DockerConnectorProvider dockerConnectorProvider,
       UserSpecificDockerRegistryCredentialsProvider dockerCredentials,
+      DockerImagePuller imagePuller,
       DockerMachineFactory dockerMachineFactory,
       DockerInstanceStopDetector dockerInstanceStopDetector,
       WindowsPathEscaper windowsPathEscaper,
@@ -72,6 +73,7 @@ public class AuthMachineProviderImpl extends MachineProviderImpl {
     super(
         dockerConnectorProvider,
         dockerCredentials,
+        imagePuller,
         dockerMachineFactory,
         dockerInstanceStopDetector,
         requestTransmitter,
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pulls docker images so that concurrent pulls of the same image share a single pull.
+ *
+ * <p>The first caller pulls the image, the callers which pull the same image while it is being
+ * pulled wait for that pull to finish and receive its progress from the moment they joined. Pulls
+ * are shared only when all the parameters including registry credentials are equal, so a caller
+ * never gets an image it could not pull with its own credentials. If the shared pull fails, each of
+ * the waiting callers pulls the image on its own to report its own failure.
+ */
+@Singleton
+public class DockerImagePuller {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DockerImagePuller.class);
+
+  private final DockerConnector docker;
+  private final ConcurrentMap<PullParams, Pull> pulls;
+
+  @Inject
+  public DockerImagePuller(DockerConnectorProvider dockerConnectorProvider) {
+    this.docker = dockerConnectorProvider.get();
+    this.pulls = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Pulls the image or waits for the pull of the same image which is already in progress.
+   *
+   * @param params parameters of the pull, must not be modified after this call
+   * @param progressMonitor consumer of the pull progress
+   * @throws InterruptedIOException if the thread is interrupted while waiting for the shared pull
+   * @throws IOException if the pull fails
+   */
+  public void pull(PullParams params, ProgressMonitor progressMonitor) throws IOException {
+    final Pull own = new Pull(progressMonitor);
+    final Pull inProgress = pulls.putIfAbsent(params, own);
+    if (inProgress == null) {
+      try {
+        docker.pull(params, own);
+        own.succeeded = true;
+      } finally {
+        pulls.remove(params, own);
+        own.done.countDown();
+      }
+    } else if (!inProgress.join(progressMonitor)) {
+      LOG.debug("Shared pull of image '{}' failed, pulling it again", params.getFullRepo());
+      docker.pull(params, progressMonitor);
+    }
+  }
+
+  /** Returns the number of images which are being pulled at the moment. */
+  public int getPullsInProgress() {
+    return pulls.size();
+  }
+
+  /** Pull in progress, which passes its progress to the monitors of all the joined callers. */
+  private static class Pull implements ProgressMonitor {
+    private final List<ProgressMonitor> monitors;
+    private final CountDownLatch done;
+
+    private volatile boolean succeeded;
+
+    private Pull(ProgressMonitor monitor) {
+      this.monitors = new CopyOnWriteArrayList<>();
+      this.done = new CountDownLatch(1);
+      monitors.add(monitor);
+    }
+
+    @Override
+    public void updateProgress(ProgressStatus currentProgressStatus) {
+      for (ProgressMonitor monitor : monitors) {
+        monitor.updateProgress(currentProgressStatus);
+      }
+    }
+
+    /** Waits for the pull to finish and returns true if the pull succeeded. */
+    private boolean join(ProgressMonitor monitor) throws InterruptedIOException {
+      monitors.add(monitor);
+      try {
+        done.await();
+      } catch (InterruptedException x) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for image pull");
+      } finally {
+        monitors.remove(monitor);
+      }
+      return succeeded;
+    }
+  }
+}
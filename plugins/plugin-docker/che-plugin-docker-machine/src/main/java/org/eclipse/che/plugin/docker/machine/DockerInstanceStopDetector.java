@@ -12,12 +12,8 @@ package org.eclipse.che.plugin.docker.machine;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
@@ -26,19 +22,17 @@ import javax.inject.Singleton;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.machine.server.event.InstanceStateEvent;
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
-import org.eclipse.che.plugin.docker.client.DockerConnector;
-import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.DockerEventsDispatcher;
 import org.eclipse.che.plugin.docker.client.MessageProcessor;
 import org.eclipse.che.plugin.docker.client.json.Event;
-import org.eclipse.che.plugin.docker.client.json.Filters;
-import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Track docker containers events to detect containers stop or failure.
  *
+ * <p>Events are received from the events stream shared by {@link DockerEventsDispatcher}.
+ *
  * @author Alexander Garagatyi
  */
 @Singleton
@@ -47,8 +41,7 @@ public class DockerInstanceStopDetector {
 
   private final boolean isEnabled;
   private EventService eventService;
-  private DockerConnector dockerConnector;
-  private ExecutorService executorService;
+  private DockerEventsDispatcher eventsDispatcher;
   private Map<String, Pair<String, String>> instances;
   /*
      Helps differentiate container main process OOM from other processes OOM
@@ -64,29 +57,20 @@ public class DockerInstanceStopDetector {
   */
   private Cache<String, String> containersOomTimestamps;
 
-  private long lastProcessedEventDate = 0;
-
   @Inject
   public DockerInstanceStopDetector(
       EventService eventService,
-      DockerConnectorProvider dockerConnectorProvider,
+      DockerEventsDispatcher eventsDispatcher,
       @Named("che.docker.enable_container_stop_detector") boolean isEnabled) {
     this.isEnabled = isEnabled;
     if (!isEnabled) {
       return;
     }
     this.eventService = eventService;
-    this.dockerConnector = dockerConnectorProvider.get();
+    this.eventsDispatcher = eventsDispatcher;
     this.instances = new ConcurrentHashMap<>();
     this.containersOomTimestamps =
         CacheBuilder.newBuilder().expireAfterWrite(10, TimeUnit.SECONDS).build();
-    this.executorService =
-        Executors.newSingleThreadExecutor(
-            new ThreadFactoryBuilder()
-                .setNameFormat("DockerInstanceStopDetector-%d")
-                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
-                .setDaemon(true)
-                .build());
   }
 
   /**
@@ -118,22 +102,7 @@ public class DockerInstanceStopDetector {
     if (!isEnabled) {
       return;
     }
-    executorService.execute(
-        () -> {
-          // noinspection InfiniteLoopStatement
-          while (true) {
-            try {
-              dockerConnector.getEvents(
-                  GetEventsParams.create()
-                      .withSinceSecond(lastProcessedEventDate)
-                      .withFilters(new Filters().withFilter("event", "die", "oom")),
-                  new EventsProcessor());
-            } catch (IOException e) {
-              // usually connection timeout
-              LOG.debug(e.getLocalizedMessage(), e);
-            }
-          }
-        });
+    eventsDispatcher.subscribe(new EventsProcessor(), "die", "oom");
   }
 
   private class EventsProcessor implements MessageProcessor<Event> {
@@ -165,7 +134,6 @@ public class DockerInstanceStopDetector {
             eventService.publish(
                 new InstanceStateEvent(
                     instanceIds.first, instanceIds.second, instanceStateChangeType));
-            lastProcessedEventDate = message.getTime();
           }
           break;
         default:
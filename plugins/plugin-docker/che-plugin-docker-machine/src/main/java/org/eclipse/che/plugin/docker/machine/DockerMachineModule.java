@@ -35,6 +35,7 @@ public class DockerMachineModule extends AbstractModule {
         org.eclipse.che.plugin.docker.machine.cleaner
             .RemoveWorkspaceFilesAfterRemoveWorkspaceEventSubscriber.class);
     bind(AppStatesPreferenceCleaner.class);
+    bind(StackImagesPuller.class);
 
     @SuppressWarnings("unused")
     Multibinder<String> devMachineEnvVars =
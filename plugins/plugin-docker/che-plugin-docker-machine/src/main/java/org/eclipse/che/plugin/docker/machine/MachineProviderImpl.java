@@ -147,6 +147,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
 
   private final DockerConnector docker;
   private final UserSpecificDockerRegistryCredentialsProvider dockerCredentials;
+  private final DockerImagePuller imagePuller;
   private final ExecutorService executor;
   private final DockerInstanceStopDetector dockerInstanceStopDetector;
   private final RequestTransmitter transmitter;
@@ -179,6 +180,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
   public MachineProviderImpl(
       DockerConnectorProvider dockerProvider,
       UserSpecificDockerRegistryCredentialsProvider dockerCredentials,
+      DockerImagePuller imagePuller,
       DockerMachineFactory dockerMachineFactory,
       DockerInstanceStopDetector dockerInstanceStopDetector,
       RequestTransmitter transmitter,
@@ -208,6 +210,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
       throws IOException {
     this.docker = dockerProvider.get();
     this.dockerCredentials = dockerCredentials;
+    this.imagePuller = imagePuller;
     this.dockerMachineFactory = dockerMachineFactory;
     this.dockerInstanceStopDetector = dockerInstanceStopDetector;
     this.transmitter = transmitter;
@@ -536,7 +539,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
                 .withTag(MoreObjects.firstNonNull(dockerMachineSource.getTag(), LATEST_TAG))
                 .withRegistry(dockerMachineSource.getRegistry())
                 .withAuthConfigs(dockerCredentials.getCredentials());
-        docker.pull(pullParams, progressMonitor);
+        imagePuller.pull(pullParams, progressMonitor);
       }
 
       String fullNameOfPulledImage = dockerMachineSource.getLocation(false);
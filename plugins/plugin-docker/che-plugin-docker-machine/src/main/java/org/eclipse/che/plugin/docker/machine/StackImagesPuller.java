@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import static com.google.common.base.MoreObjects.firstNonNull;
+import static org.eclipse.che.plugin.docker.machine.DockerInstance.LATEST_TAG;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.environment.server.EnvironmentParser;
+import org.eclipse.che.api.environment.server.model.CheServiceImpl;
+import org.eclipse.che.api.environment.server.model.CheServicesEnvironmentImpl;
+import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.server.spi.StackDao;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.UserSpecificDockerRegistryCredentialsProvider;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Job for periodically pulling the images of the configured stacks, so that workspaces created
+ * from the most used stacks start from the images which are already pulled and up to date.
+ *
+ * <p>Images of all the environments of a stack are pulled, services built from a recipe are
+ * skipped. Pulls use the same registry credentials as pulls of the machine images. The job is
+ * disabled when the pulling period is not positive.
+ */
+@Singleton
+public class StackImagesPuller {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StackImagesPuller.class);
+
+  private final StackDao stackDao;
+  private final EnvironmentParser environmentParser;
+  private final DockerImagePuller imagePuller;
+  private final UserSpecificDockerRegistryCredentialsProvider dockerCredentials;
+  private final String[] stackIds;
+
+  @Inject
+  public StackImagesPuller(
+      StackDao stackDao,
+      EnvironmentParser environmentParser,
+      DockerImagePuller imagePuller,
+      UserSpecificDockerRegistryCredentialsProvider dockerCredentials,
+      @Nullable @Named("che.docker.stacks_images_pull_ids") String[] stackIds) {
+    this.stackDao = stackDao;
+    this.environmentParser = environmentParser;
+    this.imagePuller = imagePuller;
+    this.dockerCredentials = dockerCredentials;
+    this.stackIds = stackIds == null ? new String[0] : stackIds;
+  }
+
+  @ScheduleDelay(
+    initialDelay = 1,
+    delayParameterName = "che.docker.stacks_images_pull_period_min",
+    unit = TimeUnit.MINUTES
+  )
+  public void pullImages() {
+    Set<String> images = getImages();
+    if (images.isEmpty()) {
+      return;
+    }
+    AuthConfigs authConfigs = dockerCredentials.getCredentials();
+    for (String image : images) {
+      DockerMachineSource source =
+          new DockerMachineSource(new MachineSourceImpl("image").setLocation(image));
+      if (source.getRepository() == null) {
+        continue;
+      }
+      PullParams pullParams =
+          PullParams.create(source.getRepository())
+              .withTag(firstNonNull(source.getTag(), LATEST_TAG))
+              .withRegistry(source.getRegistry())
+              .withAuthConfigs(authConfigs);
+      try {
+        imagePuller.pull(pullParams, ProgressMonitor.DEV_NULL);
+      } catch (IOException x) {
+        LOG.warn("Failed to pull image '{}' of stack. Cause: {}", image, x.getMessage());
+      }
+    }
+  }
+
+  /** Returns images used by the services of the configured stacks. */
+  @VisibleForTesting
+  Set<String> getImages() {
+    Set<String> images = new LinkedHashSet<>();
+    for (String stackId : stackIds) {
+      try {
+        StackImpl stack = stackDao.getById(stackId);
+        if (stack.getWorkspaceConfig() == null) {
+          continue;
+        }
+        for (EnvironmentImpl environment : stack.getWorkspaceConfig().getEnvironments().values()) {
+          CheServicesEnvironmentImpl servicesEnvironment = environmentParser.parse(environment);
+          for (CheServiceImpl service : servicesEnvironment.getServices().values()) {
+            if (service.getImage() != null && !service.getImage().isEmpty()) {
+              images.add(service.getImage());
+            }
+          }
+        }
+      } catch (NotFoundException x) {
+        LOG.warn("Stack '{}' which images should be pulled doesn't exist", stackId);
+      } catch (Exception x) {
+        LOG.warn("Failed to get images of stack '{}'. Cause: {}", stackId, x.getMessage());
+      }
+    }
+    return images;
+  }
+}
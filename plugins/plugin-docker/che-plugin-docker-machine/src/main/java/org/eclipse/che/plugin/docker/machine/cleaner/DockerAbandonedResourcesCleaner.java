@@ -16,16 +16,20 @@ import static org.eclipse.che.plugin.docker.client.params.RemoveContainerParams.
 import static org.eclipse.che.plugin.docker.machine.DockerContainerNameGenerator.ContainerNameInfo;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.RateLimiter;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import javax.annotation.PostConstruct;
 import javax.inject.Named;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.environment.server.CheEnvironmentEngine;
@@ -33,7 +37,10 @@ import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
 import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.DockerEventsDispatcher;
+import org.eclipse.che.plugin.docker.client.MessageProcessor;
 import org.eclipse.che.plugin.docker.client.json.ContainerListEntry;
+import org.eclipse.che.plugin.docker.client.json.Event;
 import org.eclipse.che.plugin.docker.client.json.Filters;
 import org.eclipse.che.plugin.docker.client.json.network.Network;
 import org.eclipse.che.plugin.docker.client.params.network.GetNetworksParams;
@@ -45,6 +52,12 @@ import org.slf4j.LoggerFactory;
  * Job for periodically clean up abandoned docker containers and networks created by CHE. Also, logs
  * active containers list.
  *
+ * <p>CHE containers and networks are kept in the inventory which is updated by docker events, so
+ * resources are checked against the API without querying docker and only the abandoned ones cost
+ * docker calls. The full scan of docker containers and networks is done much less frequently and
+ * catches up resources which were abandoned while CHE was not running. Removal calls are
+ * rate-limited so that a lot of abandoned resources do not overload docker.
+ *
  * @author Alexander Andrienko
  * @author Mykola Morhun
  */
@@ -67,6 +80,12 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
   private final DockerContainerNameGenerator nameGenerator;
   private final WorkspaceRuntimes runtimes;
   private final Set<String> additionalNetworks;
+  private final DockerEventsDispatcher eventsDispatcher;
+  private final RateLimiter removalsLimiter;
+  /** CHE containers which exist in docker, by container id. */
+  private final Map<String, TrackedContainer> containers;
+  /** CHE networks which exist in docker, network name by network id. */
+  private final Map<String, String> networks;
 
   @Inject
   public DockerAbandonedResourcesCleaner(
@@ -74,25 +93,71 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
       DockerConnectorProvider dockerConnectorProvider,
       DockerContainerNameGenerator nameGenerator,
       WorkspaceRuntimes workspaceRuntimes,
-      @Named("machine.docker.networks") Set<Set<String>> additionalNetworks) {
+      @Named("machine.docker.networks") Set<Set<String>> additionalNetworks,
+      DockerEventsDispatcher eventsDispatcher,
+      @Named("che.docker.cleanup_removals_per_sec") double removalsPerSecond) {
     this.environmentEngine = environmentEngine;
     this.dockerConnector = dockerConnectorProvider.get();
     this.nameGenerator = nameGenerator;
     this.runtimes = workspaceRuntimes;
     this.additionalNetworks = additionalNetworks.stream().flatMap(Set::stream).collect(toSet());
+    this.eventsDispatcher = eventsDispatcher;
+    this.removalsLimiter = RateLimiter.create(removalsPerSecond);
+    this.containers = new ConcurrentHashMap<>();
+    this.networks = new ConcurrentHashMap<>();
+  }
+
+  @VisibleForTesting
+  @PostConstruct
+  void subscribe() {
+    eventsDispatcher.subscribe(new InventoryUpdater(), "create", "start", "die", "destroy");
   }
 
+  /** Full scan of docker containers and networks, which also fills in the inventory. */
   @ScheduleRate(
     periodParameterName = "che.docker.cleanup_period_min",
     initialDelay = 0L,
     unit = TimeUnit.MINUTES
   )
   @Override
-  public void run() {
+  public synchronized void run() {
     cleanContainers();
     cleanNetworks();
   }
 
+  /** Cleans up abandoned containers and networks of the inventory. */
+  @ScheduleRate(
+    periodParameterName = "che.docker.cleanup_inventory_period_sec",
+    initialDelay = 60L,
+    unit = TimeUnit.SECONDS
+  )
+  public synchronized void cleanInventory() {
+    for (TrackedContainer container : containers.values()) {
+      if (!isMachineActive(container.workspaceId, container.machineId, container.name)) {
+        // if the container is not removed it will be found by the full scan
+        containers.remove(container.id);
+        cleanUpContainer(container.id, container.name, container.running);
+      }
+    }
+    for (Map.Entry<String, String> network : networks.entrySet()) {
+      String networkName = network.getValue();
+      Matcher cheNetworkMatcher = CHE_NETWORK_PATTERN.matcher(networkName);
+      if (cheNetworkMatcher.matches()
+          && !runtimes.hasRuntime(cheNetworkMatcher.group(WORKSPACE_ID_REGEX_GROUP))) {
+        try {
+          if (!dockerConnector.inspectNetwork(network.getKey()).getContainers().isEmpty()) {
+            // containers of the network are going to be removed, check it next time
+            continue;
+          }
+        } catch (IOException e) {
+          LOG.warn("Failed to inspect network: " + networkName, e);
+        }
+        networks.remove(network.getKey());
+        removeNetwork(network.getKey(), networkName);
+      }
+    }
+  }
+
   /** Cleans up CHE docker containers which don't tracked by API any more. */
   @VisibleForTesting
   void cleanContainers() {
@@ -102,19 +167,18 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
         String containerName = container.getNames()[0];
         Optional<ContainerNameInfo> optional = nameGenerator.parse(containerName);
         if (optional.isPresent()) {
-          try {
-            // container is orphaned if not found exception is thrown
-            environmentEngine.getMachine(
-                optional.get().getWorkspaceId(), optional.get().getMachineId());
+          String workspaceId = optional.get().getWorkspaceId();
+          String machineId = optional.get().getMachineId();
+          boolean running = container.getStatus().startsWith("Up");
+          if (isMachineActive(workspaceId, machineId, containerName)) {
             activeContainers.add(containerName);
-          } catch (NotFoundException e) {
-            cleanUpContainer(container);
-          } catch (Exception e) {
-            LOG.error(
-                format(
-                    "Failed to check activity for container with name '%s'. Cause: %s",
-                    containerName, e.getLocalizedMessage()),
-                e);
+            containers.put(
+                container.getId(),
+                new TrackedContainer(
+                    container.getId(), containerName, workspaceId, machineId, running));
+          } else {
+            containers.remove(container.getId());
+            cleanUpContainer(container.getId(), containerName, running);
           }
         }
       }
@@ -126,23 +190,38 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
     LOG.info("List containers registered in the api: " + activeContainers);
   }
 
-  private void cleanUpContainer(ContainerListEntry container) {
-    String containerId = container.getId();
-    String containerName = container.getNames()[0];
+  /** Returns false if the machine is not found in the API, so its container is orphaned. */
+  private boolean isMachineActive(String workspaceId, String machineId, String containerName) {
+    try {
+      environmentEngine.getMachine(workspaceId, machineId);
+      return true;
+    } catch (NotFoundException e) {
+      return false;
+    } catch (Exception e) {
+      LOG.error(
+          format(
+              "Failed to check activity for container with name '%s'. Cause: %s",
+              containerName, e.getLocalizedMessage()),
+          e);
+      return true;
+    }
+  }
 
-    killContainer(containerId, containerName, container.getStatus());
+  private void cleanUpContainer(String containerId, String containerName, boolean running) {
+    if (running) {
+      killContainer(containerId, containerName);
+    }
     removeContainer(containerId, containerName);
   }
 
-  private void killContainer(String containerId, String containerName, String containerStatus) {
+  private void killContainer(String containerId, String containerName) {
     try {
-      if (containerStatus.startsWith("Up")) {
-        dockerConnector.killContainer(containerId);
-        LOG.warn(
-            "Unused container with 'id': '{}' and 'name': '{}' was killed ",
-            containerId,
-            containerName);
-      }
+      removalsLimiter.acquire();
+      dockerConnector.killContainer(containerId);
+      LOG.warn(
+          "Unused container with 'id': '{}' and 'name': '{}' was killed ",
+          containerId,
+          containerName);
     } catch (IOException e) {
       LOG.error(
           format(
@@ -154,6 +233,7 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
 
   private void removeContainer(String containerId, String containerName) {
     try {
+      removalsLimiter.acquire();
       dockerConnector.removeContainer(create(containerId).withForce(true).withRemoveVolumes(true));
       LOG.warn(
           "Unused container with 'id': '{}' and 'name': '{}' was removed",
@@ -186,19 +266,117 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
 
       for (Network network : customNetworks) {
         Matcher cheNetworkMatcher = CHE_NETWORK_PATTERN.matcher(network.getName());
-        if (cheNetworkMatcher.matches()
-            && network.getContainers().isEmpty()
-            && !additionalNetworks.contains(network.getName())
+        if (!cheNetworkMatcher.matches() || additionalNetworks.contains(network.getName())) {
+          continue;
+        }
+        if (network.getContainers().isEmpty()
             && !runtimes.hasRuntime(cheNetworkMatcher.group(WORKSPACE_ID_REGEX_GROUP))) {
-          try {
-            dockerConnector.removeNetwork(network.getId());
-          } catch (IOException e) {
-            LOG.warn("Failed to remove abandoned network: " + network.getName(), e);
-          }
+          networks.remove(network.getId());
+          removeNetwork(network.getId(), network.getName());
+        } else {
+          networks.put(network.getId(), network.getName());
         }
       }
     } catch (IOException e) {
       LOG.error("Failed to get list of docker networks", e);
     }
   }
+
+  private void removeNetwork(String networkId, String networkName) {
+    try {
+      removalsLimiter.acquire();
+      dockerConnector.removeNetwork(networkId);
+    } catch (IOException e) {
+      LOG.warn("Failed to remove abandoned network: " + networkName, e);
+    }
+  }
+
+  /** Adds created CHE containers and networks to the inventory and removes destroyed ones. */
+  private class InventoryUpdater implements MessageProcessor<Event> {
+    @Override
+    public void process(Event event) {
+      if ("network".equals(event.getType())) {
+        processNetworkEvent(event);
+      } else if (event.getType() == null || "container".equals(event.getType())) {
+        processContainerEvent(event);
+      }
+    }
+
+    private void processContainerEvent(Event event) {
+      switch (event.getStatus()) {
+        case "create":
+          String name = getActorAttribute(event, "name");
+          if (name == null) {
+            // old docker API, container will be found by the full scan
+            return;
+          }
+          Optional<ContainerNameInfo> optional = nameGenerator.parse(name);
+          if (optional.isPresent()) {
+            containers.put(
+                event.getId(),
+                new TrackedContainer(
+                    event.getId(),
+                    name,
+                    optional.get().getWorkspaceId(),
+                    optional.get().getMachineId(),
+                    false));
+          }
+          break;
+        case "start":
+        case "die":
+          TrackedContainer container = containers.get(event.getId());
+          if (container != null) {
+            container.running = "start".equals(event.getStatus());
+          }
+          break;
+        case "destroy":
+          containers.remove(event.getId());
+          break;
+        default:
+          // other events don't change the inventory
+      }
+    }
+
+    private void processNetworkEvent(Event event) {
+      if (event.getActor() == null) {
+        return;
+      }
+      String networkId = event.getActor().getId();
+      if ("create".equals(event.getAction())) {
+        String name = getActorAttribute(event, "name");
+        if (name != null
+            && CHE_NETWORK_PATTERN.matcher(name).matches()
+            && !additionalNetworks.contains(name)) {
+          networks.put(networkId, name);
+        }
+      } else if ("destroy".equals(event.getAction())) {
+        networks.remove(networkId);
+      }
+    }
+
+    private String getActorAttribute(Event event, String name) {
+      if (event.getActor() == null || event.getActor().getAttributes() == null) {
+        return null;
+      }
+      return event.getActor().getAttributes().get(name);
+    }
+  }
+
+  private static class TrackedContainer {
+    final String id;
+    final String name;
+    final String workspaceId;
+    final String machineId;
+
+    volatile boolean running;
+
+    TrackedContainer(
+        String id, String name, String workspaceId, String machineId, boolean running) {
+      this.id = id;
+      this.name = name;
+      this.workspaceId = workspaceId;
+      this.machineId = machineId;
+      this.running = running;
+    }
+  }
 }
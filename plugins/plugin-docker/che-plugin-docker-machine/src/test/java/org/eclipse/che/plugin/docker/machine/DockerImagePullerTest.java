@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link DockerImagePuller}. */
+@Listeners(MockitoTestNGListener.class)
+public class DockerImagePullerTest {
+
+  private static final PullParams PULL_PARAMS =
+      PullParams.create("eclipse/ubuntu_jdk8").withTag("latest");
+
+  @Mock private DockerConnectorProvider dockerConnectorProvider;
+  @Mock private DockerConnector docker;
+  @Mock private ProgressMonitor leaderMonitor;
+  @Mock private ProgressMonitor followerMonitor;
+
+  private DockerImagePuller puller;
+  private ExecutorService executor;
+  private CountDownLatch pullStarted;
+  private CountDownLatch releasePull;
+
+  @BeforeMethod
+  public void setUp() {
+    when(dockerConnectorProvider.get()).thenReturn(docker);
+    puller = new DockerImagePuller(dockerConnectorProvider);
+    executor = Executors.newCachedThreadPool();
+    pullStarted = new CountDownLatch(1);
+    releasePull = new CountDownLatch(1);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldShareConcurrentPullsOfTheSameImage() throws Exception {
+    ProgressStatus status = new ProgressStatus();
+    doAnswer(
+            invocation -> {
+              pullStarted.countDown();
+              releasePull.await();
+              ((ProgressMonitor) invocation.getArguments()[1]).updateProgress(status);
+              return null;
+            })
+        .when(docker)
+        .pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+
+    Future<?> leader = executor.submit(() -> pull(leaderMonitor));
+    pullStarted.await();
+    Future<?> follower = executor.submit(() -> pull(followerMonitor));
+    awaitFollowerJoined();
+    releasePull.countDown();
+    leader.get();
+    follower.get();
+
+    verify(docker, times(1)).pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+    verify(leaderMonitor).updateProgress(status);
+    verify(followerMonitor).updateProgress(status);
+    assertEquals(puller.getPullsInProgress(), 0);
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldPullImageAgainIfSharedPullFailed() throws Exception {
+    doAnswer(
+            invocation -> {
+              pullStarted.countDown();
+              releasePull.await();
+              throw new IOException("unauthorized");
+            })
+        .doNothing()
+        .when(docker)
+        .pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+
+    Future<?> leader = executor.submit(() -> pull(leaderMonitor));
+    pullStarted.await();
+    Future<?> follower = executor.submit(() -> pull(followerMonitor));
+    awaitFollowerJoined();
+    releasePull.countDown();
+
+    try {
+      leader.get();
+      fail("Pull is expected to fail");
+    } catch (ExecutionException x) {
+      assertTrue(x.getCause() instanceof IOException);
+    }
+    follower.get();
+    verify(docker).pull(PULL_PARAMS, followerMonitor);
+  }
+
+  @Test
+  public void shouldNotSharePullsWithDifferentParameters() throws Exception {
+    PullParams otherParams = PullParams.create("eclipse/ubuntu_jdk8").withTag("nightly");
+    doNothing().when(docker).pull(any(PullParams.class), any(ProgressMonitor.class));
+
+    puller.pull(PULL_PARAMS, leaderMonitor);
+    puller.pull(otherParams, followerMonitor);
+
+    verify(docker).pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+    verify(docker).pull(eq(otherParams), any(ProgressMonitor.class));
+  }
+
+  private Void pull(ProgressMonitor monitor) throws IOException {
+    puller.pull(PULL_PARAMS, monitor);
+    return null;
+  }
+
+  /** Waits until the follower is blocked waiting for the pull started by the leader. */
+  private void awaitFollowerJoined() throws InterruptedException {
+    while (Thread.getAllStackTraces().keySet().stream().noneMatch(this::isWaitingForSharedPull)) {
+      Thread.sleep(10);
+    }
+  }
+
+  private boolean isWaitingForSharedPull(Thread thread) {
+    if (thread.getState() != Thread.State.WAITING) {
+      return false;
+    }
+    for (StackTraceElement element : thread.getStackTrace()) {
+      if (element.getMethodName().equals("join")
+          && element.getClassName().startsWith(DockerImagePuller.class.getName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
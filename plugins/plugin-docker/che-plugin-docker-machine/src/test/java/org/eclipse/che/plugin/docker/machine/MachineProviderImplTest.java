@@ -1974,6 +1974,7 @@ public class MachineProviderImplTest {
               new MachineProviderImpl(
                   new MockConnectorProvider(),
                   credentialsReader,
+                  new DockerImagePuller(new MockConnectorProvider()),
                   dockerMachineFactory,
                   dockerInstanceStopDetector,
                   transmitter,
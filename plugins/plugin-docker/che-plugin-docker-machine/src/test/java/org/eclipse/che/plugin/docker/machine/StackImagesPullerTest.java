@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.name.Names;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.environment.server.EnvironmentParser;
+import org.eclipse.che.api.environment.server.model.CheServiceBuildContextImpl;
+import org.eclipse.che.api.environment.server.model.CheServiceImpl;
+import org.eclipse.che.api.environment.server.model.CheServicesEnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.server.spi.StackDao;
+import org.eclipse.che.commons.schedule.Launcher;
+import org.eclipse.che.inject.lifecycle.InternalScheduleModule;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.UserSpecificDockerRegistryCredentialsProvider;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link StackImagesPuller}. */
+@Listeners(MockitoTestNGListener.class)
+public class StackImagesPullerTest {
+
+  @Mock private StackDao stackDao;
+  @Mock private EnvironmentParser environmentParser;
+  @Mock private DockerImagePuller imagePuller;
+  @Mock private UserSpecificDockerRegistryCredentialsProvider dockerCredentials;
+  @Mock private AuthConfigs authConfigs;
+  @Mock private Launcher launcher;
+
+  private EnvironmentImpl environment;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    environment = new EnvironmentImpl();
+    WorkspaceConfigImpl config = new WorkspaceConfigImpl();
+    config.setEnvironments(ImmutableMap.of("default", environment));
+    StackImpl stack = StackImpl.builder().setId("stack").setWorkspaceConfig(config).build();
+    when(stackDao.getById("stack")).thenReturn(stack);
+    when(dockerCredentials.getCredentials()).thenReturn(authConfigs);
+  }
+
+  @Test
+  public void shouldPullImagesOfStackServicesWithRegistryCredentials() throws Exception {
+    // given
+    when(environmentParser.parse(environment))
+        .thenReturn(
+            new CheServicesEnvironmentImpl(
+                ImmutableMap.of(
+                    "dev",
+                    new CheServiceImpl().withImage("registry.com/eclipse/ubuntu_jdk8:tag"),
+                    "db",
+                    new CheServiceImpl().withImage("mysql"))));
+
+    // when
+    createPuller("stack").pullImages();
+
+    // then
+    ArgumentCaptor<PullParams> pullParams = ArgumentCaptor.forClass(PullParams.class);
+    verify(imagePuller, times(2)).pull(pullParams.capture(), eq(ProgressMonitor.DEV_NULL));
+    PullParams dev = pullParams.getAllValues().get(0);
+    assertEquals(dev.getImage(), "eclipse/ubuntu_jdk8");
+    assertEquals(dev.getTag(), "tag");
+    assertEquals(dev.getRegistry(), "registry.com");
+    assertEquals(dev.getAuthConfigs(), authConfigs);
+    PullParams db = pullParams.getAllValues().get(1);
+    assertEquals(db.getImage(), "mysql");
+    assertEquals(db.getTag(), "latest");
+    assertEquals(db.getAuthConfigs(), authConfigs);
+  }
+
+  @Test
+  public void shouldSkipServicesBuiltFromRecipe() throws Exception {
+    // given
+    when(environmentParser.parse(environment))
+        .thenReturn(
+            new CheServicesEnvironmentImpl(
+                ImmutableMap.of(
+                    "dev",
+                    new CheServiceImpl()
+                        .withBuild(new CheServiceBuildContextImpl().withDockerfileContent("FROM")),
+                    "db",
+                    new CheServiceImpl().withImage("mysql"))));
+
+    // when
+    createPuller("stack").pullImages();
+
+    // then
+    ArgumentCaptor<PullParams> pullParams = ArgumentCaptor.forClass(PullParams.class);
+    verify(imagePuller).pull(pullParams.capture(), any(ProgressMonitor.class));
+    assertEquals(pullParams.getValue().getImage(), "mysql");
+  }
+
+  @Test
+  public void shouldPullImagesOfExistingStacksWhenSomeStacksDoNotExist() throws Exception {
+    // given
+    when(stackDao.getById("missing")).thenThrow(new NotFoundException("not found"));
+    when(environmentParser.parse(environment))
+        .thenReturn(
+            new CheServicesEnvironmentImpl(
+                ImmutableMap.of("db", new CheServiceImpl().withImage("mysql"))));
+
+    // when
+    createPuller("missing", "stack").pullImages();
+
+    // then
+    ArgumentCaptor<PullParams> pullParams = ArgumentCaptor.forClass(PullParams.class);
+    verify(imagePuller).pull(pullParams.capture(), any(ProgressMonitor.class));
+    assertEquals(pullParams.getValue().getImage(), "mysql");
+  }
+
+  @Test
+  public void shouldDisableJobWhenPullingPeriodIsZero() throws Exception {
+    // given
+    Injector injector =
+        Guice.createInjector(
+            new InternalScheduleModule(),
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(Launcher.class).toInstance(launcher);
+                bind(StackDao.class).toInstance(stackDao);
+                bind(EnvironmentParser.class).toInstance(environmentParser);
+                bind(DockerImagePuller.class).toInstance(imagePuller);
+                bind(UserSpecificDockerRegistryCredentialsProvider.class)
+                    .toInstance(dockerCredentials);
+                bind(String[].class)
+                    .annotatedWith(Names.named("che.docker.stacks_images_pull_ids"))
+                    .toInstance(new String[] {"stack"});
+                bindConstant()
+                    .annotatedWith(Names.named("che.docker.stacks_images_pull_period_min"))
+                    .to("0");
+              }
+            });
+
+    // when
+    injector.getInstance(StackImagesPuller.class);
+
+    // then
+    // the launcher doesn't schedule methods with non-positive delay
+    verify(launcher)
+        .scheduleWithFixedDelay(any(Runnable.class), eq(1L), eq(0L), eq(TimeUnit.MINUTES));
+  }
+
+  private StackImagesPuller createPuller(String... stackIds) {
+    return new StackImagesPuller(
+        stackDao, environmentParser, imagePuller, dockerCredentials, stackIds);
+  }
+}
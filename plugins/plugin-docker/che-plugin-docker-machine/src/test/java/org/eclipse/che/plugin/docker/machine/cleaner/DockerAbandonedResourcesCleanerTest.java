@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.docker.machine.cleaner;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
 import static java.util.Optional.of;
 import static org.eclipse.che.plugin.docker.machine.DockerContainerNameGenerator.ContainerNameInfo;
 import static org.mockito.ArgumentMatchers.any;
@@ -41,11 +42,17 @@ import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.DockerEventsDispatcher;
+import org.eclipse.che.plugin.docker.client.MessageProcessor;
+import org.eclipse.che.plugin.docker.client.json.Actor;
 import org.eclipse.che.plugin.docker.client.json.ContainerListEntry;
+import org.eclipse.che.plugin.docker.client.json.Event;
 import org.eclipse.che.plugin.docker.client.json.network.ContainerInNetwork;
 import org.eclipse.che.plugin.docker.client.json.network.Network;
 import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
 import org.eclipse.che.plugin.docker.machine.DockerContainerNameGenerator;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -91,6 +98,9 @@ public class DockerAbandonedResourcesCleanerTest {
   @Mock private DockerConnector dockerConnector;
   @Mock private DockerContainerNameGenerator nameGenerator;
   @Mock private WorkspaceRuntimes workspaceRuntimes;
+  @Mock private DockerEventsDispatcher eventsDispatcher;
+
+  @Captor private ArgumentCaptor<MessageProcessor<Event>> eventsProcessorCaptor;
 
   @Mock private Instance instance;
   @Mock private MachineImpl machineImpl1;
@@ -134,7 +144,9 @@ public class DockerAbandonedResourcesCleanerTest {
                 dockerConnectorProvider,
                 nameGenerator,
                 workspaceRuntimes,
-                additionalNetworks));
+                additionalNetworks,
+                eventsDispatcher,
+                1000));
 
     when(environmentEngine.getMachine(workspaceId1, machineId1)).thenReturn(instance);
     when(environmentEngine.getMachine(workspaceId2, machineId2))
@@ -344,7 +356,9 @@ public class DockerAbandonedResourcesCleanerTest {
                 dockerConnectorProvider,
                 nameGenerator,
                 workspaceRuntimes,
-                additionalNetworks));
+                additionalNetworks,
+                eventsDispatcher,
+                1000));
     networks.add(additionalNetwork);
 
     // when
@@ -368,7 +382,9 @@ public class DockerAbandonedResourcesCleanerTest {
                 dockerConnectorProvider,
                 nameGenerator,
                 workspaceRuntimes,
-                additionalNetworks));
+                additionalNetworks,
+                eventsDispatcher,
+                1000));
 
     when(additionalNetwork.getName()).thenReturn(additionalNetworkName);
     networks.add(additionalNetwork);
@@ -429,4 +445,94 @@ public class DockerAbandonedResourcesCleanerTest {
     verify(dockerConnector).removeNetwork(abandonedNetworkId);
     verify(dockerConnector).removeNetwork(abandonedNetworkId);
   }
+
+  @Test
+  public void shouldCleanUpContainerCreatedAfterFullScanWhenItsMachineIsNotFound()
+      throws Exception {
+    MessageProcessor<Event> eventsProcessor = subscribe();
+    eventsProcessor.process(containerEvent("create", containerId2, containerName2));
+    eventsProcessor.process(containerEvent("start", containerId2, containerName2));
+
+    cleaner.cleanInventory();
+
+    verify(dockerConnector, never()).listContainers();
+    verify(dockerConnector).killContainer(containerId2);
+    verify(dockerConnector)
+        .removeContainer(
+            RemoveContainerParams.create(containerId2).withForce(true).withRemoveVolumes(true));
+  }
+
+  @Test
+  public void shouldNotCleanUpContainerWhichWasDestroyed() throws Exception {
+    MessageProcessor<Event> eventsProcessor = subscribe();
+    eventsProcessor.process(containerEvent("create", containerId2, containerName2));
+    eventsProcessor.process(containerEvent("destroy", containerId2, containerName2));
+
+    cleaner.cleanInventory();
+
+    verify(environmentEngine, never()).getMachine(anyString(), anyString());
+    verify(dockerConnector, never()).removeContainer(any());
+  }
+
+  @Test
+  public void shouldCleanUpContainerFoundByFullScanWhenItsMachineIsStopped() throws Exception {
+    cleaner.cleanContainers();
+    when(environmentEngine.getMachine(workspaceId1, machineId1))
+        .thenThrow(new NotFoundException("test"));
+
+    cleaner.cleanInventory();
+
+    verify(dockerConnector).listContainers();
+    verify(dockerConnector).killContainer(containerId1);
+    verify(dockerConnector)
+        .removeContainer(
+            RemoveContainerParams.create(containerId1).withForce(true).withRemoveVolumes(true));
+  }
+
+  @Test
+  public void shouldRemoveCreatedNetworkWhenItIsAbandoned() throws Exception {
+    MessageProcessor<Event> eventsProcessor = subscribe();
+    eventsProcessor.process(networkEvent("create", abandonedNetworkId, abandonedNetworkName));
+    when(dockerConnector.inspectNetwork(abandonedNetworkId)).thenReturn(abandonedNetwork);
+
+    cleaner.cleanInventory();
+
+    verify(dockerConnector, never()).getNetworks(any());
+    verify(dockerConnector).removeNetwork(abandonedNetworkId);
+  }
+
+  @Test
+  public void shouldNotRemoveCreatedNetworkWhichContainsContainer() throws Exception {
+    MessageProcessor<Event> eventsProcessor = subscribe();
+    eventsProcessor.process(networkEvent("create", usedNetworkId, usedNetworkName));
+    usedNetworkContainers.put(containerId1, containerInNetwork1);
+    when(dockerConnector.inspectNetwork(usedNetworkId)).thenReturn(usedNetwork);
+
+    cleaner.cleanInventory();
+
+    verify(dockerConnector, never()).removeNetwork(usedNetworkId);
+  }
+
+  private MessageProcessor<Event> subscribe() {
+    cleaner.subscribe();
+    verify(eventsDispatcher).subscribe(eventsProcessorCaptor.capture(), any());
+    return eventsProcessorCaptor.getValue();
+  }
+
+  private static Event containerEvent(String status, String containerId, String containerName) {
+    return new Event()
+        .withStatus(status)
+        .withId(containerId)
+        .withType("container")
+        .withAction(status)
+        .withActor(
+            new Actor().withId(containerId).withAttributes(singletonMap("name", containerName)));
+  }
+
+  private static Event networkEvent(String action, String networkId, String networkName) {
+    return new Event()
+        .withType("network")
+        .withAction(action)
+        .withActor(new Actor().withId(networkId).withAttributes(singletonMap("name", networkName)));
+  }
 }
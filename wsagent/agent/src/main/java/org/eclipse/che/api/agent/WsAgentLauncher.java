@@ -21,11 +21,13 @@ import javax.inject.Singleton;
 import org.eclipse.che.api.agent.server.WsAgentHealthChecker;
 import org.eclipse.che.api.agent.server.WsAgentPingRequestFactory;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
+import org.eclipse.che.api.agent.server.launcher.PackageManagerLock;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.environment.server.MachineProcessManager;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -36,7 +38,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Starts ws agent in the machine and waits until ws agent sends notification about its start.
+ * Starts ws agent in the machine and waits until ws agent sends notification about its start. The
+ * packages the ws agent needs are installed one at a time with other agents of the machine, see
+ * {@link PackageManagerLock}.
  *
  * @author Alexander Garagatyi
  * @author Anatolii Bazko
@@ -100,19 +104,22 @@ public class WsAgentLauncher implements AgentLauncher {
 
     String script =
         agent.getScript() + "\n" + firstNonNull(wsAgentRunCommand, DEFAULT_WS_AGENT_RUN_COMMAND);
+    PackageManagerLock packageManagerLock = null;
     try {
       // for server side type of command mean nothing
       // but we will use it as marker on
       // client side for track this command
       CommandImpl command = new CommandImpl(getAgentId(), script, WS_AGENT_PROCESS_NAME);
 
+      packageManagerLock = PackageManagerLock.acquire(machine);
       machineProcessManagerProvider
           .get()
           .exec(
               machine.getWorkspaceId(),
               machine.getId(),
               command,
-              getWsAgentProcessOutputChannel(machine.getWorkspaceId()));
+              getWsAgentProcessOutputChannel(machine.getWorkspaceId()),
+              packageManagerLock.consumer(LineConsumer.DEV_NULL));
 
       final long pingStartTimestamp = System.currentTimeMillis();
       LOG.debug(
@@ -133,6 +140,10 @@ public class WsAgentLauncher implements AgentLauncher {
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       throw new ServerException("Ws agent pinging is interrupted");
+    } finally {
+      if (packageManagerLock != null) {
+        packageManagerLock.release();
+      }
     }
     LOG.error(
         "Fail pinging ws agent with {} url in {} workspace in {} machine on {} node.",
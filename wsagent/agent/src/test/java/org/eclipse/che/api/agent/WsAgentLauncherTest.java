@@ -27,6 +27,7 @@ import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.model.machine.Server;
 import org.eclipse.che.api.core.rest.HttpJsonRequest;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.environment.server.MachineProcessManager;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -112,7 +113,8 @@ public class WsAgentLauncherTest {
                     "org.eclipse.che.ws-agent",
                     "script\n" + WsAgentLauncher.DEFAULT_WS_AGENT_RUN_COMMAND,
                     WS_AGENT_PROCESS_NAME)),
-            eq(WsAgentLauncher.getWsAgentProcessOutputChannel(WORKSPACE_ID)));
+            eq(WsAgentLauncher.getWsAgentProcessOutputChannel(WORKSPACE_ID)),
+            any(LineConsumer.class));
   }
 
   @Test
@@ -169,13 +171,15 @@ public class WsAgentLauncherTest {
   public void shouldThrowMachineExceptionIfMachineManagerExecInDevMachineThrowsNotFoundException()
       throws Exception {
     Mockito.when(
-            machineProcessManager.exec(anyString(), anyString(), any(Command.class), anyString()))
+            machineProcessManager.exec(
+                anyString(), anyString(), any(Command.class), anyString(), any(LineConsumer.class)))
         .thenThrow(new NotFoundException("Test exception"));
 
     wsAgentLauncher.launch(machine, agent);
 
     Mockito.verify(machineProcessManager)
-        .exec(anyString(), anyString(), any(Command.class), anyString());
+        .exec(
+            anyString(), anyString(), any(Command.class), anyString(), any(LineConsumer.class));
   }
 
   @Test(
@@ -185,13 +189,15 @@ public class WsAgentLauncherTest {
   public void shouldThrowMachineExceptionIfMachineManagerExecInDevMachineThrowsMachineException()
       throws Exception {
     Mockito.when(
-            machineProcessManager.exec(anyString(), anyString(), any(Command.class), anyString()))
+            machineProcessManager.exec(
+                anyString(), anyString(), any(Command.class), anyString(), any(LineConsumer.class)))
         .thenThrow(new MachineException("Test exception"));
 
     wsAgentLauncher.launch(machine, agent);
 
     Mockito.verify(machineProcessManager)
-        .exec(anyString(), anyString(), any(Command.class), anyString());
+        .exec(
+            anyString(), anyString(), any(Command.class), anyString(), any(LineConsumer.class));
   }
 
   @Test(
@@ -201,13 +207,15 @@ public class WsAgentLauncherTest {
   public void shouldThrowExceptionIfMachineManagerExecInDevMachineThrowsBadRequestException()
       throws Exception {
     Mockito.when(
-            machineProcessManager.exec(anyString(), anyString(), any(Command.class), anyString()))
+            machineProcessManager.exec(
+                anyString(), anyString(), any(Command.class), anyString(), any(LineConsumer.class)))
         .thenThrow(new BadRequestException("Test exception"));
 
     wsAgentLauncher.launch(machine, agent);
 
     Mockito.verify(machineProcessManager)
-        .exec(anyString(), anyString(), any(Command.class), anyString());
+        .exec(
+            anyString(), anyString(), any(Command.class), anyString(), any(LineConsumer.class));
   }
 
   @Test(
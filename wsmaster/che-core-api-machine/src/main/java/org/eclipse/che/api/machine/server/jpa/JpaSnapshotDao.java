@@ -15,7 +15,9 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.inject.persist.Transactional;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
@@ -91,6 +93,31 @@ public class JpaSnapshotDao implements SnapshotDao {
     }
   }
 
+  @Override
+  @Transactional
+  public Map<String, Long> getCreationDates(Collection<String> workspaceIds)
+      throws SnapshotException {
+    requireNonNull(workspaceIds, "Required non-null workspace ids");
+    final Map<String, Long> creationDates = new HashMap<>();
+    if (workspaceIds.isEmpty()) {
+      return creationDates;
+    }
+    try {
+      final List<Object[]> rows =
+          managerProvider
+              .get()
+              .createNamedQuery("Snapshot.getCreationDates", Object[].class)
+              .setParameter("workspaceIds", workspaceIds)
+              .getResultList();
+      for (Object[] row : rows) {
+        creationDates.put((String) row[0], (Long) row[1]);
+      }
+      return creationDates;
+    } catch (RuntimeException x) {
+      throw new SnapshotException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   public void saveSnapshot(SnapshotImpl snapshot) throws SnapshotException {
     requireNonNull(snapshot, "Required non-null snapshot");
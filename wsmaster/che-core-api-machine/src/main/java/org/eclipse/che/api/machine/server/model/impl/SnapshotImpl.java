@@ -45,6 +45,14 @@ import org.eclipse.che.commons.lang.NameGenerator;
     query =
         "SELECT snapshot " + "FROM Snapshot snapshot " + "WHERE snapshot.workspaceId = :workspaceId"
   ),
+  @NamedQuery(
+    name = "Snapshot.getCreationDates",
+    query =
+        "SELECT snapshot.workspaceId, MAX(snapshot.creationDate) "
+            + "FROM Snapshot snapshot "
+            + "WHERE snapshot.workspaceId IN :workspaceIds "
+            + "GROUP BY snapshot.workspaceId"
+  ),
   @NamedQuery(
     name = "Snapshot.findByWorkspaceAndEnvironment",
     query =
@@ -12,6 +12,7 @@ package org.eclipse.che.api.machine.server.spi;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.machine.server.exception.SnapshotException;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
@@ -66,6 +67,17 @@ public interface SnapshotDao {
    */
   List<SnapshotImpl> findSnapshots(String workspaceId) throws SnapshotException;
 
+  /**
+   * Finds the latest snapshot creation date of each of the given workspaces with a single query.
+   *
+   * @param workspaceIds ids of the workspaces
+   * @return map of workspace id to the creation date of its latest snapshot, workspaces which don't
+   *     have snapshots are not included, or empty map if none of the workspaces has snapshots
+   * @throws NullPointerException when {@code workspaceIds} is null
+   * @throws SnapshotException if error occurs
+   */
+  Map<String, Long> getCreationDates(Collection<String> workspaceIds) throws SnapshotException;
+
   /**
    * Remove snapshot by id
    *
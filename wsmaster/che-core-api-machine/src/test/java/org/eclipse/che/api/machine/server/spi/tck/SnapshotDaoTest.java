@@ -11,8 +11,10 @@
 package org.eclipse.che.api.machine.server.spi.tck;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 import com.google.common.collect.Sets;
@@ -151,6 +153,36 @@ public class SnapshotDaoTest {
     snapshotDao.findSnapshots(null);
   }
 
+  @Test
+  public void shouldGetLatestCreationDateOfEachWorkspace() throws Exception {
+    final SnapshotImpl latest = snapshots[1];
+    latest.setCreationDate(snapshots[SNAPSHOTS_SIZE - 1].getCreationDate() + 1000);
+    snapshotDao.removeSnapshot(latest.getId());
+    snapshotDao.saveSnapshot(latest);
+    long secondWorkspaceLatest = 0;
+    for (int i = 3; i < SNAPSHOTS_SIZE; i++) {
+      secondWorkspaceLatest = Math.max(secondWorkspaceLatest, snapshots[i].getCreationDate());
+    }
+
+    final Map<String, Long> dates =
+        snapshotDao.getCreationDates(
+            asList(workspaces[0].getId(), workspaces[1].getId(), "non-existing-workspace"));
+
+    assertEquals(dates.size(), 2);
+    assertEquals(dates.get(workspaces[0].getId()), (Long) latest.getCreationDate());
+    assertEquals(dates.get(workspaces[1].getId()), (Long) secondWorkspaceLatest);
+  }
+
+  @Test
+  public void shouldGetEmptyCreationDatesWhenNoWorkspacesGiven() throws Exception {
+    assertTrue(snapshotDao.getCreationDates(emptyList()).isEmpty());
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void shouldThrowNpeWhenGettingCreationDatesOfNullWorkspaceIds() throws Exception {
+    snapshotDao.getCreationDates(null);
+  }
+
   @Test(dependsOnMethods = "shouldGetSnapshotById")
   public void shouldSaveSnapshot() throws Exception {
     final SnapshotImpl newSnapshot =
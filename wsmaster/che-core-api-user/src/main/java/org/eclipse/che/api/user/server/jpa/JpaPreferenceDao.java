@@ -10,6 +10,8 @@
  */
 package org.eclipse.che.api.user.server.jpa;
 
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.requireNonNull;
 
 import com.google.inject.persist.Transactional;
@@ -33,6 +35,7 @@ import org.eclipse.che.api.user.server.spi.PreferenceDao;
 public class JpaPreferenceDao implements PreferenceDao {
 
   @Inject private Provider<EntityManager> managerProvider;
+  @Inject private PreferenceEntityCache cache;
 
   @Override
   public void setPreferences(String userId, Map<String, String> preferences)
@@ -43,39 +46,29 @@ public class JpaPreferenceDao implements PreferenceDao {
     if (preferences.isEmpty()) {
       remove(userId);
     } else {
+      cache.invalidate(userId);
       try {
         doSetPreference(prefs);
       } catch (RuntimeException ex) {
         throw new ServerException(ex.getLocalizedMessage(), ex);
+      } finally {
+        cache.invalidate(userId);
       }
     }
   }
 
   @Override
-  @Transactional
   public Map<String, String> getPreferences(String userId) throws ServerException {
     requireNonNull(userId);
-    try {
-      final EntityManager manager = managerProvider.get();
-      final PreferenceEntity prefs = manager.find(PreferenceEntity.class, userId);
-      return prefs == null ? new HashMap<>() : prefs.getPreferences();
-    } catch (RuntimeException ex) {
-      throw new ServerException(ex.getLocalizedMessage(), ex);
-    }
+    return new HashMap<>(getCachedPreferences(userId));
   }
 
   @Override
-  @Transactional
   public Map<String, String> getPreferences(String userId, String filter) throws ServerException {
     requireNonNull(userId);
     requireNonNull(filter);
+    final Map<String, String> preferences = getCachedPreferences(userId);
     try {
-      final EntityManager manager = managerProvider.get();
-      final PreferenceEntity prefs = manager.find(PreferenceEntity.class, userId);
-      if (prefs == null) {
-        return new HashMap<>();
-      }
-      final Map<String, String> preferences = prefs.getPreferences();
       if (!filter.isEmpty()) {
         final Pattern pattern = Pattern.compile(filter);
         return preferences
@@ -84,7 +77,7 @@ public class JpaPreferenceDao implements PreferenceDao {
             .filter(preference -> pattern.matcher(preference.getKey()).matches())
             .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
       } else {
-        return preferences;
+        return new HashMap<>(preferences);
       }
     } catch (RuntimeException ex) {
       throw new ServerException(ex.getLocalizedMessage(), ex);
@@ -94,13 +87,38 @@ public class JpaPreferenceDao implements PreferenceDao {
   @Override
   public void remove(String userId) throws ServerException {
     requireNonNull(userId);
+    cache.invalidate(userId);
     try {
       doRemove(userId);
     } catch (RuntimeException ex) {
       throw new ServerException(ex);
+    } finally {
+      cache.invalidate(userId);
     }
   }
 
+  /** Returns cached preferences which must not be modified. */
+  private Map<String, String> getCachedPreferences(String userId) throws ServerException {
+    final Map<String, String> cached = cache.get(userId);
+    if (cached != null) {
+      return cached;
+    }
+    final long stamp = cache.stamp();
+    try {
+      final Map<String, String> preferences = doGetPreferences(userId);
+      cache.put(userId, preferences, stamp);
+      return preferences;
+    } catch (RuntimeException ex) {
+      throw new ServerException(ex.getLocalizedMessage(), ex);
+    }
+  }
+
+  @Transactional
+  protected Map<String, String> doGetPreferences(String userId) {
+    final PreferenceEntity prefs = managerProvider.get().find(PreferenceEntity.class, userId);
+    return prefs == null ? emptyMap() : unmodifiableMap(new HashMap<>(prefs.getPreferences()));
+  }
+
   @Transactional
   protected void doSetPreference(PreferenceEntity prefs) {
     final EntityManager manager = managerProvider.get();
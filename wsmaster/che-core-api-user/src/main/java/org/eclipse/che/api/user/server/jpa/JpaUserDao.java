@@ -44,6 +44,7 @@ public class JpaUserDao implements UserDao {
 
   @Inject protected Provider<EntityManager> managerProvider;
   @Inject private PasswordEncryptor encryptor;
+  @Inject private UserEntityCache cache;
 
   @Override
   @Transactional
@@ -90,6 +91,7 @@ public class JpaUserDao implements UserDao {
   @Override
   public void update(UserImpl update) throws NotFoundException, ServerException, ConflictException {
     requireNonNull(update, "Required non-null update");
+    cache.invalidate(update.getId());
     try {
       doUpdate(update);
     } catch (DuplicateKeyException x) {
@@ -97,16 +99,21 @@ public class JpaUserDao implements UserDao {
       throw new ConflictException("User with such name/email/alias already exists");
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
+    } finally {
+      cache.invalidate(update.getId());
     }
   }
 
   @Override
   public void remove(String id) throws ServerException {
     requireNonNull(id, "Required non-null id");
+    cache.invalidate(id);
     try {
       doRemove(id);
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
+    } finally {
+      cache.invalidate(id);
     }
   }
 
@@ -128,15 +135,17 @@ public class JpaUserDao implements UserDao {
   }
 
   @Override
-  @Transactional
   public UserImpl getById(String id) throws NotFoundException, ServerException {
     requireNonNull(id, "Required non-null id");
+    final UserImpl cached = cache.get(id);
+    if (cached != null) {
+      return new UserImpl(cached);
+    }
+    final long stamp = cache.stamp();
     try {
-      final UserImpl user = managerProvider.get().find(UserImpl.class, id);
-      if (user == null) {
-        throw new NotFoundException(format("User with id '%s' doesn't exist", id));
-      }
-      return erasePassword(user);
+      final UserImpl user = doGetById(id);
+      cache.put(id, user, stamp);
+      return new UserImpl(user);
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
     }
@@ -282,6 +291,15 @@ public class JpaUserDao implements UserDao {
     }
   }
 
+  @Transactional
+  protected UserImpl doGetById(String id) throws NotFoundException {
+    final UserImpl user = managerProvider.get().find(UserImpl.class, id);
+    if (user == null) {
+      throw new NotFoundException(format("User with id '%s' doesn't exist", id));
+    }
+    return erasePassword(user);
+  }
+
   @Transactional(rollbackOn = {RuntimeException.class, ApiException.class})
   protected void doCreate(UserImpl user) throws ConflictException, ServerException {
     EntityManager manage = managerProvider.get();
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.user.server.jpa;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.user.server.model.impl.UserImpl;
+import org.eclipse.che.commons.test.tck.TckResourcesCleaner;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that {@link JpaUserDao} and {@link JpaPreferenceDao} keep their caches up to date.
+ *
+ * @see UserEntityCache
+ * @see PreferenceEntityCache
+ */
+public class JpaEntityCachesTest {
+
+  private EntityManager manager;
+  private JpaUserDao userDao;
+  private JpaPreferenceDao preferenceDao;
+  private UserEntityCache userCache;
+  private PreferenceEntityCache preferenceCache;
+  private TckResourcesCleaner cleaner;
+
+  private UserImpl user;
+
+  @BeforeMethod
+  private void setUp() throws Exception {
+    final Injector injector = Guice.createInjector(new JpaTckModule());
+    manager = injector.getInstance(EntityManager.class);
+    userDao = injector.getInstance(JpaUserDao.class);
+    preferenceDao = injector.getInstance(JpaPreferenceDao.class);
+    userCache = injector.getInstance(UserEntityCache.class);
+    preferenceCache = injector.getInstance(PreferenceEntityCache.class);
+    cleaner = injector.getInstance(TckResourcesCleaner.class);
+
+    user = new UserImpl("user123", "user@mail.com", "name", "password", singletonList("alias"));
+    userDao.create(new UserImpl(user));
+    manager.clear();
+  }
+
+  @AfterMethod
+  private void cleanup() {
+    manager.getTransaction().begin();
+    final List<Object> entities = new ArrayList<>();
+    entities.addAll(manager.createQuery("SELECT p FROM Preference p").getResultList());
+    entities.addAll(manager.createQuery("SELECT u FROM Usr u").getResultList());
+    for (Object entity : entities) {
+      manager.remove(entity);
+    }
+    manager.getTransaction().commit();
+    cleaner.clean();
+  }
+
+  @Test
+  public void shouldNotReturnCachedUserAfterItIsUpdated() throws Exception {
+    userDao.getById(user.getId());
+    assertNotNull(userCache.get(user.getId()));
+
+    user.setEmail("new@mail.com");
+    userDao.update(new UserImpl(user));
+
+    assertNull(userCache.get(user.getId()));
+    assertEquals(userDao.getById(user.getId()).getEmail(), "new@mail.com");
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldNotReturnCachedUserAfterItIsRemoved() throws Exception {
+    userDao.getById(user.getId());
+    assertNotNull(userCache.get(user.getId()));
+
+    userDao.remove(user.getId());
+
+    assertNull(userCache.get(user.getId()));
+    userDao.getById(user.getId());
+  }
+
+  @Test
+  public void shouldNotCacheUserReadInsideEnclosingTransaction() throws Exception {
+    manager.getTransaction().begin();
+    try {
+      userDao.getById(user.getId());
+    } finally {
+      manager.getTransaction().rollback();
+    }
+
+    assertNull(userCache.get(user.getId()));
+  }
+
+  @Test
+  public void shouldNotReturnCachedPreferencesAfterTheyAreUpdated() throws Exception {
+    preferenceDao.setPreferences(user.getId(), singletonMap("key", "value"));
+    preferenceDao.getPreferences(user.getId());
+    assertNotNull(preferenceCache.get(user.getId()));
+
+    preferenceDao.setPreferences(user.getId(), singletonMap("key", "new value"));
+
+    assertNull(preferenceCache.get(user.getId()));
+    assertEquals(preferenceDao.getPreferences(user.getId()), singletonMap("key", "new value"));
+  }
+
+  @Test
+  public void shouldNotReturnCachedPreferencesAfterTheyAreRemoved() throws Exception {
+    preferenceDao.setPreferences(user.getId(), singletonMap("key", "value"));
+    preferenceDao.getPreferences(user.getId());
+    assertNotNull(preferenceCache.get(user.getId()));
+
+    preferenceDao.remove(user.getId());
+
+    assertNull(preferenceCache.get(user.getId()));
+    assertTrue(preferenceDao.getPreferences(user.getId()).isEmpty());
+  }
+
+  @Test
+  public void shouldNotCachePreferencesReadInsideEnclosingTransaction() throws Exception {
+    preferenceDao.setPreferences(user.getId(), singletonMap("key", "value"));
+
+    manager.getTransaction().begin();
+    try {
+      preferenceDao.getPreferences(user.getId());
+    } finally {
+      manager.getTransaction().rollback();
+    }
+
+    assertNull(preferenceCache.get(user.getId()));
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto;
+
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.model.workspace.WorkspaceSummary;
+import org.eclipse.che.dto.shared.DTO;
+
+@DTO
+public interface WorkspaceSummaryDto extends WorkspaceSummary {
+
+  void setId(String id);
+
+  WorkspaceSummaryDto withId(String id);
+
+  void setName(String name);
+
+  WorkspaceSummaryDto withName(String name);
+
+  void setNamespace(String namespace);
+
+  WorkspaceSummaryDto withNamespace(String namespace);
+
+  void setStatus(WorkspaceStatus status);
+
+  WorkspaceSummaryDto withStatus(WorkspaceStatus status);
+
+  void setUpdated(long updated);
+
+  WorkspaceSummaryDto withUpdated(long updated);
+}
@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.api.workspace.shared.dto.event;
 
+import java.util.Map;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventOrigin;
 import org.eclipse.che.commons.annotation.Nullable;
@@ -78,4 +79,15 @@ public interface WorkspaceStatusEvent {
   void setError(String error);
 
   WorkspaceStatusEvent withError(String error);
+
+  /**
+   * Returns the time in milliseconds spent launching agents of the workspace machines, mapped by
+   * {@code <machine name>/<agent id>}. Present only if the type of this event is {@link
+   * EventType#RUNNING}.
+   */
+  Map<String, Long> getAgentsLaunchTime();
+
+  void setAgentsLaunchTime(Map<String, Long> agentsLaunchTime);
+
+  WorkspaceStatusEvent withAgentsLaunchTime(Map<String, Long> agentsLaunchTime);
 }
@@ -58,8 +58,8 @@ import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.core.util.AbstractLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.MessageConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.BatchingFileLineConsumer;
 import org.eclipse.che.api.core.util.lineconsumer.ConcurrentCompositeLineConsumer;
-import org.eclipse.che.api.core.util.lineconsumer.ConcurrentFileLineConsumer;
 import org.eclipse.che.api.environment.server.exception.EnvironmentException;
 import org.eclipse.che.api.environment.server.exception.EnvironmentNotRunningException;
 import org.eclipse.che.api.environment.server.exception.EnvironmentStartInterruptedException;
@@ -82,6 +82,7 @@ import org.eclipse.che.api.machine.server.spi.InstanceProvider;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.machine.server.util.RecipeDownloader;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
+import org.eclipse.che.api.workspace.server.LevelStarter;
 import org.eclipse.che.api.workspace.server.WorkspaceSharedPool;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
@@ -90,7 +91,7 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Size;
-import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.KeyedLocks;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.slf4j.Logger;
 
@@ -107,7 +108,7 @@ public class CheEnvironmentEngine {
   private static final Logger LOG = getLogger(CheEnvironmentEngine.class);
 
   private final Map<String, EnvironmentHolder> environments;
-  private final StripedLocks stripedLocks;
+  private final KeyedLocks locks;
   private final File machineLogsDir;
   private final MachineInstanceProviders machineInstanceProviders;
   private final long defaultMachineMemorySizeBytes;
@@ -154,8 +155,7 @@ public class CheEnvironmentEngine {
     this.machineInstanceProviders = machineInstanceProviders;
     this.machineLogsDir = new File(machineLogsDir);
     this.defaultMachineMemorySizeBytes = Size.parseSize(defaultMachineMemorySizeMB + "MB");
-    // 16 - experimental value for stripes count, it comes from default hash map size
-    this.stripedLocks = new StripedLocks(16);
+    this.locks = new KeyedLocks("environments");
     this.recipeApiPattern =
         Pattern.compile(
             "(^https?"
@@ -174,7 +174,7 @@ public class CheEnvironmentEngine {
   public List<Instance> getMachines(String workspaceId) throws EnvironmentNotRunningException {
     EnvironmentHolder environment;
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.readLock(workspaceId)) {
+        Unlocker u = locks.readLock(workspaceId)) {
       environment = environments.get(workspaceId);
       if (environment == null) {
         throw new EnvironmentNotRunningException(
@@ -196,7 +196,7 @@ public class CheEnvironmentEngine {
   public Instance getMachine(String workspaceId, String machineId) throws NotFoundException {
     EnvironmentHolder environment;
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.readLock(workspaceId)) {
+        Unlocker u = locks.readLock(workspaceId)) {
       environment = environments.get(workspaceId);
     }
     if (environment == null) {
@@ -264,7 +264,7 @@ public class CheEnvironmentEngine {
         ownerName, workspaceId, devMachineName, networkId, recover, startedHandler);
 
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.writeLock(workspaceId)) {
+        Unlocker u = locks.writeLock(workspaceId)) {
       EnvironmentHolder environmentHolder = environments.get(workspaceId);
       // possible only if environment was stopped during its start
       if (environmentHolder == null) {
@@ -302,7 +302,7 @@ public class CheEnvironmentEngine {
     List<Instance> machinesCopy;
     EnvironmentHolder environmentHolder;
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.readLock(workspaceId)) {
+        Unlocker u = locks.readLock(workspaceId)) {
       environmentHolder = environments.get(workspaceId);
       if (environmentHolder == null || environmentHolder.status != EnvStatus.RUNNING) {
         throw new EnvironmentNotRunningException(
@@ -322,7 +322,7 @@ public class CheEnvironmentEngine {
     destroyEnvironment(environmentHolder.networkId, machinesCopy);
 
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.writeLock(workspaceId)) {
+        Unlocker u = locks.writeLock(workspaceId)) {
       environments.remove(workspaceId);
     }
   }
@@ -344,7 +344,7 @@ public class CheEnvironmentEngine {
     MachineConfig machineConfigCopy = new MachineConfigImpl(machineConfig);
     EnvironmentHolder environmentHolder;
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.readLock(workspaceId)) {
+        Unlocker u = locks.readLock(workspaceId)) {
       environmentHolder = environments.get(workspaceId);
       if (environmentHolder == null || environmentHolder.status != EnvStatus.RUNNING) {
         throw new EnvironmentNotRunningException(
@@ -432,7 +432,7 @@ public class CheEnvironmentEngine {
       throws NotFoundException, ServerException, ConflictException {
     Instance targetMachine = null;
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.writeLock(workspaceId)) {
+        Unlocker u = locks.writeLock(workspaceId)) {
       EnvironmentHolder environmentHolder = environments.get(workspaceId);
       if (environmentHolder == null || environmentHolder.status != EnvStatus.RUNNING) {
         throw new EnvironmentNotRunningException(
@@ -477,7 +477,7 @@ public class CheEnvironmentEngine {
     SnapshotImpl snapshot = null;
     Instance instance = null;
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.readLock(workspaceId)) {
+        Unlocker u = locks.readLock(workspaceId)) {
       environmentHolder = environments.get(workspaceId);
       if (environmentHolder == null || environmentHolder.status != EnvStatus.RUNNING) {
         throw new EnvironmentNotRunningException(
@@ -549,7 +549,7 @@ public class CheEnvironmentEngine {
 
     normalize(ownerName, workspaceId, internalEnv);
 
-    List<String> servicesOrder = startStrategy.order(internalEnv);
+    List<List<String>> servicesOrder = startStrategy.orderByLevels(internalEnv);
 
     normalizeNames(internalEnv);
 
@@ -564,7 +564,7 @@ public class CheEnvironmentEngine {
             networkId);
 
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.writeLock(workspaceId)) {
+        Unlocker u = locks.writeLock(workspaceId)) {
       if (environments.putIfAbsent(workspaceId, environmentHolder) != null) {
         throw new ConflictException(
             format("Environment of workspace '%s' already exists", workspaceId));
@@ -709,14 +709,14 @@ public class CheEnvironmentEngine {
       boolean recover,
       MachineStartedHandler startedHandler)
       throws ServerException, AgentException, EnvironmentException {
-    // Starting all machines in environment one by one by getting configs
+    // Starting all machines in environment level by level by getting levels
     // from the corresponding starting queue.
-    // Config will be null only if there are no machines left in the queue
+    // Level will be null only if there are no levels left in the queue
     String envName;
     MessageConsumer<MachineLogMessage> envLogger;
     String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.readLock(workspaceId)) {
+        Unlocker u = locks.readLock(workspaceId)) {
       EnvironmentHolder environmentHolder = environments.get(workspaceId);
       if (environmentHolder == null) {
         throw new ServerException("Environment start is interrupted.");
@@ -728,137 +728,58 @@ public class CheEnvironmentEngine {
     try {
       machineProvider.createNetwork(networkId);
 
-      String machineName = queuePeekOrFail(workspaceId);
-      while (machineName != null) {
-        boolean isDev = devMachineName.equals(machineName);
-        // Environment start is failed when any machine start is failed, so if any error
-        // occurs during machine creation then environment start fail is reported and
-        // start resources such as queue and descriptor must be cleaned up
-
-        CheServiceImpl service;
-        @Nullable ExtendedMachine extendedMachine;
-        try (@SuppressWarnings("unused")
-            Unlocker u = stripedLocks.readLock(workspaceId)) {
-          EnvironmentHolder environmentHolder = environments.get(workspaceId);
-          if (environmentHolder == null) {
-            throw new EnvironmentStartInterruptedException(workspaceId, envName);
-          }
-          service = environmentHolder.environment.getServices().get(machineName);
-          extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
-        }
-        // should not happen
-        if (service == null) {
-          LOG.error(
-              "Start of machine with name {} in workspace {} failed. Machine not found in start queue",
-              machineName,
-              workspaceId);
-          throw new ServerException(
-              format(
-                  "Environment of workspace with ID '%s' failed due to internal error",
-                  workspaceId));
+      List<String> level = queuePeekOrFail(workspaceId);
+      while (level != null) {
+        // Machines of the same level don't depend on each other, so they are started
+        // concurrently. Environment start is failed when any machine start is failed
+        LevelStarter.ItemStart<String> machineStart =
+            machineName ->
+                startMachine(
+                    ownerName,
+                    workspaceId,
+                    envName,
+                    machineName,
+                    devMachineName,
+                    networkId,
+                    creator,
+                    envLogger,
+                    recover,
+                    startedHandler);
+        if (level.size() == 1) {
+          machineStart.start(level.get(0));
+        } else {
+          new LevelStarter<>(sharedPool, level, machineStart).start();
         }
 
-        final String finalMachineName = machineName;
-        // needed to reuse startInstance method and
-        // create machine instances by different implementation-specific providers
-        MachineStarter machineStarter =
-            (machineLogger, machineSource) -> {
-              CheServiceImpl serviceWithNormalizedSource =
-                  normalizeServiceSource(service, machineSource);
-              return machineProvider.startService(
-                  ownerName,
-                  workspaceId,
-                  envName,
-                  finalMachineName,
-                  isDev,
-                  networkId,
-                  serviceWithNormalizedSource,
-                  machineLogger);
-            };
-
-        MachineImpl machine =
-            MachineImpl.builder()
-                .setConfig(
-                    MachineConfigImpl.builder()
-                        .setDev(isDev)
-                        .setLimits(new MachineLimitsImpl(bytesToMB(service.getMemLimit())))
-                        .setType("docker")
-                        .setName(machineName)
-                        .setEnvVariables(service.getEnvironment())
-                        .build())
-                .setId(service.getId())
-                .setWorkspaceId(workspaceId)
-                .setStatus(MachineStatus.CREATING)
-                .setEnvName(envName)
-                .setOwner(creator)
-                .build();
-
-        checkInterruption(workspaceId, envName);
-        Instance instance = startInstance(recover, envLogger, machine, machineStarter);
-        checkInterruption(workspaceId, envName);
-
-        startedHandler.started(instance, extendedMachine);
-        checkInterruption(workspaceId, envName);
-
-        // Machine destroying is an expensive operation which must be
-        // performed outside of the lock, this section checks if
-        // the environment wasn't stopped while it is starting and sets
-        // polled flag to true if the environment wasn't stopped.
-        // Also polls the proceeded machine configuration from the queue
+        // Polls the started level from the queue, if the queue doesn't exist
+        // then environment was stopped after the level machines started
         boolean queuePolled = false;
         try (@SuppressWarnings("unused")
-            Unlocker u = stripedLocks.writeLock(workspaceId)) {
+            Unlocker u = locks.writeLock(workspaceId)) {
           ensurePreDestroyIsNotExecuted();
           EnvironmentHolder environmentHolder = environments.get(workspaceId);
           if (environmentHolder != null) {
-            final Queue<String> queue = environmentHolder.startQueue;
+            final Queue<List<String>> queue = environmentHolder.startQueue;
             if (queue != null) {
               queue.poll();
               queuePolled = true;
             }
           }
         }
-
-        // If machine config is not polled from the queue
-        // then environment was stopped and newly created machine
-        // must be destroyed
         if (!queuePolled) {
-          try {
-            eventService.publish(
-                newDto(MachineStatusEvent.class)
-                    .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                    .withDev(isDev)
-                    .withMachineName(machineName)
-                    .withMachineId(instance.getId())
-                    .withWorkspaceId(workspaceId));
-
-            instance.destroy();
-
-            removeMachine(workspaceId, instance.getId());
-
-            eventService.publish(
-                newDto(MachineStatusEvent.class)
-                    .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                    .withDev(isDev)
-                    .withMachineName(machineName)
-                    .withMachineId(instance.getId())
-                    .withWorkspaceId(workspaceId));
-          } catch (MachineException e) {
-            LOG.error(e.getLocalizedMessage(), e);
-          }
           throw new ServerException(
               "Workspace '"
                   + workspaceId
                   + "' start interrupted. Workspace stopped before all its machines started");
         }
 
-        machineName = queuePeekOrFail(workspaceId);
+        level = queuePeekOrFail(workspaceId);
       }
     } catch (Exception e) {
       boolean interrupted = Thread.interrupted();
       EnvironmentHolder env;
       try (@SuppressWarnings("unused")
-          Unlocker u = stripedLocks.writeLock(workspaceId)) {
+          Unlocker u = locks.writeLock(workspaceId)) {
         env = environments.remove(workspaceId);
       }
 
@@ -881,6 +802,128 @@ public class CheEnvironmentEngine {
     }
   }
 
+  /** Starts a single machine of the environment and handles its start by the given handler. */
+  private void startMachine(
+      String ownerName,
+      String workspaceId,
+      String envName,
+      String machineName,
+      String devMachineName,
+      String networkId,
+      String creator,
+      MessageConsumer<MachineLogMessage> envLogger,
+      boolean recover,
+      MachineStartedHandler startedHandler)
+      throws ServerException, AgentException, EnvironmentException {
+    boolean isDev = devMachineName.equals(machineName);
+
+    CheServiceImpl service;
+    @Nullable ExtendedMachine extendedMachine;
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.readLock(workspaceId)) {
+      EnvironmentHolder environmentHolder = environments.get(workspaceId);
+      if (environmentHolder == null) {
+        throw new EnvironmentStartInterruptedException(workspaceId, envName);
+      }
+      service = environmentHolder.environment.getServices().get(machineName);
+      extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
+    }
+    // should not happen
+    if (service == null) {
+      LOG.error(
+          "Start of machine with name {} in workspace {} failed. Machine not found in start queue",
+          machineName,
+          workspaceId);
+      throw new ServerException(
+          format(
+              "Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+    }
+
+    // needed to reuse startInstance method and
+    // create machine instances by different implementation-specific providers
+    MachineStarter machineStarter =
+        (machineLogger, machineSource) -> {
+          CheServiceImpl serviceWithNormalizedSource =
+              normalizeServiceSource(service, machineSource);
+          return machineProvider.startService(
+              ownerName,
+              workspaceId,
+              envName,
+              machineName,
+              isDev,
+              networkId,
+              serviceWithNormalizedSource,
+              machineLogger);
+        };
+
+    MachineImpl machine =
+        MachineImpl.builder()
+            .setConfig(
+                MachineConfigImpl.builder()
+                    .setDev(isDev)
+                    .setLimits(new MachineLimitsImpl(bytesToMB(service.getMemLimit())))
+                    .setType("docker")
+                    .setName(machineName)
+                    .setEnvVariables(service.getEnvironment())
+                    .build())
+            .setId(service.getId())
+            .setWorkspaceId(workspaceId)
+            .setStatus(MachineStatus.CREATING)
+            .setEnvName(envName)
+            .setOwner(creator)
+            .build();
+
+    checkInterruption(workspaceId, envName);
+    Instance instance = startInstance(recover, envLogger, machine, machineStarter);
+    checkInterruption(workspaceId, envName);
+
+    startedHandler.started(instance, extendedMachine);
+    checkInterruption(workspaceId, envName);
+
+    // Machine destroying is an expensive operation which must be
+    // performed outside of the lock, this section checks if
+    // the environment wasn't stopped while the machine is starting
+    boolean starting;
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.writeLock(workspaceId)) {
+      ensurePreDestroyIsNotExecuted();
+      EnvironmentHolder environmentHolder = environments.get(workspaceId);
+      starting = environmentHolder != null && environmentHolder.startQueue != null;
+    }
+
+    // If the queue doesn't exist then environment was stopped
+    // and newly created machine must be destroyed
+    if (!starting) {
+      try {
+        eventService.publish(
+            newDto(MachineStatusEvent.class)
+                .withEventType(MachineStatusEvent.EventType.DESTROYING)
+                .withDev(isDev)
+                .withMachineName(machineName)
+                .withMachineId(instance.getId())
+                .withWorkspaceId(workspaceId));
+
+        instance.destroy();
+
+        removeMachine(workspaceId, instance.getId());
+
+        eventService.publish(
+            newDto(MachineStatusEvent.class)
+                .withEventType(MachineStatusEvent.EventType.DESTROYED)
+                .withDev(isDev)
+                .withMachineName(machineName)
+                .withMachineId(instance.getId())
+                .withWorkspaceId(workspaceId));
+      } catch (MachineException e) {
+        LOG.error(e.getLocalizedMessage(), e);
+      }
+      throw new ServerException(
+          "Workspace '"
+              + workspaceId
+              + "' start interrupted. Workspace stopped before all its machines started");
+    }
+  }
+
   private void checkInterruption(String workspaceId, String envName)
       throws EnvironmentStartInterruptedException {
     if (Thread.interrupted()) {
@@ -1053,7 +1096,7 @@ public class CheEnvironmentEngine {
   private void addMachine(MachineImpl machine) throws ServerException {
     Instance instance = new NoOpMachineInstance(machine);
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.writeLock(machine.getWorkspaceId())) {
+        Unlocker u = locks.writeLock(machine.getWorkspaceId())) {
       ensurePreDestroyIsNotExecuted();
       EnvironmentHolder environmentHolder = environments.get(machine.getWorkspaceId());
       if (environmentHolder != null && environmentHolder.status != EnvStatus.STOPPING) {
@@ -1073,7 +1116,7 @@ public class CheEnvironmentEngine {
 
   private void removeMachine(String workspaceId, String machineId) {
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.writeLock(workspaceId)) {
+        Unlocker u = locks.writeLock(workspaceId)) {
       EnvironmentHolder environmentHolder = environments.get(workspaceId);
       if (environmentHolder != null) {
         for (Instance machine : environmentHolder.machines) {
@@ -1088,7 +1131,7 @@ public class CheEnvironmentEngine {
 
   private void replaceMachine(Instance machine) throws ServerException {
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.writeLock(machine.getWorkspaceId())) {
+        Unlocker u = locks.writeLock(machine.getWorkspaceId())) {
       ensurePreDestroyIsNotExecuted();
       EnvironmentHolder environmentHolder = environments.get(machine.getWorkspaceId());
       if (environmentHolder != null) {
@@ -1120,14 +1163,15 @@ public class CheEnvironmentEngine {
    *
    * <p>Fails if environment start was interrupted by stop(queue doesn't exist).
    *
-   * @return machine config which is in the queue head, or null if there are no machine configs left
+   * @return names of machines of the level which is in the queue head, or null if there are no
+   *     levels left
    * @throws ServerException if queue doesn't exist which means that {@link #stop(String)} executed
    *     before all the machines started
    * @throws ServerException if pre destroy has been invoked before peek config retrieved
    */
-  private String queuePeekOrFail(String workspaceId) throws ServerException {
+  private List<String> queuePeekOrFail(String workspaceId) throws ServerException {
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.readLock(workspaceId)) {
+        Unlocker u = locks.readLock(workspaceId)) {
       ensurePreDestroyIsNotExecuted();
       EnvironmentHolder environmentHolder = environments.get(workspaceId);
       if (environmentHolder == null || environmentHolder.startQueue == null) {
@@ -1225,7 +1269,7 @@ public class CheEnvironmentEngine {
         };
     try {
       return new ConcurrentCompositeLineConsumer(
-          new ConcurrentFileLineConsumer(getMachineLogsFile(machineId)), lineConsumer);
+          new BatchingFileLineConsumer(getMachineLogsFile(machineId)), lineConsumer);
     } catch (IOException e) {
       throw new MachineException(
           format(
@@ -1291,7 +1335,7 @@ public class CheEnvironmentEngine {
   @Nullable
   Instance removeMachineFromEnvironment(String workspaceId, String machineId) {
     try (@SuppressWarnings("unused")
-        Unlocker u = stripedLocks.writeLock(workspaceId)) {
+        Unlocker u = locks.writeLock(workspaceId)) {
       EnvironmentHolder environmentHolder = environments.get(workspaceId);
       if (environmentHolder == null || environmentHolder.status != EnvStatus.RUNNING) {
         // should not happen
@@ -1314,7 +1358,7 @@ public class CheEnvironmentEngine {
   }
 
   private static class EnvironmentHolder {
-    final Queue<String> startQueue;
+    final Queue<List<String>> startQueue;
     final CheServicesEnvironmentImpl environment;
     final MessageConsumer<MachineLogMessage> logger;
     final String name;
@@ -1325,7 +1369,7 @@ public class CheEnvironmentEngine {
     EnvStatus status;
 
     EnvironmentHolder(
-        List<String> startQueue,
+        List<List<String>> startQueue,
         CheServicesEnvironmentImpl environment,
         Environment environmentConfig,
         MessageConsumer<MachineLogMessage> envLogger,
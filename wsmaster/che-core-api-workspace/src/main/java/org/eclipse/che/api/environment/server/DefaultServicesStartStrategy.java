@@ -14,6 +14,7 @@ import static java.lang.String.format;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.Sets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -44,6 +45,32 @@ public class DefaultServicesStartStrategy {
     return sortByWeight(weights);
   }
 
+  /**
+   * Resolves levels of start for machines in an environment. Machines of the same level do not
+   * depend on each other and depend only on machines of the previous levels, so they may be started
+   * concurrently once the previous levels are started.
+   *
+   * @return levels in order of start, each level contains at least one machine
+   * @throws IllegalArgumentException if order of machines can not be calculated
+   */
+  public List<List<String>> orderByLevels(CheServicesEnvironmentImpl composeEnvironment)
+      throws IllegalArgumentException {
+
+    Map<String, Integer> weights = weightMachines(composeEnvironment.getServices());
+
+    // weight of machine is the length of the longest path to it in the dependency graph,
+    // so weights of machines are contiguous and each weight denotes a level
+    List<List<String>> levels = new ArrayList<>();
+    for (String service : sortByWeight(weights)) {
+      int weight = weights.get(service);
+      while (levels.size() <= weight) {
+        levels.add(new ArrayList<>());
+      }
+      levels.get(weight).add(service);
+    }
+    return levels;
+  }
+
   /**
    * Returns mapping of names of machines to its weights in dependency graph.
    *
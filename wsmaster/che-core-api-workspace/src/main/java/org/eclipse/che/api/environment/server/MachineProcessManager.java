@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.api.environment.server;
 
+import static com.google.common.base.MoreObjects.firstNonNull;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -40,6 +41,7 @@ import org.eclipse.che.api.core.util.JsonRpcEndpointIdsHolder;
 import org.eclipse.che.api.core.util.JsonRpcLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.WebsocketLineConsumer;
+import org.eclipse.che.api.core.util.lineconsumer.CoalescingLineConsumer;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
@@ -105,6 +107,29 @@ public class MachineProcessManager {
   public InstanceProcess exec(
       String workspaceId, String machineId, Command command, @Nullable String outputChannel)
       throws NotFoundException, MachineException, BadRequestException {
+    return exec(workspaceId, machineId, command, outputChannel, null);
+  }
+
+  /**
+   * Execute a command in machine and pass its output to the given consumer along with the process
+   * logs.
+   *
+   * @param machineId id of the machine where command should be executed
+   * @param command command that should be executed in the machine
+   * @param outputConsumer consumer of the process output, e.g. to track the progress of the process
+   * @return {@link org.eclipse.che.api.machine.server.spi.InstanceProcess} that represents started
+   *     process in machine
+   * @throws NotFoundException if machine with specified id not found
+   * @throws BadRequestException if value of required parameter is invalid
+   * @throws MachineException if other error occur
+   */
+  public InstanceProcess exec(
+      String workspaceId,
+      String machineId,
+      Command command,
+      @Nullable String outputChannel,
+      @Nullable LineConsumer outputConsumer)
+      throws NotFoundException, MachineException, BadRequestException {
     requiredNotNull(machineId, "Machine ID is required");
     requiredNotNull(command, "Command is required");
     requiredNotNull(command.getCommandLine(), "Command line is required");
@@ -115,15 +140,18 @@ public class MachineProcessManager {
     final InstanceProcess instanceProcess = machine.createProcess(command, outputChannel);
     final int pid = instanceProcess.getPid();
 
-    JsonRpcLineConsumer jsonRpcLineConsumer =
-        new JsonRpcLineConsumer(
-            transmitter,
-            "event:ws-agent-output:message",
-            () -> endpointIdsHolder.getEndpointIdsByWorkspaceId(workspaceId));
+    LineConsumer jsonRpcLineConsumer =
+        new CoalescingLineConsumer(
+            new JsonRpcLineConsumer(
+                transmitter,
+                "event:ws-agent-output:message",
+                () -> endpointIdsHolder.getEndpointIdsByWorkspaceId(workspaceId)));
 
     LineConsumer processLogger =
         new CompositeLineConsumer(
-            getProcessLogger(machineId, pid, outputChannel), jsonRpcLineConsumer);
+            getProcessLogger(machineId, pid, outputChannel),
+            jsonRpcLineConsumer,
+            firstNonNull(outputConsumer, LineConsumer.DEV_NULL));
 
     executor.execute(
         ThreadLocalPropagateContext.wrap(
@@ -136,6 +164,8 @@ public class MachineProcessManager {
                         .withProcessId(pid));
 
                 instanceProcess.start(processLogger);
+                // pending output is passed to clients before they are notified the process stopped
+                closeQuietly(processLogger);
 
                 eventService.publish(
                     newDto(MachineProcessEvent.class)
@@ -143,22 +173,20 @@ public class MachineProcessManager {
                         .withMachineId(machineId)
                         .withProcessId(pid));
               } catch (ConflictException | MachineException error) {
+                try {
+                  processLogger.writeLine(String.format("[ERROR] %s", error.getMessage()));
+                } catch (IOException ignored) {
+                }
+                closeQuietly(processLogger);
+
                 eventService.publish(
                     newDto(MachineProcessEvent.class)
                         .withEventType(MachineProcessEvent.EventType.ERROR)
                         .withMachineId(machineId)
                         .withProcessId(pid)
                         .withError(error.getLocalizedMessage()));
-
-                try {
-                  processLogger.writeLine(String.format("[ERROR] %s", error.getMessage()));
-                } catch (IOException ignored) {
-                }
               } finally {
-                try {
-                  processLogger.close();
-                } catch (IOException ignored) {
-                }
+                closeQuietly(processLogger);
               }
             }));
     return instanceProcess;
@@ -253,11 +281,19 @@ public class MachineProcessManager {
   private LineConsumer getLogger(LineConsumer fileLogger, String outputChannel)
       throws MachineException {
     if (outputChannel != null) {
-      return new CompositeLineConsumer(fileLogger, new WebsocketLineConsumer(outputChannel));
+      return new CompositeLineConsumer(
+          fileLogger, new CoalescingLineConsumer(new WebsocketLineConsumer(outputChannel)));
     }
     return fileLogger;
   }
 
+  private static void closeQuietly(LineConsumer lineConsumer) {
+    try {
+      lineConsumer.close();
+    } catch (IOException ignored) {
+    }
+  }
+
   /**
    * Checks object reference is not {@code null}
    *
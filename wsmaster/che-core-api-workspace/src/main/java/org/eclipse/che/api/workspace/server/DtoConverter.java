@@ -26,6 +26,7 @@ import org.eclipse.che.api.core.model.workspace.ServerConf2;
 import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceRuntime;
+import org.eclipse.che.api.core.model.workspace.WorkspaceSummary;
 import org.eclipse.che.api.machine.shared.dto.CommandDto;
 import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
@@ -38,6 +39,7 @@ import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceRuntimeDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackComponentDto;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackDto;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackSourceDto;
@@ -63,6 +65,16 @@ public final class DtoConverter {
         .withRuntime(asDto(workspace.getRuntime()));
   }
 
+  /** Converts {@link WorkspaceSummary} to {@link WorkspaceSummaryDto}. */
+  public static WorkspaceSummaryDto asDto(WorkspaceSummary summary) {
+    return newDto(WorkspaceSummaryDto.class)
+        .withId(summary.getId())
+        .withName(summary.getName())
+        .withNamespace(summary.getNamespace())
+        .withStatus(summary.getStatus())
+        .withUpdated(summary.getUpdated());
+  }
+
   /** Converts {@link WorkspaceConfig} to {@link WorkspaceConfigDto}. */
   public static WorkspaceConfigDto asDto(WorkspaceConfig workspace) {
     List<CommandDto> commands =
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Starts items of a single dependency level concurrently, e.g. machines of an environment or agents
+ * of a machine which do not depend on each other.
+ *
+ * <p>The thread which starts the level takes part in starting its items and the rest of the items
+ * are started by the threads of {@link WorkspaceSharedPool}. Helpers which are not picked by the
+ * pool by the time the level items are taken are cancelled, so the start never waits for a free
+ * thread of the pool, which may be busy with starts of other workspaces.
+ *
+ * <p>The first failure of an item start stops the start of the level: items which are not started
+ * yet are skipped and the threads starting other items are interrupted. The level start returns
+ * only when all the threads finished, so the items started by that time are known to the caller
+ * which is responsible for their cleanup.
+ *
+ * @param <T> the type of started items
+ */
+public class LevelStarter<T> {
+
+  /** Starts a single item of the level. */
+  public interface ItemStart<T> {
+    void start(T item) throws Exception;
+  }
+
+  private final WorkspaceSharedPool sharedPool;
+  private final int size;
+  private final Queue<T> pending;
+  private final ItemStart<T> itemStart;
+  private final Set<Thread> starting;
+
+  // guarded by starting
+  private Exception failure;
+  private Thread owner;
+  private boolean ownerInterrupted;
+
+  public LevelStarter(WorkspaceSharedPool sharedPool, List<T> level, ItemStart<T> start) {
+    this.sharedPool = sharedPool;
+    this.size = level.size();
+    this.pending = new ConcurrentLinkedQueue<>(level);
+    this.itemStart = start;
+    this.starting = new HashSet<>();
+  }
+
+  /**
+   * Starts all the items of the level.
+   *
+   * @throws InterruptedException when the current thread is interrupted while it waits for the
+   *     items started by other threads, the started items are interrupted as well
+   * @throws Exception the first failure of an item start
+   */
+  public void start() throws Exception {
+    synchronized (starting) {
+      owner = Thread.currentThread();
+    }
+    final List<Helper> helpers = new ArrayList<>();
+    for (int i = 1; i < size; i++) {
+      final Helper helper = new Helper();
+      helper.future = sharedPool.submit(helper);
+      helpers.add(helper);
+    }
+
+    startPending();
+    synchronized (starting) {
+      // do not take the interruption caused by the failure of another item for a cancellation
+      if (ownerInterrupted) {
+        Thread.interrupted();
+      }
+    }
+    try {
+      for (Helper helper : helpers) {
+        helper.await();
+      }
+    } catch (InterruptedException x) {
+      fail(x);
+      for (Helper helper : helpers) {
+        helper.awaitUninterruptibly();
+      }
+      Thread.currentThread().interrupt();
+      throw x;
+    }
+
+    synchronized (starting) {
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  private void startPending() {
+    final Thread current = Thread.currentThread();
+    T item;
+    while ((item = pending.poll()) != null) {
+      synchronized (starting) {
+        if (failure != null) {
+          return;
+        }
+        starting.add(current);
+      }
+      try {
+        itemStart.start(item);
+      } catch (Exception x) {
+        fail(x);
+      } finally {
+        synchronized (starting) {
+          starting.remove(current);
+        }
+      }
+    }
+  }
+
+  private void fail(Exception x) {
+    synchronized (starting) {
+      if (failure == null) {
+        failure = x;
+        final Thread current = Thread.currentThread();
+        for (Thread thread : starting) {
+          if (thread != current) {
+            thread.interrupt();
+            ownerInterrupted |= thread == owner;
+          }
+        }
+      }
+    }
+  }
+
+  /** Starts pending items in a thread of the pool unless it is not needed any more. */
+  private class Helper implements Callable<Void> {
+    final AtomicBoolean claimed = new AtomicBoolean();
+    final CountDownLatch done = new CountDownLatch(1);
+    Future<Void> future;
+
+    @Override
+    public Void call() {
+      if (claimed.compareAndSet(false, true)) {
+        try {
+          startPending();
+        } finally {
+          done.countDown();
+        }
+      }
+      return null;
+    }
+
+    /** Waits for the helper if it is picked by the pool, otherwise cancels it. */
+    void await() throws InterruptedException {
+      if (claimed.compareAndSet(false, true)) {
+        future.cancel(false);
+      } else {
+        done.await();
+      }
+    }
+
+    void awaitUninterruptibly() {
+      boolean interrupted = false;
+      while (true) {
+        try {
+          await();
+          break;
+        } catch (InterruptedException x) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -16,7 +16,10 @@ import static java.lang.Boolean.parseBoolean;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_CREATE_SNAPSHOT;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_RESTORE_FROM_SNAPSHOT;
@@ -38,6 +41,7 @@ import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.workspace.Workspace;
@@ -53,7 +57,9 @@ import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceFilter;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -249,6 +255,57 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets the page of summaries of the workspaces which user can read, summaries are ordered by
+   * namespace and name.
+   *
+   * <p>Unlike {@link #getWorkspaces(String, boolean)} neither configurations nor runtimes of the
+   * workspaces are loaded. As the status of a workspace is known only to the runtimes, the status
+   * filter is turned into the filter of workspace ids which have it.
+   *
+   * @param user the id of the user
+   * @param namespace the namespace of the workspaces, or null to return workspaces of any namespace
+   * @param namePrefix the prefix of the workspaces names, or null to return workspaces with any
+   *     name
+   * @param status the status of the workspaces, or null to return workspaces with any status
+   * @param maxItems the maximum number of summaries to return
+   * @param skipCount the number of summaries to skip
+   * @return the page of summaries
+   * @throws NullPointerException when {@code user} is null
+   * @throws IllegalArgumentException when {@code maxItems} is not positive or {@code skipCount} is
+   *     negative
+   * @throws ServerException when any server error occurs while getting summaries with {@link
+   *     WorkspaceDao#getSummaries(String, WorkspaceFilter, int, long)}
+   */
+  public Page<WorkspaceSummaryImpl> getWorkspaceSummaries(
+      String user,
+      @Nullable String namespace,
+      @Nullable String namePrefix,
+      @Nullable WorkspaceStatus status,
+      int maxItems,
+      long skipCount)
+      throws ServerException {
+    requireNonNull(user, "Required non-null user id");
+    final WorkspaceFilter filter =
+        new WorkspaceFilter().withNamespace(namespace).withNamePrefix(namePrefix);
+    if (status == WorkspaceStatus.STOPPED) {
+      filter.withExcludedIds(runtimes.getRuntimesIds());
+    } else if (status != null) {
+      filter.withIds(
+          runtimes
+              .getRuntimesIds()
+              .stream()
+              .filter(id -> runtimes.getStatus(id) == status)
+              .collect(toSet()));
+    }
+    final Page<WorkspaceSummaryImpl> page =
+        workspaceDao.getSummaries(user, filter, maxItems, skipCount);
+    for (WorkspaceSummaryImpl summary : page.getItems()) {
+      summary.setStatus(runtimes.getStatus(summary.getId()));
+    }
+    return page;
+  }
+
   /**
    * Gets list of workspaces which has given namespace. Runtimes are included
    *
@@ -847,24 +904,37 @@ public class WorkspaceManager {
     if (statusOnly) {
       for (WorkspaceImpl workspace : workspaces) {
         workspace.setStatus(runtimes.getStatus(workspace.getId()));
-        addExtraAttributes(workspace);
       }
     } else {
       for (WorkspaceImpl workspace : workspaces) {
         runtimes.injectRuntime(workspace);
-        addExtraAttributes(workspace);
       }
     }
+    addExtraAttributes(workspaces);
   }
 
   /** Adds attributes that are not originally stored in workspace but should be published. */
   private void addExtraAttributes(WorkspaceImpl workspace) throws SnapshotException {
+    addExtraAttributes(singletonList(workspace));
+  }
+
+  /**
+   * Adds attributes that are not originally stored in workspaces but should be published, the
+   * attributes of all the workspaces are fetched at once.
+   */
+  private void addExtraAttributes(List<WorkspaceImpl> workspaces) throws SnapshotException {
+    if (workspaces.isEmpty()) {
+      return;
+    }
     // snapshotted_at
-    List<SnapshotImpl> snapshots = snapshotDao.findSnapshots(workspace.getId());
-    if (!snapshots.isEmpty()) {
-      workspace
-          .getAttributes()
-          .put(SNAPSHOTTED_AT_ATTRIBUTE_NAME, Long.toString(snapshots.get(0).getCreationDate()));
+    final Map<String, Long> snapshotDates =
+        snapshotDao.getCreationDates(
+            workspaces.stream().map(WorkspaceImpl::getId).collect(toList()));
+    for (WorkspaceImpl workspace : workspaces) {
+      final Long snapshotDate = snapshotDates.get(workspace.getId());
+      if (snapshotDate != null) {
+        workspace.getAttributes().put(SNAPSHOTTED_AT_ATTRIBUTE_NAME, Long.toString(snapshotDate));
+      }
     }
   }
 }
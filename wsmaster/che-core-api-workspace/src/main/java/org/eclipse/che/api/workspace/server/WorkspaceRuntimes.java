@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -77,7 +78,7 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
-import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.KeyedLocks;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
@@ -87,8 +88,8 @@ import org.slf4j.Logger;
  *
  * <p>This component implements {@link WorkspaceStatus} contract.
  *
- * <p>The implementation is thread-safe and guarded by eagerly initialized readwrite locks produced
- * by {@link StripedLocks}. The component doesn't expose any api for client-side locking. All the
+ * <p>The implementation is thread-safe and guarded by per workspace readwrite locks produced by
+ * {@link KeyedLocks}. The component doesn't expose any api for client-side locking. All the
  * instances produced by this component are copies of the real data.
  *
  * <p>The component doesn't check if the incoming objects are in application-valid state. Which
@@ -106,7 +107,7 @@ public class WorkspaceRuntimes {
 
   private final ConcurrentMap<String, RuntimeState> states;
   private final EventService eventsService;
-  private final StripedLocks locks;
+  private final KeyedLocks locks;
   private final CheEnvironmentEngine envEngine;
   private final AgentSorter agentSorter;
   private final AgentLauncherFactory launcherFactory;
@@ -153,8 +154,7 @@ public class WorkspaceRuntimes {
     this.launcherFactory = launcherFactory;
     this.agentRegistry = agentRegistry;
     this.snapshotDao = snapshotDao;
-    // 16 - experimental value for stripes count, it comes from default hash map size
-    this.locks = new StripedLocks(16);
+    this.locks = new KeyedLocks("workspace-runtimes");
     this.sharedPool = sharedPool;
     this.states = states;
   }
@@ -604,6 +604,7 @@ public class WorkspaceRuntimes {
               .collect(Collectors.toList());
       states.clear();
     }
+    LOG.debug("Workspace runtimes locks usage: {}", locks.getStats());
 
     if (!idsToStop.isEmpty()) {
       LOG.info("Shutdown running environments, environments to stop: '{}'", idsToStop.size());
@@ -669,16 +670,53 @@ public class WorkspaceRuntimes {
     return state;
   }
 
+  /**
+   * Launches agents in the given machine. Agents which do not depend on each other are launched
+   * concurrently, the launchers let their scripts use the package manager of the machine one at a
+   * time. The time of each agent launch is reported by the {@link EventType#RUNNING} event.
+   */
   protected void launchAgents(Instance instance, List<String> agents)
       throws ServerException, AgentException {
-    for (AgentKey agentKey : agentSorter.sort(agents)) {
-      if (!Thread.currentThread().isInterrupted()) {
-        LOG.info(
-            "Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
-        Agent agent = agentRegistry.getAgent(agentKey);
-        AgentLauncher launcher =
-            launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
-        launcher.launch(instance, agent);
+    for (List<AgentKey> level : agentSorter.sortByLevels(agents)) {
+      if (Thread.currentThread().isInterrupted()) {
+        return;
+      }
+      if (level.size() == 1) {
+        launchAgent(instance, level.get(0));
+      } else {
+        try {
+          new LevelStarter<>(sharedPool, level, agentKey -> launchAgent(instance, agentKey))
+              .start();
+        } catch (InterruptedException x) {
+          // interrupted flag is set back, the machine start is interrupted by the caller
+          return;
+        } catch (ServerException | AgentException | RuntimeException x) {
+          throw x;
+        } catch (Exception x) {
+          throw new ServerException(x.getMessage(), x);
+        }
+      }
+    }
+  }
+
+  private void launchAgent(Instance instance, AgentKey agentKey)
+      throws ServerException, AgentException {
+    String workspaceId = instance.getWorkspaceId();
+    LOG.info("Launching '{}' agent at workspace {}", agentKey.getId(), workspaceId);
+    Agent agent = agentRegistry.getAgent(agentKey);
+    AgentLauncher launcher = launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
+    long start = System.nanoTime();
+    launcher.launch(instance, agent);
+    long launchTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    LOG.info(
+        "Agent '{}' launched at workspace {} in {}ms", agentKey.getId(), workspaceId, launchTimeMs);
+
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.readLock(workspaceId)) {
+      RuntimeState state = states.get(workspaceId);
+      if (state != null) {
+        state.agentsLaunchTime.put(
+            instance.getConfig().getName() + '/' + agentKey.getId(), launchTimeMs);
       }
     }
   }
@@ -721,11 +759,13 @@ public class WorkspaceRuntimes {
 
     // disallow direct start cancellation, STARTING -> RUNNING
     WorkspaceStatus prevStatus;
+    Map<String, Long> agentsLaunchTime;
     try (@SuppressWarnings("unused")
         Unlocker u = locks.writeLock(workspaceId)) {
       checkIsNotTerminated("finish workspace start");
       RuntimeState state = states.get(workspaceId);
       prevStatus = state.status;
+      agentsLaunchTime = new HashMap<>(state.agentsLaunchTime);
       if (state.status == WorkspaceStatus.STARTING) {
         state.status = WorkspaceStatus.RUNNING;
         state.startTask = null;
@@ -754,7 +794,8 @@ public class WorkspaceRuntimes {
             .withWorkspaceId(workspaceId)
             .withStatus(WorkspaceStatus.RUNNING)
             .withEventType(EventType.RUNNING)
-            .withPrevStatus(WorkspaceStatus.STARTING));
+            .withPrevStatus(WorkspaceStatus.STARTING)
+            .withAgentsLaunchTime(agentsLaunchTime));
   }
 
   /** STOPPING -> remove runtime -> STOPPED. */
@@ -925,12 +966,15 @@ public class WorkspaceRuntimes {
     String envName;
     StartTask startTask;
     Future<WorkspaceRuntimeImpl> startFuture;
+    /** Launch time of agents in milliseconds mapped by machine name and agent id. */
+    final Map<String, Long> agentsLaunchTime;
 
     RuntimeState(RuntimeState state) {
       this.status = state.status;
       this.envName = state.envName;
       this.startFuture = state.startFuture;
       this.startTask = state.startTask;
+      this.agentsLaunchTime = state.agentsLaunchTime;
     }
 
     RuntimeState(
@@ -942,6 +986,7 @@ public class WorkspaceRuntimes {
       this.envName = envName;
       this.startTask = startTask;
       this.startFuture = startFuture;
+      this.agentsLaunchTime = new ConcurrentHashMap<>();
     }
   }
 
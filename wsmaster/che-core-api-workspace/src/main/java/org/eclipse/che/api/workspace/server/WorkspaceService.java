@@ -56,6 +56,7 @@ import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.rest.Service;
@@ -67,11 +68,13 @@ import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
@@ -245,6 +248,63 @@ public class WorkspaceService extends Service {
         .collect(toList());
   }
 
+  @GET
+  @Path("/summary")
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+    value = "Get summaries of the workspaces which user can read",
+    notes =
+        "Summaries contain only identity, status and update time of the workspaces, "
+            + "they are ordered by namespace and name",
+    response = WorkspaceSummaryDto.class,
+    responseContainer = "List"
+  )
+  @ApiResponses({
+    @ApiResponse(code = 200, message = "The summaries successfully fetched"),
+    @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
+    @ApiResponse(code = 500, message = "Internal server error occurred during summaries fetching")
+  })
+  public Response getWorkspaceSummaries(
+      @ApiParam("The namespace of the workspaces") @QueryParam("namespace") String namespace,
+      @ApiParam("The prefix of the workspaces names") @QueryParam("namePrefix")
+          String namePrefix,
+      @ApiParam("Workspace status") @QueryParam("status") String status,
+      @ApiParam("The number of the items to skip") @DefaultValue("0") @QueryParam("skipCount")
+          long skipCount,
+      @ApiParam("The limit of the items in the response, default is 30")
+          @DefaultValue("30")
+          @QueryParam("maxItems")
+          int maxItems)
+      throws ServerException, BadRequestException {
+    if (maxItems <= 0) {
+      throw new BadRequestException("The number of items to return must be positive");
+    }
+    if (skipCount < 0 || skipCount > Integer.MAX_VALUE) {
+      throw new BadRequestException(
+          "The number of items to skip can't be negative or greater than " + Integer.MAX_VALUE);
+    }
+    WorkspaceStatus workspaceStatus = null;
+    if (status != null) {
+      try {
+        workspaceStatus = WorkspaceStatus.valueOf(status.toUpperCase());
+      } catch (IllegalArgumentException x) {
+        throw new BadRequestException("Unknown workspace status '" + status + "'");
+      }
+    }
+    final Page<WorkspaceSummaryImpl> summariesPage =
+        workspaceManager.getWorkspaceSummaries(
+            EnvironmentContext.getCurrent().getSubject().getUserId(),
+            namespace,
+            namePrefix,
+            workspaceStatus,
+            maxItems,
+            skipCount);
+    return Response.ok()
+        .entity(summariesPage.getItems(DtoConverter::asDto))
+        .header("Link", createLinkHeader(summariesPage))
+        .build();
+  }
+
   @GET
   @Path("/namespace/{namespace:.*}")
   @Produces(APPLICATION_JSON)
@@ -46,6 +46,8 @@ public class JpaStackDao implements StackDao {
 
   @Inject private EventService eventService;
 
+  @Inject private StackEntityCache cache;
+
   @Override
   public void create(StackImpl stack) throws ConflictException, ServerException {
     requireNonNull(stack, "Required non-null stack");
@@ -60,14 +62,16 @@ public class JpaStackDao implements StackDao {
   }
 
   @Override
-  @Transactional
   public StackImpl getById(String id) throws NotFoundException, ServerException {
     requireNonNull(id, "Required non-null id");
+    final StackImpl cached = cache.get(id);
+    if (cached != null) {
+      return new StackImpl(cached);
+    }
+    final long stamp = cache.stamp();
     try {
-      final StackImpl stack = managerProvider.get().find(StackImpl.class, id);
-      if (stack == null) {
-        throw new NotFoundException(format("Stack with id '%s' doesn't exist", id));
-      }
+      final StackImpl stack = doGetById(id);
+      cache.put(id, stack, stamp);
       return new StackImpl(stack);
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
@@ -77,10 +81,13 @@ public class JpaStackDao implements StackDao {
   @Override
   public void remove(String id) throws ServerException {
     requireNonNull(id, "Required non-null id");
+    cache.invalidate(id);
     try {
       doRemove(id);
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
+    } finally {
+      cache.invalidate(id);
     }
   }
 
@@ -88,12 +95,15 @@ public class JpaStackDao implements StackDao {
   public StackImpl update(StackImpl update)
       throws NotFoundException, ServerException, ConflictException {
     requireNonNull(update, "Required non-null update");
+    cache.invalidate(update.getId());
     try {
       return new StackImpl(doUpdate(update));
     } catch (DuplicateKeyException x) {
       throw new ConflictException(format("Stack with name '%s' already exists", update.getName()));
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
+    } finally {
+      cache.invalidate(update.getId());
     }
   }
 
@@ -126,6 +136,15 @@ public class JpaStackDao implements StackDao {
     }
   }
 
+  @Transactional
+  protected StackImpl doGetById(String id) throws NotFoundException {
+    final StackImpl stack = managerProvider.get().find(StackImpl.class, id);
+    if (stack == null) {
+      throw new NotFoundException(format("Stack with id '%s' doesn't exist", id));
+    }
+    return new StackImpl(stack);
+  }
+
   @Transactional(rollbackOn = {RuntimeException.class, ApiException.class})
   protected void doCreate(StackImpl stack) throws ConflictException, ServerException {
     if (stack.getWorkspaceConfig() != null) {
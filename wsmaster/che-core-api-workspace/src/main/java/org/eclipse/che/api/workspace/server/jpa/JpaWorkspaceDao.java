@@ -29,6 +29,7 @@ import javax.persistence.NoResultException;
 import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
@@ -36,7 +37,9 @@ import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceFilter;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 
@@ -50,6 +53,7 @@ public class JpaWorkspaceDao implements WorkspaceDao {
 
   @Inject private EventService eventService;
   @Inject private Provider<EntityManager> managerProvider;
+  @Inject private WorkspaceEntityCache cache;
 
   @Override
   public WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
@@ -71,6 +75,7 @@ public class JpaWorkspaceDao implements WorkspaceDao {
   public WorkspaceImpl update(WorkspaceImpl update)
       throws NotFoundException, ConflictException, ServerException {
     requireNonNull(update, "Required non-null update");
+    cache.invalidate(update.getId());
     try {
       return new WorkspaceImpl(doUpdate(update));
     } catch (DuplicateKeyException dkEx) {
@@ -80,30 +85,37 @@ public class JpaWorkspaceDao implements WorkspaceDao {
               update.getConfig().getName(), update.getNamespace()));
     } catch (RuntimeException x) {
       throw new ServerException(x.getMessage(), x);
+    } finally {
+      cache.invalidate(update.getId());
     }
   }
 
   @Override
   public void remove(String id) throws ServerException {
     requireNonNull(id, "Required non-null id");
+    cache.invalidate(id);
     try {
       Optional<WorkspaceImpl> workspaceOpt = doRemove(id);
       workspaceOpt.ifPresent(
           workspace -> eventService.publish(new WorkspaceRemovedEvent(workspace)));
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
+    } finally {
+      cache.invalidate(id);
     }
   }
 
   @Override
-  @Transactional
   public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
     requireNonNull(id, "Required non-null id");
+    final WorkspaceImpl cached = cache.get(id);
+    if (cached != null) {
+      return new WorkspaceImpl(cached);
+    }
+    final long stamp = cache.stamp();
     try {
-      final WorkspaceImpl workspace = managerProvider.get().find(WorkspaceImpl.class, id);
-      if (workspace == null) {
-        throw new NotFoundException(format("Workspace with id '%s' doesn't exist", id));
-      }
+      final WorkspaceImpl workspace = doGet(id);
+      cache.put(id, workspace, stamp);
       return new WorkspaceImpl(workspace);
     } catch (RuntimeException x) {
       throw new ServerException(x.getLocalizedMessage(), x);
@@ -166,6 +178,23 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public Page<WorkspaceSummaryImpl> getSummaries(
+      String userId, WorkspaceFilter filter, int maxItems, long skipCount) throws ServerException {
+    requireNonNull(filter, "Required non-null filter");
+    checkArgument(maxItems > 0, "The number of items to return must be positive.");
+    checkArgument(
+        skipCount >= 0 && skipCount <= Integer.MAX_VALUE,
+        "The number of items to skip can't be negative or greater than " + Integer.MAX_VALUE);
+    try {
+      return new WorkspaceSummaryQuery("Workspace w")
+          .execute(managerProvider.get(), filter, maxItems, skipCount);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems)
@@ -190,6 +219,15 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Transactional
+  protected WorkspaceImpl doGet(String id) throws NotFoundException {
+    final WorkspaceImpl workspace = managerProvider.get().find(WorkspaceImpl.class, id);
+    if (workspace == null) {
+      throw new NotFoundException(format("Workspace with id '%s' doesn't exist", id));
+    }
+    return new WorkspaceImpl(workspace);
+  }
+
   @Transactional
   protected void doCreate(WorkspaceImpl workspace) {
     if (workspace.getConfig() != null) {
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import javax.inject.Singleton;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.core.db.cache.EntityCache;
+
+/** Cache of stacks by id which is shared by stack DAO implementations. */
+@Singleton
+public class StackEntityCache extends EntityCache<String, StackImpl> {
+
+  public StackEntityCache() {
+    super("stack");
+  }
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import javax.inject.Singleton;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.core.db.cache.EntityCache;
+
+/** Cache of workspaces by id which is shared by workspace DAO implementations. */
+@Singleton
+public class WorkspaceEntityCache extends EntityCache<String, WorkspaceImpl> {
+
+  public WorkspaceEntityCache() {
+    super("workspace");
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.CREATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.server.WorkspaceManager.UPDATED_ATTRIBUTE_NAME;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceFilter;
+
+/**
+ * Selects page of workspace summaries with JPQL queries which fetch only the needed columns, so
+ * eagerly fetched configurations of the workspaces are never loaded. Page is selected with 3
+ * queries whatever its size is: the total count, the page itself and the dates of the selected
+ * workspaces.
+ *
+ * <p>Usage example:
+ *
+ * <pre>{@code
+ * new WorkspaceSummaryQuery("Worker worker JOIN worker.workspace w")
+ *     .where("worker.userId = :userId", "userId", userId)
+ *     .execute(manager, filter, maxItems, skipCount);
+ * }</pre>
+ */
+public class WorkspaceSummaryQuery {
+
+  private static final char LIKE_ESCAPE = '!';
+
+  private final String from;
+  private final List<String> conditions;
+  private final Map<String, Object> parameters;
+
+  /**
+   * Creates query.
+   *
+   * @param from FROM clause of the query, workspace entity must have alias {@code w}
+   */
+  public WorkspaceSummaryQuery(String from) {
+    this.from = from;
+    this.conditions = new ArrayList<>();
+    this.parameters = new HashMap<>();
+  }
+
+  /** Adds condition which selected workspaces must match, its parameter may be null. */
+  public WorkspaceSummaryQuery where(String condition, String parameter, Object value) {
+    conditions.add(condition);
+    if (parameter != null) {
+      parameters.put(parameter, value);
+    }
+    return this;
+  }
+
+  /**
+   * Selects the page of summaries which match the filter and the conditions of this query.
+   *
+   * @param manager entity manager to run queries with
+   * @param filter workspaces filter
+   * @param maxItems positive size of the page
+   * @param skipCount non-negative number of summaries to skip, not greater than {@link
+   *     Integer#MAX_VALUE}
+   */
+  public Page<WorkspaceSummaryImpl> execute(
+      EntityManager manager, WorkspaceFilter filter, int maxItems, long skipCount) {
+    if (filter.getNamespace() != null) {
+      where("w.account.name = :namespace", "namespace", filter.getNamespace());
+    }
+    if (filter.getNamePrefix() != null) {
+      where(
+          "w.name LIKE :namePattern ESCAPE '" + LIKE_ESCAPE + "'",
+          "namePattern",
+          escapeLike(filter.getNamePrefix()) + '%');
+    }
+    if (filter.getIds() != null) {
+      if (filter.getIds().isEmpty()) {
+        return new Page<>(emptyList(), skipCount, maxItems, 0);
+      }
+      where("w.id IN :ids", "ids", filter.getIds());
+    }
+    if (!filter.getExcludedIds().isEmpty()) {
+      where("w.id NOT IN :excludedIds", "excludedIds", filter.getExcludedIds());
+    }
+    final String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+
+    final long totalCount =
+        withParameters(manager.createQuery("SELECT COUNT(w) FROM " + from + where, Long.class))
+            .getSingleResult();
+    final List<Object[]> rows =
+        withParameters(
+                manager.createQuery(
+                    "SELECT w.id, w.name, w.account.name FROM "
+                        + from
+                        + where
+                        + " ORDER BY w.account.name, w.name, w.id",
+                    Object[].class))
+            .setFirstResult((int) skipCount)
+            .setMaxResults(maxItems)
+            .getResultList();
+    if (rows.isEmpty()) {
+      return new Page<>(emptyList(), skipCount, maxItems, totalCount);
+    }
+
+    final Map<String, Object[]> rowsById = new LinkedHashMap<>();
+    for (Object[] row : rows) {
+      rowsById.put((String) row[0], row);
+    }
+    final Map<String, Long> dates = getDates(manager, rowsById.keySet());
+    final List<WorkspaceSummaryImpl> summaries = new ArrayList<>(rows.size());
+    for (Object[] row : rows) {
+      final String id = (String) row[0];
+      summaries.add(
+          new WorkspaceSummaryImpl(
+              id,
+              (String) row[1],
+              (String) row[2],
+              WorkspaceStatus.STOPPED,
+              dates.getOrDefault(id, 0L)));
+    }
+    return new Page<>(summaries, skipCount, maxItems, totalCount);
+  }
+
+  /** Returns the time of the last update, or creation if it is missing, of each workspace. */
+  private static Map<String, Long> getDates(EntityManager manager, Collection<String> ids) {
+    final List<Object[]> rows =
+        manager
+            .createQuery(
+                "SELECT w.id, KEY(attribute), VALUE(attribute) "
+                    + "FROM Workspace w JOIN w.attributes attribute "
+                    + "WHERE w.id IN :ids AND KEY(attribute) IN :keys",
+                Object[].class)
+            .setParameter("ids", ids)
+            .setParameter("keys", asList(UPDATED_ATTRIBUTE_NAME, CREATED_ATTRIBUTE_NAME))
+            .getResultList();
+    final Map<String, Long> dates = new HashMap<>();
+    for (Object[] row : rows) {
+      final long date;
+      try {
+        date = Long.parseLong((String) row[2]);
+      } catch (NumberFormatException x) {
+        continue;
+      }
+      if (UPDATED_ATTRIBUTE_NAME.equals(row[1])) {
+        dates.put((String) row[0], date);
+      } else {
+        dates.putIfAbsent((String) row[0], date);
+      }
+    }
+    return dates;
+  }
+
+  private <T> TypedQuery<T> withParameters(TypedQuery<T> query) {
+    parameters.forEach(query::setParameter);
+    return query;
+  }
+
+  private static String escapeLike(String value) {
+    final StringBuilder sb = new StringBuilder(value.length());
+    for (char c : value.toCharArray()) {
+      if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+        sb.append(LIKE_ESCAPE);
+      }
+      sb.append(c);
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.model.impl;
+
+import java.util.Objects;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.model.workspace.WorkspaceSummary;
+
+/** Data object for {@link WorkspaceSummary}. */
+public class WorkspaceSummaryImpl implements WorkspaceSummary {
+
+  private String id;
+  private String name;
+  private String namespace;
+  private WorkspaceStatus status;
+  private long updated;
+
+  public WorkspaceSummaryImpl(
+      String id, String name, String namespace, WorkspaceStatus status, long updated) {
+    this.id = id;
+    this.name = name;
+    this.namespace = namespace;
+    this.status = status;
+    this.updated = updated;
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getNamespace() {
+    return namespace;
+  }
+
+  @Override
+  public WorkspaceStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(WorkspaceStatus status) {
+    this.status = status;
+  }
+
+  @Override
+  public long getUpdated() {
+    return updated;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof WorkspaceSummaryImpl)) {
+      return false;
+    }
+    final WorkspaceSummaryImpl that = (WorkspaceSummaryImpl) obj;
+    return Objects.equals(id, that.id)
+        && Objects.equals(name, that.name)
+        && Objects.equals(namespace, that.namespace)
+        && Objects.equals(status, that.status)
+        && updated == that.updated;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 7;
+    hash = 31 * hash + Objects.hashCode(id);
+    hash = 31 * hash + Objects.hashCode(name);
+    hash = 31 * hash + Objects.hashCode(namespace);
+    hash = 31 * hash + Objects.hashCode(status);
+    hash = 31 * hash + Long.hashCode(updated);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkspaceSummaryImpl{"
+        + "id='"
+        + id
+        + '\''
+        + ", name='"
+        + name
+        + '\''
+        + ", namespace='"
+        + namespace
+        + '\''
+        + ", status="
+        + status
+        + ", updated="
+        + updated
+        + '}';
+  }
+}
@@ -13,8 +13,11 @@ package org.eclipse.che.api.workspace.server.spi;
 import java.util.List;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 
 /**
  * Defines data access object contract for {@link WorkspaceImpl}.
@@ -116,6 +119,25 @@ public interface WorkspaceDao {
    */
   List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException;
 
+  /**
+   * Gets page of summaries of the workspaces which user can read. Unlike {@link
+   * #getWorkspaces(String)} configurations of the workspaces are not fetched. Summaries are ordered
+   * by namespace and name and have {@link WorkspaceStatus#STOPPED} status, as the status is not
+   * stored.
+   *
+   * @param userId id of user
+   * @param filter conditions which selected workspaces must match
+   * @param maxItems the maximum number of summaries to return
+   * @param skipCount the number of summaries to skip
+   * @return page of summaries, or empty page if no workspaces were found
+   * @throws NullPointerException when {@code filter} is null
+   * @throws IllegalArgumentException when {@code maxItems} is not positive or {@code skipCount} is
+   *     negative
+   * @throws ServerException when any other error occurs during summaries fetching
+   */
+  Page<WorkspaceSummaryImpl> getSummaries(
+      String userId, WorkspaceFilter filter, int maxItems, long skipCount) throws ServerException;
+
   /**
    * Gets workspaces by temporary attribute.
    *
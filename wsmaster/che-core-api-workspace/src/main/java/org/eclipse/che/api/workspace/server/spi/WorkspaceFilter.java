@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.spi;
+
+import static java.util.Collections.emptySet;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import org.eclipse.che.commons.annotation.Nullable;
+
+/**
+ * Conditions of selecting workspaces with {@link WorkspaceDao#getSummaries(String,
+ * WorkspaceFilter, int, long)}, workspaces must match all the defined conditions.
+ */
+public class WorkspaceFilter {
+
+  private String namespace;
+  private String namePrefix;
+  private Set<String> ids;
+  private Set<String> excludedIds = emptySet();
+
+  /** Selects only the workspaces of the given namespace. */
+  public WorkspaceFilter withNamespace(@Nullable String namespace) {
+    this.namespace = namespace;
+    return this;
+  }
+
+  /** Selects only the workspaces which names start with the given prefix. */
+  public WorkspaceFilter withNamePrefix(@Nullable String namePrefix) {
+    this.namePrefix = namePrefix;
+    return this;
+  }
+
+  /** Selects only the workspaces with the given ids. */
+  public WorkspaceFilter withIds(@Nullable Collection<String> ids) {
+    this.ids = ids == null ? null : new HashSet<>(ids);
+    return this;
+  }
+
+  /** Selects only the workspaces which ids are not in the given ones. */
+  public WorkspaceFilter withExcludedIds(Collection<String> excludedIds) {
+    this.excludedIds = new HashSet<>(excludedIds);
+    return this;
+  }
+
+  @Nullable
+  public String getNamespace() {
+    return namespace;
+  }
+
+  @Nullable
+  public String getNamePrefix() {
+    return namePrefix;
+  }
+
+  /** Returns ids of the selected workspaces or null if workspaces are not selected by ids. */
+  @Nullable
+  public Set<String> getIds() {
+    return ids;
+  }
+
+  public Set<String> getExcludedIds() {
+    return excludedIds;
+  }
+
+  @Override
+  public String toString() {
+    return "WorkspaceFilter{"
+        + "namespace='"
+        + namespace
+        + '\''
+        + ", namePrefix='"
+        + namePrefix
+        + '\''
+        + ", ids="
+        + ids
+        + ", excludedIds="
+        + excludedIds
+        + '}';
+  }
+}
@@ -45,6 +45,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
 import org.eclipse.che.api.agent.shared.model.Agent;
@@ -150,6 +152,9 @@ public class CheEnvironmentEngineTest {
     when(machineInstanceProviders.getProvider("docker")).thenReturn(instanceProvider);
     when(instanceProvider.getRecipeTypes()).thenReturn(Collections.singleton("dockerfile"));
     when(agentRegistry.getAgent(any(AgentKey.class))).thenReturn(agent);
+    // tasks are never run by the pool, so machines of the same level are started one by one
+    when(sharedPool.submit(any()))
+        .thenAnswer(invocation -> new FutureTask<>((Callable<?>) invocation.getArguments()[0]));
 
     EnvironmentContext.getCurrent().setSubject(new SubjectImpl("name", "id", "token", false));
   }
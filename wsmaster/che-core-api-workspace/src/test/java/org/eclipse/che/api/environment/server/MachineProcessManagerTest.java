@@ -12,10 +12,12 @@ package org.eclipse.che.api.environment.server;
 
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 
 import java.io.File;
@@ -28,11 +30,14 @@ import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.util.JsonRpcEndpointIdsHolder;
 import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.machine.shared.dto.event.MachineProcessEvent;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.subject.SubjectImpl;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.AfterMethod;
@@ -64,11 +69,12 @@ public class MachineProcessManagerTest {
   @Mock RequestTransmitter transmitter;
   @Mock JsonRpcEndpointIdsHolder endpointIdsHolder;
 
+  private EventService eventService;
   private MachineProcessManager manager;
 
   @BeforeMethod
   public void setUp() throws Exception {
-    final EventService eventService = mock(EventService.class);
+    eventService = mock(EventService.class);
     final String machineLogsDir = targetDir().resolve("logs-dir").toString();
     IoUtil.deleteRecursive(new File(machineLogsDir));
     manager =
@@ -117,6 +123,22 @@ public class MachineProcessManagerTest {
     verify(logConsumer).close();
   }
 
+  @Test
+  public void shouldCloseProcessLoggerBeforePublishingProcessStoppedEvent() throws Exception {
+    // when
+    manager.exec(WORKSPACE_ID, MACHINE_ID, command, "outputChannel");
+    waitForExecutorIsCompletedTask();
+
+    // then
+    ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+    InOrder inOrder = inOrder(logConsumer, eventService);
+    inOrder.verify(logConsumer).close();
+    inOrder.verify(eventService).publish(eventCaptor.capture());
+    assertEquals(
+        ((MachineProcessEvent) eventCaptor.getValue()).getEventType(),
+        MachineProcessEvent.EventType.STOPPED);
+  }
+
   private void waitForExecutorIsCompletedTask() throws Exception {
     for (int i = 0;
         ((ThreadPoolExecutor) manager.executor).getCompletedTaskCount() == 0 && i < 10;
@@ -130,6 +130,32 @@ public class DefaultServicesStartStrategyTest {
     assertTrue(actual.contains("fifth"));
   }
 
+  @Test
+  public void shouldGroupServicesWhichDoNotDependOnEachOtherIntoLevels() throws Exception {
+    // given
+    CheServicesEnvironmentImpl composeEnvironment = new CheServicesEnvironmentImpl();
+    composeEnvironment.getServices().put("db", new CheServiceImpl());
+    composeEnvironment.getServices().put("cache", new CheServiceImpl());
+    composeEnvironment
+        .getServices()
+        .put("app", new CheServiceImpl().withDependsOn(asList("db", "cache")));
+    composeEnvironment
+        .getServices()
+        .put("tools", new CheServiceImpl().withDependsOn(singletonList("db")));
+    composeEnvironment
+        .getServices()
+        .put("web", new CheServiceImpl().withDependsOn(singletonList("app")));
+
+    // when
+    List<List<String>> levels = strategy.orderByLevels(composeEnvironment);
+
+    // then
+    assertEquals(levels.size(), 3);
+    assertEqualsNoOrder(levels.get(0).toArray(), new String[] {"db", "cache"});
+    assertEqualsNoOrder(levels.get(1).toArray(), new String[] {"app", "tools"});
+    assertEquals(levels.get(2), singletonList("web"));
+  }
+
   @Test(
     expectedExceptions = IllegalArgumentException.class,
     expectedExceptionsMessageRegExp =
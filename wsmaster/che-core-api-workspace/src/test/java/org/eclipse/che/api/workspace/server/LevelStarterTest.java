@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link LevelStarter}. */
+public class LevelStarterTest {
+
+  private WorkspaceSharedPool pool;
+
+  @AfterMethod
+  public void tearDown() {
+    pool.getExecutor().shutdownNow();
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldStartItemsOfLevelConcurrently() throws Exception {
+    pool = new WorkspaceSharedPool("cached", null, null);
+    final CyclicBarrier allStarting = new CyclicBarrier(3);
+    final Set<String> started = ConcurrentHashMap.newKeySet();
+
+    new LevelStarter<>(
+            pool,
+            asList("db", "app", "tools"),
+            item -> {
+              // fails unless all the items are starting at the same time
+              allStarting.await(5, SECONDS);
+              started.add(item);
+            })
+        .start();
+
+    assertEquals(started.size(), 3);
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldStartItemsInCurrentThreadWhenPoolIsBusy() throws Exception {
+    pool = new WorkspaceSharedPool("fixed", "1", null);
+    final CountDownLatch release = new CountDownLatch(1);
+    pool.execute(
+        () -> {
+          try {
+            release.await();
+          } catch (InterruptedException ignored) {
+          }
+        });
+    final Set<String> started = ConcurrentHashMap.newKeySet();
+
+    try {
+      new LevelStarter<>(pool, asList("db", "app"), started::add).start();
+    } finally {
+      release.countDown();
+    }
+
+    assertEquals(started.size(), 2);
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldInterruptOtherItemsAndRethrowFirstFailure() throws Exception {
+    pool = new WorkspaceSharedPool("cached", null, null);
+    final CountDownLatch slowStarting = new CountDownLatch(1);
+    final CountDownLatch slowInterrupted = new CountDownLatch(1);
+    final Exception failure = new Exception("failed");
+
+    try {
+      new LevelStarter<>(
+              pool,
+              asList("failing", "slow"),
+              item -> {
+                if (item.equals("slow")) {
+                  slowStarting.countDown();
+                  try {
+                    Thread.sleep(60_000);
+                  } catch (InterruptedException x) {
+                    slowInterrupted.countDown();
+                    throw x;
+                  }
+                } else {
+                  slowStarting.await();
+                  throw failure;
+                }
+              })
+          .start();
+      fail("Level start must fail");
+    } catch (Exception x) {
+      assertEquals(x, failure);
+    }
+
+    assertTrue(slowInterrupted.await(5, SECONDS));
+    assertFalse(Thread.currentThread().isInterrupted());
+  }
+}
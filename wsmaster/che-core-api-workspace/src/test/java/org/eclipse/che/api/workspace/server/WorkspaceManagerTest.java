@@ -12,6 +12,7 @@ package org.eclipse.che.api.workspace.server;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
@@ -40,6 +41,7 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableSet;
@@ -53,6 +55,7 @@ import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.workspace.Workspace;
@@ -73,7 +76,9 @@ import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceFilter;
 import org.eclipse.che.api.workspace.shared.Constants;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.Subject;
@@ -269,6 +274,45 @@ public class WorkspaceManagerTest {
     assertFalse(res2.isTemporary(), "Workspace must be permanent");
   }
 
+  @Test
+  public void shouldGetSummariesOfWorkspacesWithRuntimesOfGivenStatus() throws Exception {
+    when(runtimes.getRuntimesIds()).thenReturn(ImmutableSet.of("ws1", "ws2"));
+    when(runtimes.getStatus("ws1")).thenReturn(RUNNING);
+    when(runtimes.getStatus("ws2")).thenReturn(STARTING);
+    final WorkspaceSummaryImpl summary =
+        new WorkspaceSummaryImpl("ws1", "name", NAMESPACE, STOPPED, 0);
+    when(workspaceDao.getSummaries(eq(NAMESPACE), any(), eq(30), eq(0L)))
+        .thenReturn(new Page<>(singletonList(summary), 0, 30, 1));
+
+    final Page<WorkspaceSummaryImpl> page =
+        workspaceManager.getWorkspaceSummaries(NAMESPACE, null, null, RUNNING, 30, 0);
+
+    final ArgumentCaptor<WorkspaceFilter> filterCaptor =
+        ArgumentCaptor.forClass(WorkspaceFilter.class);
+    verify(workspaceDao).getSummaries(eq(NAMESPACE), filterCaptor.capture(), eq(30), eq(0L));
+    assertEquals(filterCaptor.getValue().getIds(), ImmutableSet.of("ws1"));
+    assertEquals(page.getItems().get(0).getStatus(), RUNNING);
+  }
+
+  @Test
+  public void shouldExcludeWorkspacesWithRuntimesWhenGettingSummariesOfStoppedWorkspaces()
+      throws Exception {
+    when(runtimes.getRuntimesIds()).thenReturn(ImmutableSet.of("ws1", "ws2"));
+    when(workspaceDao.getSummaries(eq(NAMESPACE), any(), eq(30), eq(0L)))
+        .thenReturn(new Page<>(emptyList(), 0, 30, 0));
+
+    workspaceManager.getWorkspaceSummaries(NAMESPACE, NAMESPACE_2, "dev", STOPPED, 30, 0);
+
+    final ArgumentCaptor<WorkspaceFilter> filterCaptor =
+        ArgumentCaptor.forClass(WorkspaceFilter.class);
+    verify(workspaceDao).getSummaries(eq(NAMESPACE), filterCaptor.capture(), eq(30), eq(0L));
+    final WorkspaceFilter filter = filterCaptor.getValue();
+    assertNull(filter.getIds());
+    assertEquals(filter.getExcludedIds(), ImmutableSet.of("ws1", "ws2"));
+    assertEquals(filter.getNamespace(), NAMESPACE_2);
+    assertEquals(filter.getNamePrefix(), "dev");
+  }
+
   @Test
   public void shouldBeAbleToGetWorkspacesByNamespace() throws Exception {
     // given
@@ -974,6 +1018,23 @@ public class WorkspaceManagerTest {
     assertEquals(result.getAttributes().get(SNAPSHOTTED_AT_ATTRIBUTE_NAME), "12345");
   }
 
+  @Test
+  public void snapshotCreationDatesOfAllWorkspacesAreFetchedAtOnceWhenGettingByNamespace()
+      throws Exception {
+    WorkspaceImpl workspace1 = createAndMockWorkspace();
+    WorkspaceImpl workspace2 = createAndMockWorkspace();
+    when(workspaceDao.getByNamespace(NAMESPACE)).thenReturn(asList(workspace1, workspace2));
+    when(snapshotDao.getCreationDates(asList(workspace1.getId(), workspace2.getId())))
+        .thenReturn(singletonMap(workspace2.getId(), 12345L));
+
+    List<WorkspaceImpl> workspaces = workspaceManager.getByNamespace(NAMESPACE, false);
+
+    assertNull(workspaces.get(0).getAttributes().get(SNAPSHOTTED_AT_ATTRIBUTE_NAME));
+    assertEquals(workspaces.get(1).getAttributes().get(SNAPSHOTTED_AT_ATTRIBUTE_NAME), "12345");
+    verify(snapshotDao).getCreationDates(asList(workspace1.getId(), workspace2.getId()));
+    verify(snapshotDao, never()).findSnapshots(anyString());
+  }
+
   private List<SnapshotImpl> mockSnapshots(Workspace workspace, long creation)
       throws SnapshotException {
     SnapshotImpl.SnapshotBuilder snapshotBuilder =
@@ -990,6 +1051,8 @@ public class WorkspaceManagerTest {
         snapshotBuilder.generateId().setDev(false).setMachineName("machine2").build();
     List<SnapshotImpl> snapshots = asList(snapshot1, snapshot2);
     when(snapshotDao.findSnapshots(workspace.getId())).thenReturn(snapshots);
+    when(snapshotDao.getCreationDates(singletonList(workspace.getId())))
+        .thenReturn(singletonMap(workspace.getId(), creation));
     return snapshots;
   }
 
@@ -51,10 +51,13 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.impl.AgentSorter;
+import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -658,6 +661,37 @@ public class WorkspaceRuntimesTest {
     verify(envEngine).startMachine(eq("workspace"), eq(config), any());
   }
 
+  @Test
+  public void shouldLaunchAgentsOfStartedMachineAndRecordTheirLaunchTime() throws Exception {
+    // given
+    setRuntime("workspace", WorkspaceStatus.RUNNING, "env-name");
+    MachineConfig config = newMachine("workspace", "env-name", "new", false).getConfig();
+    Instance instance = mock(Instance.class);
+    when(envEngine.startMachine(anyString(), any(MachineConfig.class), any())).thenReturn(instance);
+    when(instance.getConfig()).thenReturn(config);
+    when(instance.getWorkspaceId()).thenReturn("workspace");
+    when(agentSorter.sortByLevels(any()))
+        .thenReturn(
+            singletonList(
+                Arrays.asList(
+                    AgentKeyImpl.parse("org.eclipse.che.exec"),
+                    AgentKeyImpl.parse("org.eclipse.che.terminal"))));
+    AgentLauncher launcher = mock(AgentLauncher.class);
+    when(launcherFactory.find(anyString(), any())).thenReturn(launcher);
+    // tasks are never run by the pool, so agents of the level are launched one by one
+    when(sharedPool.submit(any()))
+        .thenAnswer(invocation -> new FutureTask<>((Callable<?>) invocation.getArguments()[0]));
+
+    // when
+    runtimes.startMachine("workspace", config);
+
+    // then
+    verify(launcher, times(2)).launch(eq(instance), any());
+    assertEquals(
+        runtimeStates.get("workspace").agentsLaunchTime.keySet(),
+        Sets.newHashSet("new/org.eclipse.che.exec", "new/org.eclipse.che.terminal"));
+  }
+
   @Test(
     expectedExceptions = NotFoundException.class,
     expectedExceptionsMessageRegExp = "Workspace with id '.*' is not running"
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.createWorkspaceConfig;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import javax.persistence.EntityManager;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.commons.test.db.H2JpaCleaner;
+import org.eclipse.che.commons.test.tck.JpaCleaner;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests that {@link JpaStackDao} keeps its {@link StackEntityCache} up to date. */
+public class JpaStackDaoTest {
+
+  private EntityManager manager;
+  private JpaStackDao stackDao;
+  private StackEntityCache cache;
+  private JpaCleaner cleaner;
+
+  @BeforeMethod
+  private void setUpManager() {
+    final Injector injector = Guice.createInjector(new WorkspaceTckModule());
+    manager = injector.getInstance(EntityManager.class);
+    stackDao = injector.getInstance(JpaStackDao.class);
+    cache = injector.getInstance(StackEntityCache.class);
+    cleaner = injector.getInstance(H2JpaCleaner.class);
+  }
+
+  @AfterMethod
+  private void cleanup() {
+    manager.getTransaction().begin();
+    for (Object entity : manager.createQuery("SELECT s FROM Stack s").getResultList()) {
+      manager.remove(entity);
+    }
+    manager.getTransaction().commit();
+    cleaner.clean();
+  }
+
+  @Test
+  public void shouldNotReturnCachedStackAfterItIsUpdated() throws Exception {
+    final StackImpl stack = createStack();
+    stackDao.getById(stack.getId());
+    assertNotNull(cache.get(stack.getId()));
+
+    stack.setDescription("new description");
+    stackDao.update(stack);
+
+    assertNull(cache.get(stack.getId()));
+    assertEquals(stackDao.getById(stack.getId()).getDescription(), "new description");
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldNotReturnCachedStackAfterItIsRemoved() throws Exception {
+    final StackImpl stack = createStack();
+    stackDao.getById(stack.getId());
+    assertNotNull(cache.get(stack.getId()));
+
+    stackDao.remove(stack.getId());
+
+    assertNull(cache.get(stack.getId()));
+    stackDao.getById(stack.getId());
+  }
+
+  @Test
+  public void shouldNotCacheStackReadInsideEnclosingTransaction() throws Exception {
+    final StackImpl stack = createStack();
+
+    manager.getTransaction().begin();
+    try {
+      stackDao.getById(stack.getId());
+    } finally {
+      manager.getTransaction().rollback();
+    }
+
+    assertNull(cache.get(stack.getId()));
+  }
+
+  private StackImpl createStack() throws Exception {
+    final StackImpl stack =
+        StackImpl.builder()
+            .setId("stack123")
+            .setName("name")
+            .setCreator("user123")
+            .setDescription("description")
+            .setTags(asList("tag1", "tag2"))
+            .build();
+    stack.setWorkspaceConfig(createWorkspaceConfig("test"));
+    stackDao.create(stack);
+    manager.clear();
+    return stack;
+  }
+}
@@ -13,6 +13,8 @@ package org.eclipse.che.api.workspace.server.jpa;
 import static java.util.Collections.singletonList;
 import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.createWorkspace;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
@@ -20,6 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 import javax.persistence.EntityManager;
 import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
@@ -39,6 +42,7 @@ public class JpaWorkspaceDaoTest {
 
   private EntityManager manager;
   private JpaWorkspaceDao workspaceDao;
+  private WorkspaceEntityCache cache;
   private JpaCleaner cleaner;
 
   @BeforeMethod
@@ -46,6 +50,7 @@ public class JpaWorkspaceDaoTest {
     final Injector injector = Guice.createInjector(new WorkspaceTckModule());
     manager = injector.getInstance(EntityManager.class);
     workspaceDao = injector.getInstance(JpaWorkspaceDao.class);
+    cache = injector.getInstance(WorkspaceEntityCache.class);
     cleaner = injector.getInstance(H2JpaCleaner.class);
   }
 
@@ -145,6 +150,57 @@ public class JpaWorkspaceDaoTest {
     assertEquals(result.getConfig().getProjects().get(0).getAttributes().size(), 3);
   }
 
+  @Test
+  public void shouldNotReturnCachedWorkspaceAfterItIsUpdated() throws Exception {
+    final WorkspaceImpl workspace = persistWorkspace();
+    workspaceDao.get(workspace.getId());
+    assertNotNull(cache.get(workspace.getId()));
+
+    workspace.getConfig().setDescription("new description");
+    workspaceDao.update(workspace);
+
+    assertNull(cache.get(workspace.getId()));
+    assertEquals(
+        workspaceDao.get(workspace.getId()).getConfig().getDescription(), "new description");
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldNotReturnCachedWorkspaceAfterItIsRemoved() throws Exception {
+    final WorkspaceImpl workspace = persistWorkspace();
+    workspaceDao.get(workspace.getId());
+    assertNotNull(cache.get(workspace.getId()));
+
+    workspaceDao.remove(workspace.getId());
+
+    assertNull(cache.get(workspace.getId()));
+    workspaceDao.get(workspace.getId());
+  }
+
+  @Test
+  public void shouldNotCacheWorkspaceReadInsideEnclosingTransaction() throws Exception {
+    final WorkspaceImpl workspace = persistWorkspace();
+
+    manager.getTransaction().begin();
+    try {
+      workspaceDao.get(workspace.getId());
+    } finally {
+      manager.getTransaction().rollback();
+    }
+
+    assertNull(cache.get(workspace.getId()));
+  }
+
+  private WorkspaceImpl persistWorkspace() {
+    final AccountImpl account = new AccountImpl("accountId", "namespace", "test");
+    final WorkspaceImpl workspace = createWorkspace("id", account, "name");
+    manager.getTransaction().begin();
+    manager.persist(account);
+    manager.persist(workspace);
+    manager.getTransaction().commit();
+    manager.clear();
+    return workspace;
+  }
+
   private long asLong(String query) {
     return manager.createQuery(query, Long.class).getSingleResult();
   }
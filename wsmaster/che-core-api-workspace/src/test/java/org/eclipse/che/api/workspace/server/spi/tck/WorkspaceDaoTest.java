@@ -11,6 +11,7 @@
 package org.eclipse.che.api.workspace.server.spi.tck;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
@@ -24,6 +25,7 @@ import static org.testng.Assert.fail;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -36,7 +38,9 @@ import javax.inject.Inject;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
@@ -49,7 +53,9 @@ import org.eclipse.che.api.workspace.server.model.impl.ServerConf2Impl;
 import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceFilter;
 import org.eclipse.che.commons.test.tck.TckListener;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
 import org.eclipse.che.commons.test.tck.repository.TckRepositoryException;
@@ -250,6 +256,79 @@ public class WorkspaceDaoTest {
     workspaceDao.getWorkspaces(true, -2, 0);
   }
 
+  @Test
+  public void shouldGetPageOfSummariesOrderedByNamespaceAndName() throws Exception {
+    final Page<WorkspaceSummaryImpl> page =
+        workspaceDao.getSummaries("user", new WorkspaceFilter(), 2, 1);
+
+    assertEquals(page.getTotalItemsCount(), COUNT_OF_WORKSPACES);
+    assertEquals(
+        page.getItems(WorkspaceSummaryImpl::getId),
+        asList(workspaces[1].getId(), workspaces[2].getId()));
+    final WorkspaceSummaryImpl summary = page.getItems().get(0);
+    assertEquals(summary.getName(), workspaces[1].getConfig().getName());
+    assertEquals(summary.getNamespace(), workspaces[1].getNamespace());
+    assertEquals(summary.getStatus(), WorkspaceStatus.STOPPED);
+  }
+
+  @Test
+  public void shouldGetSummariesByNamespaceAndNamePrefix() throws Exception {
+    final WorkspaceFilter filter =
+        new WorkspaceFilter().withNamespace(accounts[0].getName()).withNamePrefix("name-1");
+
+    final Page<WorkspaceSummaryImpl> page = workspaceDao.getSummaries("user", filter, 30, 0);
+
+    assertEquals(page.getItems(WorkspaceSummaryImpl::getId), singletonList(workspaces[1].getId()));
+  }
+
+  @Test
+  public void shouldGetSummariesByIncludedAndExcludedIds() throws Exception {
+    final WorkspaceFilter filter =
+        new WorkspaceFilter()
+            .withIds(ImmutableSet.of(workspaces[0].getId(), workspaces[3].getId()))
+            .withExcludedIds(ImmutableSet.of(workspaces[3].getId()));
+
+    final Page<WorkspaceSummaryImpl> page = workspaceDao.getSummaries("user", filter, 30, 0);
+
+    assertEquals(page.getItems(WorkspaceSummaryImpl::getId), singletonList(workspaces[0].getId()));
+    assertEquals(page.getTotalItemsCount(), 1);
+  }
+
+  @Test
+  public void shouldGetEmptyPageOfSummariesWhenIdsFilterIsEmpty() throws Exception {
+    final Page<WorkspaceSummaryImpl> page =
+        workspaceDao.getSummaries("user", new WorkspaceFilter().withIds(emptySet()), 30, 0);
+
+    assertTrue(page.isEmpty());
+    assertEquals(page.getTotalItemsCount(), 0);
+  }
+
+  @Test
+  public void shouldGetUpdateTimeOfWorkspaceInSummary() throws Exception {
+    final WorkspaceImpl workspace = workspaces[0];
+    workspace.getAttributes().put("created", "100");
+    workspace.getAttributes().put("updated", "200");
+    workspaceDao.update(workspace);
+    final WorkspaceFilter filter =
+        new WorkspaceFilter().withIds(ImmutableSet.of(workspace.getId(), workspaces[1].getId()));
+
+    final Page<WorkspaceSummaryImpl> page = workspaceDao.getSummaries("user", filter, 30, 0);
+
+    assertEquals(page.getItems(WorkspaceSummaryImpl::getUpdated), asList(200L, 0L));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionWhenGettingSummariesWithNonPositiveLimit()
+      throws Exception {
+    workspaceDao.getSummaries("user", new WorkspaceFilter(), 0, 0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionWhenGettingSummariesWithNegativeSkipCount()
+      throws Exception {
+    workspaceDao.getSummaries("user", new WorkspaceFilter(), 30, -1);
+  }
+
   @Test
   public void shouldPublicRemoveWorkspaceEventAfterRemoveWorkspace() throws Exception {
     final boolean[] isNotified = new boolean[] {false};